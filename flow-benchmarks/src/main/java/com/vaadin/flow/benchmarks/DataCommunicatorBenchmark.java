@@ -0,0 +1,165 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks flushing a data communicator backed by a list data provider with
+ * thousands of rows, as done by a grid that is scrolled or refreshed.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCommunicatorBenchmark {
+
+    /**
+     * A row in the benchmark data set.
+     *
+     * @param id
+     *            the row id
+     * @param name
+     *            the row name
+     */
+    public record Row(int id, String name) {
+    }
+
+    @Param({ "10000", "100000" })
+    public int rowCount;
+
+    @Param({ "false", "true" })
+    public boolean sorted;
+
+    private StateTree stateTree;
+
+    private DataCommunicator<Row> dataCommunicator;
+
+    private ListDataProvider<Row> dataProvider;
+
+    private int pageSize;
+
+    private int start;
+
+    private int lastUpdateId = -1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UI ui = Fixtures.createUI();
+        stateTree = ui.getInternals().getStateTree();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        List<Row> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Row(i, "Row " + (rowCount - i)));
+        }
+        dataProvider = new ListDataProvider<>(rows);
+
+        ArrayUpdater.Update update = new ArrayUpdater.Update() {
+            @Override
+            public void clear(int start, int length) {
+            }
+
+            @Override
+            public void set(int start, List<JsonValue> items) {
+            }
+
+            @Override
+            public void commit(int updateId) {
+                lastUpdateId = updateId;
+            }
+        };
+        ArrayUpdater arrayUpdater = new ArrayUpdater() {
+            @Override
+            public Update startUpdate(int sizeChange) {
+                return update;
+            }
+
+            @Override
+            public void initialize() {
+            }
+        };
+
+        dataCommunicator = new DataCommunicator<>(
+                (row, json) -> json.put("name", row.name()), arrayUpdater,
+                data -> {
+                }, element.getNode());
+        dataCommunicator.setDataProvider(dataProvider, null);
+        if (sorted) {
+            dataCommunicator.setInMemorySorting(
+                    Comparator.comparing(Row::name)::compare);
+        }
+        pageSize = dataCommunicator.getPageSize();
+        dataCommunicator.setRequestedRange(0, pageSize * 2);
+        flush();
+    }
+
+    /**
+     * Scrolls forward by one page and flushes the new rows.
+     */
+    @Benchmark
+    public int scroll() {
+        start = (start + pageSize) % (rowCount - pageSize * 2);
+        dataCommunicator.setRequestedRange(start, pageSize * 2);
+        return flush();
+    }
+
+    /**
+     * Refreshes all data and flushes the rows in the current range.
+     */
+    @Benchmark
+    public int refreshAll() {
+        dataProvider.refreshAll();
+        return flush();
+    }
+
+    private int flush() {
+        stateTree.runExecutionsBeforeClientResponse();
+        dataCommunicator.confirmUpdate(lastUpdateId);
+        return lastUpdateId;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Builds a UI of typical elements with a few attributes, properties and styles
+ * each. Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by the
+ * element count to get an upper bound of the heap used per element, including
+ * the pending changes that have not yet been sent to the client.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementMemoryBenchmark {
+
+    @Param({ "10000" })
+    public int elementCount;
+
+    @Benchmark
+    public UI buildUI() {
+        UI ui = Fixtures.createUI();
+        Element parent = ui.getElement();
+        for (int i = 0; i < elementCount; i++) {
+            Element element = new Element("div");
+            element.setAttribute("id", "item-" + i);
+            element.setAttribute("title", "Item");
+            element.setAttribute("role", "listitem");
+            element.setProperty("value", i);
+            element.setProperty("disabled", false);
+            element.getStyle().set("width", "100px");
+            element.getStyle().set("color", "red");
+            if (i % 100 == 0) {
+                parent = ui.getElement();
+            }
+            parent.appendChild(element);
+            parent = element;
+        }
+        return ui;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Benchmarks mutations of attached elements. Each benchmark performs a mutation
+ * that is undone by the next invocation so that the size of the tree stays
+ * constant.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementMutationBenchmark {
+
+    private StateTree stateTree;
+
+    private List<Element> elements;
+
+    private Element container;
+
+    private Element child;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UI ui = Fixtures.createUI();
+        stateTree = ui.getInternals().getStateTree();
+        elements = Fixtures.createTree(ui.getElement(), 1000, 8);
+        container = elements.get(elements.size() / 2);
+        child = new Element("span");
+    }
+
+    @TearDown(Level.Iteration)
+    public void collectChanges() {
+        stateTree.collectChanges(change -> {
+        });
+    }
+
+    @Benchmark
+    public Element setProperty() {
+        return nextElement().setProperty("value", round);
+    }
+
+    @Benchmark
+    public Element setAttribute() {
+        return nextElement().setAttribute("title",
+                (round & 1) == 0 ? "a" : "b");
+    }
+
+    @Benchmark
+    public boolean toggleClassName() {
+        return nextElement().getClassList().set("selected", (round & 1) == 0);
+    }
+
+    @Benchmark
+    public Object setStyle() {
+        return nextElement().getStyle().set("width",
+                (round & 1) == 0 ? "100px" : "200px");
+    }
+
+    @Benchmark
+    public Element appendAndRemoveChild() {
+        container.appendChild(child);
+        return container.removeChild(child);
+    }
+
+    @Benchmark
+    public Element insertAndRemoveFirstChild() {
+        container.insertChild(0, child);
+        return container.removeChild(child);
+    }
+
+    private Element nextElement() {
+        return elements.get(round++ % elements.size());
+    }
+}
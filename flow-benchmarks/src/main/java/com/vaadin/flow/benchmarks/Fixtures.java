@@ -0,0 +1,178 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.startup.ApplicationConfiguration;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+/**
+ * Shared fixtures for the benchmarks.
+ * <p>
+ * The fixtures use the same service and session implementations as the unit
+ * tests of <code>flow-server</code>, but no mock objects so that the measured
+ * code paths are not affected by mocking overhead.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+final class Fixtures {
+
+    /**
+     * Application configuration for production mode without any properties.
+     */
+    private static class ProductionConfiguration
+            implements ApplicationConfiguration {
+
+        private final VaadinContext context;
+
+        private ProductionConfiguration(VaadinContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public boolean isProductionMode() {
+            return true;
+        }
+
+        @Override
+        public String getStringProperty(String name, String defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        public boolean getBooleanProperty(String name, boolean defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        public Enumeration<String> getPropertyNames() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public VaadinContext getContext() {
+            return context;
+        }
+
+        @Override
+        public boolean isDevModeSessionSerializationEnabled() {
+            return false;
+        }
+    }
+
+    private Fixtures() {
+        // Static helpers only
+    }
+
+    /**
+     * Creates a UI attached to a locked session of a servlet service in
+     * production mode and sets the UI, the session and the service as current
+     * for the calling thread.
+     *
+     * @return a new UI
+     */
+    static UI createUI() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setProductionMode(true);
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        VaadinContext context = service.getContext();
+        context.setAttribute(ApplicationConfiguration.class,
+                new ProductionConfiguration(context));
+        VaadinSession session = new AlwaysLockedVaadinSession(service);
+        VaadinService.setCurrent(service);
+        VaadinSession.setCurrent(session);
+
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    /**
+     * Creates a minimal request for the service of the given UI. Only
+     * {@link VaadinRequest#getService()} returns a value, all other methods
+     * return <code>null</code>, <code>false</code> or <code>0</code>.
+     *
+     * @param ui
+     *            the UI to create a request for
+     * @return a request instance
+     */
+    static VaadinRequest createRequest(UI ui) {
+        VaadinService service = ui.getSession().getService();
+        return (VaadinRequest) Proxy.newProxyInstance(
+                Fixtures.class.getClassLoader(),
+                new Class<?>[] { VaadinRequest.class },
+                (proxy, method, args) -> {
+                    if ("getService".equals(method.getName())) {
+                        return service;
+                    }
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    } else if (type == int.class) {
+                        return 0;
+                    } else if (type == long.class) {
+                        return 0L;
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Builds a balanced tree of <code>div</code> elements below the given
+     * parent, resembling nested layouts with the given number of children on
+     * each level.
+     *
+     * @param parent
+     *            the parent element
+     * @param count
+     *            the total number of elements to create
+     * @param fanOut
+     *            the number of children of each element
+     * @return the created elements in breadth-first order
+     */
+    static List<Element> createTree(Element parent, int count, int fanOut) {
+        List<Element> elements = new ArrayList<>(count);
+        int parentIndex = -1;
+        Element currentParent = parent;
+        while (elements.size() < count) {
+            for (int i = 0; i < fanOut && elements.size() < count; i++) {
+                Element child = new Element("div");
+                child.setAttribute("class", "level");
+                child.setText("Element " + elements.size());
+                currentParent.appendChild(child);
+                elements.add(child);
+            }
+            currentParent = elements.get(++parentIndex);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.data.provider.hierarchy.HierarchyMapper;
+import com.vaadin.flow.data.provider.hierarchy.TreeData;
+import com.vaadin.flow.data.provider.hierarchy.TreeDataProvider;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.internal.Range;
+
+/**
+ * Benchmarks index lookups, range fetches and expanding in a fully expanded
+ * three level hierarchy.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyMapperBenchmark {
+
+    @Param({ "10", "50" })
+    public int fanOut;
+
+    private HierarchyMapper<String, SerializablePredicate<String>> mapper;
+
+    private final List<String> branches = new ArrayList<>();
+
+    private final List<String> leaves = new ArrayList<>();
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TreeData<String> treeData = new TreeData<>();
+        List<String> roots = new ArrayList<>();
+        for (int i = 0; i < fanOut; i++) {
+            String root = String.valueOf(i);
+            roots.add(root);
+            treeData.addItem(null, root);
+            for (int j = 0; j < fanOut; j++) {
+                String branch = root + "/" + j;
+                branches.add(branch);
+                treeData.addItem(root, branch);
+                for (int k = 0; k < fanOut; k++) {
+                    String leaf = branch + "/" + k;
+                    leaves.add(leaf);
+                    treeData.addItem(branch, leaf);
+                }
+            }
+        }
+        mapper = new HierarchyMapper<>(new TreeDataProvider<>(treeData));
+        roots.forEach(mapper::expand);
+        branches.forEach(mapper::expand);
+    }
+
+    @Benchmark
+    public Object getIndexOf() {
+        return mapper.getIndexOf(leaves.get(nextIndex(leaves.size())));
+    }
+
+    @Benchmark
+    public long fetchHierarchyItems() {
+        int start = nextIndex(mapper.getTreeSize() - 50);
+        return mapper.fetchHierarchyItems(Range.withLength(start, 50)).count();
+    }
+
+    @Benchmark
+    public int collapseAndExpand() {
+        String branch = branches.get(nextIndex(branches.size()));
+        mapper.collapse(branch);
+        mapper.expand(branch);
+        return mapper.getTreeSize();
+    }
+
+    private int nextIndex(int bound) {
+        round = round * 1103515245 + 12345;
+        return (round >>> 1) % bound;
+    }
+}
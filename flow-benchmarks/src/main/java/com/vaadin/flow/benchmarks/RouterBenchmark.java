@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.router.RouteConfiguration;
+import com.vaadin.flow.server.RouteRegistry;
+import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+
+/**
+ * Benchmarks resolving navigation targets for URLs in an application with
+ * hundreds of static and parameterized routes.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    @Tag("div")
+    public static class ListView extends Component {
+    }
+
+    @Tag("div")
+    public static class DetailsView extends Component {
+    }
+
+    @Tag("div")
+    public static class EditView extends Component {
+    }
+
+    @Param({ "100", "1000" })
+    public int sectionCount;
+
+    private RouteRegistry registry;
+
+    private String[] urls;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UI ui = Fixtures.createUI();
+        registry = ApplicationRouteRegistry
+                .getInstance(ui.getSession().getService().getContext());
+        RouteConfiguration configuration = RouteConfiguration
+                .forRegistry(registry);
+        for (int i = 0; i < sectionCount; i++) {
+            String section = "section" + i;
+            configuration.setRoute(section, ListView.class);
+            configuration.setRoute(section + "/:itemId([0-9]+)",
+                    DetailsView.class);
+            configuration.setRoute(section + "/:itemId([0-9]+)/edit/:tab?",
+                    EditView.class);
+        }
+
+        urls = new String[256];
+        for (int i = 0; i < urls.length; i++) {
+            String section = "section" + (i * 7919 % sectionCount);
+            urls[i] = switch (i % 4) {
+            case 0 -> section;
+            case 1 -> section + "/" + i;
+            case 2 -> section + "/" + i + "/edit";
+            default -> section + "/" + i + "/edit/details";
+            };
+        }
+    }
+
+    @Benchmark
+    public Object getNavigationRouteTarget() {
+        return registry
+                .getNavigationRouteTarget(urls[round++ & (urls.length - 1)]);
+    }
+
+    @Benchmark
+    public Object getNavigationTarget() {
+        return registry.getNavigationTarget(urls[round++ & (urls.length - 1)]);
+    }
+}
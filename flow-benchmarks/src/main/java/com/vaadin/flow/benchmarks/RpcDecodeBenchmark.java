@@ -0,0 +1,125 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.ServerRpcHandler.RpcRequest;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+/**
+ * Benchmarks decoding and dispatching RPC messages with DOM events sent by the
+ * client.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RpcDecodeBenchmark {
+
+    @Param({ "1", "50" })
+    public int invocationCount;
+
+    private UI ui;
+
+    private VaadinRequest request;
+
+    private final ServerRpcHandler rpcHandler = new ServerRpcHandler();
+
+    private String invocations;
+
+    private int receivedEvents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ui = Fixtures.createUI();
+        request = Fixtures.createRequest(ui);
+
+        List<Element> elements = Fixtures.createTree(ui.getElement(),
+                invocationCount, 8);
+        StringBuilder builder = new StringBuilder("[");
+        for (Element element : elements) {
+            element.addEventListener("click", event -> receivedEvents++)
+                    .addEventData("event.clientX")
+                    .addEventData("event.clientY");
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append("{\"").append(JsonConstants.RPC_TYPE).append("\":\"")
+                    .append(JsonConstants.RPC_TYPE_EVENT).append("\",\"")
+                    .append(JsonConstants.RPC_NODE).append("\":")
+                    .append(element.getNode().getId()).append(",\"")
+                    .append(JsonConstants.RPC_EVENT_TYPE)
+                    .append("\":\"click\",\"")
+                    .append(JsonConstants.RPC_EVENT_DATA)
+                    .append("\":{\"event.clientX\":120,\"event.clientY\":48}}");
+        }
+        invocations = builder.append(']').toString();
+    }
+
+    /**
+     * Parses a message without processing the invocations.
+     */
+    @Benchmark
+    public Object parseRequest() {
+        return new RpcRequest(createMessage(), false);
+    }
+
+    /**
+     * Parses a message and dispatches the events to the listeners.
+     */
+    @Benchmark
+    public int handleRpc() throws InvalidUIDLSecurityKeyException {
+        rpcHandler.handleRpc(ui, createMessage(), request);
+        return receivedEvents;
+    }
+
+    private String createMessage() {
+        return "{\"" + ApplicationConstants.CSRF_TOKEN + "\":\""
+                + ui.getCsrfToken() + "\",\""
+                + ApplicationConstants.SERVER_SYNC_ID + "\":"
+                + ui.getInternals().getServerSyncId() + ",\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":"
+                + (ui.getInternals().getLastProcessedClientToServerId() + 1)
+                + ",\"" + ApplicationConstants.RPC_INVOCATIONS + "\":"
+                + invocations + "}";
+    }
+}
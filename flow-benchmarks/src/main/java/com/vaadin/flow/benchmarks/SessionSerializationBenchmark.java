@@ -0,0 +1,124 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.CompactSessionSerializer;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Benchmarks writing and reading a session with a UI using default Java
+ * serialization and the {@link CompactSessionSerializer}. The sizes of the
+ * serialized sessions are printed during setup.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionSerializationBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int elementCount;
+
+    private VaadinSession session;
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer();
+
+    private byte[] defaultBytes;
+
+    private byte[] compactBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        UI ui = Fixtures.createUI();
+        session = ui.getSession();
+        session.setConfiguration(
+                session.getService().getDeploymentConfiguration());
+        ui.doInit(Fixtures.createRequest(ui), session.getNextUIid(), "app");
+        session.addUI(ui);
+        Fixtures.createTree(ui.getElement(), elementCount, 8);
+
+        defaultBytes = writeDefault().toByteArray();
+        compactBytes = writeCompact().toByteArray();
+    }
+
+    /**
+     * Writes the session using default Java serialization.
+     */
+    @Benchmark
+    public ByteArrayOutputStream writeDefault() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(session);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the session using the compact serializer.
+     */
+    @Benchmark
+    public ByteArrayOutputStream writeCompact() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        serializer.write(session, bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads a session written using default Java serialization.
+     */
+    @Benchmark
+    public Object readDefault() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(defaultBytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Reads a session written using the compact serializer.
+     */
+    @Benchmark
+    public VaadinSession readCompact()
+            throws IOException, ClassNotFoundException {
+        return serializer.read(new ByteArrayInputStream(compactBytes));
+    }
+}
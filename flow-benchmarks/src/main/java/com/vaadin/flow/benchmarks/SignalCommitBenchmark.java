@@ -0,0 +1,104 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.signals.ListSignal;
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.SignalEnvironment;
+import com.vaadin.signals.ValueSignal;
+
+/**
+ * Benchmarks committing changes to a signal tree with many nodes. The cost of a
+ * single commit should not depend on the number of nodes in the tree.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalCommitBenchmark {
+
+    @Param({ "100", "10000" })
+    public int nodeCount;
+
+    private List<ValueSignal<String>> children;
+
+    private ListSignal<String> list;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SignalEnvironment.tryInitialize(new ObjectMapper(), Runnable::run);
+
+        list = new ListSignal<>(String.class);
+        for (int i = 0; i < nodeCount; i++) {
+            list.insertLast("Item " + i);
+        }
+        children = list.value();
+    }
+
+    /**
+     * Commits a new value for one node.
+     */
+    @Benchmark
+    public Object setValue() {
+        int index = round++ % nodeCount;
+        return children.get(index).value("Value " + index);
+    }
+
+    /**
+     * Commits new values for two nodes in one transaction.
+     */
+    @Benchmark
+    public Object setValuesInTransaction() {
+        int index = round++ % nodeCount;
+        return Signal.runInTransaction(() -> {
+            children.get(index).value("Value " + index);
+            children.get(nodeCount - 1 - index).value("Value " + index);
+        });
+    }
+
+    /**
+     * Inserts a node and removes it again.
+     */
+    @Benchmark
+    public Object insertAndRemove() {
+        ValueSignal<String> child = list.insertLast("New").signal();
+        return list.remove(child);
+    }
+}
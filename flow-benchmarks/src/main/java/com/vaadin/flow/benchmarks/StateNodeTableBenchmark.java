@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateNodeTable;
+
+/**
+ * Compares the node table of the state tree with the boxed hash map that was
+ * used before, by registering, looking up and unregistering nodes of a large
+ * tree.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateNodeTableBenchmark {
+
+    @Param({ "10000", "50000" })
+    public int nodeCount;
+
+    private StateNode[] nodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nodes = new StateNode[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = new StateNode();
+        }
+    }
+
+    /**
+     * Fills a hash map keyed by boxed ids, looks up every node and removes them
+     * all.
+     */
+    @Benchmark
+    public void hashMap(Blackhole blackhole) {
+        Map<Integer, StateNode> idToNode = new HashMap<>();
+        int nextId = 1;
+        for (StateNode node : nodes) {
+            idToNode.put(nextId++, node);
+        }
+        for (int id = 1; id < nextId; id++) {
+            blackhole.consume(idToNode.get(id));
+        }
+        for (int id = 1; id < nextId; id++) {
+            blackhole.consume(idToNode.remove(id));
+        }
+    }
+
+    /**
+     * Fills a node table, looks up every node and removes them all.
+     */
+    @Benchmark
+    public void stateNodeTable(Blackhole blackhole) {
+        StateNodeTable table = new StateNodeTable();
+        int lastId = 0;
+        for (StateNode node : nodes) {
+            lastId = table.add(node, -1);
+        }
+        for (int id = 1; id <= lastId; id++) {
+            blackhole.consume(table.get(id));
+        }
+        for (int id = 1; id <= lastId; id++) {
+            blackhole.consume(table.remove(id));
+        }
+        table.releasedIdsCollected();
+        table.releasedIdsSent(1);
+        table.releasedIdsConfirmed(2);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Benchmarks collecting changes from the state tree of a UI with a deep
+ * component tree.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTreeBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int elementCount;
+
+    @Param({ "100" })
+    public int changedElements;
+
+    private UI ui;
+
+    private StateTree stateTree;
+
+    private List<Element> elements;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ui = Fixtures.createUI();
+        stateTree = ui.getInternals().getStateTree();
+        elements = Fixtures.createTree(ui.getElement(), elementCount, 8);
+        stateTree.collectChanges(change -> {
+        });
+    }
+
+    /**
+     * Collects the changes from a tree without any changes.
+     */
+    @Benchmark
+    public void collectChanges_noChanges(Blackhole blackhole) {
+        stateTree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Updates a property of elements spread across the tree and collects the
+     * resulting changes.
+     */
+    @Benchmark
+    public void collectChanges_propertyChanges(Blackhole blackhole) {
+        int value = round++;
+        int step = Math.max(1, elementCount / changedElements);
+        for (int i = value % step; i < elementCount; i += step) {
+            elements.get(i).setProperty("value", value);
+        }
+        stateTree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Attaches a new subtree, collects the changes, detaches the subtree and
+     * collects the changes again.
+     */
+    @Benchmark
+    public void collectChanges_attachDetachSubtree(Blackhole blackhole) {
+        Element subtree = new Element("div");
+        Fixtures.createTree(subtree, changedElements, 4);
+        Element parent = elements.get(round++ % elements.size());
+
+        parent.appendChild(subtree);
+        stateTree.collectChanges(blackhole::consume);
+        parent.removeChild(subtree);
+        stateTree.collectChanges(blackhole::consume);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+/**
+ * Benchmarks encoding the pending changes of a UI as a UIDL response, both as a
+ * JSON tree and streamed directly to bytes, with changes encoded either as JSON
+ * objects or in the compact array format.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidlWriterBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int elementCount;
+
+    @Param({ "100", "1000" })
+    public int changedElements;
+
+    @Param({ "false", "true" })
+    public boolean compactChanges;
+
+    private UI ui;
+
+    private List<Element> elements;
+
+    private final UidlWriter uidlWriter = new UidlWriter();
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(
+            64 * 1024);
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ui = Fixtures.createUI();
+        ui.getInternals().setCompactChanges(compactChanges);
+        elements = Fixtures.createTree(ui.getElement(), elementCount, 8);
+        uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Encodes property changes as a JSON tree.
+     */
+    @Benchmark
+    public Object createUidl_propertyChanges() {
+        changeProperties();
+        return uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Streams property changes to a byte buffer.
+     */
+    @Benchmark
+    public int writeUidl_propertyChanges() throws IOException {
+        changeProperties();
+        output.reset();
+        try (JsonGenerator generator = JacksonUtils.getMapper()
+                .createGenerator(output)) {
+            uidlWriter.writeUidl(ui, false, false, generator);
+        }
+        return output.size();
+    }
+
+    /**
+     * Encodes the changes of attaching and detaching a subtree as a JSON tree.
+     */
+    @Benchmark
+    public Object createUidl_attachDetachSubtree() {
+        Element subtree = new Element("div");
+        Fixtures.createTree(subtree, changedElements, 4);
+        Element parent = elements.get(round++ % elements.size());
+
+        parent.appendChild(subtree);
+        Object attach = uidlWriter.createUidl(ui, false);
+        parent.removeChild(subtree);
+        return List.of(attach, uidlWriter.createUidl(ui, false));
+    }
+
+    private void changeProperties() {
+        int value = round++;
+        int step = Math.max(1, elementCount / changedElements);
+        for (int i = value % step; i < elementCount; i += step) {
+            elements.get(i).setProperty("value", "Value " + value);
+        }
+    }
+}
@@ -413,9 +413,13 @@ export class Flow {
     return new Promise((resolve, reject) => {
       const xhr = new XMLHttpRequest();
       const httpRequest = xhr as any;
+      // The client engine bundled with this file decodes compact changes, but
+      // they are only requested when the server has enabled the
+      // compactTreeChanges feature flag for this page
+      const compactChanges = $wnd.Vaadin?.featureFlags?.compactTreeChanges ? '&compactChanges=true' : '';
       const requestPath = `?v-r=init&location=${encodeURIComponent(
         this.getFlowRoutePath(location)
-      )}&query=${encodeURIComponent(this.getFlowRouteQuery(location))}`;
+      )}&query=${encodeURIComponent(this.getFlowRouteQuery(location))}${compactChanges}`;
 
       httpRequest.open('GET', requestPath);
 
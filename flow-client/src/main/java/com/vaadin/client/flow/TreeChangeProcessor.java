@@ -27,6 +27,7 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -62,9 +63,14 @@ public class TreeChangeProcessor {
             // Then process all non-attach changes
             int length = changes.length();
             for (int i = 0; i < length; i++) {
-                JsonObject change = changes.getObject(i);
+                JsonValue change = changes.get(i);
                 if (!isAttach(change)) {
-                    final StateNode value = processChange(tree, change);
+                    final StateNode value;
+                    if (isCompact(change)) {
+                        value = processCompactChange(tree, (JsonArray) change);
+                    } else {
+                        value = processChange(tree, (JsonObject) change);
+                    }
                     if (value != null) {
                         nodes.add(value);
                     }
@@ -82,9 +88,9 @@ public class TreeChangeProcessor {
         JsSet<StateNode> nodes = JsCollections.set();
         int length = changes.length();
         for (int i = 0; i < length; i++) {
-            JsonObject change = changes.getObject(i);
+            JsonValue change = changes.get(i);
             if (isAttach(change)) {
-                int nodeId = (int) change.getNumber(JsonConstants.CHANGE_NODE);
+                int nodeId = getNodeId(change);
 
                 if (nodeId != tree.getRootNode().getId()) {
                     StateNode node = new StateNode(nodeId, tree);
@@ -96,9 +102,24 @@ public class TreeChangeProcessor {
         return nodes;
     }
 
-    private static boolean isAttach(JsonObject change) {
-        return JsonConstants.CHANGE_TYPE_ATTACH
-                .equals(change.getString(JsonConstants.CHANGE_TYPE));
+    private static boolean isCompact(JsonValue change) {
+        return change.getType() == JsonType.ARRAY;
+    }
+
+    private static boolean isAttach(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change)
+                    .getNumber(0) == JsonConstants.COMPACT_CHANGE_ATTACH;
+        }
+        return JsonConstants.CHANGE_TYPE_ATTACH.equals(
+                ((JsonObject) change).getString(JsonConstants.CHANGE_TYPE));
+    }
+
+    private static int getNodeId(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change).getNumber(1);
+        }
+        return (int) ((JsonObject) change).getNumber(JsonConstants.CHANGE_NODE);
     }
 
     /**
@@ -147,6 +168,95 @@ public class TreeChangeProcessor {
         return node;
     }
 
+    /**
+     * Update a state tree based on a change in the compact array format. This
+     * method is public for testing purposes.
+     *
+     * @param tree
+     *            the tree to update
+     * @param change
+     *            the compact JSON change
+     * @return the updated node addressed by the provided {@code change}
+     * @see JsonConstants#COMPACT_CHANGE_ATTACH
+     */
+    public static StateNode processCompactChange(StateTree tree,
+            JsonArray change) {
+        int type = (int) change.getNumber(0);
+        int nodeId = (int) change.getNumber(1);
+
+        StateNode node = tree.getNode(nodeId);
+        if (node == null && tree.isResync()) {
+            // Resync should not stop handling changes
+            return node;
+        }
+        assert node != null : "No attached node found";
+
+        if (type == JsonConstants.COMPACT_CHANGE_DETACH) {
+            processDetachChange(node);
+            return node;
+        }
+
+        int featureId = (int) change.getNumber(2);
+        switch (type) {
+        case JsonConstants.COMPACT_CHANGE_EMPTY_MAP:
+            node.getMap(featureId);
+            break;
+        case JsonConstants.COMPACT_CHANGE_EMPTY_LIST:
+            node.getList(featureId);
+            break;
+        case JsonConstants.COMPACT_CHANGE_PUT:
+            node.getMap(featureId).getProperty(change.getString(3)).setValue(
+                    ClientJsonCodec.decodeWithoutTypeInfo(change.get(4)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_PUT_NODE:
+            node.getMap(featureId).getProperty(change.getString(3))
+                    .setValue(attachChild(node, (int) change.getNumber(4)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_REMOVE:
+            node.getMap(featureId).getProperty(change.getString(3))
+                    .removeValue();
+            break;
+        case JsonConstants.COMPACT_CHANGE_SPLICE:
+            node.getList(featureId).splice((int) change.getNumber(3),
+                    (int) change.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_SPLICE_ADD:
+            node.getList(featureId).splice((int) change.getNumber(3),
+                    (int) change.getNumber(4),
+                    ClientJsonCodec.jsonArrayAsJsArray(change.getArray(5)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_SPLICE_ADD_NODES:
+            node.getList(featureId).splice((int) change.getNumber(3),
+                    (int) change.getNumber(4),
+                    attachChildren(node, change.getArray(5)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_CLEAR:
+            node.getList(featureId).clear();
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return node;
+    }
+
+    private static StateNode attachChild(StateNode node, int childId) {
+        StateNode child = node.getTree().getNode(childId);
+        assert child != null : "No child node found with id " + childId;
+        child.setParent(node);
+        return child;
+    }
+
+    private static JsArray<StateNode> attachChildren(StateNode node,
+            JsonArray childIds) {
+        int length = childIds.length();
+
+        JsArray<StateNode> children = JsCollections.array();
+        for (int i = 0; i < length; i++) {
+            children.set(i, attachChild(node, (int) childIds.getNumber(i)));
+        }
+        return children;
+    }
+
     private static void processDetachChange(StateNode node) {
         node.getTree().unregisterNode(node);
         node.setParent(null);
@@ -174,11 +284,8 @@ public class TreeChangeProcessor {
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
             int childId = (int) change
                     .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
-            StateNode child = node.getTree().getNode(childId);
-            assert child != null;
-            child.setParent(node);
 
-            property.setValue(child);
+            property.setValue(attachChild(node, childId));
         } else {
             assert false
                     : "Change should have either value or nodeValue property: "
@@ -223,21 +330,8 @@ public class TreeChangeProcessor {
         } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
             JsonArray addNodes = change
                     .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
-            int length = addNodes.length();
-
-            JsArray<StateNode> add = JsCollections.array();
-
-            StateTree tree = node.getTree();
-            for (int i = 0; i < length; i++) {
-                int childId = (int) addNodes.getNumber(i);
-                StateNode child = tree.getNode(childId);
-                assert child != null : "No child node found with id " + childId;
-                child.setParent(node);
 
-                add.set(i, child);
-            }
-
-            list.splice(index, remove, add);
+            list.splice(index, remove, attachChildren(node, addNodes));
         } else {
             list.splice(index, remove);
         }
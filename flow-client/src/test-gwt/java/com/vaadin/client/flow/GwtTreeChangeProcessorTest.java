@@ -16,14 +16,39 @@
 package com.vaadin.client.flow;
 
 import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.InitialPropertiesHandler;
+import com.vaadin.client.Registry;
+import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 public class GwtTreeChangeProcessorTest extends ClientEngineTestBase {
+
+    private static final int NS = 1;
+
+    private StateTree tree;
+
+    private StateNode root;
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+
+        Registry registry = new Registry() {
+            {
+                set(InitialPropertiesHandler.class,
+                        new InitialPropertiesHandler(this));
+            }
+        };
+        tree = new StateTree(registry);
+        root = tree.getRootNode();
+    }
+
     public void testPrimitiveSplice() {
         StateTree tree = new StateTree(null);
         StateNode root = tree.getRootNode();
@@ -45,4 +70,131 @@ public class GwtTreeChangeProcessorTest extends ClientEngineTestBase {
         assertEquals(1, list.length());
         assertEquals("value", list.get(0));
     }
+
+    public void testCompactAttachAndPutNode() {
+        process(compactChange(JsonConstants.COMPACT_CHANGE_ATTACH, 2),
+                compactChange(JsonConstants.COMPACT_CHANGE_PUT_NODE,
+                        root.getId(), NS, Json.create("child"),
+                        Json.create(2)));
+
+        StateNode child = tree.getNode(2);
+        assertNotNull(child);
+        assertSame(root, child.getParent());
+        assertSame(child, root.getMap(NS).getProperty("child").getValue());
+    }
+
+    public void testCompactDetach() {
+        process(compactChange(JsonConstants.COMPACT_CHANGE_ATTACH, 2));
+        StateNode child = tree.getNode(2);
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_DETACH, 2));
+
+        assertNull(tree.getNode(2));
+        assertTrue(child.isUnregistered());
+    }
+
+    public void testCompactEmptyMapAndEmptyList() {
+        int mapNs = 11;
+        int listNs = 12;
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_EMPTY_MAP,
+                root.getId(), mapNs),
+                compactChange(JsonConstants.COMPACT_CHANGE_EMPTY_LIST,
+                        root.getId(), listNs));
+
+        assertTrue(root.hasFeature(mapNs));
+        assertTrue(root.hasFeature(listNs));
+        assertEquals(0, root.getList(listNs).length());
+    }
+
+    public void testCompactPutAndRemove() {
+        process(compactChange(JsonConstants.COMPACT_CHANGE_PUT, root.getId(),
+                NS, Json.create("key"), Json.create("value")));
+
+        MapProperty property = root.getMap(NS).getProperty("key");
+        assertEquals("value", property.getValue());
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_REMOVE,
+                root.getId(), NS, Json.create("key")));
+
+        assertFalse(property.hasValue());
+    }
+
+    public void testCompactSpliceAddAndSplice() {
+        JsonArray add = Json.createArray();
+        add.set(0, "a");
+        add.set(1, "b");
+        add.set(2, "c");
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_SPLICE_ADD,
+                root.getId(), NS, Json.create(0), Json.create(0), add));
+
+        NodeList list = root.getList(NS);
+        assertEquals(3, list.length());
+        assertEquals("b", list.get(1));
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_SPLICE,
+                root.getId(), NS, Json.create(1), Json.create(1)));
+
+        assertEquals(2, list.length());
+        assertEquals("a", list.get(0));
+        assertEquals("c", list.get(1));
+    }
+
+    public void testCompactSpliceAddNodes() {
+        JsonArray children = Json.createArray();
+        children.set(0, 2);
+        children.set(1, 3);
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_ATTACH, 2),
+                compactChange(JsonConstants.COMPACT_CHANGE_ATTACH, 3),
+                compactChange(JsonConstants.COMPACT_CHANGE_SPLICE_ADD_NODES,
+                        root.getId(), NS, Json.create(0), Json.create(0),
+                        children));
+
+        NodeList list = root.getList(NS);
+        assertEquals(2, list.length());
+        assertSame(tree.getNode(2), list.get(0));
+        assertSame(tree.getNode(3), list.get(1));
+        assertSame(root, tree.getNode(3).getParent());
+    }
+
+    public void testCompactClear() {
+        JsonArray add = Json.createArray();
+        add.set(0, "value");
+        process(compactChange(JsonConstants.COMPACT_CHANGE_SPLICE_ADD,
+                root.getId(), NS, Json.create(0), Json.create(0), add));
+
+        process(compactChange(JsonConstants.COMPACT_CHANGE_CLEAR,
+                root.getId(), NS));
+
+        assertEquals(0, root.getList(NS).length());
+    }
+
+    private void process(JsonArray... changes) {
+        JsonArray json = Json.createArray();
+        for (JsonArray change : changes) {
+            json.set(json.length(), change);
+        }
+        TreeChangeProcessor.processChanges(tree, json);
+    }
+
+    private static JsonArray compactChange(int type, int node,
+            JsonValue... values) {
+        JsonArray json = Json.createArray();
+        json.set(0, type);
+        json.set(1, node);
+        for (JsonValue value : values) {
+            json.set(json.length(), value);
+        }
+        return json;
+    }
+
+    private static JsonArray compactChange(int type, int node, int ns,
+            JsonValue... values) {
+        JsonValue[] withFeature = new JsonValue[values.length + 1];
+        withFeature[0] = Json.create(ns);
+        System.arraycopy(values, 0, withFeature, 1, values.length);
+        return compactChange(type, node, withFeature);
+    }
 }
@@ -289,6 +289,31 @@ describe('Flow', () => {
     });
   });
 
+  it('should not request compact changes when the feature is disabled', async () => {
+    let requestUrl = '';
+    server.addHandler('GET', /^.*\?v-r=init.*/, (req) => {
+      requestUrl = req.url;
+      req.respond(200, { 'content-type': 'application/json' }, createInitResponse('foobar-1111111'));
+    });
+
+    await (new Flow() as any).flowInitUi();
+
+    expect(requestUrl).not.to.contain('compactChanges');
+  });
+
+  it('should request compact changes when the feature is enabled', async () => {
+    $wnd.Vaadin.featureFlags = { compactTreeChanges: true };
+    let requestUrl = '';
+    server.addHandler('GET', /^.*\?v-r=init.*/, (req) => {
+      requestUrl = req.url;
+      req.respond(200, { 'content-type': 'application/json' }, createInitResponse('foobar-1111111'));
+    });
+
+    await (new Flow() as any).flowInitUi();
+
+    expect(requestUrl).to.contain('&compactChanges=true');
+  });
+
   it('should bind Flow serverSideRoutes function to the flow context', () => {
     // A mock class for router
     class TestRouter {
@@ -327,6 +327,157 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void testCompactPutAndRemoveChange() {
+        JsonArray change = compactChange(JsonConstants.COMPACT_CHANGE_PUT,
+                rootId, ns, Json.create(myKey), Json.create(myValue));
+
+        StateNode node = TreeChangeProcessor.processCompactChange(tree, change);
+
+        MapProperty property = tree.getRootNode().getMap(ns).getProperty(myKey);
+        Assert.assertEquals(myValue, property.getValue());
+        Assert.assertEquals(tree.getRootNode(), node);
+
+        change = compactChange(JsonConstants.COMPACT_CHANGE_REMOVE, rootId, ns,
+                Json.create(myKey));
+
+        TreeChangeProcessor.processCompactChange(tree, change);
+
+        Assert.assertFalse(property.hasValue());
+    }
+
+    @Test
+    public void testCompactSpliceChanges() {
+        JsonArray change = compactChange(
+                JsonConstants.COMPACT_CHANGE_SPLICE_ADD, rootId, ns,
+                Json.create(0), Json.create(0),
+                toArray(Json.create("foo"), Json.create("bar")));
+
+        TreeChangeProcessor.processCompactChange(tree, change);
+
+        NodeList list = tree.getRootNode().getList(ns);
+        Assert.assertEquals(2, list.length());
+        Assert.assertEquals("foo", list.get(0));
+        Assert.assertEquals("bar", list.get(1));
+
+        change = compactChange(JsonConstants.COMPACT_CHANGE_SPLICE, rootId, ns,
+                Json.create(0), Json.create(1));
+
+        TreeChangeProcessor.processCompactChange(tree, change);
+
+        Assert.assertEquals(1, list.length());
+        Assert.assertEquals("bar", list.get(0));
+
+        change = compactChange(JsonConstants.COMPACT_CHANGE_CLEAR, rootId, ns);
+
+        TreeChangeProcessor.processCompactChange(tree, change);
+
+        Assert.assertEquals(0, list.length());
+    }
+
+    @Test
+    public void testCompactAndObjectChangesMixed() {
+        int childId = 2;
+        JsonArray changes = toArray(
+                compactChange(JsonConstants.COMPACT_CHANGE_SPLICE_ADD_NODES,
+                        rootId, ns, Json.create(0), Json.create(0),
+                        toArray(Json.create(childId))),
+                putChange(childId, ns, myKey, Json.create(myValue)),
+                compactChange(JsonConstants.COMPACT_CHANGE_ATTACH, childId));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
+                changes);
+
+        StateNode child = tree.getNode(childId);
+        Assert.assertNotNull(child);
+        Assert.assertEquals(tree.getRootNode(), child.getParent());
+        Assert.assertSame(child, tree.getRootNode().getList(ns).get(0));
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+        Assert.assertTrue(updatedNodes.has(child));
+        Assert.assertTrue(updatedNodes.has(tree.getRootNode()));
+    }
+
+    @Test
+    public void testCompactPutNodeAndDetachChange() {
+        AtomicInteger unregisterCount = new AtomicInteger(0);
+        StateNode child = new StateNode(2, tree);
+        child.addUnregisterListener(e -> unregisterCount.incrementAndGet());
+        tree.registerNode(child);
+
+        JsonArray change = compactChange(JsonConstants.COMPACT_CHANGE_PUT_NODE,
+                rootId, ns, Json.create(myKey), Json.create(child.getId()));
+
+        StateNode node = TreeChangeProcessor.processCompactChange(tree, change);
+
+        Assert.assertEquals(tree.getRootNode(), node);
+        Assert.assertSame(child,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertEquals(tree.getRootNode(), child.getParent());
+
+        change = compactChange(JsonConstants.COMPACT_CHANGE_DETACH,
+                child.getId());
+
+        node = TreeChangeProcessor.processCompactChange(tree, change);
+
+        Assert.assertSame(child, node);
+        Assert.assertNull(child.getParent());
+        Assert.assertNull(tree.getNode(child.getId()));
+        Assert.assertEquals(1, unregisterCount.get());
+    }
+
+    @Test
+    public void testCompactPopulateFeatures() {
+        StateNode node = new StateNode(2, tree);
+        tree.registerNode(node);
+        int mapFeatureId = 11;
+        int listFeatureId = 12;
+
+        StateNode updatedNode = TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_EMPTY_MAP,
+                        node.getId(), mapFeatureId));
+        TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_EMPTY_LIST,
+                        node.getId(), listFeatureId));
+
+        Assert.assertEquals(node, updatedNode);
+        Assert.assertTrue(node.hasFeature(mapFeatureId));
+        Assert.assertTrue(node.hasFeature(listFeatureId));
+        // No assertion error because of wrong feature instance
+        node.getMap(mapFeatureId);
+        node.getList(listFeatureId);
+    }
+
+    @Test
+    public void testCompactChangeForMissingNodeDuringResync_ignored() {
+        tree.setResync(true);
+
+        StateNode node = TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_PUT, 42, ns,
+                        Json.create(myKey), Json.create(myValue)));
+
+        Assert.assertNull(node);
+    }
+
+    private static JsonArray compactChange(int type, int node,
+            JsonValue... values) {
+        JsonArray json = Json.createArray();
+        json.set(0, type);
+        json.set(1, node);
+        for (JsonValue value : values) {
+            json.set(json.length(), value);
+        }
+        return json;
+    }
+
+    private static JsonArray compactChange(int type, int node, int ns,
+            JsonValue... values) {
+        JsonValue[] withFeature = new JsonValue[values.length + 1];
+        withFeature[0] = Json.create(ns);
+        System.arraycopy(values, 0, withFeature, 1, values.length);
+        return compactChange(type, node, withFeature);
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
@@ -80,7 +80,7 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
     @Override
     public T getItem(int index) {
         validateItemIndex(index);
-        return getItems().skip(index).findFirst().orElse(null);
+        return getItemAt(index).orElse(null);
     }
 
     @SuppressWarnings("unchecked")
@@ -95,7 +95,7 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         if (index < 0) {
             return Optional.empty();
         }
-        return getItems().skip(index + 1).findFirst();
+        return getItemAt(index + 1);
     }
 
     @Override
@@ -104,7 +104,27 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         if (index <= 0) {
             return Optional.empty();
         }
-        return getItems().skip(index - 1).findFirst();
+        return getItemAt(index - 1);
+    }
+
+    /**
+     * Fetches a single item with the component's filter and sorting. The data
+     * provider caches the filtered and sorted items, so this doesn't go through
+     * all the items preceding the index.
+     *
+     * @param index
+     *            the index of the item
+     * @return the item, or an empty optional if there's no item at the index
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Optional<T> getItemAt(int index) {
+        Query<T, SerializablePredicate<T>> query = DataViewUtils
+                .getQuery(component);
+        try (Stream<T> stream = getDataProvider().fetch(new Query(index, 1,
+                query.getSortOrders(), query.getInMemorySorting(),
+                query.getFilter().orElse(null)))) {
+            return stream.findFirst();
+        }
     }
 
     @Override
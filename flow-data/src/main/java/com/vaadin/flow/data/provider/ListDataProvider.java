@@ -15,10 +15,15 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.EventObject;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -26,6 +31,16 @@ import com.vaadin.flow.function.SerializablePredicate;
 
 /**
  * {@link DataProvider} wrapper for {@link Collection}s.
+ * <p>
+ * The filtered and sorted items of the latest query are cached, so that
+ * fetching consecutive pages with the same filter and sorting only filters and
+ * sorts the items once. The cache is invalidated by any data change event, i.e.
+ * {@link #refreshAll()} and {@link #refreshItem(Object)}, and whenever the size
+ * of the backing collection changes. Other changes, such as replacing an item
+ * in place or changing the properties of an item, are not detected: they must
+ * be followed by {@link #refreshItem(Object)} or {@link #refreshAll()} for them
+ * to affect filtering and sorting, which is required to update components using
+ * the data provider in any case.
  *
  * @param <T>
  *            data type
@@ -41,6 +56,38 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    /*
+     * Filtered and sorted items of the latest query, reused by following
+     * queries with the same filters and sorting so that paging through the
+     * items doesn't filter and sort the whole collection for each page.
+     */
+    private transient volatile CachedView<T> cachedView;
+
+    /*
+     * Incremented whenever the items might have changed to invalidate views
+     * created before the change.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Items matching a combination of filters, and optionally the same items
+     * sorted with a comparator. Filters and comparators are compared by
+     * identity.
+     */
+    private record CachedView<T>(int generation, int backendSize,
+            SerializablePredicate<T> filter,
+            SerializablePredicate<T> queryFilter, List<T> filteredItems,
+            Comparator<T> sorting, List<T> sortedItems) {
+
+        boolean isFilteredBy(int generation, Collection<T> backend,
+                SerializablePredicate<T> filter,
+                SerializablePredicate<T> queryFilter) {
+            return this.generation == generation && this.filter == filter
+                    && this.queryFilter == queryFilter
+                    && backendSize == backend.size();
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -68,27 +115,71 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
-
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(Objects::nonNull)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
-
-        if (comparing.isPresent()) {
-            stream = stream.sorted(comparing.get());
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        Comparator<T> querySorting = query.getInMemorySorting();
+
+        List<T> items;
+        if (filter == null && queryFilter == null && querySorting == null
+                && sortOrder == null && backend instanceof List) {
+            // Nothing to filter or sort, slice the backing list directly
+            items = (List<T>) backend;
+        } else {
+            items = getView(queryFilter, querySorting, true).sortedItems();
         }
 
-        return stream.skip(query.getOffset()).limit(query.getLimit());
+        int size = items.size();
+        int start = Math.min(offset, size);
+        int end = (int) Math.min(size, (long) start + limit);
+        // Copy the page to not expose a view of the backing list
+        return new ArrayList<>(items.subList(start, end)).stream();
     }
 
     @Override
     public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        if (filter == null && queryFilter == null) {
+            return backend.size();
+        }
+        return getView(queryFilter, null, false).filteredItems().size();
+    }
+
+    /**
+     * Gets the cached view for the given query filter and sorting, creating it
+     * if needed.
+     *
+     * @param queryFilter
+     *            the query filter, or {@code null}
+     * @param querySorting
+     *            the query sorting, or {@code null}
+     * @param sorted
+     *            {@code true} if the sorted items are needed, {@code false} if
+     *            only the filtered items are needed
+     * @return a view with the filtered items, and the sorted items if requested
+     */
+    private CachedView<T> getView(SerializablePredicate<T> queryFilter,
+            Comparator<T> querySorting, boolean sorted) {
+        int currentGeneration = generation.get();
+        CachedView<T> view = cachedView;
+        if (view == null || !view.isFilteredBy(currentGeneration, backend,
+                filter, queryFilter)) {
+            view = new CachedView<>(currentGeneration, backend.size(), filter,
+                    queryFilter, getFilteredItems(queryFilter), null, null);
+        } else if (!sorted || (view.sortedItems() != null
+                && view.sorting() == querySorting)) {
+            return view;
+        }
+        if (sorted) {
+            view = new CachedView<>(currentGeneration, view.backendSize(),
+                    filter, queryFilter, view.filteredItems(), querySorting,
+                    sort(view.filteredItems(), querySorting));
+        }
+        cachedView = view;
+        return view;
     }
 
-    private Stream<T> getFilteredStream(
-            Query<T, SerializablePredicate<T>> query) {
+    private List<T> getFilteredItems(SerializablePredicate<T> queryFilter) {
         Stream<T> stream = backend.stream();
 
         // Apply our own filters first so that query filters never see the items
@@ -96,10 +187,35 @@ public class ListDataProvider<T>
         if (filter != null) {
             stream = stream.filter(filter);
         }
+        if (queryFilter != null) {
+            stream = stream.filter(queryFilter);
+        }
+
+        return stream.collect(Collectors.toCollection(ArrayList::new));
+    }
 
-        stream = query.getFilter().map(stream::filter).orElse(stream);
+    private List<T> sort(List<T> items, Comparator<T> querySorting) {
+        Optional<Comparator<T>> comparing = Stream.of(querySorting, sortOrder)
+                .filter(Objects::nonNull)
+                .reduce((c1, c2) -> c1.thenComparing(c2));
+        if (comparing.isEmpty()) {
+            return items;
+        }
+        List<T> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(comparing.get());
+        return sortedItems;
+    }
 
-        return stream;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Any data change event invalidates the cached filtered and sorted items.
+     */
+    @Override
+    protected void fireEvent(EventObject event) {
+        generation.incrementAndGet();
+        cachedView = null;
+        super.fireEvent(event);
     }
 
     @Override
@@ -136,6 +136,8 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().refreshAll();
+
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -158,6 +160,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
     @Override
     protected void handleDataRefreshEvent(
             DataChangeEvent.DataRefreshEvent<T> event) {
+        mapper.refreshItem(event.getItem(), event.isRefreshChildren());
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider.hierarchy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the flattened hierarchy of visible items.
+ * <p>
+ * Every visible item is represented by a node which knows the number of rows in
+ * its subtree. The subtree sizes of the children of each node are kept in a
+ * Fenwick tree so that the row index of an item, the item at a given row index
+ * and the effect of expanding or collapsing an item can all be resolved in
+ * {@code O(d log k)} time, where {@code d} is the depth of the item and
+ * {@code k} the number of siblings on each level.
+ * <p>
+ * This class is framework internal implementation details, and can be changed /
+ * moved at any point.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ *
+ * @param <T>
+ *            the data type
+ */
+class HierarchyIndex<T> implements Serializable {
+
+    /**
+     * A visible item in the hierarchy.
+     *
+     * @param <T>
+     *            the data type
+     */
+    static final class Node<T> implements Serializable {
+        private final Object id;
+        private T item;
+        private Node<T> parent;
+        private int position;
+        private List<Node<T>> children = Collections.emptyList();
+        /*
+         * Fenwick tree of the subtree sizes of the children, 1-based.
+         */
+        private int[] childSizes = new int[1];
+        /*
+         * Number of rows in the subtree, including the row of this node unless
+         * this is the root node.
+         */
+        private int size;
+
+        /*
+         * Rows taken by the node itself: 0 for the root node, otherwise 1
+         */
+        private final int ownRows;
+
+        private Node(Object id, T item, int ownRows) {
+            this.id = id;
+            this.item = item;
+            this.ownRows = ownRows;
+            size = ownRows;
+        }
+
+        /**
+         * Gets the item of this node.
+         *
+         * @return the item, or <code>null</code> for the root node
+         */
+        T getItem() {
+            return item;
+        }
+
+        /**
+         * Replaces the item of this node with an updated instance of the same
+         * item.
+         *
+         * @param item
+         *            the updated item
+         */
+        void setItem(T item) {
+            this.item = item;
+        }
+
+        /**
+         * Gets the number of rows in the subtree of this node, excluding the
+         * row of the node itself.
+         *
+         * @return the number of descendant rows
+         */
+        int getDescendantCount() {
+            return size - ownRows;
+        }
+
+        private void addChildSize(int position, int delta) {
+            for (int i = position + 1; i < childSizes.length; i += i & -i) {
+                childSizes[i] += delta;
+            }
+        }
+
+        /*
+         * Sum of the subtree sizes of the children before the given position.
+         */
+        private int childSizesBefore(int position) {
+            int sum = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                sum += childSizes[i];
+            }
+            return sum;
+        }
+
+        /*
+         * Position of the child whose subtree contains the given row offset,
+         * counted from the first row of the first child.
+         */
+        private int findChild(int offset) {
+            int position = 0;
+            for (int bit = Integer
+                    .highestOneBit(children.size()); bit > 0; bit >>= 1) {
+                int next = position + bit;
+                if (next < childSizes.length && childSizes[next] <= offset) {
+                    position = next;
+                    offset -= childSizes[next];
+                }
+            }
+            return position;
+        }
+    }
+
+    private final Node<T> root = new Node<>(null, null, 0);
+
+    private final Map<Object, Node<T>> nodesById = new HashMap<>();
+
+    /**
+     * Gets the root node, which has the root items as its children and does not
+     * occupy a row itself.
+     *
+     * @return the root node
+     */
+    Node<T> getRoot() {
+        return root;
+    }
+
+    /**
+     * Creates a new node which is not yet attached to the hierarchy, but can be
+     * found by its id.
+     *
+     * @param id
+     *            the id of the item
+     * @param item
+     *            the item
+     * @return a new node
+     */
+    Node<T> createNode(Object id, T item) {
+        Node<T> node = new Node<>(id, item, 1);
+        nodesById.put(id, node);
+        return node;
+    }
+
+    /**
+     * Gets the node of the item with the given id.
+     *
+     * @param id
+     *            the item id
+     * @return the node, or <code>null</code> if the item is not visible
+     */
+    Node<T> getNode(Object id) {
+        return nodesById.get(id);
+    }
+
+    /**
+     * Replaces the children of the given node and updates the subtree sizes of
+     * its ancestors. The nodes of the previous children and their descendants
+     * are removed from the index.
+     *
+     * @param parent
+     *            the parent node
+     * @param children
+     *            the new child nodes
+     */
+    void setChildren(Node<T> parent, List<Node<T>> children) {
+        parent.children.forEach(this::unregister);
+
+        int count = children.size();
+        int[] childSizes = new int[count + 1];
+        int size = parent.ownRows;
+        for (int i = 0; i < count; i++) {
+            Node<T> child = children.get(i);
+            child.parent = parent;
+            child.position = i;
+            size += child.size;
+            // Linear time Fenwick tree construction
+            childSizes[i + 1] += child.size;
+            int next = i + 1 + ((i + 1) & -(i + 1));
+            if (next <= count) {
+                childSizes[next] += childSizes[i + 1];
+            }
+        }
+        parent.children = count == 0 ? Collections.emptyList()
+                : new ArrayList<>(children);
+        parent.childSizes = childSizes;
+
+        int delta = size - parent.size;
+        parent.size = size;
+        for (Node<T> node = parent; node.parent != null; node = node.parent) {
+            node.parent.addChildSize(node.position, delta);
+            node.parent.size += delta;
+        }
+    }
+
+    private void unregister(Node<T> node) {
+        nodesById.remove(node.id, node);
+        node.children.forEach(this::unregister);
+    }
+
+    /**
+     * Gets the number of rows in the hierarchy.
+     *
+     * @return the number of rows
+     */
+    int size() {
+        return root.size;
+    }
+
+    /**
+     * Gets the row index of the given node.
+     *
+     * @param node
+     *            the node, not <code>null</code>
+     * @return the row index, or <code>-1</code> for the root node
+     */
+    int indexOf(Node<T> node) {
+        if (node == root) {
+            return -1;
+        }
+        int index = 0;
+        for (; node.parent != null; node = node.parent) {
+            index += node.parent.ownRows
+                    + node.parent.childSizesBefore(node.position);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the items in the given row range.
+     *
+     * @param start
+     *            the index of the first row
+     * @param length
+     *            the maximum number of rows
+     * @return the items of the rows in the range that exist
+     */
+    List<T> getItems(int start, int length) {
+        int end = (int) Math.min(size(), (long) start + length);
+        if (start < 0 || start >= end) {
+            return Collections.emptyList();
+        }
+        List<T> items = new ArrayList<>(end - start);
+        Node<T> node = findNode(start);
+        for (int i = start; i < end; i++) {
+            items.add(node.item);
+            node = next(node);
+        }
+        return items;
+    }
+
+    private Node<T> findNode(int index) {
+        Node<T> node = root;
+        int offset = index;
+        while (true) {
+            offset -= node.ownRows;
+            if (offset < 0) {
+                return node;
+            }
+            int position = node.findChild(offset);
+            offset -= node.childSizesBefore(position);
+            node = node.children.get(position);
+        }
+    }
+
+    /*
+     * Next node in depth-first order, or null after the last node.
+     */
+    private Node<T> next(Node<T> node) {
+        if (!node.children.isEmpty()) {
+            return node.children.get(0);
+        }
+        for (; node.parent != null; node = node.parent) {
+            if (node.position + 1 < node.parent.children.size()) {
+                return node.parent.children.get(node.position + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -16,23 +16,27 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.flow.data.provider.DataProviderListener;
 import com.vaadin.flow.data.provider.QuerySortOrder;
 import com.vaadin.flow.internal.Range;
+import com.vaadin.flow.shared.Registration;
 
 /**
  * Mapper for hierarchical data.
@@ -55,8 +59,9 @@ import com.vaadin.flow.internal.Range;
 public class HierarchyMapper<T, F> implements Serializable {
 
     // childMap is only used for finding parents of items and clean up on
-    // removing children of expanded nodes.
-    private Map<T, Set<T>> childMap = new HashMap<>();
+    // removing children of expanded nodes. It is keyed by the id of the parent
+    // item, or null for the root items.
+    private Map<Object, Set<T>> childMap = new HashMap<>();
     private Map<Object, T> parentIdMap = new HashMap<>();
 
     private final HierarchicalDataProvider<T, F> provider;
@@ -66,6 +71,15 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Map<Object, T> expandedItems = new HashMap<>();
 
+    /*
+     * Flattened hierarchy of the visible items, built lazily from the data
+     * provider and updated incrementally when items are expanded or collapsed.
+     * Dropped whenever the data, filter or sorting might have changed.
+     */
+    private transient HierarchyIndex<T> hierarchyIndex;
+
+    private transient Registration dataProviderRegistration;
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -82,7 +96,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getHierarchyIndex().size();
     }
 
     /**
@@ -104,8 +118,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        HierarchyIndex<T> index = getHierarchyIndex();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : indexOf(index, parent);
     }
 
     /**
@@ -117,8 +132,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        return item == null ? -1 : indexOf(getHierarchyIndex(), item);
     }
 
     /**
@@ -159,8 +173,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getDescendantCount(item));
         }
 
         return Range.withLength(0, 0);
@@ -180,6 +193,13 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (!isExpanded(item) && hasChildren(item)) {
             expandedItems.put(getDataProvider().getId(item), item);
             expanded = true;
+            HierarchyIndex.Node<T> node = getVisibleNode(item);
+            if (node != null) {
+                hierarchyIndex.setChildren(node,
+                        createChildNodes(hierarchyIndex, item));
+            } else {
+                hierarchyIndex = null;
+            }
         }
         return expanded;
     }
@@ -197,7 +217,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(item);
             return true;
         }
         return false;
@@ -218,13 +238,23 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getDescendantCount(item));
             }
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(item);
         }
         return removedRows;
     }
 
+    private void doCollapse(T item) {
+        expandedItems.remove(getDataProvider().getId(item));
+        HierarchyIndex.Node<T> node = getVisibleNode(item);
+        if (node != null) {
+            hierarchyIndex.setChildren(node, Collections.emptyList());
+        } else {
+            hierarchyIndex = null;
+        }
+    }
+
     /**
      * Gets the current in-memory sorting.
      *
@@ -243,6 +273,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        hierarchyIndex = null;
     }
 
     /**
@@ -263,6 +294,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        hierarchyIndex = null;
     }
 
     /**
@@ -283,6 +315,40 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        hierarchyIndex = null;
+    }
+
+    /**
+     * Discards the cached hierarchy so that it's fetched again from the data
+     * provider when needed. Should be called when the data has changed.
+     */
+    public void refreshAll() {
+        hierarchyIndex = null;
+    }
+
+    /**
+     * Updates the cached hierarchy for a changed item.
+     *
+     * @param item
+     *            the updated item
+     * @param refreshChildren
+     *            whether the children of the item have changed as well
+     */
+    public void refreshItem(T item, boolean refreshChildren) {
+        if (item == null) {
+            if (refreshChildren) {
+                refreshAll();
+            }
+            return;
+        }
+        HierarchyIndex.Node<T> node = getVisibleNode(item);
+        if (node != null) {
+            node.setItem(item);
+            if (refreshChildren) {
+                hierarchyIndex.setChildren(node,
+                        createChildNodes(hierarchyIndex, item));
+            }
+        }
     }
 
     /**
@@ -317,7 +383,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return getHierarchyIndex().getItems(range.getStart(), range.length())
+                .stream();
     }
 
     /**
@@ -331,8 +398,19 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        HierarchyIndex<T> index = getHierarchyIndex();
+        HierarchyIndex.Node<T> node = parent == null ? index.getRoot()
+                : index.getNode(getDataProvider().getId(parent));
+        if (node == null) {
+            // Not visible, so not indexed
+            return getHierarchy(parent, false).skip(range.getStart())
+                    .limit(range.length());
+        }
+        int length = Math.min(range.length(),
+                node.getDescendantCount() - range.getStart());
+        return index
+                .getItems(index.indexOf(node) + 1 + range.getStart(), length)
+                .stream();
     }
 
     /**
@@ -431,17 +509,11 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     protected void removeChildren(Object id) {
         // Clean up removed nodes from child map
-        Iterator<Entry<T, Set<T>>> iterator = childMap.entrySet().iterator();
-        Set<T> invalidatedChildren = new HashSet<>();
-        while (iterator.hasNext()) {
-            Entry<T, Set<T>> entry = iterator.next();
-            T key = entry.getKey();
-            if (key != null && getDataProvider().getId(key).equals(id)) {
-                invalidatedChildren.addAll(entry.getValue());
-                iterator.remove();
-            }
-        }
+        Set<T> invalidatedChildren = id == null ? null : childMap.remove(id);
         expandedItems.remove(id);
+        if (invalidatedChildren == null) {
+            return;
+        }
         invalidatedChildren.stream().map(getDataProvider()::getId)
                 .forEach(x -> {
                     removeChildren(x);
@@ -462,12 +534,100 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        int index = indexOf(getHierarchyIndex(), target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
+    private int indexOf(HierarchyIndex<T> index, T item) {
+        HierarchyIndex.Node<T> node = index
+                .getNode(getDataProvider().getId(item));
+        return node == null ? -1 : index.indexOf(node);
+    }
+
+    /**
+     * Gets the index of the visible items, building it if needed.
+     *
+     * @return the hierarchy index
+     */
+    private HierarchyIndex<T> getHierarchyIndex() {
+        if (hierarchyIndex == null) {
+            HierarchyIndex<T> index = new HierarchyIndex<>();
+            index.setChildren(index.getRoot(), createChildNodes(index, null));
+            hierarchyIndex = index;
+            if (dataProviderRegistration == null) {
+                dataProviderRegistration = getDataProvider()
+                        .addDataProviderListener(new IndexInvalidator<>(this));
+            }
+        }
+        return hierarchyIndex;
+    }
+
+    /**
+     * Gets the node of the given item if the index has been built and the item
+     * is visible.
+     *
+     * @param item
+     *            the item
+     * @return the node of the item or {@code null}
+     */
+    private HierarchyIndex.Node<T> getVisibleNode(T item) {
+        return hierarchyIndex == null ? null
+                : hierarchyIndex.getNode(getDataProvider().getId(item));
+    }
+
+    /**
+     * Gets the number of visible descendants of the given item.
+     *
+     * @param item
+     *            the item
+     * @return the number of descendant rows
+     */
+    private int getDescendantCount(T item) {
+        HierarchyIndex.Node<T> node = getHierarchyIndex()
+                .getNode(getDataProvider().getId(item));
+        if (node == null) {
+            // Not visible, so not indexed
+            return (int) getHierarchy(item, false).count();
+        }
+        return node.getDescendantCount();
+    }
+
+    /**
+     * Recursively fetches the children of the given parent and creates index
+     * nodes for them, including the children of expanded descendants.
+     *
+     * @param index
+     *            the index to create the nodes in
+     * @param parent
+     *            the parent item, or {@code null} for root items
+     * @return the child nodes
+     */
+    private List<HierarchyIndex.Node<T>> createChildNodes(
+            HierarchyIndex<T> index, T parent) {
+        if (!isExpanded(parent)) {
+            return Collections.emptyList();
+        }
+        List<T> childList;
+        try (Stream<T> stream = doFetchDirectChildren(parent)) {
+            childList = stream.collect(Collectors.toList());
+        }
+        if (childList.isEmpty()) {
+            removeChildren(
+                    parent == null ? null : getDataProvider().getId(parent));
+            return Collections.emptyList();
+        }
+        registerChildren(parent, childList);
+
+        List<HierarchyIndex.Node<T>> nodes = new ArrayList<>(childList.size());
+        for (T child : childList) {
+            HierarchyIndex.Node<T> node = index
+                    .createNode(getDataProvider().getId(child), child);
+            index.setChildren(node, createChildNodes(index, child));
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
     /**
      * Gets the full hierarchy tree starting from given node.
      *
@@ -570,6 +730,8 @@ public class HierarchyMapper<T, F> implements Serializable {
             if (childList.isEmpty()) {
                 removeChildren(parent == null ? null
                         : getDataProvider().getId(parent));
+                // The item is no longer expanded
+                hierarchyIndex = null;
             } else {
                 registerChildren(parent, childList);
             }
@@ -588,7 +750,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            list of parents children to be registered.
      */
     protected void registerChildren(T parent, List<T> childList) {
-        childMap.put(parent, new HashSet<>(childList));
+        childMap.put(parent == null ? null : getDataProvider().getId(parent),
+                new HashSet<>(childList));
         childList.forEach(
                 x -> parentIdMap.put(getDataProvider().getId(x), parent));
     }
@@ -619,6 +782,11 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
+        hierarchyIndex = null;
+        if (dataProviderRegistration != null) {
+            dataProviderRegistration.remove();
+            dataProviderRegistration = null;
+        }
     }
 
     /**
@@ -656,4 +824,30 @@ public class HierarchyMapper<T, F> implements Serializable {
         }
         return false;
     }
+
+    /**
+     * Drops the cached hierarchy of a mapper when its data provider reports
+     * that all data has changed. Single item refreshes are left to
+     * {@link #refreshItem(Object, boolean)}. The mapper is only weakly
+     * referenced so that the data provider doesn't keep it alive, and the
+     * listener removes itself once the mapper is gone.
+     */
+    private static class IndexInvalidator<T>
+            implements DataProviderListener<T> {
+        private final transient WeakReference<HierarchyMapper<T, ?>> mapper;
+
+        private IndexInvalidator(HierarchyMapper<T, ?> mapper) {
+            this.mapper = new WeakReference<>(mapper);
+        }
+
+        @Override
+        public void onDataChange(DataChangeEvent<T> event) {
+            HierarchyMapper<T, ?> target = mapper == null ? null : mapper.get();
+            if (target == null) {
+                event.unregisterListener();
+            } else if (!(event instanceof DataRefreshEvent)) {
+                target.hierarchyIndex = null;
+            }
+        }
+    }
 }
@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -25,6 +26,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -232,6 +234,99 @@ public class ListDataProviderTest
         assertSizeWithFilter(0, filteringBy, "oo");
     }
 
+    @Test
+    public void fetchPages_sameSortingAndFilter_itemsSortedAndFilteredOnce() {
+        AtomicInteger comparisons = new AtomicInteger();
+        AtomicInteger filterCalls = new AtomicInteger();
+        Comparator<StrBean> comparator = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a.getId(), b.getId());
+        };
+        SerializablePredicate<StrBean> filter = bean -> {
+            filterCalls.incrementAndGet();
+            return bean.getId() % 2 == 0;
+        };
+
+        List<StrBean> firstPage = dataProvider
+                .fetch(new Query<>(0, 10, null, comparator, filter))
+                .collect(Collectors.toList());
+        int comparisonsAfterFirstPage = comparisons.get();
+        int filterCallsAfterFirstPage = filterCalls.get();
+
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, null, comparator, filter))
+                .collect(Collectors.toList());
+        int size = dataProvider.size(new Query<>(filter));
+
+        Assert.assertEquals(comparisonsAfterFirstPage, comparisons.get());
+        Assert.assertEquals(filterCallsAfterFirstPage, filterCalls.get());
+
+        List<StrBean> expected = data.stream()
+                .filter(bean -> bean.getId() % 2 == 0)
+                .sorted(Comparator.comparing(StrBean::getId))
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected.size(), size);
+        Assert.assertEquals(expected.subList(0, 10), firstPage);
+        Assert.assertEquals(expected.subList(10, 20), secondPage);
+    }
+
+    @Test
+    public void fetch_offsetBeyondSize_emptyStream() {
+        Assert.assertEquals(0, dataProvider
+                .fetch(new Query<>(1000, 10, null, null, null)).count());
+        Assert.assertEquals(2,
+                dataProvider.fetch(
+                        new Query<>(data.size() - 2, 10, null, null, null))
+                        .count());
+    }
+
+    @Test
+    public void itemChanged_refreshItem_sortedAgain() {
+        Comparator<StrBean> comparator = Comparator
+                .comparing(StrBean::getValue);
+        StrBean first = dataProvider
+                .fetch(new Query<>(0, 1, null, comparator, null)).findFirst()
+                .get();
+
+        first.setValue("Zzz");
+        dataProvider.refreshItem(first);
+
+        Assert.assertNotEquals(first,
+                dataProvider.fetch(new Query<>(0, 1, null, comparator, null))
+                        .findFirst().get());
+        Assert.assertEquals(first, dataProvider
+                .fetch(new Query<>(data.size() - 1, 1, null, comparator, null))
+                .findFirst().get());
+    }
+
+    @Test
+    public void itemAddedWithoutRefresh_itemIncluded() {
+        Comparator<StrBean> comparator = Comparator.comparing(StrBean::getId);
+        dataProvider.fetch(new Query<>(0, 1, null, comparator, null)).count();
+
+        StrBean added = new StrBean("Abc", -1, 0);
+        dataProvider.getItems().add(added);
+
+        Assert.assertEquals(added,
+                dataProvider.fetch(new Query<>(0, 1, null, comparator, null))
+                        .findFirst().get());
+    }
+
+    @Test
+    public void itemReplacedAndRefreshed_itemIncluded() {
+        Comparator<StrBean> comparator = Comparator.comparing(StrBean::getId);
+        dataProvider.fetch(new Query<>(0, 1, null, comparator, null)).count();
+
+        StrBean replacement = new StrBean("Abc", -1, 0);
+        List<StrBean> items = (List<StrBean>) dataProvider.getItems();
+        items.set(items.size() - 1, replacement);
+        dataProvider.refreshItem(replacement);
+
+        Assert.assertEquals(replacement,
+                dataProvider.fetch(new Query<>(0, 1, null, comparator, null))
+                        .findFirst().get());
+    }
+
     @Override
     protected void setSortOrder(List<QuerySortOrder> sortOrder,
             Comparator<StrBean> comp) {
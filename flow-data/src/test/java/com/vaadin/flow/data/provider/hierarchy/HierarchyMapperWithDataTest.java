@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -325,6 +326,169 @@ public class HierarchyMapperWithDataTest {
         Assert.assertTrue(streamIsClosed.get());
     }
 
+    @Test
+    public void randomExpandAndCollapse_indexMatchesFlattenedHierarchy() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Node node = testData.get(random.nextInt(testData.size()));
+            if (mapper.isExpanded(node)) {
+                collapse(node);
+            } else {
+                expand(node);
+            }
+            checkMapSize();
+
+            List<Node> expected = flatten(null);
+            assertEquals(expected.size(), mapper.getTreeSize());
+            verifyFetchIsCorrect(expected,
+                    Range.between(0, mapper.getTreeSize()));
+            for (int index = 0; index < expected.size(); index++) {
+                Node item = expected.get(index);
+                assertEquals(Integer.valueOf(index), mapper.getIndex(item));
+                Node parent = item.getParent();
+                assertEquals(
+                        parent == null ? Integer.valueOf(-1)
+                                : Integer.valueOf(expected.indexOf(parent)),
+                        mapper.getParentIndex(item));
+            }
+        }
+    }
+
+    @Test
+    public void fetchHierarchyItemsOfParent_returnsVisibleDescendants() {
+        Node root = testData.get(0);
+        Node parent = testData.get(1);
+        expand(root);
+        expand(parent);
+
+        List<Node> descendants = flatten(root).subList(1, flatten(root).size());
+        assertEquals(descendants,
+                mapper.fetchHierarchyItems(root, Range.between(0, 100))
+                        .collect(Collectors.toList()));
+        assertEquals(descendants.subList(1, 3),
+                mapper.fetchHierarchyItems(root, Range.between(1, 3))
+                        .collect(Collectors.toList()));
+        assertEquals(0, mapper
+                .fetchHierarchyItems(testData.get(2), Range.between(0, 10))
+                .count());
+    }
+
+    @Test
+    public void dataChanged_refreshAll_hierarchyFetchedAgain() {
+        expand(testData.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        data.removeItem(testData.get(1));
+        assertEquals("Hierarchy should be cached until refreshed",
+                ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        mapper.refreshAll();
+        assertEquals(ROOT_COUNT + PARENT_COUNT - 1, mapper.getTreeSize());
+    }
+
+    @Test
+    public void childrenChanged_refreshItem_subtreeFetchedAgain() {
+        Node root = testData.get(0);
+        expand(root);
+        Node added = new Node(1000, root);
+        data.addItem(root, added);
+
+        mapper.refreshItem(root, true);
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 1), mapper.getIndex(added));
+        assertEquals(Integer.valueOf(PARENT_COUNT + 2),
+                mapper.getIndex(roots.get(1)));
+    }
+
+    @Test
+    public void expandAndCollapseHiddenNode_visibleHierarchyUpdated() {
+        Node root = roots.get(0);
+        Node parent = testData.get(1);
+        assertEquals(ROOT_COUNT, mapper.getTreeSize());
+
+        mapper.expand(parent);
+        mapper.expand(root);
+        assertEquals(flatten(null),
+                mapper.fetchHierarchyItems(Range.withLength(0, 100))
+                        .collect(Collectors.toList()));
+
+        mapper.collapse(root);
+        mapper.collapse(parent);
+        mapper.expand(root);
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+        assertEquals(flatten(null),
+                mapper.fetchHierarchyItems(Range.withLength(0, 100))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void dataProviderRefreshAll_hierarchyFetchedAgain() {
+        expand(testData.get(0));
+        data.removeItem(testData.get(1));
+
+        provider.refreshAll();
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT - 1, mapper.getTreeSize());
+        assertEquals(flatten(null),
+                mapper.fetchHierarchyItems(Range.withLength(0, 100))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void dataProviderFilterChanged_hierarchyFetchedAgain() {
+        expand(testData.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        provider.setFilter(node -> node.getParent() == null);
+
+        assertEquals(ROOT_COUNT, mapper.getTreeSize());
+    }
+
+    @Test
+    public void mapperFilterChanged_hierarchyFetchedAgain() {
+        expand(testData.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        mapper.setFilter(
+                (SerializablePredicate<Node>) node -> node.getNumber() < 3);
+
+        // Root 0 and its first parent, which has number 1 and leaf number 2
+        assertEquals(2, mapper.getTreeSize());
+    }
+
+    @Test
+    public void sortingChanged_hierarchyFetchedAgain() {
+        expand(testData.get(0));
+        List<Node> unsorted = mapper
+                .fetchHierarchyItems(Range.withLength(0, 100))
+                .collect(Collectors.toList());
+        assertEquals(roots.get(0), unsorted.get(0));
+
+        Comparator<Node> reversed = Comparator.comparing(Node::getNumber)
+                .reversed();
+        mapper.setInMemorySorting(reversed);
+
+        List<Node> sorted = mapper.fetchHierarchyItems(Range.withLength(0, 100))
+                .collect(Collectors.toList());
+        assertEquals(roots.get(ROOT_COUNT - 1), sorted.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, sorted.size());
+        assertEquals(roots.get(0), sorted.get(ROOT_COUNT - 1));
+    }
+
+    private List<Node> flatten(Node parent) {
+        List<Node> result = new ArrayList<>();
+        if (parent != null) {
+            result.add(parent);
+        }
+        if (mapper.isExpanded(parent)) {
+            for (Node child : data.getChildren(parent)) {
+                result.addAll(flatten(child));
+            }
+        }
+        return result;
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -20,6 +20,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import org.junit.Before;
@@ -80,6 +82,25 @@ public class HierarchyMapperWithNumerousDataTest {
         checkMapSize();
     }
 
+    /**
+     * Index lookups and range fetches are done for each scroll and expand in a
+     * tree grid, so repeating them must not scan the flattened hierarchy.
+     */
+    @Test(timeout = 1000)
+    public void expandedRootNode_indexLookupsAndFetchesAreNotLinear() {
+        expand(testData.get(0));
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            int index = random.nextInt(ROOT_COUNT + PARENT_COUNT);
+            Node node = testData.get(index);
+            assertEquals(Optional.of(index), mapper.getIndexOf(node));
+            assertEquals(node,
+                    mapper.fetchHierarchyItems(Range.withLength(index, 50))
+                            .findFirst().orElse(null));
+            assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+        }
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
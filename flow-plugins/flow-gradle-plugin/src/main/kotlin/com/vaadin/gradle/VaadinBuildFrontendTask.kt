@@ -119,6 +119,7 @@ public abstract class VaadinBuildFrontendTask : DefaultTask() {
         val licenseRequired = BuildFrontendUtil.validateLicenses(adapter.get(), frontendDependencies)
 
         BuildFrontendUtil.updateBuildFile(adapter.get(), licenseRequired)
+        BuildFrontendUtil.generateStartupClassIndex(adapter.get())
     }
 
 
@@ -183,6 +183,7 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo
                 frontendDependencies);
 
         BuildFrontendUtil.updateBuildFile(this, licenseRequired);
+        BuildFrontendUtil.generateStartupClassIndex(this);
 
         long ms = (System.nanoTime() - start) / 1000000;
         getLog().info("Build frontend completed in " + ms + " ms.");
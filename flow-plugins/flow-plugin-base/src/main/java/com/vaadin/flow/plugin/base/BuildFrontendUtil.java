@@ -59,6 +59,7 @@ import com.vaadin.flow.server.frontend.ProdBundleUtils;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.server.frontend.scanner.FrontendDependenciesScanner;
 import com.vaadin.flow.server.scanner.ReflectionsClassFinder;
+import com.vaadin.flow.server.startup.StartupClassIndex;
 import com.vaadin.flow.utils.FlowFileUtils;
 import com.vaadin.pro.licensechecker.BuildType;
 import com.vaadin.pro.licensechecker.LicenseChecker;
@@ -830,6 +831,34 @@ public class BuildFrontendUtil {
         }
     }
 
+    /**
+     * Writes the index of the classes handled by the Flow startup initializers
+     * into the servlet resources of the build output so that they need not be
+     * searched for from the class path when the production application starts.
+     * <p>
+     * The index is kept in the build output so that it is available both when
+     * the application is packaged and when it is run from the output folder. It
+     * is only used in production mode, so a development mode run from the same
+     * output folder scans the class path as usual.
+     *
+     * @param adapter
+     *            - the PluginAdapterBase.
+     */
+    public static void generateStartupClassIndex(PluginAdapterBase adapter) {
+        long start = System.nanoTime();
+        File indexFile = new File(adapter.servletResourceOutputDirectory(),
+                StartupClassIndex.INDEX_FILE);
+        try {
+            StartupClassIndex.create(adapter.getClassFinder()).write(indexFile);
+        } catch (ClassNotFoundException | IOException e) {
+            adapter.logWarn("Unable to write the startup class index, "
+                    + "the classes will be scanned for at startup", e);
+            return;
+        }
+        long ms = (System.nanoTime() - start) / 1000000;
+        adapter.logInfo("Startup class index generated in " + ms + " ms.");
+    }
+
     private static boolean isControlCenterAvailable(ClassFinder classFinder) {
         if (classFinder == null) {
             return false;
@@ -35,8 +35,11 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import com.vaadin.experimental.FeatureFlags;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.InitParameters;
@@ -52,6 +55,7 @@ import com.vaadin.flow.server.frontend.installer.NodeInstaller;
 import com.vaadin.flow.server.frontend.scanner.ChunkInfo;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.server.frontend.scanner.FrontendDependenciesScanner;
+import com.vaadin.flow.server.startup.StartupClassIndex;
 import com.vaadin.flow.utils.LookupImpl;
 import com.vaadin.pro.licensechecker.LicenseChecker;
 import com.vaadin.pro.licensechecker.Product;
@@ -469,6 +473,27 @@ public class BuildFrontendUtilTest {
         });
     }
 
+    @Tag(Tag.DIV)
+    @Route("indexed")
+    public static class IndexedRoute extends Component {
+    }
+
+    @Test
+    public void generateStartupClassIndex_indexWrittenToServletResources()
+            throws Exception {
+        Mockito.when(adapter.getClassFinder()).thenReturn(
+                new ClassFinder.DefaultClassFinder(getClass().getClassLoader(),
+                        IndexedRoute.class));
+
+        BuildFrontendUtil.generateStartupClassIndex(adapter);
+
+        File indexFile = new File(resourceOutput, StartupClassIndex.INDEX_FILE);
+        Assert.assertTrue("Startup class index should have been written",
+                indexFile.exists());
+        Assert.assertTrue(Files.readString(indexFile.toPath()).contains(
+                Route.class.getName() + "=" + IndexedRoute.class.getName()));
+    }
+
     private void withMockedLicenseChecker(boolean isValidLicense,
             ThrowingRunnable test) throws IOException {
         try (MockedStatic<LicenseChecker> licenseChecker = Mockito
@@ -119,6 +119,11 @@ public class FeatureFlags implements Serializable {
             "defaultAutoResponsiveFormLayout",
             "https://github.com/vaadin/platform/issues/7172", true, null);
 
+    public static final Feature COMPACT_TREE_CHANGES = new Feature(
+            "Compact encoding of state tree changes", "compactTreeChanges",
+            "https://github.com/vaadin/flow/blob/main/flow-server/src/main/java/com/vaadin/flow/shared/JsonConstants.java",
+            true, null);
+
     private List<Feature> features = new ArrayList<>();
 
     File propertiesFolder = null;
@@ -152,6 +157,7 @@ public class FeatureFlags implements Serializable {
         features.add(new Feature(ACCESSIBLE_DISABLED_BUTTONS));
         features.add(new Feature(LAYOUT_COMPONENT_IMPROVEMENTS));
         features.add(new Feature(DEFAULT_AUTO_RESPONSIVE_FORM_LAYOUT));
+        features.add(new Feature(COMPACT_TREE_CHANGES));
         loadProperties();
     }
 
@@ -19,8 +19,11 @@ package com.vaadin.flow.component;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.nodefeature.PushConfigurationMap;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.PushConnection;
@@ -170,6 +173,82 @@ public interface PushConfiguration extends Serializable {
      */
     void setPushConnectionFactory(PushConnectionFactory factory);
 
+    /**
+     * Sets the time window during which asynchronous pushes are coalesced into
+     * a single message.
+     * <p>
+     * When the window is positive, the first {@link UI#push()} of the window
+     * does not send a message immediately. Instead, the changes of all pushes
+     * during the window are collected and sent as one message at the end of the
+     * window, so that frequent updates from background threads result in fewer
+     * messages. Responses to client requests are always sent immediately and
+     * include any pending changes.
+     * <p>
+     * A negative value uses the default window configured using the
+     * {@link com.vaadin.flow.server.InitParameters#SERVLET_PARAMETER_PUSH_FLUSH_WINDOW}
+     * configuration parameter.
+     *
+     * @param milliseconds
+     *            the flush window in milliseconds, <code>0</code> to push
+     *            immediately or a negative value to use the default
+     * @throws UnsupportedOperationException
+     *             if the implementation does not support coalescing pushes
+     */
+    default void setPushFlushWindow(int milliseconds) {
+        throw new UnsupportedOperationException(
+                "Setting push flush window is not supported");
+    }
+
+    /**
+     * Returns the time window during which asynchronous pushes are coalesced
+     * into a single message.
+     * <p>
+     * By default it is <code>0</code> for implementations that do not support
+     * coalescing pushes.
+     *
+     * @return the flush window in milliseconds, or <code>0</code> if pushes are
+     *         sent immediately
+     * @see #setPushFlushWindow(int)
+     */
+    default int getPushFlushWindow() {
+        return 0;
+    }
+
+    /**
+     * Sets the maximum number of pushes that are coalesced into a single
+     * message. When the limit is reached, the message is sent without waiting
+     * for the end of the {@link #setPushFlushWindow(int) flush window}.
+     * <p>
+     * A negative value uses the default limit configured using the
+     * {@link com.vaadin.flow.server.InitParameters#SERVLET_PARAMETER_PUSH_FLUSH_MAX_PENDING}
+     * configuration parameter.
+     *
+     * @param count
+     *            the maximum number of coalesced pushes, <code>0</code> for no
+     *            limit or a negative value to use the default
+     * @throws UnsupportedOperationException
+     *             if the implementation does not support coalescing pushes
+     */
+    default void setPushFlushMaxPending(int count) {
+        throw new UnsupportedOperationException(
+                "Setting push flush max pending is not supported");
+    }
+
+    /**
+     * Returns the maximum number of pushes that are coalesced into a single
+     * message.
+     * <p>
+     * By default it is <code>0</code> for implementations that do not support
+     * coalescing pushes.
+     *
+     * @return the maximum number of coalesced pushes, or <code>0</code> for no
+     *         limit
+     * @see #setPushFlushMaxPending(int)
+     */
+    default int getPushFlushMaxPending() {
+        return 0;
+    }
+
 }
 
 /**
@@ -181,6 +260,8 @@ public interface PushConfiguration extends Serializable {
 class PushConfigurationImpl implements PushConfiguration {
     private UI ui;
     private PushConnectionFactory pushConnectionFactory;
+    private int pushFlushWindow = -1;
+    private int pushFlushMaxPending = -1;
 
     PushConfigurationImpl(UI ui) {
         this.ui = ui;
@@ -289,4 +370,38 @@ class PushConfigurationImpl implements PushConfiguration {
                 pushConnectionFactory,
                 "Push connection factory must not be null");
     }
+
+    @Override
+    public void setPushFlushWindow(int milliseconds) {
+        pushFlushWindow = milliseconds;
+    }
+
+    @Override
+    public int getPushFlushWindow() {
+        if (pushFlushWindow >= 0) {
+            return pushFlushWindow;
+        }
+        return getDeploymentConfiguration()
+                .map(DeploymentConfiguration::getPushFlushWindow).orElse(0);
+    }
+
+    @Override
+    public void setPushFlushMaxPending(int count) {
+        pushFlushMaxPending = count;
+    }
+
+    @Override
+    public int getPushFlushMaxPending() {
+        if (pushFlushMaxPending >= 0) {
+            return pushFlushMaxPending;
+        }
+        return getDeploymentConfiguration()
+                .map(DeploymentConfiguration::getPushFlushMaxPending).orElse(0);
+    }
+
+    private Optional<DeploymentConfiguration> getDeploymentConfiguration() {
+        return Optional.ofNullable(ui.getSession())
+                .map(VaadinSession::getService)
+                .map(VaadinService::getDeploymentConfiguration);
+    }
 }
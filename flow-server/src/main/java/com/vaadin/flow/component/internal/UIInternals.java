@@ -15,7 +15,11 @@
  */
 package com.vaadin.flow.component.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,6 +83,7 @@ import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
 import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.UIResourceUsage;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.PushConnection;
@@ -106,6 +111,16 @@ public class UIInternals implements Serializable {
     private static final Set<Class<? extends Component>> warnedAboutDeps = ConcurrentHashMap
             .newKeySet();
 
+    /*
+     * Rough heap usage estimates for the resource usage: a state node with its
+     * id table slot, an initialized node feature with its backing storage and a
+     * pending JavaScript invocation with its parameters. Based on measuring the
+     * retained heap of typical elements.
+     */
+    private static final long NODE_BYTES = 160;
+    private static final long FEATURE_BYTES = 128;
+    private static final long JS_INVOCATION_BYTES = 256;
+
     private static Set<String> bundledImports = BundleUtils.loadBundleImports();
 
     /**
@@ -179,9 +194,16 @@ public class UIInternals implements Serializable {
     /**
      * Timestamp for keeping track of the last heartbeat of the related UI.
      * Updated to the current time whenever the application receives a heartbeat
-     * or UIDL request from the client for the related UI.
+     * or UIDL request from the client for the related UI. Volatile since
+     * heartbeats may update it without holding the session lock.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
+
+    /**
+     * Whether there are heartbeat listeners, readable without holding the
+     * session lock.
+     */
+    private volatile boolean heartbeatListenersPresent;
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -220,10 +242,18 @@ public class UIInternals implements Serializable {
 
     private final ConstantPool constantPool = new ConstantPool();
 
+    private boolean compactChanges;
+
     private byte[] lastProcessedMessageHash = null;
 
     private String lastRequestResponse;
 
+    // Often the whole backing array of a message buffer, only the used part
+    // is serialized
+    private transient byte[] lastRequestResponseBytes;
+
+    private int lastRequestResponseLength;
+
     private String contextRootRelativePath;
 
     private String appId;
@@ -322,6 +352,26 @@ public class UIInternals implements Serializable {
      */
     public void setLastRequestResponse(String lastRequestResponse) {
         this.lastRequestResponse = lastRequestResponse;
+        lastRequestResponseBytes = null;
+    }
+
+    /**
+     * Sets the response created for the last UIDL request as UTF-8 encoded
+     * bytes. The response is only decoded into a string if it is requested
+     * through {@link #getLastRequestResponse()}.
+     * <p>
+     * The array is kept as is and must not be modified afterwards.
+     *
+     * @param lastRequestResponse
+     *            array holding the UTF-8 encoded response that was sent for the
+     *            last UIDL request
+     * @param length
+     *            the number of bytes of the array that belong to the response
+     */
+    public void setLastRequestResponse(byte[] lastRequestResponse, int length) {
+        lastRequestResponseBytes = lastRequestResponse;
+        lastRequestResponseLength = length;
+        this.lastRequestResponse = null;
     }
 
     /**
@@ -330,9 +380,26 @@ public class UIInternals implements Serializable {
      * @return The request that was sent for the last UIDL request.
      */
     public String getLastRequestResponse() {
+        if (lastRequestResponse == null && lastRequestResponseBytes != null) {
+            return new String(lastRequestResponseBytes, 0,
+                    lastRequestResponseLength, StandardCharsets.UTF_8);
+        }
         return lastRequestResponse;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(lastRequestResponseBytes == null ? null
+                : Arrays.copyOf(lastRequestResponseBytes,
+                        lastRequestResponseLength));
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lastRequestResponseBytes = (byte[]) in.readObject();
+    }
+
     /**
      * Gets the server sync id.
      * <p>
@@ -404,6 +471,29 @@ public class UIInternals implements Serializable {
                 .forEach(listener -> listener.heartbeat(heartbeatEvent));
     }
 
+    /**
+     * Sets the last heartbeat request timestamp for the related UI without
+     * holding the session lock, unless there are heartbeat listeners that need
+     * to be notified. In that case, nothing is done and
+     * {@link #setLastHeartbeatTimestamp(long)} should be called while holding
+     * the session lock instead.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param lastHeartbeat
+     *            The time the last heartbeat request occurred, in milliseconds
+     *            since the epoch.
+     * @return <code>true</code> if the timestamp was updated,
+     *         <code>false</code> if there are heartbeat listeners
+     */
+    public boolean trySetLastHeartbeatTimestamp(long lastHeartbeat) {
+        if (heartbeatListenersPresent) {
+            return false;
+        }
+        lastHeartbeatTimestamp = lastHeartbeat;
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     private static Class<? extends NodeFeature>[] getRootNodeFeatures() {
         // Start with all element features
@@ -550,7 +640,14 @@ public class UIInternals implements Serializable {
     }
 
     public Registration addHeartbeatListener(HeartbeatListener listener) {
-        return addListener(HeartbeatListener.class, listener);
+        Registration registration = addListener(HeartbeatListener.class,
+                listener);
+        heartbeatListenersPresent = true;
+        return () -> {
+            registration.remove();
+            heartbeatListenersPresent = !listeners
+                    .getOrDefault(HeartbeatListener.class, List.of()).isEmpty();
+        };
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
@@ -611,6 +708,29 @@ public class UIInternals implements Serializable {
         pendingJsInvocations.add(invocation);
     }
 
+    /**
+     * Gets the resources currently used by this UI.
+     *
+     * @return the resource usage of this UI, not <code>null</code>
+     */
+    public UIResourceUsage getResourceUsage() {
+        session.checkHasLock();
+        Map<Class<? extends NodeFeature>, Integer> featureCounts = new HashMap<>();
+        stateTree.forEachNode(
+                node -> node.forEachFeature(feature -> featureCounts
+                        .merge(feature.getClass(), 1, Integer::sum)));
+
+        int nodeCount = stateTree.getNodeCount();
+        int featureCount = featureCounts.values().stream()
+                .mapToInt(Integer::intValue).sum();
+        int jsInvocationCount = pendingJsInvocations.size();
+        long approximateBytes = nodeCount * NODE_BYTES
+                + featureCount * FEATURE_BYTES
+                + jsInvocationCount * JS_INVOCATION_BYTES;
+        return new UIResourceUsage(ui.getUIId(), nodeCount, featureCounts,
+                jsInvocationCount, approximateBytes);
+    }
+
     /**
      * Gets all the pending JavaScript invocations that are ready to be sent to
      * a client. Retains pending JavaScript invocations owned by invisible
@@ -1109,6 +1229,31 @@ public class UIInternals implements Serializable {
         return constantPool;
     }
 
+    /**
+     * Checks whether state tree changes are sent to the client of this UI in
+     * the compact array format rather than as JSON objects.
+     *
+     * @return <code>true</code> if changes are sent in the compact format,
+     *         <code>false</code> otherwise
+     * @see com.vaadin.flow.internal.change.NodeChange#toCompactJson(ConstantPool)
+     */
+    public boolean isCompactChanges() {
+        return compactChanges;
+    }
+
+    /**
+     * Sets whether state tree changes are sent to the client of this UI in the
+     * compact array format. This should only be enabled when the client has
+     * declared that it can decode the format.
+     *
+     * @param compactChanges
+     *            <code>true</code> to send changes in the compact format,
+     *            <code>false</code> to send them as JSON objects
+     */
+    public void setCompactChanges(boolean compactChanges) {
+        this.compactChanges = compactChanges;
+    }
+
     /**
      * Get the latest handled location or empty optional if no active
      * navigation.
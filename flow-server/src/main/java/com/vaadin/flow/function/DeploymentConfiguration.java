@@ -23,6 +23,9 @@ import java.util.Properties;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.server.AbstractConfiguration;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.InitParameters;
@@ -207,6 +210,34 @@ public interface DeploymentConfiguration
         }
     }
 
+    /**
+     * Gets an integer system property value. If the value is not a valid
+     * integer, a warning is logged and the default value is used instead.
+     *
+     * @param propertyName
+     *            the simple name of the property, in some contexts, lookup
+     *            might be performed using variations of the provided name
+     * @param defaultValue
+     *            the default value that should be used if no value has been
+     *            defined or the value is not an integer
+     * @return the property value, or the passed default value if no valid
+     *         property value is found
+     */
+    default int getIntegerProperty(String propertyName, int defaultValue) {
+        String value = getStringProperty(propertyName, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LoggerFactory.getLogger(DeploymentConfiguration.class).warn(
+                    "Property named '{}' is an integer, but contains the value '{}' that is not an integer. Using the default value {}.",
+                    propertyName, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Gets UI class configuration option value.
      *
@@ -233,6 +264,101 @@ public interface DeploymentConfiguration
                 true);
     }
 
+    /**
+     * Checks whether UIDL responses should be streamed into a pooled buffer
+     * while the changes are collected, rather than first building the complete
+     * response as a JSON tree.
+     * <p>
+     * By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to stream UIDL responses, <code>false</code> to
+     *         build them as JSON trees
+     */
+    default boolean isStreamingUidl() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STREAMING_UIDL, false);
+    }
+
+    /**
+     * Gets the default time window in milliseconds during which asynchronous
+     * pushes of a UI are coalesced into a single message. Can be overridden for
+     * each UI using {@link PushConfiguration#setPushFlushWindow(int)}.
+     * <p>
+     * By default it is <code>0</code>, which sends every push immediately.
+     *
+     * @return the push flush window in milliseconds, or <code>0</code> to push
+     *         immediately
+     */
+    default int getPushFlushWindow() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_FLUSH_WINDOW, 0);
+    }
+
+    /**
+     * Gets the default maximum number of pushes of a UI that are coalesced into
+     * a single message before the message is sent without waiting for the end
+     * of the flush window. Can be overridden for each UI using
+     * {@link PushConfiguration#setPushFlushMaxPending(int)}.
+     * <p>
+     * By default it is <code>0</code>, which does not limit the number of
+     * coalesced pushes.
+     *
+     * @return the maximum number of coalesced pushes, or <code>0</code> for no
+     *         limit
+     */
+    default int getPushFlushMaxPending() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_FLUSH_MAX_PENDING, 0);
+    }
+
+    /**
+     * Gets the interval in seconds at which inactive UIs and sessions are
+     * closed by a background sweeper. When the sweeper is enabled, the session
+     * is no longer locked at the end of every request to close inactive UIs.
+     * <p>
+     * By default it is <code>0</code>, which closes inactive UIs and sessions
+     * at the end of each request.
+     *
+     * @return the sweep interval in seconds, or <code>0</code> to close
+     *         inactive UIs and sessions at the end of each request
+     */
+    default int getSessionSweepInterval() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL, 0);
+    }
+
+    /**
+     * Gets the maximum number of sessions checked for inactive UIs during a
+     * single run of the background sweeper.
+     * <p>
+     * By default it is <code>100</code>.
+     *
+     * @return the maximum number of sessions to sweep at a time
+     * @see #getSessionSweepInterval()
+     */
+    default int getSessionSweepBatchSize() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_SWEEP_BATCH_SIZE, 100);
+    }
+
+    /**
+     * Gets the minimum interval in seconds between two samples of the resource
+     * usage of a session that are reported to the configured metrics. The usage
+     * of a session is sampled at the end of a request to the session.
+     * <p>
+     * By default it is <code>0</code>, which disables the sampling.
+     *
+     * @return the sample interval in seconds, or <code>0</code> to not sample
+     *         the resource usage
+     * @see com.vaadin.flow.server.VaadinMetrics#resourceUsageSampled(com.vaadin.flow.server.VaadinSession,
+     *      com.vaadin.flow.server.SessionResourceUsage)
+     */
+    default int getResourceUsageSampleInterval() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_RESOURCE_USAGE_SAMPLE_INTERVAL,
+                0);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(InitParameters.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
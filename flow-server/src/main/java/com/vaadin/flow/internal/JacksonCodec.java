@@ -21,7 +21,6 @@ import java.util.stream.Stream;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.dom.Element;
@@ -224,7 +223,7 @@ public class JacksonCodec {
      *            the JSON value to decode
      * @return the decoded value
      */
-    public static Serializable decodeWithoutTypeInfo(ObjectNode json) {
+    public static Serializable decodeWithoutTypeInfo(JsonNode json) {
         assert json != null;
         switch (json.getNodeType()) {
         case BOOLEAN:
@@ -236,7 +235,12 @@ public class JacksonCodec {
         case NULL:
             return null;
         default:
-            return json;
+            if (json instanceof Serializable serializable) {
+                return serializable;
+            }
+            throw new IllegalArgumentException(
+                    "Can't decode a non-serializable JSON value of type "
+                            + json.getClass().getName());
         }
 
     }
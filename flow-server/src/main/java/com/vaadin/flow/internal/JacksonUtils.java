@@ -182,6 +182,47 @@ public final class JacksonUtils {
         return (JsonArray) parseNode(jsonNodes);
     }
 
+    /**
+     * Convert the given JsonNode into the corresponding elemental JsonValue.
+     * The node tree is copied directly without serializing it to a string and
+     * parsing it again.
+     *
+     * @param node
+     *            JsonNode to convert
+     * @return JsonValue with the content of the node, a JSON null for
+     *         {@code null}, null or missing nodes
+     */
+    public static JsonValue createElementalValue(JsonNode node) {
+        if (node == null) {
+            return Json.createNull();
+        }
+        switch (node.getNodeType()) {
+        case OBJECT:
+            JsonObject jsonObject = Json.createObject();
+            node.fields()
+                    .forEachRemaining(entry -> jsonObject.put(entry.getKey(),
+                            createElementalValue(entry.getValue())));
+            return jsonObject;
+        case ARRAY:
+            JsonArray jsonArray = Json.createArray();
+            for (int i = 0; i < node.size(); i++) {
+                jsonArray.set(i, createElementalValue(node.get(i)));
+            }
+            return jsonArray;
+        case NUMBER:
+            return Json.create(node.doubleValue());
+        case BOOLEAN:
+            return Json.create(node.booleanValue());
+        case STRING:
+            return Json.create(node.textValue());
+        case NULL:
+        case MISSING:
+            return Json.createNull();
+        default:
+            return Json.parse(node.toString());
+        }
+    }
+
     private static JsonValue parseNode(JsonNode node) {
         if (node instanceof ArrayNode) {
             JsonArray jsonArray = Json.createArray();
@@ -119,19 +119,38 @@ public class StateNode implements Serializable {
         private final Set<Class<? extends NodeFeature>> reportedFeatures;
 
         /**
-         * Maps from a node feature type to its index in the {@link #features}
-         * array. This instance is cached per unique set of used node feature
-         * types in {@link #featureSetCache}.
+         * The node feature types in the order of their indices in the
+         * {@link #features} array. This instance is cached per unique set of
+         * used node feature types in {@link #featureSetCache}.
          */
-        private final Map<Class<? extends NodeFeature>, Integer> mappings = new HashMap<>();
+        private final List<Class<? extends NodeFeature>> types;
+
+        /**
+         * Maps from the id of a node feature type in
+         * {@link NodeFeatureRegistry} to its index in the {@link #features}
+         * array, or <code>-1</code> if the type is not in this set.
+         */
+        private final int[] indexById;
 
         public FeatureSet(FeatureSetKey featureSetKey) {
             reportedFeatures = featureSetKey.reportedFeatures;
 
-            featureSetKey.getAllFeatures()
-                    .sorted(NodeFeatureRegistry.PRIORITY_COMPARATOR)
-                    .forEach(key -> mappings.put(key,
-                            Integer.valueOf(mappings.size())));
+            types = featureSetKey.getAllFeatures()
+                    .sorted(NodeFeatureRegistry.PRIORITY_COMPARATOR).toList();
+            // Changed features are tracked in a long bit set
+            assert types.size() <= Long.SIZE;
+
+            indexById = new int[types.stream()
+                    .mapToInt(NodeFeatureRegistry::getId).max().orElse(-1) + 1];
+            Arrays.fill(indexById, -1);
+            for (int i = 0; i < types.size(); i++) {
+                indexById[NodeFeatureRegistry.getId(types.get(i))] = i;
+            }
+        }
+
+        private int indexOf(Class<? extends NodeFeature> featureType) {
+            int id = NodeFeatureRegistry.findId(featureType);
+            return id >= 0 && id < indexById.length ? indexById[id] : -1;
         }
     }
 
@@ -152,7 +171,20 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /**
+     * Change trackers of the features, by feature index, or <code>null</code>
+     * if there are no changes.
+     */
+    private Serializable[] changeTrackers;
+
+    // Bit set of the indices of the features with a change tracker
+    private long changedFeatures;
+
+    /**
+     * Change trackers of features that are not part of this node, which are
+     * never collected. Only used by features created outside of the node.
+     */
+    private Map<Class<? extends NodeFeature>, Serializable> otherChangeTrackers;
 
     private List<Command> attachListeners;
 
@@ -176,6 +208,12 @@ public class StateNode implements Serializable {
 
     private boolean isInitialChanges = true;
 
+    // Bookkeeping maintained by StateTree: the tree whose dirty node queue
+    // this node is in, if any, and whether the node has been collected during
+    // an ongoing collectChanges round
+    StateTree dirtyQueue;
+    boolean collecting;
+
     private ArrayList<StateTree.BeforeClientResponseEntry> beforeClientResponseEntries;
     private boolean enabled = true;
 
@@ -373,7 +411,14 @@ public class StateNode implements Serializable {
         forEachFeature(n -> n.forEachChild(action));
     }
 
-    private void forEachFeature(Consumer<NodeFeature> action) {
+    /**
+     * Executes the given action for each feature of this node that has been
+     * initialized.
+     *
+     * @param action
+     *            the action to execute, not {@code null}
+     */
+    public void forEachFeature(Consumer<NodeFeature> action) {
         getInitializedFeatures().forEach(action::accept);
     }
 
@@ -389,6 +434,11 @@ public class StateNode implements Serializable {
 
     /**
      * Sets the state tree that this node belongs to.
+     * <p>
+     * The nodes get their ids from the state tree they are attached to. A node
+     * that is attached to another state tree, or whose previous id has been
+     * handed out to another node in the meantime, gets a new id, so the id of a
+     * node may change when it is reattached.
      *
      * @param tree
      *            the state tree
@@ -525,13 +575,13 @@ public class StateNode implements Serializable {
     private <T extends NodeFeature> int getFeatureIndex(Class<T> featureType) {
         assert featureType != null;
 
-        Integer featureIndex = featureSet.mappings.get(featureType);
-        if (featureIndex == null) {
+        int featureIndex = featureSet.indexOf(featureType);
+        if (featureIndex < 0) {
             throw new IllegalStateException(
                     "Node does not have the feature " + featureType);
         }
 
-        return featureIndex.intValue();
+        return featureIndex;
     }
 
     /**
@@ -583,7 +633,7 @@ public class StateNode implements Serializable {
     public boolean hasFeature(Class<? extends NodeFeature> featureType) {
         assert featureType != null;
 
-        return featureSet.mappings.containsKey(featureType);
+        return featureSet.indexOf(featureType) >= 0;
     }
 
     /**
@@ -685,7 +735,7 @@ public class StateNode implements Serializable {
             if (isInitialChanges) {
                 // send only required (reported) features updates
                 Stream<NodeFeature> initialFeatures = Stream
-                        .concat(featureSet.mappings.keySet().stream()
+                        .concat(featureSet.types.stream()
                                 .filter(this::isReportedFeature)
                                 .map(this::getFeature), getDisallowFeatures());
                 doCollectChanges(collector, initialFeatures);
@@ -693,24 +743,60 @@ public class StateNode implements Serializable {
                 doCollectChanges(collector, getDisallowFeatures());
             }
         } else {
-            doCollectChanges(collector, getInitializedFeatures());
+            doCollectChanges(collector);
         }
     }
 
     private void doCollectChanges(Consumer<NodeChange> collector,
             Stream<NodeFeature> features) {
-        features.filter(this::hasChangeTracker).forEach(feature -> {
-            feature.collectChanges(collector);
-            changes.remove(feature.getClass());
-        });
+        features.filter(this::hasChangeTracker)
+                .forEach(feature -> collectFeatureChanges(collector, feature));
         isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
-            changes = null;
+        if (changedFeatures == 0) {
+            changeTrackers = null;
         }
     }
 
+    /**
+     * Collects the changes of all initialized features, going through the
+     * changed features only.
+     */
+    private void doCollectChanges(Consumer<NodeChange> collector) {
+        // The bits are checked again for each index since collecting the
+        // changes of a feature could in theory change other features
+        for (int index = 0; index < Long.SIZE
+                && changedFeatures >>> index != 0; index++) {
+            if ((changedFeatures & (1L << index)) != 0) {
+                NodeFeature feature = getInitializedFeature(index);
+                if (feature != null) {
+                    collectFeatureChanges(collector, feature);
+                }
+            }
+        }
+        isInitialChanges = false;
+        if (changedFeatures == 0) {
+            changeTrackers = null;
+        }
+    }
+
+    private void collectFeatureChanges(Consumer<NodeChange> collector,
+            NodeFeature feature) {
+        feature.collectChanges(collector);
+        int index = featureSet.indexOf(feature.getClass());
+        changeTrackers[index] = null;
+        changedFeatures &= ~(1L << index);
+    }
+
+    private NodeFeature getInitializedFeature(int index) {
+        if (features instanceof NodeFeature[] featuresArray) {
+            return index < featuresArray.length ? featuresArray[index] : null;
+        }
+        return index == 0 ? (NodeFeature) features : null;
+    }
+
     private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+        int index = featureSet.indexOf(nodeFeature.getClass());
+        return index >= 0 && (changedFeatures & (1L << index)) != 0;
     }
 
     /**
@@ -718,7 +804,9 @@ public class StateNode implements Serializable {
      * testing purposes.
      */
     public void clearChanges() {
-        changes = null;
+        changeTrackers = null;
+        changedFeatures = 0;
+        otherChangeTrackers = null;
     }
 
     /**
@@ -847,8 +935,10 @@ public class StateNode implements Serializable {
                 id = newId;
                 initialAttach = true;
             } else if (newId != id) {
-                throw new IllegalStateException(
-                        "Can't change id once it has been assigned");
+                // The previous id has been handed out to another node after
+                // the client processed the detach of this node, so the client
+                // sees the reattached node as a new node in any case
+                id = newId;
             }
 
         }
@@ -959,12 +1049,28 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
-        if (changes == null) {
-            changes = new HashMap<>();
+        int index = featureSet.indexOf(feature.getClass());
+        if (index < 0) {
+            if (otherChangeTrackers == null) {
+                otherChangeTrackers = new HashMap<>();
+            }
+            return (T) otherChangeTrackers.computeIfAbsent(feature.getClass(),
+                    type -> factory.get());
+        }
+        if (changeTrackers == null) {
+            changeTrackers = new Serializable[featureSet.types.size()];
+        }
+        if (owner instanceof StateTree tree) {
+            tree.markAsChanged(this, feature.getClass());
         }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+        Serializable tracker = changeTrackers[index];
+        if (tracker == null) {
+            tracker = factory.get();
+            changeTrackers[index] = tracker;
+            changedFeatures |= 1L << index;
+        }
+        return (T) tracker;
     }
 
     /**
@@ -1137,11 +1243,9 @@ public class StateNode implements Serializable {
     @SuppressWarnings("rawtypes")
     private static Class[] getNonRepeatebleFeatures(StateNode node) {
         if (node.featureSet.reportedFeatures.isEmpty()) {
-            Set<Class<? extends NodeFeature>> set = node.featureSet.mappings
-                    .keySet();
-            return set.toArray(new Class[set.size()]);
+            return node.featureSet.types.toArray(new Class[0]);
         }
-        return node.featureSet.mappings.keySet().stream().filter(
+        return node.featureSet.types.stream().filter(
                 clazz -> !node.featureSet.reportedFeatures.contains(clazz))
                 .toArray(Class[]::new);
     }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Maps the ids of the nodes of a {@link StateTree} to the nodes and hands out
+ * the ids.
+ * <p>
+ * The ids are handed out by the table itself and the ids of removed nodes are
+ * reused, so the ids stay dense and the nodes are kept in an array indexed by
+ * the primitive id. Registering and finding nodes thus doesn't box the id or
+ * allocate any entry objects.
+ * <p>
+ * The id of a removed node is only handed out again once the client has
+ * processed the message detaching the node, so that a message sent by the
+ * client before that can't target a different node with the same id. Until
+ * then, the id is kept as released:
+ * <ol>
+ * <li>the node is removed, {@link #remove(int)}</li>
+ * <li>the removal has been collected to be sent to the client,
+ * {@link #releasedIdsCollected()}</li>
+ * <li>the message with the removal has been sent,
+ * {@link #releasedIdsSent(int)}</li>
+ * <li>the client has processed the message, {@link #releasedIdsConfirmed(int)}
+ * </li>
+ * </ol>
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class StateNodeTable implements Serializable {
+
+    // States of ids without a node, positive values are the sync ids of the
+    // messages that have sent the removals, plus one
+    private static final int UNUSED = 0;
+    private static final int RELEASED = -1;
+    private static final int COLLECTED = -2;
+    private static final int FREE = -3;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum number of ids waiting to be reused. The ids of nodes removed
+     * beyond that are not reused, so that a client which never confirms
+     * messages can't make the list of released ids grow without limit.
+     */
+    private static final int MAX_RELEASED_IDS = 8192;
+
+    // Indexed by id, index 0 is not used
+    private StateNode[] nodes = new StateNode[INITIAL_CAPACITY];
+    private int[] states = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private int nextId = 1;
+
+    // Released ids in the order of removal: sent ids, collected ids and ids
+    // removed after that. The entries may be stale if an id has been taken
+    // back, the state of the id is what counts.
+    private int[] releasedIds = new int[INITIAL_CAPACITY];
+    private int releasedCount;
+    private int sentCount;
+    private int collectedCount;
+
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+
+    /**
+     * Gets the node with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the node, or <code>null</code> if no node with the id is in the
+     *         table
+     */
+    public StateNode get(int id) {
+        return id > 0 && id < nextId ? nodes[id] : null;
+    }
+
+    /**
+     * Checks whether a node with the given id is in the table.
+     *
+     * @param id
+     *            the node id
+     * @return <code>true</code> if there is a node with the id,
+     *         <code>false</code> otherwise
+     */
+    public boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Gets the number of nodes in the table.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Executes the given action for each node in the table, in the order of the
+     * node ids.
+     *
+     * @param action
+     *            the action to execute, not <code>null</code>
+     */
+    public void forEach(Consumer<StateNode> action) {
+        for (int id = 1; id < nextId; id++) {
+            StateNode node = nodes[id];
+            if (node != null) {
+                action.accept(node);
+            }
+        }
+    }
+
+    /**
+     * Adds a node to the table, keeping the given id of the node if it can be
+     * used for the node and otherwise handing out a new id.
+     * <p>
+     * The previous id is only kept if it is within the range of ids handed out
+     * by this table and is not in use by another node. A node moved to another
+     * UI loses its id when it's attached to the new tree, but an id that this
+     * table has not handed out is never trusted in any case.
+     *
+     * @param node
+     *            the node to add, not <code>null</code>
+     * @param id
+     *            the id that the node previously had, or a non-positive value
+     *            if the node has no id
+     * @return the id of the node
+     */
+    public int add(StateNode node, int id) {
+        assert node != null;
+        if (id > 0 && id < nextId) {
+            if (nodes[id] == node) {
+                return id;
+            }
+            if (nodes[id] == null) {
+                // Any pending release of the id is ignored since the id is no
+                // longer released
+                set(id, node);
+                return id;
+            }
+        }
+        while (freeCount > 0) {
+            int freeId = freeIds[--freeCount];
+            // Skip ids that have been taken back after being freed
+            if (nodes[freeId] == null && states[freeId] == FREE) {
+                set(freeId, node);
+                return freeId;
+            }
+        }
+        int newId = nextId++;
+        if (newId == nodes.length) {
+            nodes = Arrays.copyOf(nodes, newId * 2);
+            states = Arrays.copyOf(states, newId * 2);
+        }
+        set(newId, node);
+        return newId;
+    }
+
+    private void set(int id, StateNode node) {
+        nodes[id] = node;
+        states[id] = UNUSED;
+        size++;
+    }
+
+    /**
+     * Removes the node with the given id from the table. The id is not handed
+     * out to other nodes before the client has confirmed the removal.
+     *
+     * @param id
+     *            the id of the node to remove
+     * @return the removed node, or <code>null</code> if there was no node with
+     *         the id
+     */
+    public StateNode remove(int id) {
+        StateNode node = get(id);
+        if (node != null) {
+            nodes[id] = null;
+            size--;
+            if (releasedCount < MAX_RELEASED_IDS) {
+                states[id] = RELEASED;
+                releasedIds = append(releasedIds, releasedCount++, id);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Marks the ids of the nodes removed since the previous call as collected
+     * to be sent to the client.
+     */
+    public void releasedIdsCollected() {
+        for (int i = collectedCount; i < releasedCount; i++) {
+            int id = releasedIds[i];
+            if (nodes[id] == null && states[id] == RELEASED) {
+                states[id] = COLLECTED;
+            }
+        }
+        collectedCount = releasedCount;
+    }
+
+    /**
+     * Marks the collected ids as sent to the client in the message with the
+     * given sync id.
+     *
+     * @param syncId
+     *            the sync id of the sent message, or <code>-1</code> if sync
+     *            ids are not in use, in which case the ids are never reused
+     */
+    public void releasedIdsSent(int syncId) {
+        for (int i = sentCount; i < collectedCount; i++) {
+            int id = releasedIds[i];
+            if (nodes[id] == null && states[id] == COLLECTED) {
+                states[id] = syncId < 0 ? UNUSED : syncId + 1;
+            }
+        }
+        if (syncId < 0) {
+            removeReleasedIds(sentCount, collectedCount);
+        } else {
+            sentCount = collectedCount;
+        }
+    }
+
+    /**
+     * Frees the ids of the nodes whose removal has been sent in messages that
+     * the client has processed, so that they can be handed out to other nodes.
+     * <p>
+     * The client reports the sync id of the last message it has seen, which it
+     * may still be processing. A message is known to be processed only when the
+     * client has seen a later message, since messages are processed in order.
+     *
+     * @param syncId
+     *            the sync id of the last message seen by the client, or
+     *            <code>-1</code> if unknown
+     */
+    public void releasedIdsConfirmed(int syncId) {
+        int confirmed = 0;
+        // Sent ids are in the order of the sync ids
+        while (confirmed < sentCount) {
+            int id = releasedIds[confirmed];
+            if (nodes[id] == null && states[id] > 0) {
+                if (states[id] - 1 >= syncId) {
+                    break;
+                }
+                states[id] = FREE;
+                freeIds = append(freeIds, freeCount++, id);
+            }
+            confirmed++;
+        }
+        removeReleasedIds(0, confirmed);
+    }
+
+    private void removeReleasedIds(int from, int to) {
+        int removed = to - from;
+        if (removed > 0) {
+            System.arraycopy(releasedIds, to, releasedIds, from,
+                    releasedCount - to);
+            releasedCount -= removed;
+            collectedCount -= removed;
+            sentCount = Math.max(from, sentCount - removed);
+        }
+    }
+
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+}
@@ -17,13 +17,13 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -157,16 +157,19 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    // Nodes are only added once, StateNode.dirtyQueue tells if already added
+    private List<StateNode> dirtyNodes = new ArrayList<>();
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    private final StateNodeTable nodes = new StateNodeTable();
 
-    private int nextId = 1;
-
-    private Set<StateNode> pendingExecutionNodes = new HashSet<>();
+    private final Set<StateNode> pendingExecutionNodes = new HashSet<>();
 
     private int nextBeforeClientResponseIndex = 1;
 
+    private int nextReturnChannelId = 0;
+
+    private StateTreeJournal journal;
+
     private final StateNode rootNode;
 
     private final UIInternals uiInternals;
@@ -206,22 +209,13 @@ public class StateTree implements NodeOwner {
     public int register(StateNode node) {
         assert node.getOwner() == this;
 
-        int id = node.getId();
-
-        int nodeId;
-        if (id > 0 && !idToNode.containsKey(id)) {
-            // Node already had an id, continue using it
+        // Continues using the id if the node already had one
+        int nodeId = nodes.add(node, node.getId());
 
-            // Don't accept an id that we haven't yet handed out
-            assert id < nextId;
-
-            nodeId = id;
-        } else {
-            nodeId = nextId++;
+        if (journal != null) {
+            journal.nodeRegistered(nodeId);
         }
 
-        idToNode.put(nodeId, node);
-
         if (node.hasBeforeClientResponseEntries()) {
             pendingExecutionNodes.add(node);
         }
@@ -233,27 +227,27 @@ public class StateTree implements NodeOwner {
     public void unregister(StateNode node) {
         assert node.getOwner() == this;
 
-        Integer id = node.getId();
-
-        StateNode removedNode = idToNode.remove(id);
+        int id = node.getId();
 
-        if (removedNode != node) {
-            // Remove by id didn't remove the expected node
-            if (removedNode != null) {
-                // Put the old node back
-                idToNode.put(removedNode.getId(), removedNode);
-            }
+        if (nodes.get(id) != node) {
             throw new IllegalStateException(
                     "Unregistered node was not found based on its id. The tree is most likely corrupted.");
         }
+        nodes.remove(id);
 
         pendingExecutionNodes.remove(node);
+
+        if (journal != null) {
+            journal.nodeUnregistered(id);
+        }
     }
 
     @Override
     public boolean hasNode(StateNode node) {
         assert node.getOwner() == this;
-        return idToNode.containsKey(node.getId());
+        // A detached node keeps its id, which may have been handed out to
+        // another node
+        return nodes.get(node.getId()) == node;
     }
 
     /**
@@ -266,7 +260,26 @@ public class StateTree implements NodeOwner {
      *         registered with this tree
      */
     public StateNode getNodeById(int id) {
-        return idToNode.get(id);
+        return nodes.get(id);
+    }
+
+    /**
+     * Gets the number of nodes registered with this tree.
+     *
+     * @return the number of registered nodes
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Executes the given action for each node registered with this tree.
+     *
+     * @param action
+     *            the action to execute, not <code>null</code>
+     */
+    public void forEachNode(Consumer<StateNode> action) {
+        nodes.forEach(action);
     }
 
     /**
@@ -283,20 +296,63 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
+        List<StateNode> allDirtyNodes = new ArrayList<>();
         boolean evaluateNewDirtyNodes = true;
 
-        // The updateActiveState method can create new dirty nodes, so they need
-        // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        try {
+            // The updateActiveState method can create new dirty nodes, so they
+            // need to be collected as well
+            while (evaluateNewDirtyNodes) {
+                List<StateNode> dirtyNodesList = takeDirtyNodes();
+                dirtyNodesList.forEach(StateNode::updateActiveState);
+                evaluateNewDirtyNodes = false;
+                for (StateNode node : dirtyNodesList) {
+                    if (!node.collecting) {
+                        node.collecting = true;
+                        allDirtyNodes.add(node);
+                        evaluateNewDirtyNodes = true;
+                    }
+                }
+            }
+        } finally {
+            allDirtyNodes.forEach(node -> node.collecting = false);
         }
 
         // TODO fire preCollect events
 
         allDirtyNodes.forEach(node -> node.collectChanges(collector));
+
+        nodes.releasedIdsCollected();
+    }
+
+    /**
+     * Marks the changes collected from this tree as sent to the client in the
+     * message with the given sync id.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param syncId
+     *            the sync id of the message, or <code>-1</code> if sync ids are
+     *            not in use
+     */
+    public void markChangesSent(int syncId) {
+        nodes.releasedIdsSent(syncId);
+    }
+
+    /**
+     * Marks the changes sent to the client as processed by the client, based on
+     * the sync id of the last message that the client has seen. The ids of the
+     * nodes detached by the processed changes can then be handed out to new
+     * nodes.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param syncId
+     *            the sync id of the last message seen by the client, or
+     *            <code>-1</code> if unknown
+     */
+    public void markChangesConfirmed(int syncId) {
+        nodes.releasedIdsConfirmed(syncId);
     }
 
     @Override
@@ -304,7 +360,55 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.dirtyQueue != this) {
+            node.dirtyQueue = this;
+            dirtyNodes.add(node);
+        }
+    }
+
+    /**
+     * Records that a feature of a node owned by this tree has changed, if a
+     * change journal is enabled.
+     *
+     * @param node
+     *            the changed node
+     * @param feature
+     *            the type of the changed feature
+     */
+    void markAsChanged(StateNode node, Class<? extends NodeFeature> feature) {
+        if (journal != null) {
+            journal.featureChanged(node.getId(), feature);
+        }
+    }
+
+    /**
+     * Enables recording the changes of this tree to a journal, if not already
+     * enabled. Only changes made after enabling the journal are recorded.
+     *
+     * @return the journal of this tree, not <code>null</code>
+     */
+    public StateTreeJournal enableJournal() {
+        if (journal == null) {
+            journal = new StateTreeJournal();
+        }
+        return journal;
+    }
+
+    /**
+     * Stops recording the changes of this tree and discards the journal.
+     */
+    public void disableJournal() {
+        journal = null;
+    }
+
+    /**
+     * Gets the journal recording the changes of this tree, if enabled using
+     * {@link #enableJournal()}.
+     *
+     * @return the journal, or an empty optional if not enabled
+     */
+    public Optional<StateTreeJournal> getJournal() {
+        return Optional.ofNullable(journal);
     }
 
     /**
@@ -313,7 +417,7 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(dirtyNodes));
     }
 
     /**
@@ -429,7 +533,7 @@ public class StateTree implements NodeOwner {
                 .collect(Collectors.toList());
 
         // Reset bookeeping for the next round
-        pendingExecutionNodes = new HashSet<>();
+        pendingExecutionNodes.clear();
 
         return flushed;
     }
@@ -456,21 +560,20 @@ public class StateTree implements NodeOwner {
     }
 
     /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
+     * Takes the nodes that have been marked as dirty and resets the queue of
+     * dirty nodes.
      *
-     * @return a set of dirty nodes, in the order they were marked dirty
+     * @return a list of dirty nodes, in the order they were marked dirty
      */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
+    private List<StateNode> takeDirtyNodes() {
+        List<StateNode> collectedNodes = dirtyNodes;
+        dirtyNodes = new ArrayList<>();
+        for (StateNode node : collectedNodes) {
+            if (node.dirtyQueue == this) {
+                node.dirtyQueue = null;
+            }
         }
-
+        return collectedNodes;
     }
 
     /**
@@ -482,4 +585,20 @@ public class StateTree implements NodeOwner {
         rootNode.prepareForResync();
     }
 
+    /**
+     * Allocates a return channel id that is unique within this tree.
+     * <p>
+     * The client identifies a return channel only by the id of its node and the
+     * channel id. Node ids are reused once the client has confirmed that a node
+     * was removed, while a client-side channel callback may still be invoked
+     * after that. Allocating channel ids from the tree rather than from the
+     * node ensures that such a stale invocation never matches a channel of the
+     * node that took over the id.
+     *
+     * @return a new return channel id, not used before in this tree
+     */
+    public int allocateReturnChannelId() {
+        return nextReturnChannelId++;
+    }
+
 }
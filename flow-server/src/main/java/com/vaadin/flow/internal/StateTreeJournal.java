@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeature;
+
+/**
+ * Records the structural changes of a {@link StateTree}, i.e. the nodes that
+ * have been created or removed and the features of existing nodes that have
+ * been changed, until the recorded changes are {@link #drain() drained}.
+ * <p>
+ * Unlike the changes collected for the client, the journal is not reset when a
+ * response is written, so it can be used for finding out what has changed since
+ * some other point in time, e.g. since the session was last replicated.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class StateTreeJournal implements Serializable {
+
+    /**
+     * Changes recorded by a journal.
+     *
+     * @param createdNodes
+     *            ids of the nodes that have been attached to the tree, whose
+     *            whole state is thus new
+     * @param removedNodes
+     *            ids of the nodes that have been detached from the tree
+     * @param changedFeatures
+     *            the changed features of other nodes, by node id
+     */
+    public record Changes(Set<Integer> createdNodes, Set<Integer> removedNodes,
+            Map<Integer, Set<Class<? extends NodeFeature>>> changedFeatures)
+            implements
+                Serializable {
+
+        /**
+         * Checks whether there are any changes.
+         *
+         * @return <code>true</code> if nothing has changed, <code>false</code>
+         *         otherwise
+         */
+        public boolean isEmpty() {
+            return createdNodes.isEmpty() && removedNodes.isEmpty()
+                    && changedFeatures.isEmpty();
+        }
+    }
+
+    private Set<Integer> createdNodes = new LinkedHashSet<>();
+    private Set<Integer> removedNodes = new LinkedHashSet<>();
+    private Map<Integer, Set<Class<? extends NodeFeature>>> changedFeatures = new LinkedHashMap<>();
+
+    void nodeRegistered(int nodeId) {
+        // A node that is detached and attached again is reported as created
+        // since it may have changed while it was detached
+        removedNodes.remove(nodeId);
+        changedFeatures.remove(nodeId);
+        createdNodes.add(nodeId);
+    }
+
+    void nodeUnregistered(int nodeId) {
+        changedFeatures.remove(nodeId);
+        if (!createdNodes.remove(nodeId)) {
+            removedNodes.add(nodeId);
+        }
+    }
+
+    void featureChanged(int nodeId, Class<? extends NodeFeature> feature) {
+        if (nodeId > 0 && !createdNodes.contains(nodeId)) {
+            changedFeatures.computeIfAbsent(nodeId, id -> new LinkedHashSet<>())
+                    .add(feature);
+        }
+    }
+
+    /**
+     * Checks whether any changes have been recorded since the journal was last
+     * drained.
+     *
+     * @return <code>true</code> if there are recorded changes,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasChanges() {
+        return !createdNodes.isEmpty() || !removedNodes.isEmpty()
+                || !changedFeatures.isEmpty();
+    }
+
+    /**
+     * Gets the changes recorded since the journal was last drained and clears
+     * the journal.
+     *
+     * @return the recorded changes, not <code>null</code>
+     */
+    public Changes drain() {
+        Map<Integer, Set<Class<? extends NodeFeature>>> features = new LinkedHashMap<>();
+        changedFeatures.forEach((nodeId, types) -> features.put(nodeId,
+                Collections.unmodifiableSet(types)));
+        Changes changes = new Changes(Collections.unmodifiableSet(createdNodes),
+                Collections.unmodifiableSet(removedNodes),
+                Collections.unmodifiableMap(features));
+        createdNodes = new LinkedHashSet<>();
+        removedNodes = new LinkedHashSet<>();
+        changedFeatures = new LinkedHashMap<>();
+        return changes;
+    }
+}
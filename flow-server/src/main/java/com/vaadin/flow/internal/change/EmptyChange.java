@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.internal.change;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
@@ -55,4 +57,15 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        if (NodeList.class.isAssignableFrom(getFeature())) {
+            json.add(JsonConstants.COMPACT_CHANGE_EMPTY_LIST);
+        } else {
+            json.add(JsonConstants.COMPACT_CHANGE_EMPTY_MAP);
+        }
+        super.populateCompactJson(json, constantPool);
+    }
+
 }
@@ -20,6 +20,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
@@ -129,6 +131,35 @@ public class ListAddChange<T extends Serializable>
         json.put(addKey, newItemsJson);
     }
 
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        if (newItems.isEmpty()) {
+            json.add(JsonConstants.COMPACT_CHANGE_SPLICE);
+        } else if (nodeValues) {
+            json.add(JsonConstants.COMPACT_CHANGE_SPLICE_ADD_NODES);
+        } else {
+            json.add(JsonConstants.COMPACT_CHANGE_SPLICE_ADD);
+        }
+
+        super.populateCompactJson(json, constantPool);
+
+        json.add(getIndex());
+        json.add(0);
+        if (newItems.isEmpty()) {
+            return;
+        }
+
+        ArrayNode newItemsJson = json.addArray();
+        for (T item : newItems) {
+            if (nodeValues) {
+                newItemsJson.add(((StateNode) item).getId());
+            } else {
+                newItemsJson.add(encodeCompactValue(item, constantPool));
+            }
+        }
+    }
+
     /**
      * Removes item from the change list.
      * <p>
@@ -17,6 +17,8 @@ package com.vaadin.flow.internal.change;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
@@ -59,4 +61,11 @@ public class ListClearChange<T extends Serializable>
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        json.add(JsonConstants.COMPACT_CHANGE_CLEAR);
+        super.populateCompactJson(json, constantPool);
+    }
+
 }
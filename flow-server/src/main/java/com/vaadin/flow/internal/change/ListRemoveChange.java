@@ -17,6 +17,8 @@ package com.vaadin.flow.internal.change;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
@@ -80,4 +82,13 @@ public class ListRemoveChange<T extends Serializable>
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
         json.put(JsonConstants.CHANGE_SPLICE_REMOVE, 1);
     }
+
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        json.add(JsonConstants.COMPACT_CHANGE_SPLICE);
+        super.populateCompactJson(json, constantPool);
+        json.add(getIndex());
+        json.add(1);
+    }
 }
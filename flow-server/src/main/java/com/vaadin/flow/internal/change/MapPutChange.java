@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal.change;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.NumericNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -117,4 +118,29 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        json.add(value instanceof StateNode
+                ? JsonConstants.COMPACT_CHANGE_PUT_NODE
+                : JsonConstants.COMPACT_CHANGE_PUT);
+
+        super.populateCompactJson(json, constantPool);
+
+        json.add(key);
+        if (value instanceof StateNode node) {
+            json.add(node.getId());
+        } else if (value instanceof ValueNode node
+                && !(node instanceof NumericNode)
+                && !(node instanceof BooleanNode)
+                && !(node instanceof TextNode)) {
+            // Same as the JSON object format, which sends other value nodes
+            // as strings
+            json.add(JacksonCodec.encodeWithConstantPool(node, constantPool)
+                    .toString());
+        } else {
+            json.add(encodeCompactValue(value, constantPool));
+        }
+    }
 }
@@ -18,15 +18,21 @@ package com.vaadin.flow.internal.change;
 
 import java.io.Serializable;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JacksonCodec;
 import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class describing a change to a state node.
@@ -89,4 +95,68 @@ public abstract class NodeChange implements Serializable {
      */
     protected abstract void populateJson(JsonObject json,
             ConstantPool constantPool);
+
+    /**
+     * Serializes this change to a compact JSON array, which is decoded faster
+     * by the client and is smaller than the object produced by
+     * {@link #toJson(ConstantPool)}.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     *
+     * @return a compact json representation of this change
+     * @see JsonConstants#COMPACT_CHANGE_ATTACH
+     */
+    public ArrayNode toCompactJson(ConstantPool constantPool) {
+        ArrayNode json = JacksonUtils.createArrayNode();
+
+        populateCompactJson(json, constantPool);
+
+        return json;
+    }
+
+    /**
+     * Overridden by subclasses to populate a compact JSON array when
+     * serializing. Subclasses add their change type code before calling the
+     * super implementation, which adds the node id, and add their own values
+     * after it.
+     *
+     * @param json
+     *            the json array to populate
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        json.add(node.getId());
+    }
+
+    /**
+     * Encodes a value for a compact change. Whole numbers are encoded without a
+     * fraction, like in the JSON object format.
+     *
+     * @param value
+     *            the value to encode
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     * @return the encoded value
+     */
+    protected static JsonNode encodeCompactValue(Object value,
+            ConstantPool constantPool) {
+        JsonNode json;
+        if (value instanceof JsonValue) {
+            json = JacksonUtils.mapElemental(
+                    JsonCodec.encodeWithConstantPool(value, constantPool));
+        } else {
+            json = JacksonCodec.encodeWithConstantPool(value, constantPool);
+        }
+        if (json.isDouble() && json.canConvertToExactIntegral()
+                && json.canConvertToInt()) {
+            return IntNode.valueOf(json.intValue());
+        }
+        return json;
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.vaadin.flow.internal.change;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
@@ -62,4 +64,12 @@ public abstract class NodeFeatureChange extends NodeChange {
         json.put(JsonConstants.CHANGE_FEATURE,
                 Json.create(NodeFeatureRegistry.getId(feature)));
     }
+
+    @Override
+    protected void populateCompactJson(ArrayNode json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.add(NodeFeatureRegistry.getId(feature));
+    }
 }
@@ -41,6 +41,8 @@ public class NodeFeatureRegistry {
     static final Map<Class<? extends NodeFeature>, NodeFeatureData> nodeFeatures = new HashMap<>();
     private static final Map<Integer, Class<? extends NodeFeature>> idToFeature = new HashMap<>();
 
+    private static final ClassValue<NodeFeatureData> featureData = new FeatureDataCache();
+
     /**
      * Comparator for finding the priority order between node feature types.
      */
@@ -60,6 +62,17 @@ public class NodeFeatureRegistry {
         }
     }
 
+    /**
+     * Caches the data of each feature type in the type itself, which is faster
+     * to look up than a hash map on the hot paths of state nodes.
+     */
+    private static class FeatureDataCache extends ClassValue<NodeFeatureData> {
+        @Override
+        protected NodeFeatureData computeValue(Class<?> type) {
+            return nodeFeatures.get(type);
+        }
+    }
+
     static {
         /* Primary features */
         registerFeature(ElementData.class, ElementData::new,
@@ -174,6 +187,21 @@ public class NodeFeatureRegistry {
         return getData(nodeFeature).id;
     }
 
+    /**
+     * Gets the id of a node feature, if it has been registered.
+     *
+     * @param nodeFeature
+     *            the node feature
+     * @return the id of the node feature, or <code>-1</code> if the type has
+     *         not been registered
+     */
+    public static int findId(Class<? extends NodeFeature> nodeFeature) {
+        assert nodeFeature != null;
+
+        NodeFeatureData data = featureData.get(nodeFeature);
+        return data == null ? -1 : data.id;
+    }
+
     /**
      * Gets all registered feature types.
      *
@@ -188,7 +216,7 @@ public class NodeFeatureRegistry {
             Class<? extends NodeFeature> nodeFeature) {
         assert nodeFeature != null;
 
-        NodeFeatureData data = nodeFeatures.get(nodeFeature);
+        NodeFeatureData data = featureData.get(nodeFeature);
 
         assert data != null : "Feature " + nodeFeature.getName()
                 + " has not been registered in NodeFeatureRegistry";
@@ -17,11 +17,14 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -46,6 +49,13 @@ public abstract class NodeMap extends NodeFeature {
     private static final Serializable REMOVED_MARKER = new UniqueSerializable() {
     };
 
+    /*
+     * Maps with up to this many keys are stored in plain arrays, which takes a
+     * fraction of the memory of a hash map and is as fast to scan for such
+     * small sizes.
+     */
+    private static final int MAX_ARRAY_VALUES = 8;
+
     private interface Values extends Serializable {
         int size();
 
@@ -114,6 +124,179 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
+    private static class ArrayValues implements Values {
+
+        private String[] keys;
+
+        private Serializable[] values;
+
+        private int size;
+
+        // Structural modifications, checked by the key iterators
+        private int modCount;
+
+        public ArrayValues(Values previousValues) {
+            int capacity = Math.max(4, previousValues.size() + 1);
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isFull() {
+            return size == MAX_ARRAY_VALUES;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new KeySet(this);
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            assert key != null;
+            int index = indexOf(key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            assert !isFull();
+            if (size == keys.length) {
+                int capacity = Math.min(MAX_ARRAY_VALUES, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+            modCount++;
+        }
+
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+            int moved = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+            modCount++;
+            return oldValue;
+        }
+    }
+
+    private static class KeySet extends AbstractSet<String>
+            implements Serializable {
+
+        private final ArrayValues values;
+
+        private KeySet(ArrayValues values) {
+            this.values = values;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new KeyIterator(values);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key instanceof String && values.containsKey((String) key);
+        }
+
+        @Override
+        public int size() {
+            return values.size;
+        }
+    }
+
+    /*
+     * Fail-fast iterator over the keys of array values, like the key iterators
+     * of the hash map representation.
+     */
+    private static class KeyIterator implements Iterator<String>, Serializable {
+
+        private final ArrayValues values;
+
+        private int expectedModCount;
+
+        private int next;
+
+        private int last = -1;
+
+        private KeyIterator(ArrayValues values) {
+            this.values = values;
+            expectedModCount = values.modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.size;
+        }
+
+        @Override
+        public String next() {
+            checkForComodification();
+            if (next >= values.size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return values.keys[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            values.remove(values.keys[last]);
+            next = last;
+            last = -1;
+            expectedModCount = values.modCount;
+        }
+
+        private void checkForComodification() {
+            if (values.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
     private static class HashMapValues extends HashMap<String, Serializable>
             implements Values {
 
@@ -146,6 +329,14 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
+    /**
+     * The change tracker of a map, storing the original value of each changed
+     * key, or {@link NodeMap#REMOVED_MARKER} if the key had no value.
+     */
+    private static class Changes implements Serializable {
+        private Values originalValues;
+    }
+
     private Values values;
 
     private boolean isPopulated;
@@ -199,15 +390,7 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
-        if (values == null) {
-            values = new SingleValue(key, value);
-        } else {
-            if (values instanceof SingleValue && !values.containsKey(key)) {
-                values = new HashMapValues(values);
-            }
-            values.set(key, value);
-        }
+        values = withValue(values, key, value);
 
         detatchPotentialChild(oldValue);
 
@@ -345,20 +528,9 @@ public abstract class NodeMap extends NodeFeature {
 
         if (values == null) {
             return null;
-        } else if (values instanceof SingleValue) {
-            oldValue = values.get(key);
-            if (values.containsKey(key)) {
-                values = null;
-            }
-        } else {
-            assert values instanceof HashMapValues;
-            HashMapValues hashMapValues = (HashMapValues) values;
-            oldValue = hashMapValues.remove(key);
-
-            if (hashMapValues.isEmpty()) {
-                values = null;
-            }
         }
+        oldValue = values.get(key);
+        values = withoutValue(values, key);
 
         detatchPotentialChild(oldValue);
 
@@ -374,9 +546,52 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
+    /**
+     * Stores a value in the given values, switching to a representation that
+     * can hold more keys when needed. Memory use is optimized for maps with
+     * only one or a few keys.
+     */
+    private static Values withValue(Values values, String key,
+            Serializable value) {
+        if (values == null) {
+            return new SingleValue(key, value);
+        }
+        if (!values.containsKey(key)) {
+            if (values instanceof SingleValue) {
+                values = new ArrayValues(values);
+            } else if (values instanceof ArrayValues arrayValues
+                    && arrayValues.isFull()) {
+                values = new HashMapValues(values);
+                // Iterators over the replaced keys are no longer valid
+                arrayValues.modCount++;
+            }
+        }
+        values.set(key, value);
+        return values;
+    }
+
+    /**
+     * Removes a key from the given values, returning <code>null</code> if no
+     * values remain.
+     */
+    private static Values withoutValue(Values values, String key) {
+        if (values instanceof SingleValue) {
+            return values.containsKey(key) ? null : values;
+        } else if (values instanceof ArrayValues arrayValues) {
+            arrayValues.remove(key);
+        } else {
+            assert values instanceof HashMapValues;
+            ((HashMapValues) values).remove(key);
+        }
+        return values.isEmpty() ? null : values;
+    }
+
     private void setUnChanged(String key) {
         assert key != null;
-        getChangeTracker().remove(key);
+        Changes changes = getChangeTracker();
+        if (changes.originalValues != null) {
+            changes.originalValues = withoutValue(changes.originalValues, key);
+        }
     }
 
     private void setChanged(String key) {
@@ -384,23 +599,26 @@ public abstract class NodeMap extends NodeFeature {
 
         getNode().markAsDirty();
 
-        Map<String, Serializable> changes = getChangeTracker();
+        Changes changes = getChangeTracker();
 
-        if (!changes.containsKey(key)) {
+        if (changes.originalValues == null
+                || !changes.originalValues.containsKey(key)) {
             // Record this as changed for the collection logic
+            Serializable oldValue;
             if (values != null && values.containsKey(key)) {
-                Serializable oldValue = values.get(key);
-                changes.put(key, oldValue);
+                oldValue = values.get(key);
             } else {
-                changes.put(key, REMOVED_MARKER);
+                oldValue = REMOVED_MARKER;
             }
+            changes.originalValues = withValue(changes.originalValues, key,
+                    oldValue);
         }
 
         // TODO notify listeners
     }
 
-    private Map<String, Serializable> getChangeTracker() {
-        return getNode().getChangeTracker(this, HashMap::new);
+    private Changes getChangeTracker() {
+        return getNode().getChangeTracker(this, Changes::new);
     }
 
     private void setAccessed(String key) {
@@ -412,10 +630,12 @@ public abstract class NodeMap extends NodeFeature {
     @Override
     public void collectChanges(Consumer<NodeChange> collector) {
         boolean hasChanges = false;
-        for (Entry<String, Serializable> entry : getChangeTracker()
-                .entrySet()) {
-            String key = entry.getKey();
-            Serializable value = entry.getValue();
+        Values originalValues = getChangeTracker().originalValues;
+        Set<String> changedKeys = originalValues == null
+                ? Collections.emptySet()
+                : originalValues.keySet();
+        for (String key : changedKeys) {
+            Serializable value = originalValues.get(key);
             boolean containsNow = values != null && values.containsKey(key);
             boolean containedEarlier = value != REMOVED_MARKER;
             if (containedEarlier && !containsNow) {
@@ -447,10 +667,12 @@ public abstract class NodeMap extends NodeFeature {
             }
             return;
         }
-        assert !values.isEmpty();
 
-        Map<String, Serializable> changes = getChangeTracker();
-        values.keySet().forEach(k -> changes.put(k, REMOVED_MARKER));
+        Changes changes = getChangeTracker();
+        for (String key : values.keySet()) {
+            changes.originalValues = withValue(changes.originalValues, key,
+                    REMOVED_MARKER);
+        }
     }
 
     @Override
@@ -458,7 +680,6 @@ public abstract class NodeMap extends NodeFeature {
         if (values == null) {
             return;
         }
-        assert !values.isEmpty();
 
         values.streamValues().filter(v -> v instanceof StateNode)
                 .forEach(v -> action.accept((StateNode) v));
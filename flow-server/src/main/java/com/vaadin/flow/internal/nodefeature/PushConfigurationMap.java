@@ -168,4 +168,28 @@ public class PushConfigurationMap extends NodeMap implements PushConfiguration {
         throw new UnsupportedOperationException(
                 "Setting push connection factory is not supported");
     }
+
+    @Override
+    public void setPushFlushWindow(int milliseconds) {
+        throw new UnsupportedOperationException(
+                "Setting push flush window is not supported");
+    }
+
+    @Override
+    public int getPushFlushWindow() {
+        throw new UnsupportedOperationException(
+                "Getting push flush window is not supported");
+    }
+
+    @Override
+    public void setPushFlushMaxPending(int count) {
+        throw new UnsupportedOperationException(
+                "Setting push flush max pending is not supported");
+    }
+
+    @Override
+    public int getPushFlushMaxPending() {
+        throw new UnsupportedOperationException(
+                "Getting push flush max pending is not supported");
+    }
 }
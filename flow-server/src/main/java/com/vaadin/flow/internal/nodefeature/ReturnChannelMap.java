@@ -16,13 +16,17 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.NodeOwner;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 
 import elemental.json.JsonArray;
 
@@ -35,6 +39,12 @@ import elemental.json.JsonArray;
  * the server. The server checks that the received channel id is (still) valid
  * and logs a warning if it isn't.
  * <p>
+ * Channel ids are assigned lazily from the {@link StateTree} that owns the
+ * node, so that they are unique within the tree rather than only within the
+ * node. Node ids are reused, and a client-side callback of a channel of a
+ * removed node could otherwise reach a channel of another node that has been
+ * given the same node id.
+ * <p>
  * For internal use only. May be renamed or removed in a future release.
  *
  * @author Vaadin Ltd
@@ -43,20 +53,21 @@ import elemental.json.JsonArray;
 public class ReturnChannelMap extends ServerSideFeature {
 
     private class ChannelImpl implements ReturnChannelRegistration {
-        private final int channelId;
+        private int channelId = -1;
         private final SerializableBiConsumer<JsonArray, ReturnChannelRegistration> handler;
 
         private DisabledUpdateMode disabledUpdateMode = DisabledUpdateMode.ONLY_WHEN_ENABLED;
 
-        public ChannelImpl(int channelId,
+        public ChannelImpl(
                 SerializableBiConsumer<JsonArray, ReturnChannelRegistration> handler) {
-            this.channelId = channelId;
             this.handler = handler;
         }
 
         @Override
         public void remove() {
-            channels.remove(Integer.valueOf(channelId));
+            if (registered.remove(this) && channelId != -1) {
+                channels.remove(Integer.valueOf(channelId), this);
+            }
         }
 
         @Override
@@ -66,6 +77,16 @@ public class ReturnChannelMap extends ServerSideFeature {
 
         @Override
         public int getChannelId() {
+            resetIdsIfOwnerChanged();
+            if (channelId == -1) {
+                NodeOwner owner = getNode().getOwner();
+                channelId = owner instanceof StateTree tree
+                        ? tree.allocateReturnChannelId()
+                        : nextId++;
+                if (registered.contains(this)) {
+                    channels.put(Integer.valueOf(channelId), this);
+                }
+            }
             return channelId;
         }
 
@@ -88,9 +109,15 @@ public class ReturnChannelMap extends ServerSideFeature {
         }
     }
 
+    // Only used while the node isn't owned by a state tree
     private int nextId = 0;
 
-    private Map<Integer, ChannelImpl> channels = new HashMap<>();
+    // The owner that has assigned the ids in the channels map
+    private NodeOwner idOwner;
+
+    private final Set<ChannelImpl> registered = new LinkedHashSet<>();
+
+    private final Map<Integer, ChannelImpl> channels = new HashMap<>();
 
     /**
      * Creates a new return channel map for the given state node.
@@ -144,9 +171,9 @@ public class ReturnChannelMap extends ServerSideFeature {
             SerializableBiConsumer<JsonArray, ReturnChannelRegistration> handler) {
         assert handler != null;
 
-        ChannelImpl channel = new ChannelImpl(nextId++, handler);
+        ChannelImpl channel = new ChannelImpl(handler);
 
-        channels.put(Integer.valueOf(channel.getChannelId()), channel);
+        registered.add(channel);
 
         return channel;
     }
@@ -161,6 +188,7 @@ public class ReturnChannelMap extends ServerSideFeature {
      *         registration exists for the given id
      */
     public ReturnChannelRegistration get(int channelId) {
+        resetIdsIfOwnerChanged();
         return channels.get(Integer.valueOf(channelId));
     }
 
@@ -170,6 +198,21 @@ public class ReturnChannelMap extends ServerSideFeature {
      * @return {@code true} if registered channels exist.
      */
     public boolean hasChannels() {
-        return !channels.isEmpty();
+        return !registered.isEmpty();
+    }
+
+    /**
+     * Forgets the assigned channel ids if the node has been moved to another
+     * owner since they were assigned, since the ids are only unique within the
+     * owner that assigned them. The channels get new ids the next time they are
+     * passed to the client.
+     */
+    private void resetIdsIfOwnerChanged() {
+        NodeOwner owner = getNode().getOwner();
+        if (owner != idOwner) {
+            idOwner = owner;
+            channels.clear();
+            registered.forEach(channel -> channel.channelId = -1);
+        }
     }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves navigation urls against an immutable {@link RouteSegment} tree.
+ * <p>
+ * The tree is compiled into nodes holding their children in arrays, and the url
+ * is split into a segment array once. Matching walks the nodes in the same
+ * priority order as {@link RouteSegment#getNavigationRouteTarget(String)}:
+ * static segments, mandatory parameters, optional parameters, children of
+ * skipped optional parameters and finally varargs. Parameter values are
+ * collected into a single stack that is rolled back when an attempt fails, so
+ * trying alternatives doesn't allocate anything. The parameter map is only
+ * created for the match.
+ * <p>
+ * The most recently resolved urls are kept in a bounded cache. Since the tree
+ * is immutable, the cache never needs to be invalidated; a new matcher is
+ * created whenever the route configuration changes.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+final class RouteMatcher implements Serializable {
+
+    /**
+     * The maximum number of resolved urls that are cached.
+     */
+    static final int CACHE_SIZE = 1024;
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private static final String[] NO_SEGMENTS = new String[0];
+
+    private static final class Node implements Serializable {
+        private final RouteSegment segment;
+        private final boolean parameter;
+        private final boolean varargs;
+        // Target when no url segments remain after this node
+        private final RouteTarget endTarget;
+        private final Map<String, Node> staticChildren;
+        private final Node[] parameterChildren;
+        private final Node[] optionalChildren;
+        private final Node[] varargsChildren;
+
+        private Node(RouteSegment segment) {
+            this.segment = segment;
+            parameter = segment.isParameter();
+            varargs = segment.isVarargs();
+            if (segment.hasTarget()) {
+                endTarget = segment.getTarget();
+            } else {
+                RouteSegment optional = segment
+                        .getAnyOptionalOrVarargsParameterWithTarget();
+                endTarget = optional == null ? null : optional.getTarget();
+            }
+
+            Map<String, RouteSegment> statics = segment.getStaticSegments();
+            if (statics.isEmpty()) {
+                staticChildren = Collections.emptyMap();
+            } else {
+                staticChildren = new HashMap<>(statics.size() * 2);
+                statics.forEach((name, child) -> staticChildren.put(name,
+                        new Node(child)));
+            }
+            parameterChildren = compile(
+                    segment.getParameterSegments().values());
+            optionalChildren = compile(segment.getOptionalSegments().values());
+            varargsChildren = compile(segment.getVarargsSegments().values());
+        }
+
+        private static Node[] compile(Collection<RouteSegment> segments) {
+            if (segments.isEmpty()) {
+                return NO_NODES;
+            }
+            return segments.stream().map(Node::new).toArray(Node[]::new);
+        }
+    }
+
+    /**
+     * Parameter values found while matching, as a stack of name and value pairs
+     * in the order of the segments.
+     */
+    private static final class Captures implements Serializable {
+        private String[] names = new String[8];
+        private String[] values = new String[8];
+        private int size;
+
+        private void push(String name, String value) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            names[size] = name;
+            values[size] = value;
+            size++;
+        }
+
+        private Map<String, String> toMap() {
+            Map<String, String> map = new HashMap<>();
+            // Values of later segments override earlier values of the same
+            // parameter
+            for (int i = 0; i < size; i++) {
+                map.put(names[i], values[i]);
+            }
+            return map;
+        }
+    }
+
+    private final Node root;
+
+    private final Map<String, NavigationRouteTarget> cache = new LinkedHashMap<>(
+            16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<String, NavigationRouteTarget> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Compiles a matcher for the given route segment tree. The tree must not be
+     * modified afterwards.
+     *
+     * @param root
+     *            the root segment of the tree
+     */
+    RouteMatcher(RouteSegment root) {
+        this.root = new Node(root);
+    }
+
+    /**
+     * Search for a route target using given navigation <code>url</code>
+     * argument.
+     *
+     * @param url
+     *            the navigation url used to search a route target.
+     * @return a {@link NavigationRouteTarget} instance containing the
+     *         {@link RouteTarget} and the parameters extracted from the
+     *         <code>url</code> argument
+     */
+    NavigationRouteTarget getNavigationRouteTarget(String url) {
+        if (url == null) {
+            return new NavigationRouteTarget(null, null,
+                    Collections.emptyMap());
+        }
+        NavigationRouteTarget result;
+        synchronized (cache) {
+            result = cache.get(url);
+        }
+        if (result == null) {
+            result = match(url);
+            synchronized (cache) {
+                cache.put(url, result);
+            }
+        }
+        return result;
+    }
+
+    private NavigationRouteTarget match(String url) {
+        String[] segments = getSegments(url);
+        Captures captures = new Captures();
+        RouteTarget target = find(root, segments, 0, captures);
+        return new NavigationRouteTarget(url, target,
+                target == null ? Collections.emptyMap() : captures.toMap());
+    }
+
+    /**
+     * Splits the path the same way as {@link PathUtil#getSegmentsList(String)}
+     * but without wrapping the segments into a list.
+     */
+    private static String[] getSegments(String path) {
+        String[] segments = PathUtil.trimSegmentsString(path).split("/");
+        if (segments.length == 1 && segments[0].isEmpty()) {
+            return NO_SEGMENTS;
+        }
+        return segments;
+    }
+
+    private static RouteTarget find(Node node, String[] segments, int index,
+            Captures captures) {
+        if (index == segments.length) {
+            // Only happens for the root
+            return node.endTarget;
+        }
+
+        Node staticChild = node.staticChildren.get(segments[index]);
+        if (staticChild != null) {
+            RouteTarget target = match(staticChild, segments, index, captures);
+            if (target != null) {
+                return target;
+            }
+        }
+
+        RouteTarget target = match(node.parameterChildren, segments, index,
+                captures);
+        if (target != null) {
+            return target;
+        }
+        target = match(node.optionalChildren, segments, index, captures);
+        if (target != null) {
+            return target;
+        }
+        // Skip an optional parameter and match its children instead
+        for (Node optional : node.optionalChildren) {
+            int mark = captures.size;
+            target = find(optional, segments, index, captures);
+            if (target != null) {
+                return target;
+            }
+            captures.size = mark;
+        }
+        return match(node.varargsChildren, segments, index, captures);
+    }
+
+    private static RouteTarget match(Node[] nodes, String[] segments, int index,
+            Captures captures) {
+        for (Node node : nodes) {
+            RouteTarget target = match(node, segments, index, captures);
+            if (target != null) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    private static RouteTarget match(Node node, String[] segments, int index,
+            Captures captures) {
+        int mark = captures.size;
+        int next;
+        if (node.varargs) {
+            for (int i = index; i < segments.length; i++) {
+                if (!node.segment.isEligible(segments[i])) {
+                    return null;
+                }
+            }
+            captures.push(node.segment.getName(), PathUtil.getPath(
+                    Arrays.asList(segments).subList(index, segments.length)));
+            next = segments.length;
+        } else {
+            if (node.parameter) {
+                if (!node.segment.isEligible(segments[index])) {
+                    return null;
+                }
+                captures.push(node.segment.getName(), segments[index]);
+            }
+            next = index + 1;
+        }
+
+        RouteTarget target = next < segments.length
+                ? find(node, segments, next, captures)
+                : node.endTarget;
+        if (target == null) {
+            captures.size = mark;
+        }
+        return target;
+    }
+}
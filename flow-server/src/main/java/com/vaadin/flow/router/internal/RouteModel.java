@@ -40,6 +40,9 @@ class RouteModel implements Serializable {
 
     private RouteSegment root;
 
+    // Compiled on first use for immutable models
+    private transient volatile RouteMatcher matcher;
+
     private RouteModel(boolean mutable) {
         this(RouteSegment.createRoot(), mutable);
     }
@@ -133,6 +136,9 @@ class RouteModel implements Serializable {
     /**
      * Search for a route target using given navigation <code>url</code>
      * argument.
+     * <p>
+     * Immutable models resolve the url using a compiled {@link RouteMatcher}
+     * that caches the most recently resolved urls.
      *
      * @param url
      *            the navigation url used to search a route target.
@@ -142,7 +148,17 @@ class RouteModel implements Serializable {
      *         configuration.
      */
     NavigationRouteTarget getNavigationRouteTarget(String url) {
-        return root.getNavigationRouteTarget(url);
+        if (mutable) {
+            return root.getNavigationRouteTarget(url);
+        }
+        RouteMatcher routeMatcher = matcher;
+        if (routeMatcher == null) {
+            // Concurrent callers may compile their own matcher, which is
+            // harmless since the result is the same
+            routeMatcher = new RouteMatcher(root);
+            matcher = routeMatcher;
+        }
+        return routeMatcher.getNavigationRouteTarget(url);
     }
 
     /**
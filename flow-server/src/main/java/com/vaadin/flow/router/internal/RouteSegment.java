@@ -744,7 +744,7 @@ final class RouteSegment implements Serializable {
      * targeted segment we use the target from the optional child. The search is
      * performed recursively on this segment.
      */
-    private RouteSegment getAnyOptionalOrVarargsParameterWithTarget() {
+    RouteSegment getAnyOptionalOrVarargsParameterWithTarget() {
         RouteSegment optionalParameter = getOptionalParameterWithTarget();
         if (optionalParameter != null) {
             return optionalParameter;
@@ -847,7 +847,7 @@ final class RouteSegment implements Serializable {
         return result;
     }
 
-    private Map<String, RouteSegment> getStaticSegments() {
+    Map<String, RouteSegment> getStaticSegments() {
         if (staticSegments == null) {
             // We want to process the data according to the priority and
             // registration order.
@@ -856,7 +856,7 @@ final class RouteSegment implements Serializable {
         return staticSegments;
     }
 
-    private Map<String, RouteSegment> getParameterSegments() {
+    Map<String, RouteSegment> getParameterSegments() {
         if (parameterSegments == null) {
             // We want to process the data according to the priority and
             // registration order.
@@ -865,7 +865,7 @@ final class RouteSegment implements Serializable {
         return parameterSegments;
     }
 
-    private Map<String, RouteSegment> getOptionalSegments() {
+    Map<String, RouteSegment> getOptionalSegments() {
         if (optionalSegments == null) {
             // We want to process the data according to the priority and
             // registration order.
@@ -874,7 +874,7 @@ final class RouteSegment implements Serializable {
         return optionalSegments;
     }
 
-    private Map<String, RouteSegment> getVarargsSegments() {
+    Map<String, RouteSegment> getVarargsSegments() {
         if (varargsSegments == null) {
             // We want to process the data according to the priority and
             // registration order.
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.Node;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+
+/**
+ * Session serializer that writes sessions in a compact binary form, intended
+ * for replicating sessions between the nodes of a cluster running the same
+ * version of the application.
+ * <p>
+ * The session is written using Java serialization with the following
+ * differences:
+ * <ul>
+ * <li>Class descriptors only contain the class name and the serial version UID.
+ * Node feature types and other common framework classes are written as ids,
+ * with feature types using their ids from {@link NodeFeatureRegistry}. The
+ * fields of a class are taken from the class on the reading node, so the
+ * classes must be identical on all nodes.</li>
+ * <li>Equal strings are written only once.</li>
+ * <li>The result is compressed.</li>
+ * </ul>
+ * <p>
+ * Enable the serializer by setting the
+ * {@link InitParameters#SERVLET_PARAMETER_SESSION_SERIALIZER} parameter to the
+ * name of this class.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class CompactSessionSerializer implements VaadinSessionSerializer {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int UNKNOWN_CLASS = -1;
+
+    /*
+     * Classes written as ids instead of names, indexed by id. Node feature
+     * types come first, ordered by their registry ids.
+     */
+    private static final List<String> CLASS_NAMES = createClassNames();
+
+    private static final Map<String, Integer> CLASS_IDS = IntStream
+            .range(0, CLASS_NAMES.size()).boxed()
+            .collect(Collectors.toMap(CLASS_NAMES::get, id -> id));
+
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+
+        private final Map<String, String> strings = new HashMap<>();
+
+        private CompactObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc)
+                throws IOException {
+            writeShort(CLASS_IDS.getOrDefault(desc.getName(), UNKNOWN_CLASS));
+            if (!CLASS_IDS.containsKey(desc.getName())) {
+                writeUTF(desc.getName());
+            }
+            writeLong(desc.getSerialVersionUID());
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj instanceof String string) {
+                // Equal strings are then written as references to the first
+                String existing = strings.putIfAbsent(string, string);
+                return existing == null ? string : existing;
+            }
+            return obj;
+        }
+    }
+
+    private static class CompactObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        private CompactObjectInputStream(InputStream in,
+                ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor()
+                throws IOException, ClassNotFoundException {
+            int id = readShort();
+            String name;
+            if (id == UNKNOWN_CLASS) {
+                name = readUTF();
+            } else if (id >= 0 && id < CLASS_NAMES.size()) {
+                name = CLASS_NAMES.get(id);
+            } else {
+                throw new StreamCorruptedException("Invalid class id " + id);
+            }
+            long serialVersionUID = readLong();
+
+            ObjectStreamClass desc = ObjectStreamClass
+                    .lookupAny(loadClass(name));
+            if (desc.getSerialVersionUID() != serialVersionUID) {
+                throw new InvalidClassException(name,
+                        "serialVersionUID of the written class "
+                                + serialVersionUID
+                                + " does not match the local class "
+                                + desc.getSerialVersionUID());
+            }
+            return desc;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            try {
+                return loadClass(desc.getName());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        private Class<?> loadClass(String name) throws ClassNotFoundException {
+            return Class.forName(name, false, classLoader);
+        }
+    }
+
+    @Override
+    public void write(VaadinSession session, OutputStream out)
+            throws IOException {
+        out.write(FORMAT_VERSION);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream compressed = new DeflaterOutputStream(out,
+                    deflater, BUFFER_SIZE);
+            ObjectOutputStream stream = new CompactObjectOutputStream(
+                    new BufferedOutputStream(compressed, BUFFER_SIZE));
+            stream.writeObject(session);
+            stream.flush();
+            compressed.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public VaadinSession read(InputStream in)
+            throws IOException, ClassNotFoundException {
+        int version = in.read();
+        if (version != FORMAT_VERSION) {
+            throw new StreamCorruptedException(
+                    "Unsupported session format version " + version);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            ObjectInputStream stream = new CompactObjectInputStream(
+                    new BufferedInputStream(
+                            new InflaterInputStream(in, inflater, BUFFER_SIZE),
+                            BUFFER_SIZE),
+                    getClassLoader());
+            return (VaadinSession) stream.readObject();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread()
+                .getContextClassLoader();
+        return classLoader != null ? classLoader
+                : CompactSessionSerializer.class.getClassLoader();
+    }
+
+    private static List<String> createClassNames() {
+        List<String> names = new ArrayList<>();
+        NodeFeatureRegistry.getFeatures().stream()
+                .sorted(Comparator.comparingInt(NodeFeatureRegistry::getId))
+                .map(Class::getName).forEach(names::add);
+        List.of(VaadinSession.class, UI.class, UIInternals.class,
+                StateTree.class, StateNode.class, Component.class,
+                Element.class, Node.class, ArrayList.class, HashMap.class,
+                HashSet.class, LinkedHashMap.class, LinkedHashSet.class,
+                Integer.class, Long.class, Double.class, Boolean.class,
+                Number.class, Enum.class).stream().map(Class::getName)
+                .forEach(names::add);
+        return List.copyOf(names);
+    }
+}
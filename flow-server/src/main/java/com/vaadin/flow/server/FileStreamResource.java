@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * A {@link RangeStreamResource} which serves the content of a file.
+ * <p>
+ * The content is transferred from the file directly to the response using a
+ * {@link java.nio.channels.FileChannel} without copying it through intermediate
+ * buffers in application code and without holding the session lock. The length,
+ * the last modification timestamp and an entity tag are taken from the file
+ * when the resource is created, so a new resource should be created if the file
+ * is replaced.
+ * <p>
+ * The file must be located in the default file system.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class FileStreamResource extends RangeStreamResource {
+
+    /*
+     * Path is not serializable, so the path is stored as a string and resolved
+     * again when needed.
+     */
+    private final String file;
+
+    /**
+     * Creates a new resource for the given file, using the file name as the
+     * resource name.
+     *
+     * @param file
+     *            the file to serve, not <code>null</code>
+     * @throws UncheckedIOException
+     *             if the attributes of the file cannot be read
+     */
+    public FileStreamResource(Path file) {
+        this(String.valueOf(file.getFileName()), file);
+    }
+
+    /**
+     * Creates a new resource for the given file.
+     *
+     * @param name
+     *            resource file name, not <code>null</code>
+     * @param file
+     *            the file to serve, not <code>null</code>
+     * @throws UncheckedIOException
+     *             if the attributes of the file cannot be read
+     */
+    public FileStreamResource(String name, Path file) {
+        this(name, file.toAbsolutePath().toString(), readAttributes(file));
+    }
+
+    private FileStreamResource(String name, String file,
+            BasicFileAttributes attributes) {
+        super(name, attributes.size(), new FileInputStreamFactory(file));
+        this.file = file;
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        setLastModified(lastModified);
+        setETag(Long.toHexString(lastModified) + "-"
+                + Long.toHexString(attributes.size()));
+    }
+
+    /**
+     * Gets the file served by this resource.
+     *
+     * @return the absolute path of the file, not <code>null</code>
+     */
+    public Path getFile() {
+        return Path.of(file);
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        Objects.requireNonNull(file, "File cannot be null");
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to read the attributes of " + file, e);
+        }
+    }
+
+    private static class FileInputStreamFactory implements InputStreamFactory {
+
+        private final String file;
+
+        private FileInputStreamFactory(String file) {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream createInputStream() {
+            try {
+                return Files.newInputStream(Path.of(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean requiresLock() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link StreamVariable} which stores the uploaded content in a file.
+ * <p>
+ * Instead of copying the content through the stream returned by
+ * {@link #getOutputStream()}, the upload handler writes the content directly to
+ * the file using a {@link java.nio.channels.FileChannel}. An existing file is
+ * truncated before writing.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public interface FileStreamVariable extends StreamVariable {
+
+    /**
+     * Invoked when a new upload arrives, after
+     * {@link #streamingStarted(StreamingStartEvent)} method has been called.
+     * The uploaded content will be written to the returned file.
+     *
+     * @return the file to which the uploaded content should be written
+     */
+    Path getFile();
+
+    /**
+     * Opens an output stream to the file returned by {@link #getFile()}. The
+     * upload handler does not use this method but it's provided for code that
+     * handles stream variables generically.
+     *
+     * @return stream to which the uploaded file should be written
+     */
+    @Override
+    default OutputStream getOutputStream() {
+        try {
+            return Files.newOutputStream(getFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+
+/**
+ * Metrics that keep aggregated measurements in memory, e.g. for asserting the
+ * measurements in tests or for exposing them through a custom endpoint.
+ * <p>
+ * Each measurement is aggregated into a {@link Summary} with the number of
+ * measurements and their total and maximum values. The summaries can be read at
+ * any time while measurements are being recorded.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class InMemoryVaadinMetrics implements VaadinMetrics {
+
+    /**
+     * Aggregated measurements of one kind.
+     *
+     * @param count
+     *            the number of measurements
+     * @param total
+     *            the sum of the measured values
+     * @param max
+     *            the largest measured value, or <code>0</code> if there are no
+     *            measurements
+     */
+    public record Summary(long count, long total,
+            long max) implements Serializable {
+
+        /**
+         * Gets the mean of the measured values.
+         *
+         * @return the mean value, or <code>0</code> if there are no
+         *         measurements
+         */
+        public double mean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+    }
+
+    private static class Recorder implements Serializable {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long value) {
+            count.increment();
+            total.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private Summary getSummary() {
+            return new Summary(count.sum(), total.sum(), max.get());
+        }
+    }
+
+    private static final Summary EMPTY = new Summary(0, 0, 0);
+
+    private final Map<Class<? extends RequestHandler>, Recorder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rpcInvocations = new ConcurrentHashMap<>();
+    private final Recorder lockWaitTime = new Recorder();
+    private final Recorder lockHoldTime = new Recorder();
+    private final Recorder uidlEncodeTime = new Recorder();
+    private final Recorder uidlLength = new Recorder();
+    private final Recorder pushMessageLength = new Recorder();
+    private volatile SessionResourceUsage lastResourceUsage;
+
+    @Override
+    public void requestHandled(RequestHandler handler, long duration) {
+        requests.computeIfAbsent(handler.getClass(), type -> new Recorder())
+                .record(duration);
+    }
+
+    @Override
+    public void sessionLockAcquired(VaadinSession session, long waitTime) {
+        lockWaitTime.record(waitTime);
+    }
+
+    @Override
+    public void sessionLockReleased(VaadinSession session, long holdTime) {
+        lockHoldTime.record(holdTime);
+    }
+
+    @Override
+    public void uidlEncoded(UI ui, long duration, int length) {
+        uidlEncodeTime.record(duration);
+        uidlLength.record(length);
+    }
+
+    @Override
+    public void rpcInvoked(UI ui, RpcInvocationHandler handler) {
+        rpcInvocations
+                .computeIfAbsent(handler.getRpcType(), type -> new LongAdder())
+                .increment();
+    }
+
+    @Override
+    public void pushMessageSent(UI ui, int length) {
+        pushMessageLength.record(length);
+    }
+
+    @Override
+    public void resourceUsageSampled(VaadinSession session,
+            SessionResourceUsage usage) {
+        lastResourceUsage = usage;
+    }
+
+    /**
+     * Gets the time spent in handling requests by request handlers of the given
+     * type, in nanoseconds.
+     *
+     * @param handlerType
+     *            the type of the request handler, not <code>null</code>
+     * @return the summary of the request handling times, not <code>null</code>
+     */
+    public Summary getRequestTime(Class<? extends RequestHandler> handlerType) {
+        Recorder recorder = requests.get(handlerType);
+        return recorder == null ? EMPTY : recorder.getSummary();
+    }
+
+    /**
+     * Gets the time spent waiting for session locks, in nanoseconds.
+     *
+     * @return the summary of the lock wait times, not <code>null</code>
+     */
+    public Summary getSessionLockWaitTime() {
+        return lockWaitTime.getSummary();
+    }
+
+    /**
+     * Gets the time during which session locks were held, in nanoseconds.
+     *
+     * @return the summary of the lock hold times, not <code>null</code>
+     */
+    public Summary getSessionLockHoldTime() {
+        return lockHoldTime.getSummary();
+    }
+
+    /**
+     * Gets the time spent encoding UIDL messages, in nanoseconds.
+     *
+     * @return the summary of the encoding times, not <code>null</code>
+     */
+    public Summary getUidlEncodeTime() {
+        return uidlEncodeTime.getSummary();
+    }
+
+    /**
+     * Gets the lengths of the encoded UIDL messages in UTF-8 bytes.
+     *
+     * @return the summary of the message lengths, not <code>null</code>
+     * @see VaadinMetrics#uidlEncoded(UI, long, int)
+     */
+    public Summary getUidlLength() {
+        return uidlLength.getSummary();
+    }
+
+    /**
+     * Gets the number of handled RPC invocations of the given type.
+     *
+     * @param rpcType
+     *            the RPC type, as returned by
+     *            {@link RpcInvocationHandler#getRpcType()}
+     * @return the number of invocations
+     */
+    public long getRpcInvocationCount(String rpcType) {
+        LongAdder count = rpcInvocations.get(rpcType);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Gets the lengths of the sent push messages, in UTF-8 bytes.
+     *
+     * @return the summary of the message lengths, not <code>null</code>
+     */
+    public Summary getPushMessageLength() {
+        return pushMessageLength.getSummary();
+    }
+
+    /**
+     * Gets the most recently sampled resource usage of any session.
+     *
+     * @return the last sampled resource usage, or <code>null</code> if no usage
+     *         has been sampled
+     */
+    public SessionResourceUsage getLastResourceUsage() {
+        return lastResourceUsage;
+    }
+}
@@ -74,6 +74,61 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses are streamed directly into a byte buffer instead of first being
+     * built as a complete JSON tree.
+     */
+    public static final String SERVLET_PARAMETER_STREAMING_UIDL = "streamingUidl";
+
+    /**
+     * Configuration name for the parameter that determines the time window in
+     * milliseconds during which asynchronous pushes of a UI are coalesced into
+     * a single message.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_FLUSH_WINDOW = "pushFlushWindow";
+
+    /**
+     * Configuration name for the parameter that determines the maximum number
+     * of pushes of a UI that are coalesced into a single message before it is
+     * sent without waiting for the end of the flush window.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_FLUSH_MAX_PENDING = "pushFlushMaxPending";
+
+    /**
+     * Configuration name for the parameter that determines the interval in
+     * seconds at which inactive UIs and sessions are closed in the background
+     * instead of at the end of every request.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL = "sessionSweepInterval";
+
+    /**
+     * Configuration name for the parameter that determines the maximum number
+     * of sessions checked for inactive UIs during a single background sweep.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_SWEEP_BATCH_SIZE = "sessionSweepBatchSize";
+
+    /**
+     * Configuration name for the parameter that determines the fully qualified
+     * class name of the {@link VaadinSessionSerializer} used when a session is
+     * serialized, e.g. for session replication.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_SERIALIZER = "sessionSerializer";
+
+    /**
+     * Configuration name for the parameter that determines the fully qualified
+     * class name of the {@link VaadinMetrics} that receives the measurements of
+     * the service.
+     */
+    public static final String SERVLET_PARAMETER_METRICS = "metrics";
+
+    /**
+     * Configuration name for the parameter that determines the minimum interval
+     * in seconds between two samples of the resource usage of a session
+     * reported to the configured {@link VaadinMetrics}.
+     */
+    public static final String SERVLET_PARAMETER_RESOURCE_USAGE_SAMPLE_INTERVAL = "resourceUsageSampleInterval";
+
     /**
      * Configuration name for the frontend statistics json file to use to
      * determine template contents.
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+/**
+ * A {@link StreamResource} with a known length that supports HTTP range and
+ * conditional requests.
+ * <p>
+ * In addition to regular downloads, the resource can be served partially using
+ * the {@code Range} header (including multiple ranges in a single request), and
+ * validated with the {@code If-None-Match}, {@code If-Modified-Since} and
+ * {@code If-Range} headers if an ETag and/or a last modification timestamp is
+ * set. This allows browsers to seek in large media files and to resume
+ * interrupted downloads without transferring the whole content again.
+ * <p>
+ * The input stream factory is invoked under the session lock once for each
+ * requested range. It must return a stream with the full content of the
+ * resource, positioned at the beginning. Data is transferred without holding
+ * the session lock unless {@link InputStreamFactory#requiresLock()} returns
+ * {@code true}, so factories for e.g. files should override it to return
+ * {@code false}.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class RangeStreamResource extends StreamResource {
+
+    private final long length;
+
+    private final InputStreamFactory factory;
+
+    private String eTag;
+
+    private long lastModified = -1;
+
+    /**
+     * Creates a new range capable stream resource.
+     *
+     * @param name
+     *            resource file name, not <code>null</code>
+     * @param length
+     *            the length of the resource content in bytes, not negative
+     * @param factory
+     *            data input stream factory, not <code>null</code>
+     */
+    public RangeStreamResource(String name, long length,
+            InputStreamFactory factory) {
+        super(name, factory);
+        if (length < 0) {
+            throw new IllegalArgumentException(
+                    "Resource length cannot be negative");
+        }
+        this.length = length;
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the length of the resource content.
+     *
+     * @return the content length in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the factory which is used to create input streams for the resource
+     * content.
+     *
+     * @return the input stream factory, not <code>null</code>
+     */
+    public InputStreamFactory getInputStreamFactory() {
+        return factory;
+    }
+
+    /**
+     * Sets the entity tag of the resource content. The tag should change
+     * whenever the content changes. The value is quoted automatically if
+     * needed. Weak tags, prefixed with {@code W/}, are only used for
+     * {@code If-None-Match} validation and never for {@code If-Range}.
+     *
+     * @param eTag
+     *            the entity tag, or <code>null</code> to not use an entity tag
+     * @return this resource
+     */
+    public RangeStreamResource setETag(String eTag) {
+        if (eTag == null || eTag.startsWith("\"") || eTag.startsWith("W/\"")) {
+            this.eTag = eTag;
+        } else {
+            this.eTag = '"' + eTag + '"';
+        }
+        return this;
+    }
+
+    /**
+     * Gets the entity tag of the resource content.
+     *
+     * @return the quoted entity tag, or <code>null</code> if no tag has been
+     *         set
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Sets the last modification timestamp of the resource content.
+     *
+     * @param lastModified
+     *            the modification timestamp in milliseconds since epoch, or
+     *            <code>-1</code> if the timestamp is unknown
+     * @return this resource
+     */
+    public RangeStreamResource setLastModified(long lastModified) {
+        // Drop milliseconds as HTTP dates have a precision of one second
+        this.lastModified = lastModified < 0 ? -1
+                : lastModified - lastModified % 1000;
+        return this;
+    }
+
+    /**
+     * Gets the last modification timestamp of the resource content.
+     *
+     * @return the modification timestamp in milliseconds since epoch, or
+     *         <code>-1</code> if the timestamp is unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Serialized form of a {@link VaadinSession} written by a
+ * {@link VaadinSessionSerializer}. Resolves to the session read by the same
+ * serializer when deserialized.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+class SerializedVaadinSession implements Serializable {
+
+    private final VaadinSessionSerializer serializer;
+    private final byte[] data;
+
+    private SerializedVaadinSession(VaadinSessionSerializer serializer,
+            byte[] data) {
+        this.serializer = serializer;
+        this.data = data;
+    }
+
+    /**
+     * Writes the given session using the given serializer.
+     *
+     * @param serializer
+     *            the serializer to use
+     * @param session
+     *            the session to write
+     * @return the serialized form of the session
+     * @throws ObjectStreamException
+     *             if the serializer fails to write the session
+     */
+    static SerializedVaadinSession write(VaadinSessionSerializer serializer,
+            VaadinSession session) throws ObjectStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serializer.write(session, out);
+        } catch (ObjectStreamException e) {
+            throw e;
+        } catch (IOException e) {
+            throw wrap("Failed to write session using " + serializer, e);
+        }
+        return new SerializedVaadinSession(serializer, out.toByteArray());
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        try {
+            return serializer.read(new ByteArrayInputStream(data));
+        } catch (ObjectStreamException e) {
+            throw e;
+        } catch (IOException | ClassNotFoundException e) {
+            throw wrap("Failed to read session using " + serializer, e);
+        }
+    }
+
+    private static InvalidObjectException wrap(String message,
+            Exception cause) {
+        InvalidObjectException exception = new InvalidObjectException(message);
+        exception.initCause(cause);
+        return exception;
+    }
+}
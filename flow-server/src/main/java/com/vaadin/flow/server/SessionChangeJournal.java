@@ -0,0 +1,141 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.StateTreeJournal;
+
+/**
+ * Records what has changed in a {@link VaadinSession} until the recorded
+ * changes are {@link #drain() drained}, so that e.g. a session replication
+ * layer can replicate only the changed parts of the session after a request.
+ * <p>
+ * The journal records the names of the attributes set using
+ * {@link VaadinSession#setAttribute(String, Object)}, the UIs that have been
+ * added to or removed from the session and the {@link StateTreeJournal.Changes
+ * changes of the state trees} of the other UIs. Changes made to attribute
+ * values or components without going through the session or the state tree are
+ * not recorded.
+ * <p>
+ * The journal is enabled using {@link VaadinSession#enableChangeJournal()},
+ * e.g. in a {@link SessionInitListener}. All methods must be called with the
+ * session locked.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class SessionChangeJournal implements Serializable {
+
+    /**
+     * Changes recorded by a session journal.
+     *
+     * @param attributes
+     *            the names of the attributes that have been set or removed
+     * @param addedUIs
+     *            ids of the UIs that have been added to the session
+     * @param removedUIs
+     *            ids of the UIs that have been removed from the session
+     * @param uiChanges
+     *            the state tree changes of the other UIs, by UI id
+     */
+    public record Changes(Set<String> attributes, Set<Integer> addedUIs,
+            Set<Integer> removedUIs,
+            Map<Integer, StateTreeJournal.Changes> uiChanges)
+            implements
+                Serializable {
+
+        /**
+         * Checks whether there are any changes.
+         *
+         * @return <code>true</code> if nothing has changed, <code>false</code>
+         *         otherwise
+         */
+        public boolean isEmpty() {
+            return attributes.isEmpty() && addedUIs.isEmpty()
+                    && removedUIs.isEmpty() && uiChanges.isEmpty();
+        }
+    }
+
+    private final VaadinSession session;
+
+    private Set<String> attributes = new LinkedHashSet<>();
+    private Set<Integer> addedUIs = new LinkedHashSet<>();
+    private Set<Integer> removedUIs = new LinkedHashSet<>();
+
+    SessionChangeJournal(VaadinSession session) {
+        this.session = session;
+        session.getUIs().forEach(ui -> getStateTree(ui).enableJournal());
+    }
+
+    void attributeChanged(String name) {
+        attributes.add(name);
+    }
+
+    void uiAdded(UI ui) {
+        getStateTree(ui).enableJournal();
+        removedUIs.remove(ui.getUIId());
+        addedUIs.add(ui.getUIId());
+    }
+
+    void uiRemoved(UI ui) {
+        getStateTree(ui).disableJournal();
+        if (!addedUIs.remove(ui.getUIId())) {
+            removedUIs.add(ui.getUIId());
+        }
+    }
+
+    /**
+     * Gets the changes recorded since the journal was last drained and clears
+     * the journals of the session and its UIs.
+     *
+     * @return the recorded changes, not <code>null</code>
+     */
+    public Changes drain() {
+        session.checkHasLock();
+        Map<Integer, StateTreeJournal.Changes> uiChanges = new LinkedHashMap<>();
+        for (UI ui : session.getUIs()) {
+            StateTreeJournal journal = getStateTree(ui).enableJournal();
+            // Added UIs are new as a whole
+            if (!addedUIs.contains(ui.getUIId()) && journal.hasChanges()) {
+                uiChanges.put(ui.getUIId(), journal.drain());
+            } else {
+                journal.drain();
+            }
+        }
+        Changes changes = new Changes(Collections.unmodifiableSet(attributes),
+                Collections.unmodifiableSet(addedUIs),
+                Collections.unmodifiableSet(removedUIs),
+                Collections.unmodifiableMap(uiChanges));
+        attributes = new LinkedHashSet<>();
+        addedUIs = new LinkedHashSet<>();
+        removedUIs = new LinkedHashSet<>();
+        return changes;
+    }
+
+    private static StateTree getStateTree(UI ui) {
+        return ui.getInternals().getStateTree();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The resources used by a session at the time when the usage was sampled.
+ * <p>
+ * The usage of each UI is sampled separately, so the numbers of different UIs
+ * may have been read at slightly different times.
+ *
+ * @param uis
+ *            the resource usage of each UI of the session
+ * @param streamResourceCount
+ *            the number of stream resources registered in the session
+ * @param pendingAccessTasks
+ *            the number of tasks enqueued using
+ *            {@link VaadinSession#access(com.vaadin.flow.server.Command)} that
+ *            have not yet been run
+ * @param approximateBytes
+ *            a rough estimate of the heap retained by the UIs, the stream
+ *            resources and the pending tasks, not including the values stored
+ *            in the state nodes or the session attributes
+ * @author Vaadin Ltd
+ * @since 24.8
+ * @see VaadinSession#getResourceUsage()
+ */
+public record SessionResourceUsage(List<UIResourceUsage> uis,
+        int streamResourceCount, int pendingAccessTasks,
+        long approximateBytes) implements Serializable {
+
+    /**
+     * Gets the total number of state nodes in all the UIs of the session.
+     *
+     * @return the total number of state nodes
+     */
+    public int nodeCount() {
+        return uis.stream().mapToInt(UIResourceUsage::nodeCount).sum();
+    }
+}
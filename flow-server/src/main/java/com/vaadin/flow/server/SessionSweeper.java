@@ -0,0 +1,303 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.internal.CurrentInstance;
+
+/**
+ * Periodically closes inactive UIs and sessions of a service in the background,
+ * instead of doing it at the end of every request while holding the session
+ * lock.
+ * <p>
+ * Sessions are registered when a request to them ends and are swept in a round
+ * robin fashion, at most a configured number of sessions per run. A session is
+ * only swept if its lock is free; sessions that are locked by another thread
+ * are skipped and swept during a later run, so request threads never wait for
+ * the sweeper.
+ * <p>
+ * Sessions are only weakly referenced, so that sessions discarded by the
+ * container without being destroyed, e.g. passivated sessions, are not kept in
+ * memory by the sweeper.
+ * <p>
+ * The sweeper runs on a thread of its own, so that sweeping many sessions does
+ * not delay other tasks scheduled by the service, such as push flushes.
+ * <p>
+ * The sweeper is enabled using the
+ * {@link InitParameters#SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL} parameter.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class SessionSweeper {
+
+    private final VaadinService service;
+    private final int batchSize;
+
+    private final Queue<SessionReference> queue = new ConcurrentLinkedQueue<>();
+    /*
+     * The current reference of each registered session, mapped to itself so
+     * that stale references left in the queue can be recognized by identity.
+     */
+    private final Map<SessionReference, SessionReference> sessions = new ConcurrentHashMap<>();
+    private final ReferenceQueue<VaadinSession> collected = new ReferenceQueue<>();
+
+    private ScheduledExecutorService executor;
+
+    private final AtomicLong reclaimedUICount = new AtomicLong();
+    private final AtomicLong closedSessionCount = new AtomicLong();
+    private final AtomicLong skippedSessionCount = new AtomicLong();
+
+    /**
+     * Weak reference to a registered session, compared by the identity of the
+     * session.
+     */
+    private static final class SessionReference
+            extends WeakReference<VaadinSession> {
+        private final int hash;
+
+        private SessionReference(VaadinSession session,
+                ReferenceQueue<VaadinSession> queue) {
+            super(session, queue);
+            hash = System.identityHashCode(session);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SessionReference)) {
+                return false;
+            }
+            VaadinSession session = get();
+            return session != null && session == ((SessionReference) obj).get();
+        }
+    }
+
+    /**
+     * Creates a sweeper for the given service.
+     *
+     * @param service
+     *            the service whose sessions to sweep, not <code>null</code>
+     * @param batchSize
+     *            the maximum number of sessions to sweep during a single run
+     */
+    SessionSweeper(VaadinService service, int batchSize) {
+        this.service = service;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Starts running the sweeper periodically on a daemon thread of its own.
+     *
+     * @param interval
+     *            the delay between runs in seconds
+     */
+    synchronized void start(int interval) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable,
+                        "VaadinService-session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::runSafely, interval, interval,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops running the sweeper. Does nothing if the sweeper has not been
+     * started.
+     */
+    synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Registers a session to be swept. Does nothing if the session is already
+     * registered. Does not require the session lock.
+     *
+     * @param session
+     *            the session to register
+     */
+    void register(VaadinSession session) {
+        SessionReference reference = new SessionReference(session, collected);
+        if (sessions.putIfAbsent(reference, reference) == null) {
+            queue.offer(reference);
+        }
+    }
+
+    /**
+     * Unregisters a session so that it is no longer swept.
+     *
+     * @param session
+     *            the session to unregister
+     */
+    void unregister(VaadinSession session) {
+        sessions.remove(new SessionReference(session, null));
+    }
+
+    /**
+     * Sweeps the next batch of registered sessions, closing inactive UIs and
+     * sessions.
+     */
+    void sweep() {
+        expungeCollectedSessions();
+        int count = Math.min(batchSize, queue.size());
+        for (int i = 0; i < count; i++) {
+            SessionReference reference = queue.poll();
+            if (reference == null) {
+                break;
+            }
+            VaadinSession session = reference.get();
+            if (session == null) {
+                // Garbage collected, possibly not yet enqueued as collected
+                sessions.remove(reference, reference);
+                continue;
+            }
+            if (sessions.get(reference) != reference) {
+                // Unregistered since it was queued
+                continue;
+            }
+            if (sweep(session)) {
+                queue.offer(reference);
+            } else {
+                sessions.remove(reference, reference);
+            }
+        }
+    }
+
+    private void expungeCollectedSessions() {
+        Reference<? extends VaadinSession> reference;
+        while ((reference = collected.poll()) != null) {
+            sessions.remove(reference, reference);
+        }
+    }
+
+    /**
+     * Sweeps a single session.
+     *
+     * @return <code>true</code> if the session should be swept again later,
+     *         <code>false</code> if it has been closed
+     */
+    private boolean sweep(VaadinSession session) {
+        if (session.peekState() == VaadinSessionState.CLOSED) {
+            return false;
+        }
+        if (!session.tryLock()) {
+            skippedSessionCount.incrementAndGet();
+            return true;
+        }
+        Map<Class<?>, CurrentInstance> previous = CurrentInstance
+                .setCurrent(session);
+        try {
+            int uiCount = session.getUIs().size();
+            service.cleanupSession(session);
+            if (session.getState() == VaadinSessionState.OPEN) {
+                reclaimedUICount.addAndGet(uiCount - session.getUIs().size());
+                return true;
+            }
+            reclaimedUICount.addAndGet(uiCount);
+            closedSessionCount.incrementAndGet();
+            return false;
+        } finally {
+            try {
+                session.unlock();
+            } finally {
+                CurrentInstance.restoreInstances(previous);
+            }
+        }
+    }
+
+    private void runSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic runs
+            getLogger().error("Error while sweeping inactive sessions", e);
+        }
+    }
+
+    /**
+     * Gets the number of sessions currently registered for sweeping.
+     *
+     * @return the number of registered sessions
+     */
+    public int getSessionCount() {
+        expungeCollectedSessions();
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of UIs that have been closed and removed from their
+     * sessions by this sweeper.
+     *
+     * @return the number of reclaimed UIs
+     */
+    public long getReclaimedUICount() {
+        return reclaimedUICount.get();
+    }
+
+    /**
+     * Gets the number of inactive sessions that have been closed by this
+     * sweeper.
+     *
+     * @return the number of closed sessions
+     */
+    public long getClosedSessionCount() {
+        return closedSessionCount.get();
+    }
+
+    /**
+     * Gets the number of times a session has been skipped since it was locked
+     * by another thread.
+     *
+     * @return the number of skipped sessions
+     */
+    public long getSkippedSessionCount() {
+        return skippedSessionCount.get();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SessionSweeper.class);
+    }
+}
@@ -247,4 +247,14 @@ public class StreamResourceRegistry implements Serializable {
         }
         return Optional.empty();
     }
+
+    /**
+     * Gets the number of resources registered in the session.
+     *
+     * @return the number of registered resources
+     */
+    public int getResourceCount() {
+        session.checkHasLock();
+        return res.size();
+    }
 }
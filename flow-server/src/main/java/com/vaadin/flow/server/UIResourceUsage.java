@@ -0,0 +1,46 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeature;
+
+/**
+ * The resources used by a UI at the time when the usage was sampled.
+ *
+ * @param uiId
+ *            the id of the UI
+ * @param nodeCount
+ *            the number of state nodes attached to the state tree of the UI
+ * @param featureCounts
+ *            the number of initialized node features, by feature type
+ * @param pendingJavaScriptInvocations
+ *            the number of JavaScript invocations waiting to be sent to the
+ *            client
+ * @param approximateBytes
+ *            a rough estimate of the heap retained by the state tree and the
+ *            pending invocations, not including the values stored in the nodes
+ * @author Vaadin Ltd
+ * @since 24.8
+ * @see com.vaadin.flow.component.internal.UIInternals#getResourceUsage()
+ */
+public record UIResourceUsage(int uiId, int nodeCount,
+        Map<Class<? extends NodeFeature>, Integer> featureCounts,
+        int pendingJavaScriptInvocations,
+        long approximateBytes) implements Serializable {
+}
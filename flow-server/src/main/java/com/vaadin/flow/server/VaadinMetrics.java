@@ -0,0 +1,164 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+
+/**
+ * Receives measurements of a {@link VaadinService}, e.g. for publishing them to
+ * a monitoring system.
+ * <p>
+ * An implementation is configured using the
+ * {@link InitParameters#SERVLET_PARAMETER_METRICS} parameter. All methods have
+ * a default implementation that ignores the measurement, so an implementation
+ * only needs to override the methods for the measurements it is interested in.
+ * <p>
+ * The methods are called from request threads, often concurrently, and must
+ * return quickly without blocking. They are called without holding any session
+ * lock unless stated otherwise. Durations are given in nanoseconds.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ * @see VaadinService#getMetrics()
+ * @see InMemoryVaadinMetrics
+ */
+public interface VaadinMetrics extends Serializable {
+
+    /**
+     * Metrics that ignore all measurements. Used when no metrics implementation
+     * has been configured.
+     */
+    VaadinMetrics NO_OP = new VaadinMetrics() {
+    };
+
+    /**
+     * Called with the resource usage of a session sampled at the end of a
+     * request, at most once per the interval configured using the
+     * {@link InitParameters#SERVLET_PARAMETER_RESOURCE_USAGE_SAMPLE_INTERVAL}
+     * parameter for each session.
+     * <p>
+     * The session is locked while the usage is sampled and this method is
+     * called. Sampling never waits for the lock: if another thread holds the
+     * session lock at the end of the request, the sample is skipped.
+     *
+     * @param session
+     *            the sampled session, not <code>null</code>
+     * @param usage
+     *            the resource usage of the session, not <code>null</code>
+     */
+    default void resourceUsageSampled(VaadinSession session,
+            SessionResourceUsage usage) {
+        // NO-OP
+    }
+
+    /**
+     * Called when a request has been handled by a request handler.
+     *
+     * @param handler
+     *            the request handler that handled the request, not
+     *            <code>null</code>
+     * @param duration
+     *            the time spent in the handler, in nanoseconds
+     */
+    default void requestHandled(RequestHandler handler, long duration) {
+        // NO-OP
+    }
+
+    /**
+     * Called when a thread has acquired the lock of a session that it was not
+     * already holding. Called while holding the session lock.
+     *
+     * @param session
+     *            the locked session, not <code>null</code>
+     * @param waitTime
+     *            the time spent waiting for the lock, in nanoseconds
+     */
+    default void sessionLockAcquired(VaadinSession session, long waitTime) {
+        // NO-OP
+    }
+
+    /**
+     * Called when a thread has released the lock of a session, i.e. when it is
+     * no longer holding the lock.
+     *
+     * @param session
+     *            the unlocked session, not <code>null</code>
+     * @param holdTime
+     *            the time during which the lock was held, in nanoseconds
+     */
+    default void sessionLockReleased(VaadinSession session, long holdTime) {
+        // NO-OP
+    }
+
+    /**
+     * Called when the pending changes of a UI have been encoded into a UIDL
+     * message, either as a response to a request or for a push. Called while
+     * holding the session lock.
+     *
+     * @param ui
+     *            the UI whose changes were encoded, not <code>null</code>
+     * @param duration
+     *            the time spent encoding the message, in nanoseconds
+     * @param length
+     *            the length of the encoded message in UTF-8 bytes, regardless
+     *            of whether the message was encoded as bytes or as a string
+     */
+    default void uidlEncoded(UI ui, long duration, int length) {
+        // NO-OP
+    }
+
+    /**
+     * Called when an RPC invocation sent by the client is handled. Called while
+     * holding the session lock.
+     *
+     * @param ui
+     *            the UI that received the invocation, not <code>null</code>
+     * @param handler
+     *            the handler of the invocation, not <code>null</code>
+     */
+    default void rpcInvoked(UI ui, RpcInvocationHandler handler) {
+        // NO-OP
+    }
+
+    /**
+     * Called when a push message is sent to the client. Called while holding
+     * the session lock.
+     *
+     * @param ui
+     *            the UI the message is sent to, not <code>null</code>
+     * @param length
+     *            the length of the message, in UTF-8 bytes
+     */
+    default void pushMessageSent(UI ui, int length) {
+        // NO-OP
+    }
+
+    /**
+     * Gets the metrics of the given service, or metrics that ignore all
+     * measurements if there is no service or it has no metrics.
+     *
+     * @param service
+     *            the service, or <code>null</code>
+     * @return the metrics of the service, not <code>null</code>
+     */
+    static VaadinMetrics forService(VaadinService service) {
+        VaadinMetrics metrics = service == null ? null : service.getMetrics();
+        return metrics == null ? NO_OP : metrics;
+    }
+}
@@ -171,6 +171,27 @@ public interface VaadinResponse {
      */
     void setContentLength(int len);
 
+    /**
+     * Sets the length of the content body in the response In HTTP servlets,
+     * this method sets the HTTP Content-Length header.
+     * <p>
+     * The default implementation delegates to {@link #setContentLength(int)}
+     * for lengths that fit in an integer and otherwise sets the header
+     * directly.
+     *
+     * @param len
+     *            a long specifying the length of the content being returned to
+     *            the client
+     * @see jakarta.servlet.ServletResponse#setContentLengthLong(long)
+     */
+    default void setContentLengthLong(long len) {
+        if (len <= Integer.MAX_VALUE) {
+            setContentLength((int) len);
+        } else {
+            setHeader("Content-Length", Long.toString(len));
+        }
+    }
+
     /**
      * Sets all conceivable headers that might prevent a response from being
      * stored in any caches.
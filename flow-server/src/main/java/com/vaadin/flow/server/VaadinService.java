@@ -41,8 +41,11 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -165,6 +168,16 @@ public abstract class VaadinService implements Serializable {
 
     private boolean atmosphereAvailable = checkAtmosphereSupport();
 
+    private transient ScheduledExecutorService scheduledExecutor;
+
+    private transient SessionSweeper sessionSweeper;
+
+    private VaadinSessionSerializer sessionSerializer;
+
+    private VaadinMetrics metrics = VaadinMetrics.NO_OP;
+
+    private int resourceUsageSampleInterval;
+
     private BootstrapInitialPredicate bootstrapInitialPredicate;
     private BootstrapUrlPredicate bootstrapUrlPredicate;
 
@@ -316,9 +329,56 @@ public abstract class VaadinService implements Serializable {
         RouteUtil.checkForClientRouteCollisions(this,
                 getRouteRegistry().getRegisteredRoutes());
 
+        int sweepInterval = configuration.getSessionSweepInterval();
+        if (sweepInterval > 0) {
+            sessionSweeper = new SessionSweeper(this,
+                    configuration.getSessionSweepBatchSize());
+            sessionSweeper.start(sweepInterval);
+        }
+
+        sessionSerializer = createSessionSerializer();
+        metrics = createMetrics();
+        resourceUsageSampleInterval = configuration
+                .getResourceUsageSampleInterval();
+
         initialized = true;
     }
 
+    private VaadinSessionSerializer createSessionSerializer()
+            throws ServiceException {
+        return createConfiguredInstance(
+                InitParameters.SERVLET_PARAMETER_SESSION_SERIALIZER,
+                VaadinSessionSerializer.class, "Session serializer");
+    }
+
+    private VaadinMetrics createMetrics() throws ServiceException {
+        VaadinMetrics configured = createConfiguredInstance(
+                InitParameters.SERVLET_PARAMETER_METRICS, VaadinMetrics.class,
+                "Metrics");
+        return configured == null ? VaadinMetrics.NO_OP : configured;
+    }
+
+    private <T> T createConfiguredInstance(String parameterName, Class<T> type,
+            String description) throws ServiceException {
+        String className = getDeploymentConfiguration()
+                .getStringProperty(parameterName, null);
+        if (className == null || className.isBlank()) {
+            return null;
+        }
+        try {
+            Class<?> configuredType = getClassLoader()
+                    .loadClass(className.trim());
+            if (!type.isAssignableFrom(configuredType)) {
+                throw new ServiceException(description + " '" + className
+                        + "' does not implement " + type.getName());
+            }
+            return instantiator.getOrCreate(configuredType.asSubclass(type));
+        } catch (ClassNotFoundException e) {
+            throw new ServiceException(
+                    description + " '" + className + "' was not found", e);
+        }
+    }
+
     private void addRouterUsageStatistics() {
         if (UsageStatistics.getEntries().anyMatch(
                 e -> Constants.STATISTIC_ROUTING_CLIENT.equals(e.getName()))) {
@@ -690,6 +750,9 @@ public abstract class VaadinService implements Serializable {
      */
     public void fireSessionDestroy(VaadinSession vaadinSession) {
         final VaadinSession session = vaadinSession;
+        if (sessionSweeper != null) {
+            sessionSweeper.unregister(session);
+        }
         session.access(() -> {
             if (session.getState() == VaadinSessionState.CLOSED) {
                 return;
@@ -1574,22 +1637,55 @@ public abstract class VaadinService implements Serializable {
         try {
             if (session != null) {
                 assert VaadinSession.getCurrent() == session;
-                session.lock();
-                try {
-                    cleanupSession(session);
-                    final long duration = (System.nanoTime() - (Long) request
-                            .getAttribute(REQUEST_START_TIME_ATTRIBUTE))
-                            / 1000000;
-                    session.setLastRequestDuration(duration);
-                } finally {
-                    session.unlock();
+                if (sessionSweeper != null
+                        && session.peekState() == VaadinSessionState.OPEN) {
+                    // Inactive UIs and sessions are closed by the sweeper
+                    session.recordRequestDuration(getRequestDuration(request));
+                    sessionSweeper.register(session);
+                } else {
+                    session.lock();
+                    try {
+                        cleanupSession(session);
+                        session.setLastRequestDuration(
+                                getRequestDuration(request));
+                    } finally {
+                        session.unlock();
+                    }
                 }
+                sampleResourceUsage(session);
             }
         } finally {
             CurrentInstance.clearAll();
         }
     }
 
+    private void sampleResourceUsage(VaadinSession session) {
+        if (resourceUsageSampleInterval <= 0 || metrics == VaadinMetrics.NO_OP
+                || session.peekState() != VaadinSessionState.OPEN
+                || !session.claimResourceUsageSample(System.currentTimeMillis(),
+                        resourceUsageSampleInterval * 1000L)) {
+            return;
+        }
+        // Sampling is best effort, rather skip a sample than wait for the lock
+        if (!session.tryLock()) {
+            return;
+        }
+        try {
+            metrics.resourceUsageSampled(session, session.getResourceUsage());
+        } catch (Exception e) {
+            getLogger().error("Error sampling the resource usage of a session",
+                    e);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private static long getRequestDuration(VaadinRequest request) {
+        return (System.nanoTime()
+                - (Long) request.getAttribute(REQUEST_START_TIME_ATTRIBUTE))
+                / 1000000;
+    }
+
     /**
      * Returns the request handlers that are registered with this service. The
      * iteration order of the returned collection is the same as the order in
@@ -1651,6 +1747,13 @@ public abstract class VaadinService implements Serializable {
 
         VaadinSession vaadinSession = null;
         try {
+            VaadinSession heartbeatSession = handleHeartbeatWithoutLock(request,
+                    response);
+            if (heartbeatSession != null) {
+                vaadinSession = heartbeatSession;
+                return;
+            }
+
             // Find out the service session this request is related to
             vaadinSession = findVaadinSession(request);
             if (vaadinSession == null) {
@@ -1658,7 +1761,9 @@ public abstract class VaadinService implements Serializable {
             }
 
             for (RequestHandler handler : getRequestHandlers()) {
+                long start = System.nanoTime();
                 if (handler.handleRequest(vaadinSession, request, response)) {
+                    metrics.requestHandled(handler, System.nanoTime() - start);
                     return;
                 }
             }
@@ -1676,6 +1781,63 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Handles a heartbeat request without locking the session if possible, so
+     * that heartbeats do not tie up request threads while the session lock is
+     * held by another thread. Heartbeats that need the lock, e.g. to notify
+     * heartbeat listeners, are left to the regular request handling.
+     * <p>
+     * Closing inactive UIs and sessions requires the lock, so heartbeats are
+     * only handled without the lock when the {@link SessionSweeper} is enabled
+     * and takes care of it.
+     *
+     * @return the session of the heartbeat if the request was handled,
+     *         <code>null</code> otherwise
+     */
+    private VaadinSession handleHeartbeatWithoutLock(VaadinRequest request,
+            VaadinResponse response) {
+        if (sessionSweeper == null || !HandlerHelper.isRequestType(request,
+                RequestType.HEARTBEAT)) {
+            return null;
+        }
+        WrappedSession wrappedSession = request.getWrappedSession(false);
+        if (wrappedSession == null) {
+            return null;
+        }
+        VaadinSession session = readFromHttpSession(wrappedSession);
+        // Session specific request handlers might handle heartbeats as well
+        if (session == null || session.getService() != this
+                || session.peekState() != VaadinSessionState.OPEN
+                || session.hasRequestHandlers()) {
+            return null;
+        }
+        UI ui = null;
+        String uiIdString = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        if (uiIdString != null) {
+            try {
+                ui = session.peekUI(Integer.parseInt(uiIdString));
+            } catch (NumberFormatException e) {
+                // Handled by the regular request handling
+            }
+        }
+        if (ui == null) {
+            return null;
+        }
+        for (RequestHandler handler : getRequestHandlers()) {
+            if (handler instanceof HeartbeatHandler heartbeatHandler) {
+                long start = System.nanoTime();
+                if (!heartbeatHandler.handleRequestWithoutLock(ui, response)) {
+                    return null;
+                }
+                metrics.requestHandled(handler, System.nanoTime() - start);
+                VaadinSession.setCurrent(session);
+                return session;
+            }
+        }
+        return null;
+    }
+
     private void handleExceptionDuringRequest(VaadinRequest request,
             VaadinResponse response, VaadinSession vaadinSession, Exception t)
             throws ServiceException {
@@ -2206,6 +2368,74 @@ public abstract class VaadinService implements Serializable {
         return Registration.addAndRemove(serviceDestroyListeners, listener);
     }
 
+    /**
+     * Gets the sweeper that closes inactive UIs and sessions of this service in
+     * the background, if enabled using the
+     * {@link InitParameters#SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL}
+     * parameter.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return the session sweeper, or an empty optional if inactive UIs and
+     *         sessions are closed at the end of each request
+     */
+    public Optional<SessionSweeper> getSessionSweeper() {
+        return Optional.ofNullable(sessionSweeper);
+    }
+
+    /**
+     * Gets the serializer used for writing the sessions of this service, if
+     * configured using the
+     * {@link InitParameters#SERVLET_PARAMETER_SESSION_SERIALIZER} parameter.
+     *
+     * @return the session serializer, or an empty optional if sessions are
+     *         written using default Java serialization
+     */
+    public Optional<VaadinSessionSerializer> getSessionSerializer() {
+        return Optional.ofNullable(sessionSerializer);
+    }
+
+    /**
+     * Gets the metrics that receive the measurements of this service,
+     * configured using the {@link InitParameters#SERVLET_PARAMETER_METRICS}
+     * parameter.
+     *
+     * @return the metrics of this service, or {@link VaadinMetrics#NO_OP} if no
+     *         metrics have been configured, not <code>null</code>
+     */
+    public VaadinMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets an executor for running short tasks that the framework schedules to
+     * run later in the background, such as flushing coalesced push messages.
+     * The executor uses a single daemon thread, is created on first use and is
+     * shut down when the service is {@link #destroy() destroyed}.
+     * <p>
+     * Tasks run without any session lock or current instances. Tasks that
+     * access a UI or a session should do so through {@link UI#access(Command)}
+     * or {@link VaadinSession#access(Command)}, and should not block.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return the scheduled executor of this service, not <code>null</code>
+     */
+    public synchronized ScheduledExecutorService getScheduledExecutor() {
+        if (scheduledExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            scheduledExecutor = Executors
+                    .newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "VaadinService-scheduler-"
+                                        + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return scheduledExecutor;
+    }
+
     /**
      * Called when the servlet or similar for this service is being destroyed.
      * After this method has been called, no more requests will be handled by
@@ -2228,6 +2458,15 @@ public abstract class VaadinService implements Serializable {
                 }
             }
         }
+        if (sessionSweeper != null) {
+            sessionSweeper.stop();
+        }
+        synchronized (this) {
+            if (scheduledExecutor != null) {
+                scheduledExecutor.shutdownNow();
+                scheduledExecutor = null;
+            }
+        }
         if (exception != null) {
             throw exception;
         }
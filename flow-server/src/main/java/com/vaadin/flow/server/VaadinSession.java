@@ -22,23 +22,27 @@ import jakarta.servlet.http.HttpSessionBindingListener;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -76,6 +80,23 @@ import com.vaadin.flow.shared.communication.PushMode;
 public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private static final String SESSION_NOT_LOCKED_MESSAGE = "Cannot access state in VaadinSession or UI without locking the session.";
+
+    /*
+     * The session that the current thread is writing using a session
+     * serializer, if any.
+     */
+    private static final ThreadLocal<VaadinSession> SERIALIZED_SESSION = new ThreadLocal<>();
+
+    /*
+     * Rough heap usage estimates for the resource usage: a registered stream
+     * resource and a task enqueued using access().
+     */
+    private static final long STREAM_RESOURCE_BYTES = 256;
+    private static final long ACCESS_TASK_BYTES = 128;
+
+    private static final AtomicLongFieldUpdater<VaadinSession> CUMULATIVE_REQUEST_DURATION = AtomicLongFieldUpdater
+            .newUpdater(VaadinSession.class, "cumulativeRequestDuration");
+
     private static final Logger LOGGER = LoggerFactory
             .getLogger(VaadinSession.class.getName());
 
@@ -98,20 +119,27 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * unhandled.
      */
     private ErrorHandler errorHandler = new DefaultErrorHandler();
-    private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
+    private List<RequestHandler> requestHandlers = new CopyOnWriteArrayList<>();
 
     private int nextUIId = 0;
-    private transient Map<Integer, UI> uIs = new HashMap<>();
+    private transient Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    /*
+     * Updated through CUMULATIVE_REQUEST_DURATION, since requests may end
+     * without holding the session lock. Kept as a plain long field so that the
+     * serialized form of the session does not change.
+     */
+    private volatile long cumulativeRequestDuration = 0;
+
+    private volatile long lastRequestDuration = -1;
 
-    private long lastRequestDuration = -1;
+    private transient volatile long lastResourceUsageSample;
 
     private long lastRequestTimestamp = System.currentTimeMillis();
 
-    private VaadinSessionState state = VaadinSessionState.OPEN;
+    private volatile VaadinSessionState state = VaadinSessionState.OPEN;
 
     private transient WrappedSession session;
 
@@ -136,12 +164,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private final Attributes attributes = new Attributes();
 
+    private SessionChangeJournal changeJournal;
+
     private transient StreamResourceRegistry resourceRegistry;
 
     private long lastUnlocked;
 
     private long lastLocked;
 
+    /*
+     * The System.nanoTime() when the lock was acquired by the thread holding
+     * it, or 0 if the lock is not held or no metrics are configured.
+     */
+    private transient long lockAcquiredAt;
+
     /**
      * Creates a new VaadinSession tied to a VaadinService.
      *
@@ -263,8 +299,19 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void setLastRequestDuration(long time) {
         checkHasLock();
+        recordRequestDuration(time);
+    }
+
+    /**
+     * Records the time spent servicing a request without requiring the session
+     * lock.
+     *
+     * @param time
+     *            The time spent in the request, in milliseconds.
+     */
+    void recordRequestDuration(long time) {
         lastRequestDuration = time;
-        cumulativeRequestDuration += time;
+        CUMULATIVE_REQUEST_DURATION.addAndGet(this, time);
     }
 
     /**
@@ -465,7 +512,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void addRequestHandler(RequestHandler handler) {
         checkHasLock();
-        requestHandlers.addFirst(handler);
+        requestHandlers.add(0, handler);
     }
 
     /**
@@ -584,6 +631,19 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return uIs.get(uiId);
     }
 
+    /**
+     * Returns a UI with the given id without checking that the session is
+     * locked. The UI may be removed from the session concurrently, so it should
+     * only be used for reading state that is safe to access without the lock.
+     *
+     * @param uiId
+     *            The UI id
+     * @return The UI with the given id or null if not found
+     */
+    UI peekUI(int uiId) {
+        return uIs.get(uiId);
+    }
+
     /**
      * Checks if the current thread has exclusive access to this
      * <code>VaadinSession</code>.
@@ -663,6 +723,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         assert UI.getCurrent().getUIId() == ui.getUIId() : "UIs don't match";
         ui.getInternals().setSession(null);
         uIs.remove(ui.getUIId());
+        if (changeJournal != null) {
+            changeJournal.uiRemoved(ui);
+        }
     }
 
     /**
@@ -727,10 +790,59 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #hasLock()
      */
     public void lock() {
-        getLockInstance().lock();
+        VaadinMetrics metrics = VaadinMetrics.forService(getService());
+        if (metrics == VaadinMetrics.NO_OP) {
+            getLockInstance().lock();
+        } else {
+            long start = System.nanoTime();
+            getLockInstance().lock();
+            lockAcquired(metrics, start);
+        }
         lastLocked = System.currentTimeMillis();
     }
 
+    /**
+     * Locks this session if the lock is not held by another thread, without
+     * waiting for the lock. If the session was locked, it must be unlocked
+     * using {@link #unlock()} like after {@link #lock()}.
+     * <p>
+     * This is intended for background tasks that should rather skip the session
+     * and try again later than block request threads.
+     *
+     * @return <code>true</code> if the session was locked, <code>false</code>
+     *         if the lock is held by another thread
+     * @see #lock()
+     */
+    public boolean tryLock() {
+        if (!getLockInstance().tryLock()) {
+            return false;
+        }
+        VaadinMetrics metrics = VaadinMetrics.forService(getService());
+        if (metrics != VaadinMetrics.NO_OP) {
+            lockAcquired(metrics, System.nanoTime());
+        }
+        lastLocked = System.currentTimeMillis();
+        return true;
+    }
+
+    private void lockAcquired(VaadinMetrics metrics, long waitStart) {
+        if (isOutermostHold()) {
+            lockAcquiredAt = System.nanoTime();
+            metrics.sessionLockAcquired(this, lockAcquiredAt - waitStart);
+        }
+    }
+
+    /**
+     * Checks whether the current thread holds the lock only once, i.e. whether
+     * the next unlock actually releases it. The hold count is only known for a
+     * {@link ReentrantLock}, so any other lock is assumed to be held once.
+     */
+    private boolean isOutermostHold() {
+        Lock lock = getLockInstance();
+        return !(lock instanceof ReentrantLock reentrantLock)
+                || reentrantLock.getHoldCount() == 1;
+    }
+
     /**
      * Unlocks this session. This method should always be used in a finally
      * block after {@link #lock()} to ensure that the lock is always released.
@@ -750,7 +862,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
              * Run pending tasks and push if the reentrant lock will actually be
              * released by this unlock() invocation.
              */
-            if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
+            if (isOutermostHold()) {
                 ultimateRelease = true;
                 getService().runPendingAccessTasks(this);
 
@@ -769,7 +881,16 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 this.lastUnlocked = System.currentTimeMillis();
             }
         } finally {
+            long lockedSince = 0;
+            if (ultimateRelease) {
+                lockedSince = lockAcquiredAt;
+                lockAcquiredAt = 0;
+            }
             getLockInstance().unlock();
+            if (lockedSince != 0) {
+                VaadinMetrics.forService(getService()).sessionLockReleased(this,
+                        System.nanoTime() - lockedSince);
+            }
         }
 
         /*
@@ -802,6 +923,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public void setAttribute(String name, Object value) {
         checkHasLock();
         attributes.setAttribute(name, value);
+        if (changeJournal != null) {
+            changeJournal.attributeChanged(name);
+        }
     }
 
     /**
@@ -828,6 +952,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public <T> void setAttribute(Class<T> type, T value) {
         checkHasLock();
         attributes.setAttribute(type, value);
+        if (changeJournal != null) {
+            changeJournal.attributeChanged(type.getName());
+        }
     }
 
     /**
@@ -899,6 +1026,36 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
 
         uIs.put(ui.getUIId(), ui);
+        if (changeJournal != null) {
+            changeJournal.uiAdded(ui);
+        }
+    }
+
+    /**
+     * Enables recording the changes of this session and its UIs to a journal,
+     * if not already enabled. Only changes made after enabling the journal are
+     * recorded.
+     *
+     * @return the change journal of this session, not <code>null</code>
+     * @see SessionChangeJournal
+     */
+    public SessionChangeJournal enableChangeJournal() {
+        checkHasLock();
+        if (changeJournal == null) {
+            changeJournal = new SessionChangeJournal(this);
+        }
+        return changeJournal;
+    }
+
+    /**
+     * Gets the journal recording the changes of this session, if enabled using
+     * {@link #enableChangeJournal()}.
+     *
+     * @return the change journal, or an empty optional if not enabled
+     */
+    public Optional<SessionChangeJournal> getChangeJournal() {
+        checkHasLock();
+        return Optional.ofNullable(changeJournal);
     }
 
     public VaadinService getService() {
@@ -943,6 +1100,28 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return state;
     }
 
+    /**
+     * Returns the lifecycle state of this session without requiring the session
+     * lock. The state may change right after it has been read unless the
+     * session is locked.
+     *
+     * @return the current state of this session
+     */
+    VaadinSessionState peekState() {
+        return state;
+    }
+
+    /**
+     * Checks whether request handlers have been added to this session, without
+     * checking that the session is locked.
+     *
+     * @return <code>true</code> if there are session specific request handlers,
+     *         <code>false</code> otherwise
+     */
+    boolean hasRequestHandlers() {
+        return !requestHandlers.isEmpty();
+    }
+
     /**
      * Sets the lifecycle state of this session. The allowed transitions are
      * OPEN to CLOSING and CLOSING to CLOSED.
@@ -1106,7 +1285,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
             requestHandlers.remove(null);
             destroyListeners.remove(null);
 
-            uIs = (Map<Integer, UI>) stream.readObject();
+            uIs = new ConcurrentHashMap<>(
+                    (Map<Integer, UI>) stream.readObject());
             resourceRegistry = (StreamResourceRegistry) stream.readObject();
             pendingAccessQueue = new ConcurrentLinkedQueue<>();
         } finally {
@@ -1115,6 +1295,31 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
     }
 
+    /**
+     * Replaces this session with the bytes written by the
+     * {@link VaadinService#getSessionSerializer() session serializer} of the
+     * service when the session is serialized, if a serializer is configured.
+     *
+     * @return the object to serialize instead of this session
+     * @throws ObjectStreamException
+     *             if the session serializer fails to write the session
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        VaadinSessionSerializer serializer = service == null ? null
+                : service.getSessionSerializer().orElse(null);
+        VaadinSession previous = SERIALIZED_SESSION.get();
+        if (serializer == null || previous == this) {
+            // Written by the serializer itself
+            return this;
+        }
+        SERIALIZED_SESSION.set(this);
+        try {
+            return SerializedVaadinSession.write(serializer, this);
+        } finally {
+            SERIALIZED_SESSION.set(previous);
+        }
+    }
+
     private void writeObject(java.io.ObjectOutputStream stream)
             throws IOException {
         Map<Class<?>, CurrentInstance> instanceMap = CurrentInstance
@@ -1177,6 +1382,51 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return resourceRegistry;
     }
 
+    /**
+     * Gets the resources currently used by this session and its UIs.
+     * <p>
+     * The session must be locked when calling this method.
+     *
+     * @return the resource usage of this session, not <code>null</code>
+     */
+    public SessionResourceUsage getResourceUsage() {
+        checkHasLock();
+        List<UIResourceUsage> uiUsages = new ArrayList<>();
+        for (UI ui : uIs.values()) {
+            uiUsages.add(ui.getInternals().getResourceUsage());
+        }
+        int streamResourceCount = getResourceRegistry().getResourceCount();
+        int pendingAccessTasks = pendingAccessQueue.size();
+
+        long approximateBytes = uiUsages.stream()
+                .mapToLong(UIResourceUsage::approximateBytes).sum()
+                + streamResourceCount * STREAM_RESOURCE_BYTES
+                + pendingAccessTasks * ACCESS_TASK_BYTES;
+        return new SessionResourceUsage(uiUsages, streamResourceCount,
+                pendingAccessTasks, approximateBytes);
+    }
+
+    /**
+     * Checks whether the resource usage of this session should be sampled, i.e.
+     * whether at least the given interval has passed since the previous sample,
+     * and if so marks the usage as sampled at the given time.
+     *
+     * @param now
+     *            the current time, in milliseconds
+     * @param interval
+     *            the minimum interval between two samples, in milliseconds
+     * @return <code>true</code> if the usage should be sampled,
+     *         <code>false</code> otherwise
+     */
+    boolean claimResourceUsageSample(long now, long interval) {
+        // Concurrent requests may occasionally both sample, which is harmless
+        if (now - lastResourceUsageSample < interval) {
+            return false;
+        }
+        lastResourceUsageSample = now;
+        return true;
+    }
+
     /**
      * Checks whether the session is properly initialized/in use.
      * <p>
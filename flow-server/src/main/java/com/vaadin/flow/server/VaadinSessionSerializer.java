@@ -0,0 +1,74 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Encodes and decodes a {@link VaadinSession} when it is serialized, e.g. for
+ * replicating the HTTP session between the nodes of a cluster.
+ * <p>
+ * When a serializer is configured using the
+ * {@link InitParameters#SERVLET_PARAMETER_SESSION_SERIALIZER} parameter, the
+ * session is replaced by the bytes written by the serializer whenever it is
+ * written to an {@link java.io.ObjectOutputStream}. The serializer instance is
+ * written along with the bytes and used for reading them back, so it must be
+ * serializable and should not have any state that differs between the nodes.
+ * <p>
+ * The serializer is called with the session locked, or while the session is not
+ * in use by any request, e.g. when the container passivates it.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ * @see CompactSessionSerializer
+ */
+public interface VaadinSessionSerializer extends Serializable {
+
+    /**
+     * Writes the given session, including its UIs, to the given output stream.
+     * The stream is not closed.
+     *
+     * @param session
+     *            the session to write, not <code>null</code>
+     * @param out
+     *            the output stream to write to, not <code>null</code>
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    void write(VaadinSession session, OutputStream out) throws IOException;
+
+    /**
+     * Reads a session written by {@link #write(VaadinSession, OutputStream)}
+     * from the given input stream. The stream is not closed.
+     * <p>
+     * The transient fields of the returned session are restored the same way as
+     * when using default Java serialization, i.e. when the session is next used
+     * by a request.
+     *
+     * @param in
+     *            the input stream to read from, not <code>null</code>
+     * @return the read session, not <code>null</code>
+     * @throws IOException
+     *             if reading from the stream fails
+     * @throws ClassNotFoundException
+     *             if a class of a serialized object cannot be found
+     */
+    VaadinSession read(InputStream in)
+            throws IOException, ClassNotFoundException;
+}
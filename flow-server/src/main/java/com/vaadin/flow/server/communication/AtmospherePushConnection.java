@@ -22,6 +22,7 @@ import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -33,8 +34,12 @@ import org.atmosphere.util.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.internal.UsageStatistics;
+import com.vaadin.flow.server.VaadinMetrics;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.communication.PushConstants;
 
 /**
@@ -57,6 +62,15 @@ public class AtmospherePushConnection
     private transient Object lock = new Object();
     private volatile boolean disconnecting;
 
+    /*
+     * Pushes that have been requested but not yet sent because they are
+     * coalesced over the push flush window, guarded by lock.
+     */
+    private transient int pendingPushes;
+    private transient ScheduledFuture<?> scheduledFlush;
+    private transient volatile long sentMessageCount;
+    private transient volatile long coalescedPushCount;
+
     /**
      * Represents a message that can arrive as multiple fragments.
      */
@@ -191,28 +205,159 @@ public class AtmospherePushConnection
      */
     public void push(boolean async) {
         if (disconnecting || !isConnected()) {
-            if (disconnecting) {
-                getLogger().debug(
-                        "Disconnection in progress, ignoring push request");
-            }
-            if (async && state != State.RESPONSE_PENDING) {
-                state = State.PUSH_PENDING;
-            } else {
-                state = State.RESPONSE_PENDING;
-            }
+            deferUntilConnected(async);
         } else {
             synchronized (lock) {
-                try {
-                    JsonNode response = new UidlWriter().createUidl(getUI(),
-                            async);
-                    sendMessage("for(;;);[" + response + "]");
-                } catch (Exception e) {
-                    throw new RuntimeException("Push failed", e);
+                if (!isConnected()) {
+                    // Disconnected while waiting for the lock
+                    deferUntilConnected(async);
+                } else if (!async || !deferPush()) {
+                    // Also carries the changes of any pending pushes
+                    sendPushMessage(async, pendingPushes + 1);
+                }
+            }
+        }
+    }
+
+    private void deferUntilConnected(boolean async) {
+        if (disconnecting) {
+            getLogger()
+                    .debug("Disconnection in progress, ignoring push request");
+        }
+        if (async && state != State.RESPONSE_PENDING) {
+            state = State.PUSH_PENDING;
+        } else {
+            state = State.RESPONSE_PENDING;
+        }
+    }
+
+    /**
+     * Defers an asynchronous push until the end of the push flush window of the
+     * UI, unless coalescing is disabled or the maximum number of pending pushes
+     * has been reached. Must be called while holding {@link #lock}.
+     *
+     * @return <code>true</code> if the push was deferred, <code>false</code> if
+     *         it should be sent immediately
+     */
+    private boolean deferPush() {
+        PushConfiguration pushConfiguration = ui.getPushConfiguration();
+        int window = pushConfiguration.getPushFlushWindow();
+        if (window <= 0) {
+            return false;
+        }
+        int maxPending = pushConfiguration.getPushFlushMaxPending();
+        if (maxPending > 0 && pendingPushes + 1 >= maxPending) {
+            return false;
+        }
+        pendingPushes++;
+        if (scheduledFlush == null) {
+            scheduledFlush = ui.getSession().getService().getScheduledExecutor()
+                    .schedule(this::flush, window, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Sends the pushes deferred during the push flush window. Run by the
+     * scheduled executor of the service at the end of the window.
+     */
+    private void flush() {
+        try {
+            ui.access(() -> {
+                synchronized (lock) {
+                    scheduledFlush = null;
+                    int pushes = pendingPushes;
+                    pendingPushes = 0;
+                    if (pushes == 0 || !ui.getInternals().isDirty()) {
+                        // Nothing left to send, e.g. the changes have already
+                        // been sent in a response to a client request
+                        return;
+                    }
+                    if (!disconnecting && isConnected()) {
+                        sendPushMessage(true, pushes);
+                        return;
+                    }
                 }
+                // Connection lost during the window, push once connected
+                push(true);
+            });
+        } catch (UIDetachedException e) {
+            getLogger().debug("UI detached, discarding pending pushes", e);
+        }
+    }
+
+    /**
+     * Sends a message with the pending changes of the UI, merging the given
+     * number of push requests. Must be called while holding {@link #lock}.
+     */
+    private void sendPushMessage(boolean async, int pushes) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        pendingPushes = 0;
+        try {
+            sendMessage(createMessage(async));
+        } catch (Exception e) {
+            throw new RuntimeException("Push failed", e);
+        }
+        sentMessageCount++;
+        if (pushes > 1) {
+            coalescedPushCount += pushes - 1;
+        }
+    }
+
+    /**
+     * Discards the pushes deferred during the push flush window, since the
+     * pending changes of the UI have been written to a message. Called for
+     * every UIDL message written for the UI, regardless of the transport used
+     * to send it.
+     */
+    void pendingChangesWritten() {
+        synchronized (lock) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
             }
+            pendingPushes = 0;
         }
     }
 
+    /**
+     * Gets the number of push messages sent through this connection.
+     *
+     * @return the number of sent messages
+     */
+    public long getSentMessageCount() {
+        return sentMessageCount;
+    }
+
+    /**
+     * Gets the number of pushes that were not sent as separate messages since
+     * they were coalesced with other pushes during the
+     * {@link PushConfiguration#setPushFlushWindow(int) push flush window}, i.e.
+     * the number of messages saved by coalescing.
+     *
+     * @return the number of coalesced pushes
+     */
+    public long getCoalescedPushCount() {
+        return coalescedPushCount;
+    }
+
+    private String createMessage(boolean async) throws IOException {
+        UidlWriter uidlWriter = new UidlWriter();
+        if (ui.getSession().getService().getDeploymentConfiguration()
+                .isStreamingUidl()) {
+            return uidlWriter.createUidlMessageString(ui, async);
+        }
+        long start = System.nanoTime();
+        JsonNode response = uidlWriter.createUidl(getUI(), async);
+        String message = UidlWriter.MESSAGE_PREFIX + response
+                + UidlWriter.MESSAGE_SUFFIX;
+        UidlWriter.uidlEncoded(ui, start, message);
+        return message;
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
@@ -222,6 +367,12 @@ public class AtmospherePushConnection
      */
     protected void sendMessage(String message) {
         assert (isConnected());
+        VaadinSession session = ui.getSession();
+        VaadinMetrics metrics = VaadinMetrics
+                .forService(session == null ? null : session.getService());
+        if (metrics != VaadinMetrics.NO_OP) {
+            metrics.pushMessageSent(ui, UidlWriter.getUtf8Length(message));
+        }
         // "Broadcast" the changes to the single client only
         outgoingMessage = getResource().getBroadcaster().broadcast(
                 new PushMessage(ui.getInternals().getServerSyncId() - 1,
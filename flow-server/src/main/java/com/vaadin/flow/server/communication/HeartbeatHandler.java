@@ -66,14 +66,7 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         if (ui != null) {
             ui.getInternals()
                     .setLastHeartbeatTimestamp(System.currentTimeMillis());
-            // Ensure that the browser does not cache heartbeat responses.
-            // iOS 6 Safari requires this
-            // (https://github.com/vaadin/framework/issues/3226)
-            response.setHeader("Cache-Control", "no-cache");
-            // If Content-Type is not set, browsers assume text/html and may
-            // complain about the empty response body
-            // (https://github.com/vaadin/framework/issues/4167)
-            response.setHeader("Content-Type", "text/plain");
+            writeHeartbeatResponse(response);
         } else {
             response.sendError(HttpStatusCode.NOT_FOUND.getCode(),
                     "UI not found");
@@ -82,6 +75,53 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    /**
+     * Handles a heartbeat request for the given UI without holding the session
+     * lock. Sets the {@link UIInternals#getLastHeartbeatTimestamp() heartbeat
+     * timestamp} of the UI to the current time unless the UI is closing or has
+     * {@link UI#addHeartbeatListener(com.vaadin.flow.component.HeartbeatListener)
+     * heartbeat listeners}, which must be notified while holding the session
+     * lock.
+     * <p>
+     * Allows heartbeats to be handled without waiting for the session lock
+     * while it is held by, e.g., a long running
+     * {@link UI#access(com.vaadin.flow.server.Command)} task. Only used when
+     * inactive UIs and sessions are closed by a background sweeper, see
+     * {@link com.vaadin.flow.server.InitParameters#SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL}.
+     * <p>
+     * Subclasses that override
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     * should also override this method to return <code>false</code> if the
+     * heartbeat must be handled by their own implementation.
+     *
+     * @param ui
+     *            the UI identified by the request, not <code>null</code>
+     * @param response
+     *            the response to write to
+     * @return <code>true</code> if the request was handled, <code>false</code>
+     *         if it should be handled while holding the session lock using
+     *         {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     */
+    public boolean handleRequestWithoutLock(UI ui, VaadinResponse response) {
+        if (ui.isClosing() || !ui.getInternals()
+                .trySetLastHeartbeatTimestamp(System.currentTimeMillis())) {
+            return false;
+        }
+        writeHeartbeatResponse(response);
+        return true;
+    }
+
+    private static void writeHeartbeatResponse(VaadinResponse response) {
+        // Ensure that the browser does not cache heartbeat responses.
+        // iOS 6 Safari requires this
+        // (https://github.com/vaadin/framework/issues/3226)
+        response.setHeader("Cache-Control", "no-cache");
+        // If Content-Type is not set, browsers assume text/html and may
+        // complain about the empty response body
+        // (https://github.com/vaadin/framework/issues/4167)
+        response.setHeader("Content-Type", "text/plain");
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -25,6 +25,7 @@ import java.util.function.Function;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import com.vaadin.experimental.FeatureFlags;
 import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.BootstrapHandlerHelper;
@@ -253,6 +254,11 @@ public class JavaScriptBootstrapHandler extends BootstrapHandler {
         response.getOutputStream().write(json.toString().getBytes("UTF-8"));
     }
 
+    private static boolean isCompactChangesEnabled(VaadinSession session) {
+        return FeatureFlags.get(session.getService().getContext())
+                .isEnabled(FeatureFlags.COMPACT_TREE_CHANGES);
+    }
+
     /**
      * Returns the JSON object with the application config and UIDL info that
      * can be used in the bootstrapper to embed that info in the initial page.
@@ -270,6 +276,11 @@ public class JavaScriptBootstrapHandler extends BootstrapHandler {
 
         BootstrapContext context = createAndInitUI(UI.class, request, response,
                 session);
+        // Clients that cannot decode compact changes never send the parameter
+        context.getUI().getInternals()
+                .setCompactChanges(isCompactChangesEnabled(session)
+                        && Boolean.parseBoolean(request.getParameter(
+                                ApplicationConstants.REQUEST_COMPACT_CHANGES_PARAMETER)));
 
         ObjectNode initial = JacksonUtils.createObjectNode();
 
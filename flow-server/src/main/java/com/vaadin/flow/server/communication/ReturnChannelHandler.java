@@ -17,11 +17,13 @@ package com.vaadin.flow.server.communication;
 
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DisabledUpdateMode;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
@@ -29,7 +31,6 @@ import com.vaadin.flow.server.communication.rpc.AbstractRpcInvocationHandler;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
-import elemental.json.JsonObject;
 
 /**
  * RPC handler for return channel messages.
@@ -48,11 +49,11 @@ public class ReturnChannelHandler extends AbstractRpcInvocationHandler {
 
     @Override
     protected Optional<Runnable> handleNode(StateNode node,
-            JsonObject invocationJson) {
-        int channelId = (int) invocationJson
-                .getNumber(JsonConstants.RPC_CHANNEL);
-        JsonArray arguments = invocationJson
-                .getArray(JsonConstants.RPC_CHANNEL_ARGUMENTS);
+            JsonNode invocationJson) {
+        int channelId = invocationJson.get(JsonConstants.RPC_CHANNEL)
+                .intValue();
+        JsonNode arguments = invocationJson
+                .get(JsonConstants.RPC_CHANNEL_ARGUMENTS);
 
         if (!node.hasFeature(ReturnChannelMap.class)) {
             getLogger().warn("Node has no return channels: {}", invocationJson);
@@ -75,13 +76,14 @@ public class ReturnChannelHandler extends AbstractRpcInvocationHandler {
             return Optional.empty();
         }
 
-        channel.invoke(arguments);
+        channel.invoke(arguments == null ? null
+                : (JsonArray) JacksonUtils.createElementalValue(arguments));
 
         return Optional.empty();
     }
 
     @Override
-    protected boolean allowInert(UI ui, JsonObject invocationJson) {
+    protected boolean allowInert(UI ui, JsonNode invocationJson) {
         StateNode node = ui.getInternals().getStateTree()
                 .getNodeById(getNodeId(invocationJson));
         // Allow calls if a return channel has been registered for the node.
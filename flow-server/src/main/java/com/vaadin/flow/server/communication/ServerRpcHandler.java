@@ -30,18 +30,27 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.PollEvent;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.JsonDecodingException;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.router.PreserveOnRefresh;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
+import com.vaadin.flow.server.VaadinMetrics;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.rpc.AttachExistingElementRpcHandler;
 import com.vaadin.flow.server.communication.rpc.AttachTemplateChildRpcHandler;
 import com.vaadin.flow.server.communication.rpc.EventRpcHandler;
@@ -56,8 +65,6 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
-import elemental.json.JsonValue;
-import elemental.json.impl.JsonUtil;
 
 /**
  * Handles a client-to-server message containing serialized RPC invocations.
@@ -79,11 +86,13 @@ public class ServerRpcHandler implements Serializable {
     public static class RpcRequest implements Serializable {
 
         private final String csrfToken;
-        private final JsonArray invocations;
+        private final ArrayNode invocations;
         private final int syncId;
-        private final JsonObject json;
+        private final String jsonString;
+        private ObjectNode json;
         private final boolean resynchronize;
         private final int clientToServerMessageId;
+        private final boolean unloadBeacon;
 
         /**
          * Creates an instance based on the given JSON received through the
@@ -100,36 +109,82 @@ public class ServerRpcHandler implements Serializable {
         }
 
         public RpcRequest(String jsonString, boolean isSyncIdCheckEnabled) {
-            json = JsonUtil.parse(jsonString);
+            this.jsonString = jsonString;
+
+            String token = null;
+            Integer serverSyncId = null;
+            boolean resynchronizeRequested = false;
+            Integer clientToServerId = null;
+            boolean beacon = false;
+            ArrayNode invocationsData = null;
+
+            // Read the envelope in a single streaming pass. Only the
+            // invocations are materialized as a tree, the message itself is
+            // parsed into a tree lazily if getRawJsonNode() is called
+            try (JsonParser parser = JacksonUtils.getMapper()
+                    .createParser(jsonString)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException(
+                            "RPC request is not a JSON object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                    case ApplicationConstants.CSRF_TOKEN:
+                        token = parser.getValueAsString();
+                        break;
+                    case ApplicationConstants.SERVER_SYNC_ID:
+                        serverSyncId = parser.getValueAsInt();
+                        break;
+                    case ApplicationConstants.RESYNCHRONIZE_ID:
+                        resynchronizeRequested = parser.getValueAsBoolean();
+                        break;
+                    case ApplicationConstants.CLIENT_TO_SERVER_ID:
+                        clientToServerId = parser.getValueAsInt();
+                        break;
+                    case ApplicationConstants.UNLOAD_BEACON:
+                        beacon = true;
+                        parser.skipChildren();
+                        break;
+                    case ApplicationConstants.RPC_INVOCATIONS:
+                        if (value == JsonToken.START_ARRAY) {
+                            invocationsData = parser.readValueAsTree();
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                    }
+                }
+            } catch (IOException e) {
+                throw new JsonDecodingException("Could not parse RPC request",
+                        e);
+            }
+
+            unloadBeacon = beacon;
 
-            JsonValue token = json.get(ApplicationConstants.CSRF_TOKEN);
-            if (token == null) {
+            if (token == null || token.equals("")) {
                 csrfToken = ApplicationConstants.CSRF_TOKEN_DEFAULT_VALUE;
             } else {
-                String csrfToken = token.asString();
-                if (csrfToken.equals("")) {
-                    csrfToken = ApplicationConstants.CSRF_TOKEN_DEFAULT_VALUE;
-                }
-                this.csrfToken = csrfToken;
+                csrfToken = token;
             }
 
             if (isSyncIdCheckEnabled && !isUnloadBeaconRequest()) {
-                syncId = (int) json
-                        .getNumber(ApplicationConstants.SERVER_SYNC_ID);
+                if (serverSyncId == null) {
+                    throw new IllegalArgumentException(
+                            "RPC request has no server sync id");
+                }
+                syncId = serverSyncId;
             } else {
                 syncId = -1;
             }
 
-            if (json.hasKey(ApplicationConstants.RESYNCHRONIZE_ID)) {
-                resynchronize = json
-                        .getBoolean(ApplicationConstants.RESYNCHRONIZE_ID);
-            } else {
-                resynchronize = false;
-            }
+            resynchronize = resynchronizeRequested;
 
-            if (json.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID)) {
-                clientToServerMessageId = (int) json
-                        .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+            if (clientToServerId != null) {
+                clientToServerMessageId = clientToServerId;
             } else {
                 if (!isUnloadBeaconRequest()) {
                     getLogger()
@@ -137,7 +192,7 @@ public class ServerRpcHandler implements Serializable {
                 }
                 clientToServerMessageId = -1;
             }
-            invocations = json.getArray(ApplicationConstants.RPC_INVOCATIONS);
+            invocations = invocationsData;
         }
 
         /**
@@ -156,10 +211,24 @@ public class ServerRpcHandler implements Serializable {
          * @return the data describing which RPC should be made, and all their
          *         data
          */
-        public JsonArray getRpcInvocationsData() {
+        public ArrayNode getRpcInvocationsDataNode() {
             return invocations;
         }
 
+        /**
+         * Gets the data to recreate the RPC as requested by the client side.
+         *
+         * @return a copy of the data describing which RPC should be made, and
+         *         all their data, or {@code null} if there is no data
+         * @deprecated use {@link #getRpcInvocationsDataNode()} instead, this
+         *             method copies the data for each call
+         */
+        @Deprecated
+        public JsonArray getRpcInvocationsData() {
+            return invocations == null ? null
+                    : JacksonUtils.createElementalArray(invocations);
+        }
+
         /**
          * Gets the sync id last seen by the client.
          *
@@ -197,12 +266,30 @@ public class ServerRpcHandler implements Serializable {
          *
          * @return the raw JSON object that was received from the client
          */
-        public JsonObject getRawJson() {
+        public ObjectNode getRawJsonNode() {
+            if (json == null) {
+                json = JacksonUtils.readTree(jsonString);
+            }
             return json;
         }
 
+        /**
+         * Gets the entire request in JSON format, as it was received from the
+         * client.
+         *
+         * @return a copy of the raw JSON object that was received from the
+         *         client
+         * @deprecated use {@link #getRawJsonNode()} instead, this method copies
+         *             the request for each call
+         */
+        @Deprecated
+        public JsonObject getRawJson() {
+            return (JsonObject) JacksonUtils
+                    .createElementalValue(getRawJsonNode());
+        }
+
         private boolean isUnloadBeaconRequest() {
-            return json.hasKey(ApplicationConstants.UNLOAD_BEACON);
+            return unloadBeacon;
         }
 
     }
@@ -373,7 +460,11 @@ public class ServerRpcHandler implements Serializable {
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
                     messageHash);
             enforceIfNeeded(request, rpcRequest);
-            handleInvocations(ui, rpcRequest.getRpcInvocationsData());
+            handleInvocations(ui, rpcRequest.getRpcInvocationsDataNode());
+            // Only after handling the invocations, since they may have been
+            // queued by the client before it processed the last message
+            ui.getInternals().getStateTree()
+                    .markChangesConfirmed(rpcRequest.getSyncId());
         }
 
         if (rpcRequest.isResynchronize()) {
@@ -436,18 +527,16 @@ public class ServerRpcHandler implements Serializable {
             if (rpcRequest.isResynchronize()) {
                 return false;
             }
-            JsonArray invocations = rpcRequest.getRpcInvocationsData();
+            ArrayNode invocations = rpcRequest.getRpcInvocationsDataNode();
             if (invocations == null) {
                 // not a user interaction
                 return false;
             }
             // Do not enforce if RPC requests contains only poll or return
             // channel events
-            for (int i = 0; i < invocations.length(); i++) {
-                JsonObject json = invocations.get(i);
-                String type = json.hasKey("type") ? json.getString("type") : "";
-                String event = json.hasKey("event") ? json.getString("event")
-                        : "";
+            for (JsonNode json : invocations) {
+                String type = json.path("type").asText();
+                String event = json.path("event").asText();
                 if (!JsonConstants.RPC_TYPE_CHANNEL.equals(type)
                         && (!JsonConstants.RPC_TYPE_EVENT.equals(type)
                                 || !PollEvent.DOM_EVENT_NAME.equals(event))) {
@@ -468,16 +557,17 @@ public class ServerRpcHandler implements Serializable {
 
     private String getMessageDetails(RpcRequest rpcRequest) {
         StringBuilder messageDetails = new StringBuilder();
-        JsonArray rpcArray = rpcRequest.getRpcInvocationsData();
+        ArrayNode rpcArray = rpcRequest.getRpcInvocationsDataNode();
         if (rpcArray == null) {
             return "{ no data }";
         }
 
-        for (int i = 0; i < rpcArray.length(); i++) {
-            JsonObject json = rpcArray.get(i);
-            String type = json.hasKey("type") ? json.getString("type") : "";
-            Double node = json.hasKey("node") ? json.getNumber("node") : null;
-            Double feature = json.hasKey("feature") ? json.getNumber("feature")
+        for (JsonNode json : rpcArray) {
+            String type = json.path("type").asText();
+            Double node = json.has("node") ? json.get("node").doubleValue()
+                    : null;
+            Double feature = json.has("feature")
+                    ? json.get("feature").doubleValue()
                     : null;
             appendAll(messageDetails, "{ type: ", type, " node: ",
                     String.valueOf(node), " feature: ", String.valueOf(feature),
@@ -519,18 +609,21 @@ public class ServerRpcHandler implements Serializable {
      *            JSON containing all information needed to execute all
      *            requested RPC calls.
      */
-    private void handleInvocations(UI ui, JsonArray invocationsData) {
-        List<JsonObject> data = new ArrayList<>(invocationsData.length());
+    private void handleInvocations(UI ui, ArrayNode invocationsData) {
+        List<JsonNode> data = new ArrayList<>(invocationsData.size());
         List<Runnable> pendingChangeEvents = new ArrayList<>();
 
         RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
                 .get(JsonConstants.RPC_TYPE_MAP_SYNC);
+        VaadinSession session = ui.getSession();
+        VaadinMetrics metrics = VaadinMetrics
+                .forService(session == null ? null : session.getService());
 
-        for (int i = 0; i < invocationsData.length(); i++) {
-            JsonObject invocationJson = invocationsData.getObject(i);
-            String type = invocationJson.getString(JsonConstants.RPC_TYPE);
+        for (JsonNode invocationJson : invocationsData) {
+            String type = invocationJson.get(JsonConstants.RPC_TYPE).asText();
             assert type != null;
             if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
+                metrics.rpcInvoked(ui, mapSyncHandler);
                 // Handle these before any RPC invocations.
                 mapSyncHandler.handle(ui, invocationJson)
                         .ifPresent(runnable -> pendingChangeEvents.add(() -> {
@@ -546,7 +639,7 @@ public class ServerRpcHandler implements Serializable {
         }
 
         pendingChangeEvents.forEach(runnable -> runMapSyncTask(ui, runnable));
-        data.forEach(json -> handleInvocationData(ui, json));
+        data.forEach(json -> handleInvocationData(ui, json, metrics));
     }
 
     private void runMapSyncTask(UI ui, Runnable runnable) {
@@ -557,13 +650,15 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
-    private void handleInvocationData(UI ui, JsonObject invocationJson) {
-        String type = invocationJson.getString(JsonConstants.RPC_TYPE);
+    private void handleInvocationData(UI ui, JsonNode invocationJson,
+            VaadinMetrics metrics) {
+        String type = invocationJson.get(JsonConstants.RPC_TYPE).asText();
         RpcInvocationHandler handler = getInvocationHandlers().get(type);
         if (handler == null) {
             throw new IllegalArgumentException(
                     "Unsupported event type: " + type);
         }
+        metrics.rpcInvoked(ui, handler);
         try {
             Optional<Runnable> handle = handler.handle(ui, invocationJson);
             assert !handle.isPresent()
@@ -574,10 +669,10 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
-    private static void callErrorHandler(UI ui, JsonObject invocationJson,
+    private static void callErrorHandler(UI ui, JsonNode invocationJson,
             Throwable throwable) {
         StateNode node = ui.getInternals().getStateTree().getNodeById(
-                (int) invocationJson.getNumber(JsonConstants.RPC_NODE));
+                invocationJson.get(JsonConstants.RPC_NODE).intValue());
         ErrorEvent event;
         if (node != null) {
             event = new ErrorEvent(throwable, node);
@@ -20,13 +20,19 @@ import javax.naming.SizeLimitExceededException;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.Iterator;
@@ -47,6 +53,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.FileStreamVariable;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.NoInputStreamException;
 import com.vaadin.flow.server.NoOutputStreamException;
@@ -77,6 +84,12 @@ public class StreamReceiverHandler implements Serializable {
 
     private static final int MAX_UPLOAD_BUFFER_SIZE = 4 * 1024;
 
+    /**
+     * Maximum number of bytes transferred to a {@link FileStreamVariable} file
+     * at once. Progress events and interruption are checked between transfers.
+     */
+    private static final int MAX_UPLOAD_TRANSFER_SIZE = 64 * 1024;
+
     static final long DEFAULT_SIZE_MAX = -1;
 
     static final long DEFAULT_FILE_SIZE_MAX = -1;
@@ -449,7 +462,7 @@ public class StreamReceiverHandler implements Serializable {
         return DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS;
     }
 
-    static void tryToCloseStream(OutputStream out) {
+    static void tryToCloseStream(Closeable out) {
         try {
             // try to close output stream (e.g. file handle)
             if (out != null) {
@@ -509,23 +522,29 @@ public class StreamReceiverHandler implements Serializable {
         }
 
         OutputStream out = null;
+        FileChannel fileChannel = null;
         long totalBytes = 0;
         StreamingStartEventImpl startedEvent = new StreamingStartEventImpl(
                 filename, type, contentLength);
         boolean success = false;
         try {
             boolean listenProgress;
+            Path file = null;
             session.lock();
             try {
                 streamVariable.streamingStarted(startedEvent);
-                out = streamVariable.getOutputStream();
+                if (streamVariable instanceof FileStreamVariable fileVariable) {
+                    file = fileVariable.getFile();
+                } else {
+                    out = streamVariable.getOutputStream();
+                }
                 listenProgress = streamVariable.listenProgress();
             } finally {
                 session.unlock();
             }
 
             // Gets the output target stream
-            if (out == null) {
+            if (out == null && file == null) {
                 throw new NoOutputStreamException();
             }
 
@@ -534,30 +553,41 @@ public class StreamReceiverHandler implements Serializable {
                 throw new NoInputStreamException();
             }
 
-            final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
             long lastStreamingEvent = 0;
-            int bytesReadToBuffer;
-            do {
-                bytesReadToBuffer = in.read(buffer);
-                if (bytesReadToBuffer > 0) {
-                    out.write(buffer, 0, bytesReadToBuffer);
-                    totalBytes += bytesReadToBuffer;
-                }
-                if (listenProgress) {
-                    StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
-                            filename, type, contentLength, totalBytes);
-
-                    lastStreamingEvent = updateProgress(session, streamVariable,
-                            progressEvent, lastStreamingEvent,
-                            bytesReadToBuffer);
-                }
-                if (streamVariable.isInterrupted()) {
-                    throw new UploadInterruptedException();
-                }
-            } while (bytesReadToBuffer > 0);
+            if (file != null) {
+                fileChannel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                ReadableByteChannel source = Channels.newChannel(in);
+                boolean endOfStream;
+                do {
+                    long transferred = fileChannel.transferFrom(source,
+                            totalBytes, MAX_UPLOAD_TRANSFER_SIZE);
+                    totalBytes += transferred;
+                    // A short transfer means that the source is exhausted
+                    endOfStream = transferred < MAX_UPLOAD_TRANSFER_SIZE;
+                    lastStreamingEvent = afterChunk(session, streamVariable,
+                            listenProgress, filename, type, contentLength,
+                            totalBytes, lastStreamingEvent, endOfStream);
+                } while (!endOfStream);
+            } else {
+                final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
+                int bytesReadToBuffer;
+                do {
+                    bytesReadToBuffer = in.read(buffer);
+                    if (bytesReadToBuffer > 0) {
+                        out.write(buffer, 0, bytesReadToBuffer);
+                        totalBytes += bytesReadToBuffer;
+                    }
+                    lastStreamingEvent = afterChunk(session, streamVariable,
+                            listenProgress, filename, type, contentLength,
+                            totalBytes, lastStreamingEvent,
+                            bytesReadToBuffer <= 0);
+                } while (bytesReadToBuffer > 0);
+            }
 
             // upload successful
-            out.close();
+            (out != null ? out : fileChannel).close();
             StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
                     filename, type, totalBytes);
             session.lock();
@@ -571,12 +601,14 @@ public class StreamReceiverHandler implements Serializable {
             // Download is either interrupted by application code or some
             // IOException happens
             onStreamingFailed(session, filename, type, contentLength,
-                    streamVariable, out, totalBytes, e);
+                    streamVariable, out != null ? out : fileChannel, totalBytes,
+                    e);
             // Interrupted exception and IOException are not thrown forward:
             // it's enough to fire them via streamVariable
         } catch (final Exception e) {
             onStreamingFailed(session, filename, type, contentLength,
-                    streamVariable, out, totalBytes, e);
+                    streamVariable, out != null ? out : fileChannel, totalBytes,
+                    e);
             // Throw not IOException and interrupted exception for terminal to
             // be handled (to be passed to terminalErrorHandler): such
             // exceptions mean mistakes in the implementation logic (not upload
@@ -589,7 +621,7 @@ public class StreamReceiverHandler implements Serializable {
 
     private void onStreamingFailed(VaadinSession session, String filename,
             String type, long contentLength, StreamVariable streamVariable,
-            OutputStream out, long totalBytes, final Exception exception) {
+            Closeable out, long totalBytes, final Exception exception) {
         tryToCloseStream(out);
         session.lock();
         try {
@@ -600,15 +632,33 @@ public class StreamReceiverHandler implements Serializable {
         }
     }
 
+    private long afterChunk(VaadinSession session,
+            StreamVariable streamVariable, boolean listenProgress,
+            String filename, String type, long contentLength, long totalBytes,
+            long lastStreamingEvent, boolean endOfStream)
+            throws UploadInterruptedException {
+        if (listenProgress) {
+            StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
+                    filename, type, contentLength, totalBytes);
+
+            lastStreamingEvent = updateProgress(session, streamVariable,
+                    progressEvent, lastStreamingEvent, endOfStream);
+        }
+        if (streamVariable.isInterrupted()) {
+            throw new UploadInterruptedException();
+        }
+        return lastStreamingEvent;
+    }
+
     private long updateProgress(VaadinSession session,
             StreamVariable streamVariable,
             StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
-            int bytesReadToBuffer) {
+            boolean endOfStream) {
         long now = System.currentTimeMillis();
         // to avoid excessive session locking and event storms,
         // events are sent in intervals, or at the end of the file.
         if (lastStreamingEvent + getProgressEventInterval() <= now
-                || bytesReadToBuffer <= 0) {
+                || endOfStream) {
             session.lock();
             try {
                 streamVariable.onProgress(progressEvent);
@@ -17,11 +17,28 @@ package com.vaadin.flow.server.communication;
 
 import jakarta.servlet.ServletContext;
 
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.FileStreamResource;
 import com.vaadin.flow.server.HttpStatusCode;
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.RangeStreamResource;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
@@ -40,6 +57,37 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final int RANGE_BUFFER_SIZE = 8192;
+
+    /**
+     * Maximum number of ranges to serve for a single request. Requests with
+     * more ranges are served with the full content.
+     */
+    private static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String CRLF = "\r\n";
+
+    /**
+     * An inclusive range of bytes.
+     */
+    private record ByteRange(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+
+        String toContentRange(long totalLength) {
+            return BYTES_UNIT + " " + start + "-" + end + "/" + totalLength;
+        }
+    }
+
+    /**
+     * Validators of a {@link RangeStreamResource} read under the session lock.
+     */
+    private record Validators(String eTag, long lastModified) {
+    }
+
     /**
      * Handle sending for a stream resource request.
      *
@@ -60,12 +108,15 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        String contentType;
+        Validators validators = null;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
-            response.setContentType(streamResource.getContentTypeResolver()
-                    .apply(streamResource, context));
+            contentType = streamResource.getContentTypeResolver()
+                    .apply(streamResource, context);
+            response.setContentType(contentType);
             response.setCacheTime(streamResource.getCacheTime());
             streamResource.getHeaders()
                     .forEach((name, value) -> response.setHeader(name, value));
@@ -74,6 +125,10 @@ public class StreamResourceHandler implements Serializable {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            if (streamResource instanceof RangeStreamResource rangeResource) {
+                validators = new Validators(rangeResource.getETag(),
+                        rangeResource.getLastModified());
+            }
         } catch (Exception exception) {
             response.setStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
             throw exception;
@@ -81,6 +136,12 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+        if (validators != null) {
+            handleRangeRequest(session, request, response,
+                    (RangeStreamResource) streamResource, contentType,
+                    validators);
+            return;
+        }
         try (OutputStream outputStream = response.getOutputStream()) {
             try {
                 writer.accept(outputStream, session);
@@ -92,4 +153,342 @@ public class StreamResourceHandler implements Serializable {
             }
         }
     }
+
+    private void handleRangeRequest(VaadinSession session,
+            VaadinRequest request, VaadinResponse response,
+            RangeStreamResource resource, String contentType,
+            Validators validators) throws IOException {
+        long length = resource.getLength();
+
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+        if (validators.eTag() != null) {
+            response.setHeader("ETag", validators.eTag());
+        }
+        if (validators.lastModified() >= 0) {
+            response.setDateHeader("Last-Modified", validators.lastModified());
+        }
+
+        if (isNotModified(request, validators)) {
+            response.setStatus(HttpStatusCode.NOT_MODIFIED.getCode());
+            return;
+        }
+
+        List<ByteRange> ranges = null;
+        String rangeHeader = request.getHeader("Range");
+        if (rangeHeader != null && "GET".equalsIgnoreCase(request.getMethod())
+                && isIfRangeSatisfied(request, validators)) {
+            ranges = parseRanges(rangeHeader, length);
+            if (ranges != null && ranges.isEmpty()) {
+                response.setStatus(
+                        HttpStatusCode.REQUESTED_RANGE_NOT_SATISFIABLE
+                                .getCode());
+                response.setHeader("Content-Range",
+                        BYTES_UNIT + " */" + length);
+                return;
+            }
+        }
+
+        if (ranges == null) {
+            response.setContentLengthLong(length);
+            writeRanges(session, response, resource,
+                    length == 0 ? List.of()
+                            : List.of(new ByteRange(0, length - 1)),
+                    null, null, length);
+        } else if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setStatus(HttpStatusCode.PARTIAL_CONTENT.getCode());
+            response.setHeader("Content-Range", range.toContentRange(length));
+            response.setContentLengthLong(range.length());
+            writeRanges(session, response, resource, ranges, null, null,
+                    length);
+        } else {
+            String boundary = UUID.randomUUID().toString();
+            response.setStatus(HttpStatusCode.PARTIAL_CONTENT.getCode());
+            response.setContentType(
+                    "multipart/byteranges; boundary=" + boundary);
+            long contentLength = getMultipartEnd(boundary).length();
+            for (ByteRange range : ranges) {
+                contentLength += getPartHeader(boundary, contentType, range,
+                        length).length() + range.length();
+            }
+            response.setContentLengthLong(contentLength);
+            writeRanges(session, response, resource, ranges, boundary,
+                    contentType, length);
+        }
+    }
+
+    private void writeRanges(VaadinSession session, VaadinResponse response,
+            RangeStreamResource resource, List<ByteRange> ranges,
+            String boundary, String contentType, long totalLength)
+            throws IOException {
+        try (OutputStream outputStream = response.getOutputStream()) {
+            try (RangeSource source = openSource(session, resource)) {
+                for (ByteRange range : ranges) {
+                    if (boundary != null) {
+                        outputStream.write(getPartHeader(boundary, contentType,
+                                range, totalLength)
+                                .getBytes(StandardCharsets.US_ASCII));
+                    }
+                    source.write(range, outputStream);
+                }
+                if (boundary != null) {
+                    outputStream.write(getMultipartEnd(boundary)
+                            .getBytes(StandardCharsets.US_ASCII));
+                }
+            } catch (IOException ioe) {
+                if ("Broken pipe".equals(ioe.getMessage())) {
+                    getLogger().debug(
+                            "The client browser has most likely cancelled the request.",
+                            ioe);
+                } else {
+                    // Set status before output is closed (see #8740)
+                    response.setStatus(
+                            HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
+                    throw ioe;
+                }
+            } catch (Exception exception) {
+                response.setStatus(
+                        HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
+                throw exception;
+            }
+        }
+    }
+
+    private static RangeSource openSource(VaadinSession session,
+            RangeStreamResource resource) throws IOException {
+        if (resource instanceof FileStreamResource fileResource) {
+            return new FileChannelSource(FileChannel
+                    .open(fileResource.getFile(), StandardOpenOption.READ));
+        }
+        return new InputStreamSource(session, resource.getInputStreamFactory());
+    }
+
+    /**
+     * Writes ranges of the resource content to the response.
+     */
+    private interface RangeSource extends Closeable {
+        void write(ByteRange range, OutputStream outputStream)
+                throws IOException;
+
+        @Override
+        default void close() throws IOException {
+            // NOP by default
+        }
+    }
+
+    /**
+     * Transfers file content using {@link FileChannel#transferTo}, which lets
+     * the JDK move the data without going through buffers managed here and
+     * without the session lock.
+     */
+    private record FileChannelSource(
+            FileChannel channel) implements RangeSource {
+
+        @Override
+        public void write(ByteRange range, OutputStream outputStream)
+                throws IOException {
+            // Not closed since that would close the response stream
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining,
+                        target);
+                if (transferred <= 0) {
+                    throw new EOFException("File ended " + remaining
+                            + " bytes before the declared length");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Copies content from streams created by an {@link InputStreamFactory},
+     * holding the session lock only when the factory requires it.
+     */
+    private record InputStreamSource(VaadinSession session,
+            InputStreamFactory factory) implements RangeSource {
+
+        @Override
+        public void write(ByteRange range, OutputStream outputStream)
+                throws IOException {
+            InputStream input;
+            session.lock();
+            try {
+                input = factory.createInputStream();
+            } finally {
+                session.unlock();
+            }
+            try (InputStream source = input) {
+                source.skipNBytes(range.start());
+                byte[] buffer = new byte[RANGE_BUFFER_SIZE];
+                long remaining = range.length();
+                while (remaining > 0) {
+                    int read = read(source, buffer,
+                            (int) Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        throw new EOFException(
+                                "Stream resource ended " + remaining
+                                        + " bytes before the declared length");
+                    }
+                    outputStream.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+        }
+
+        private int read(InputStream source, byte[] buffer, int length)
+                throws IOException {
+            if (factory.requiresLock()) {
+                session.lock();
+                try {
+                    return source.read(buffer, 0, length);
+                } finally {
+                    session.unlock();
+                }
+            }
+            return source.read(buffer, 0, length);
+        }
+    }
+
+    private static String getPartHeader(String boundary, String contentType,
+            ByteRange range, long totalLength) {
+        return CRLF + "--" + boundary + CRLF + "Content-Type: " + contentType
+                + CRLF + "Content-Range: " + range.toContentRange(totalLength)
+                + CRLF + CRLF;
+    }
+
+    private static String getMultipartEnd(String boundary) {
+        return CRLF + "--" + boundary + "--" + CRLF;
+    }
+
+    private static boolean isNotModified(VaadinRequest request,
+            Validators validators) {
+        String method = request.getMethod();
+        if (!"GET".equalsIgnoreCase(method)
+                && !"HEAD".equalsIgnoreCase(method)) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            return validators.eTag() != null
+                    && matchesAnyETag(ifNoneMatch, validators.eTag());
+        }
+        if (validators.lastModified() < 0) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= validators.lastModified();
+        } catch (IllegalArgumentException e) {
+            getLogger().trace("Unable to parse If-Modified-Since", e);
+            return false;
+        }
+    }
+
+    private static boolean matchesAnyETag(String header, String eTag) {
+        String opaqueTag = withoutWeakPrefix(eTag);
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate)
+                    || withoutWeakPrefix(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String withoutWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static boolean isIfRangeSatisfied(VaadinRequest request,
+            Validators validators) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison
+            return validators.eTag() != null
+                    && !validators.eTag().startsWith("W/")
+                    && ifRange.equals(validators.eTag());
+        }
+        if (validators.lastModified() < 0) {
+            return false;
+        }
+        try {
+            return request.getDateHeader("If-Range") == validators
+                    .lastModified();
+        } catch (IllegalArgumentException e) {
+            getLogger().trace("Unable to parse If-Range", e);
+            return false;
+        }
+    }
+
+    /**
+     * Parses the value of a {@code Range} header.
+     *
+     * @return the satisfiable ranges, an empty list if no range is satisfiable,
+     *         or <code>null</code> if the header is malformed or should
+     *         otherwise be ignored
+     */
+    private static List<ByteRange> parseRanges(String header, long length) {
+        String prefix = BYTES_UNIT + "=";
+        if (!header.startsWith(prefix)) {
+            return null;
+        }
+        String[] specs = header.substring(prefix.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long start;
+            long end;
+            try {
+                if (dash == 0) {
+                    long suffixLength = Long.parseLong(spec.substring(1));
+                    if (suffixLength <= 0 || length == 0) {
+                        continue;
+                    }
+                    start = Math.max(0, length - suffixLength);
+                    end = length - 1;
+                } else {
+                    start = Long.parseLong(spec.substring(0, dash));
+                    String last = spec.substring(dash + 1);
+                    end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                    if (start < 0 || end < start) {
+                        return null;
+                    }
+                    if (start >= length) {
+                        continue;
+                    }
+                    end = Math.min(end, length - 1);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            ranges.add(new ByteRange(start, end));
+        }
+        return ranges;
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StreamResourceHandler.class.getName());
+    }
 }
@@ -130,13 +130,13 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
                     VaadinService.createUINotFoundJSON(false)));
         }
 
-        StringWriter stringWriter = new StringWriter();
-
         try {
             getRpcHandler().handleRpc(uI, requestBody, request);
-            writeUidl(uI, stringWriter, false);
+            return Optional.of(createResponseWriter(uI, response, false));
         } catch (ClientResentPayloadException e) {
-            stringWriter.write(uI.getInternals().getLastRequestResponse());
+            String lastResponse = uI.getInternals().getLastRequestResponse();
+            return Optional
+                    .of(() -> commitJsonResponse(response, lastResponse));
         } catch (JsonDecodingException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -155,13 +155,21 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return Optional.of(() -> commitJsonResponse(response, json));
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
-            writeUidl(uI, stringWriter, true);
-        } finally {
-            stringWriter.close();
+            return Optional.of(createResponseWriter(uI, response, true));
         }
+    }
 
-        return Optional.of(
-                () -> commitJsonResponse(response, stringWriter.toString()));
+    private ResponseWriter createResponseWriter(UI ui, VaadinResponse response,
+            boolean resync) throws IOException {
+        if (ui.getSession().getService().getDeploymentConfiguration()
+                .isStreamingUidl()) {
+            UidlWriter.MessageBuffer uidl = writeUidl(ui, resync);
+            return () -> commitJsonResponse(response, uidl);
+        }
+        StringWriter stringWriter = new StringWriter();
+        writeUidl(ui, stringWriter, resync);
+        String uidl = stringWriter.toString();
+        return () -> commitJsonResponse(response, uidl);
     }
 
     private void writeRefresh(VaadinResponse response) throws IOException {
@@ -171,16 +179,41 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     }
 
     void writeUidl(UI ui, Writer writer, boolean resync) throws IOException {
+        long start = System.nanoTime();
         ObjectNode uidl = createUidl(ui, resync);
 
-        removeOffendingMprHashFragment(uidl);
+        if (uidl.has(EXECUTE)) {
+            removeOffendingMprHashFragment((ArrayNode) uidl.get(EXECUTE));
+        }
 
-        // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl + "]";
+        String responseString = UidlWriter.MESSAGE_PREFIX + uidl
+                + UidlWriter.MESSAGE_SUFFIX;
+        UidlWriter.uidlEncoded(ui, start, responseString);
         ui.getInternals().setLastRequestResponse(responseString);
         writer.write(responseString);
     }
 
+    /**
+     * Streams the UIDL response for the given UI into a buffer without building
+     * the response as a JSON tree first.
+     *
+     * @param ui
+     *            the UI whose changes to write
+     * @param resync
+     *            true iff the client should be asked to resynchronize
+     * @return the UTF-8 encoded response
+     * @throws IOException
+     *             if writing the response fails
+     */
+    UidlWriter.MessageBuffer writeUidl(UI ui, boolean resync)
+            throws IOException {
+        UidlWriter.MessageBuffer response = new UidlWriter().createUidlMessage(
+                ui, false, resync, this::removeOffendingMprHashFragment);
+        ui.getInternals().setLastRequestResponse(response.getBuffer(),
+                response.size());
+        return response;
+    }
+
     ObjectNode createUidl(UI ui, boolean resync) {
         return new UidlWriter().createUidl(ui, false, resync);
     }
@@ -233,27 +266,47 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
+        byte[] b = json.getBytes(UTF_8);
+        OutputStream outputStream = prepareJsonResponse(response, b.length);
+        outputStream.write(b);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
+
+    /**
+     * Commit the UTF-8 encoded JSON response held by the given buffer, writing
+     * the buffer directly to the response output stream.
+     *
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The buffer holding the UTF-8 encoded JSON to write
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     * @see #commitJsonResponse(VaadinResponse, String)
+     */
+    static void commitJsonResponse(VaadinResponse response,
+            UidlWriter.MessageBuffer json) throws IOException {
+        OutputStream outputStream = prepareJsonResponse(response, json.size());
+        json.writeTo(outputStream);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
+
+    private static OutputStream prepareJsonResponse(VaadinResponse response,
+            int length) throws IOException {
         response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
 
         // Ensure that the browser does not cache UIDL responses.
         // iOS 6 Safari requires this (#9732)
         response.setHeader("Cache-Control", "no-cache");
 
-        byte[] b = json.getBytes(UTF_8);
-        response.setContentLength(b.length);
+        response.setContentLength(length);
 
-        OutputStream outputStream = response.getOutputStream();
-        outputStream.write(b);
-        // NOTE GateIn requires the buffers to be flushed to work
-        outputStream.flush();
+        return response.getOutputStream();
     }
 
-    private void removeOffendingMprHashFragment(ObjectNode uidl) {
-        if (!uidl.has(EXECUTE)) {
-            return;
-        }
-
-        ArrayNode exec = (ArrayNode) uidl.get(EXECUTE);
+    private void removeOffendingMprHashFragment(ArrayNode exec) {
         String location = null;
         int idx = -1;
         for (int i = 0; i < exec.size(); i++) {
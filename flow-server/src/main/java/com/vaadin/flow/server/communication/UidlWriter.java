@@ -16,9 +16,12 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -33,8 +36,11 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -47,6 +53,7 @@ import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JacksonCodec;
 import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.JsonUtils;
@@ -59,6 +66,7 @@ import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.SystemMessages;
+import com.vaadin.flow.server.VaadinMetrics;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.WebBrowser;
@@ -84,6 +92,12 @@ import elemental.json.JsonValue;
 public class UidlWriter implements Serializable {
     private static final String COULD_NOT_READ_URL_CONTENTS_ERROR_MESSAGE = "Could not read url %s contents";
 
+    private static final String CHANGES = "changes";
+
+    // some dirt to prevent cross site scripting
+    static final String MESSAGE_PREFIX = "for(;;);[";
+    static final String MESSAGE_SUFFIX = "]";
+
     /**
      * Provides context information for the resolve operations.
      */
@@ -124,6 +138,81 @@ public class UidlWriter implements Serializable {
 
     }
 
+    /**
+     * Target of the encoded UIDL response, either a JSON tree or a streaming
+     * generator.
+     */
+    private interface UidlOutput {
+        void set(String field, JsonNode value) throws IOException;
+
+        void addChange(JsonNode change) throws IOException;
+    }
+
+    /**
+     * Collects the UIDL response into an {@link ObjectNode}.
+     */
+    private static class TreeOutput implements UidlOutput {
+        private final ObjectNode response = JacksonUtils.createObjectNode();
+        private ArrayNode changes;
+
+        @Override
+        public void set(String field, JsonNode value) {
+            response.set(field, value);
+        }
+
+        @Override
+        public void addChange(JsonNode change) {
+            if (changes == null) {
+                changes = response.putArray(CHANGES);
+            }
+            changes.add(change);
+        }
+    }
+
+    /**
+     * Writes the UIDL response to a {@link JsonGenerator} as soon as each part
+     * becomes available so that the complete response is never held in memory
+     * as a JSON tree.
+     */
+    private static class StreamingOutput implements UidlOutput {
+        private final JsonGenerator generator;
+        private final Consumer<ArrayNode> executeFilter;
+        private boolean inChanges;
+
+        private StreamingOutput(JsonGenerator generator,
+                Consumer<ArrayNode> executeFilter) {
+            this.generator = generator;
+            this.executeFilter = executeFilter;
+        }
+
+        @Override
+        public void set(String field, JsonNode value) throws IOException {
+            endChanges();
+            if (executeFilter != null
+                    && JsonConstants.UIDL_KEY_EXECUTE.equals(field)) {
+                executeFilter.accept((ArrayNode) value);
+            }
+            generator.writeFieldName(field);
+            JacksonUtils.getMapper().writeTree(generator, value);
+        }
+
+        @Override
+        public void addChange(JsonNode change) throws IOException {
+            if (!inChanges) {
+                generator.writeArrayFieldStart(CHANGES);
+                inChanges = true;
+            }
+            JacksonUtils.getMapper().writeTree(generator, change);
+        }
+
+        private void endChanges() throws IOException {
+            if (inChanges) {
+                generator.writeEndArray();
+                inChanges = false;
+            }
+        }
+    }
+
     /**
      * Creates a JSON object containing all pending changes to the given UI.
      *
@@ -137,8 +226,136 @@ public class UidlWriter implements Serializable {
      * @return JSON object containing the UIDL response
      */
     public ObjectNode createUidl(UI ui, boolean async, boolean resync) {
-        ObjectNode response = JacksonUtils.createObjectNode();
+        TreeOutput output = new TreeOutput();
+        try {
+            encodeUidl(ui, async, resync, output);
+        } catch (IOException e) {
+            // Never thrown when building a tree
+            throw new UncheckedIOException(e);
+        }
+        return output.response;
+    }
+
+    /**
+     * Writes all pending changes to the given UI as a JSON object to the given
+     * generator.
+     * <p>
+     * Unlike {@link #createUidl(UI, boolean, boolean)}, state changes are
+     * written to the generator one by one while they are collected from the
+     * state tree, so the complete response is never built as a JSON tree.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param generator
+     *            the generator to write the UIDL response to, not
+     *            <code>null</code>
+     * @throws IOException
+     *             if writing to the generator fails
+     */
+    public void writeUidl(UI ui, boolean async, boolean resync,
+            JsonGenerator generator) throws IOException {
+        writeUidl(ui, async, resync, generator, null);
+    }
+
+    void writeUidl(UI ui, boolean async, boolean resync,
+            JsonGenerator generator, Consumer<ArrayNode> executeFilter)
+            throws IOException {
+        StreamingOutput output = new StreamingOutput(
+                Objects.requireNonNull(generator), executeFilter);
+        generator.writeStartObject();
+        encodeUidl(ui, async, resync, output);
+        output.endChanges();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Buffer holding an encoded UIDL message. The message can be written to a
+     * stream and decoded without copying the underlying array.
+     */
+    static final class MessageBuffer extends ByteArrayOutputStream {
+
+        private MessageBuffer() {
+            super(8192);
+        }
 
+        /**
+         * Gets the array backing this buffer. Only the first {@link #size()}
+         * bytes of the array belong to the message.
+         *
+         * @return the backing array, not <code>null</code>
+         */
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    /**
+     * Streams the UIDL response for the given UI into a UTF-8 encoded buffer,
+     * wrapped in the same cross-site scripting guard as regular UIDL responses.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param executeFilter
+     *            a filter to apply to the JavaScript executions before they are
+     *            written, or <code>null</code>
+     * @return the encoded UIDL message
+     * @throws IOException
+     *             if writing the message fails
+     */
+    MessageBuffer createUidlMessage(UI ui, boolean async, boolean resync,
+            Consumer<ArrayNode> executeFilter) throws IOException {
+        long start = System.nanoTime();
+        MessageBuffer buffer = new MessageBuffer();
+        buffer.write(MESSAGE_PREFIX.getBytes(StandardCharsets.UTF_8));
+        try (JsonGenerator generator = JacksonUtils.getMapper()
+                .createGenerator(buffer)) {
+            writeUidl(ui, async, resync, generator, executeFilter);
+        }
+        buffer.write(MESSAGE_SUFFIX.getBytes(StandardCharsets.UTF_8));
+        uidlEncoded(ui, start, buffer.size());
+        return buffer;
+    }
+
+    /**
+     * Streams the UIDL response for the given UI into a string, wrapped in the
+     * same cross-site scripting guard as regular UIDL responses.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @return the encoded UIDL message
+     * @throws IOException
+     *             if writing the message fails
+     */
+    String createUidlMessageString(UI ui, boolean async) throws IOException {
+        long start = System.nanoTime();
+        StringWriter writer = new StringWriter();
+        writer.write(MESSAGE_PREFIX);
+        try (JsonGenerator generator = JacksonUtils.getMapper()
+                .createGenerator(writer)) {
+            writeUidl(ui, async, false, generator, null);
+        }
+        writer.write(MESSAGE_SUFFIX);
+        String message = writer.toString();
+        uidlEncoded(ui, start, message);
+        return message;
+    }
+
+    private void encodeUidl(UI ui, boolean async, boolean resync,
+            UidlOutput output) throws IOException {
         UIInternals uiInternals = ui.getInternals();
 
         VaadinSession session = ui.getSession();
@@ -148,16 +365,23 @@ public class UidlWriter implements Serializable {
         // to write out
         service.runPendingAccessTasks(session);
 
+        // This message carries the changes of any pushes deferred until the end
+        // of the push flush window
+        if (uiInternals
+                .getPushConnection() instanceof AtmospherePushConnection pushConnection) {
+            pushConnection.pendingChangesWritten();
+        }
+
         // Paints components
         getLogger().debug("* Creating response to client");
 
         if (resync) {
-            response.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+            output.set(ApplicationConstants.RESYNCHRONIZE_ID, BooleanNode.TRUE);
         }
         int nextClientToServerMessageId = uiInternals
                 .getLastProcessedClientToServerId() + 1;
-        response.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
-                nextClientToServerMessageId);
+        output.set(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                IntNode.valueOf(nextClientToServerMessageId));
 
         SystemMessages messages = service.getSystemMessages(ui.getLocale(),
                 null);
@@ -165,32 +389,37 @@ public class UidlWriter implements Serializable {
         ObjectNode meta = new MetadataWriter().createMetadata(ui, false, async,
                 messages);
         if (!JacksonUtils.getKeys(meta).isEmpty()) {
-            response.set("meta", meta);
+            output.set("meta", meta);
         }
 
-        ArrayNode stateChanges = JacksonUtils.createArrayNode();
-
-        encodeChanges(ui, stateChanges);
+        try {
+            encodeChanges(ui, change -> {
+                try {
+                    output.addChange(change);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
 
-        populateDependencies(response, uiInternals.getDependencyList(),
+        populateDependencies(output, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser()));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
-            response.set("constants",
+            output.set("constants",
                     uiInternals.getConstantPool().dumpConstants());
         }
-        if (!stateChanges.isEmpty()) {
-            response.set("changes", stateChanges);
-        }
 
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
+            output.set(JsonConstants.UIDL_KEY_EXECUTE,
                     encodeExecuteJavaScriptList(executeJavaScriptList));
         }
         if (service.getDeploymentConfiguration().isRequestTiming()) {
-            response.put("timings", createPerformanceData(ui));
+            output.set("timings", createPerformanceData(ui));
         }
 
         // Get serverSyncId after all changes has been computed, as push may
@@ -199,9 +428,10 @@ public class UidlWriter implements Serializable {
         int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
                 ? uiInternals.getServerSyncId()
                 : -1;
-        response.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        output.set(ApplicationConstants.SERVER_SYNC_ID,
+                IntNode.valueOf(syncId));
+        uiInternals.getStateTree().markChangesSent(syncId);
         uiInternals.incrementServerId();
-        return response;
     }
 
     /**
@@ -218,8 +448,73 @@ public class UidlWriter implements Serializable {
         return createUidl(ui, async, false);
     }
 
-    private static void populateDependencies(ObjectNode response,
-            DependencyList dependencyList, ResolveContext context) {
+    /**
+     * Reports an encoded UIDL message to the metrics of the service of the
+     * given UI.
+     *
+     * @param ui
+     *            the UI whose changes were encoded
+     * @param start
+     *            the {@link System#nanoTime()} when encoding started
+     * @param length
+     *            the length of the encoded message in UTF-8 bytes
+     */
+    static void uidlEncoded(UI ui, long start, int length) {
+        getMetrics(ui).uidlEncoded(ui, System.nanoTime() - start, length);
+    }
+
+    /**
+     * Reports an encoded UIDL message to the metrics of the service of the
+     * given UI. The length of the message is reported in UTF-8 bytes, like for
+     * messages encoded directly as bytes.
+     *
+     * @param ui
+     *            the UI whose changes were encoded
+     * @param start
+     *            the {@link System#nanoTime()} when encoding started
+     * @param message
+     *            the encoded message
+     */
+    static void uidlEncoded(UI ui, long start, String message) {
+        VaadinMetrics metrics = getMetrics(ui);
+        if (metrics != VaadinMetrics.NO_OP) {
+            metrics.uidlEncoded(ui, System.nanoTime() - start,
+                    getUtf8Length(message));
+        }
+    }
+
+    private static VaadinMetrics getMetrics(UI ui) {
+        VaadinSession session = ui.getSession();
+        return VaadinMetrics
+                .forService(session == null ? null : session.getService());
+    }
+
+    /**
+     * Gets the length of the given message when encoded as UTF-8, without
+     * encoding it.
+     *
+     * @param message
+     *            the message, not <code>null</code>
+     * @return the length of the message in UTF-8 bytes
+     */
+    static int getUtf8Length(String message) {
+        int length = message.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs are 4 bytes, i.e. 2 bytes per char
+                bytes += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    private static void populateDependencies(UidlOutput output,
+            DependencyList dependencyList, ResolveContext context)
+            throws IOException {
         Collection<Dependency> pendingSendToClient = dependencyList
                 .getPendingSendToClient();
 
@@ -230,16 +525,11 @@ public class UidlWriter implements Serializable {
         }
 
         if (!pendingSendToClient.isEmpty()) {
-            groupDependenciesByLoadMode(pendingSendToClient, context)
-                    .forEach((loadMode, dependencies) -> {
-                        try {
-                            response.set(loadMode.name(),
-                                    JacksonUtils.getMapper()
-                                            .readTree(dependencies.toJson()));
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+            for (Map.Entry<LoadMode, JsonArray> entry : groupDependenciesByLoadMode(
+                    pendingSendToClient, context).entrySet()) {
+                output.set(entry.getKey().name(), JacksonUtils.getMapper()
+                        .readTree(entry.getValue().toJson()));
+            }
         }
         dependencyList.clearPendingSendToClient();
     }
@@ -404,13 +694,15 @@ public class UidlWriter implements Serializable {
      *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param changeConsumer
+     *            a consumer to pass the encoded state changes to
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, ArrayNode stateChanges) {
+    private void encodeChanges(UI ui, Consumer<JsonNode> changeConsumer) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
+        ConstantPool constantPool = uiInternals.getConstantPool();
+        boolean compactChanges = uiInternals.isCompactChanges();
 
         stateTree.runExecutionsBeforeClientResponse();
 
@@ -423,7 +715,9 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.add(change.toJson(uiInternals.getConstantPool()));
+            changeConsumer
+                    .accept(compactChanges ? change.toCompactJson(constantPool)
+                            : change.toJson(constantPool));
         };
         // A collectChanges round may add additional changes that needs to be
         // collected.
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,7 +28,8 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.dom.Element;
-import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JacksonCodec;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.ElementData;
@@ -62,13 +64,13 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
 
     @Override
     protected Optional<Runnable> handleNode(StateNode node,
-            JsonObject invocationJson) {
-        assert invocationJson.hasKey(JsonConstants.RPC_FEATURE);
-        assert invocationJson.hasKey(JsonConstants.RPC_PROPERTY);
-        assert invocationJson.hasKey(JsonConstants.RPC_PROPERTY_VALUE);
+            JsonNode invocationJson) {
+        assert invocationJson.has(JsonConstants.RPC_FEATURE);
+        assert invocationJson.has(JsonConstants.RPC_PROPERTY);
+        assert invocationJson.has(JsonConstants.RPC_PROPERTY_VALUE);
 
-        int featureId = (int) invocationJson
-                .getNumber(JsonConstants.RPC_FEATURE);
+        int featureId = invocationJson.get(JsonConstants.RPC_FEATURE)
+                .intValue();
         Class<? extends NodeFeature> feature = NodeFeatureRegistry
                 .getFeature(featureId);
         assert NodeMap.class.isAssignableFrom(feature);
@@ -78,7 +80,8 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
 
         List<DisabledUpdateMode> seenUpdateModes = new ArrayList<>();
 
-        String property = invocationJson.getString(JsonConstants.RPC_PROPERTY);
+        String property = invocationJson.get(JsonConstants.RPC_PROPERTY)
+                .asText();
 
         if (node.hasFeature(ElementListenerMap.class)) {
             DisabledUpdateMode eventMode = node
@@ -123,24 +126,28 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
     }
 
     @Override
-    protected boolean allowInert(UI ui, JsonObject invocationJson) {
+    protected boolean allowInert(UI ui, JsonNode invocationJson) {
         StateNode node = ui.getInternals().getStateTree()
                 .getNodeById(getNodeId(invocationJson));
         if (node != null && node.hasFeature(ElementListenerMap.class)) {
             ElementListenerMap listenerMap = node
                     .getFeature(ElementListenerMap.class);
-            return invocationJson.hasKey(JsonConstants.RPC_PROPERTY)
+            return invocationJson.has(JsonConstants.RPC_PROPERTY)
                     && listenerMap.hasAllowInertForProperty(invocationJson
-                            .getString(JsonConstants.RPC_PROPERTY));
+                            .get(JsonConstants.RPC_PROPERTY).asText());
         } else {
             return super.allowInert(ui, invocationJson);
         }
     }
 
     private Optional<Runnable> enqueuePropertyUpdate(StateNode node,
-            JsonObject invocationJson, String property) {
-        Serializable value = JsonCodec.decodeWithoutTypeInfo(
+            JsonNode invocationJson, String property) {
+        Serializable value = JacksonCodec.decodeWithoutTypeInfo(
                 invocationJson.get(JsonConstants.RPC_PROPERTY_VALUE));
+        if (value instanceof JsonNode) {
+            // Objects and arrays are stored as elemental values in the map
+            value = JacksonUtils.createElementalValue((JsonNode) value);
+        }
 
         value = tryConvert(value, node);
 
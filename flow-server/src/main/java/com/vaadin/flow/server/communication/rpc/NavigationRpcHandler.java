@@ -17,15 +17,17 @@ package com.vaadin.flow.server.communication.rpc;
 
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.page.History;
 import com.vaadin.flow.component.page.History.HistoryStateChangeEvent;
 import com.vaadin.flow.component.page.History.HistoryStateChangeHandler;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.router.Location;
 import com.vaadin.flow.router.NavigationTrigger;
 import com.vaadin.flow.shared.JsonConstants;
 
-import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 /**
@@ -46,18 +48,20 @@ public class NavigationRpcHandler implements RpcInvocationHandler {
     }
 
     @Override
-    public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+    public Optional<Runnable> handle(UI ui, JsonNode invocationJson) {
         History history = ui.getPage().getHistory();
 
         HistoryStateChangeHandler historyStateChangeHandler = history
                 .getHistoryStateChangeHandler();
         if (historyStateChangeHandler != null) {
-            JsonValue state = invocationJson
+            JsonNode stateJson = invocationJson
                     .get(JsonConstants.RPC_NAVIGATION_STATE);
+            JsonValue state = stateJson == null ? null
+                    : JacksonUtils.createElementalValue(stateJson);
             String location = invocationJson
-                    .getString(JsonConstants.RPC_NAVIGATION_LOCATION);
+                    .get(JsonConstants.RPC_NAVIGATION_LOCATION).asText();
             boolean triggeredByLink = invocationJson
-                    .hasKey(JsonConstants.RPC_NAVIGATION_ROUTERLINK);
+                    .has(JsonConstants.RPC_NAVIGATION_ROUTERLINK);
             NavigationTrigger trigger = triggeredByLink
                     ? NavigationTrigger.ROUTER_LINK
                     : NavigationTrigger.HISTORY;
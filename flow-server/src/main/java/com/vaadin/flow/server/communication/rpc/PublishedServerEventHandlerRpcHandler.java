@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +38,7 @@ import com.vaadin.flow.component.internal.AllowInert;
 import com.vaadin.flow.component.template.internal.DeprecatedPolymerPublishedEventHandler;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.dom.DisabledUpdateMode;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.StateNode;
@@ -73,34 +75,34 @@ public class PublishedServerEventHandlerRpcHandler
     }
 
     @Override
-    protected boolean allowInert(UI ui, JsonObject invocationJson) {
+    protected boolean allowInert(UI ui, JsonNode invocationJson) {
         return true;
     }
 
     @Override
     public Optional<Runnable> handleNode(StateNode node,
-            JsonObject invocationJson) {
-        assert invocationJson
-                .hasKey(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME);
-        String methodName = invocationJson
-                .getString(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME);
-        if (methodName == null) {
+            JsonNode invocationJson) {
+        assert invocationJson.has(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME);
+        JsonNode methodNameJson = invocationJson
+                .get(JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME);
+        if (methodNameJson == null || methodNameJson.isNull()) {
             throw new IllegalArgumentException(
                     "Event handler method name may not be null");
         }
-        JsonValue args = invocationJson
+        String methodName = methodNameJson.asText();
+        JsonNode argsJson = invocationJson
                 .get(JsonConstants.RPC_TEMPLATE_EVENT_ARGS);
-        if (args == null) {
-            args = Json.createArray();
-        }
-        if (args.getType() != JsonType.ARRAY) {
+        if (argsJson != null && !argsJson.isArray()) {
             throw new IllegalArgumentException(
-                    "Incorrect type for method arguments: " + args.getClass());
+                    "Incorrect type for method arguments: "
+                            + argsJson.getClass());
         }
+        JsonArray args = argsJson == null ? Json.createArray()
+                : (JsonArray) JacksonUtils.createElementalValue(argsJson);
         int promiseId;
-        if (invocationJson.hasKey(JsonConstants.RPC_TEMPLATE_EVENT_PROMISE)) {
-            promiseId = (int) invocationJson
-                    .getNumber(JsonConstants.RPC_TEMPLATE_EVENT_PROMISE);
+        if (invocationJson.has(JsonConstants.RPC_TEMPLATE_EVENT_PROMISE)) {
+            promiseId = invocationJson
+                    .get(JsonConstants.RPC_TEMPLATE_EVENT_PROMISE).intValue();
         } else {
             promiseId = -1;
         }
@@ -131,7 +133,7 @@ public class PublishedServerEventHandlerRpcHandler
 
         if (execute) {
             invokeMethod(component.get(), component.get().getClass(),
-                    methodName, (JsonArray) args, promiseId, node.isInert());
+                    methodName, args, promiseId, node.isInert());
         }
 
         return Optional.empty();
@@ -18,7 +18,10 @@ package com.vaadin.flow.server.communication.rpc;
 import java.io.Serializable;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.JacksonUtils;
 
 import elemental.json.JsonObject;
 
@@ -26,7 +29,7 @@ import elemental.json.JsonObject;
  * RPC invocation handler interface.
  * <p>
  * Each instance must return unique rpc type (see {@link #getRpcType()} and
- * handle a {@link JsonObject} RPC data using {@link #handle(UI, JsonObject)}
+ * handle a {@link JsonNode} RPC data using {@link #handle(UI, JsonNode)}
  * method.
  * <p>
  * For internal use only. May be renamed or removed in a future release.
@@ -53,6 +56,21 @@ public interface RpcInvocationHandler extends Serializable {
      *            the RPC data to handle, not {@code null}
      * @return an optional runnable
      */
-    Optional<Runnable> handle(UI ui, JsonObject invocationJson);
+    Optional<Runnable> handle(UI ui, JsonNode invocationJson);
+
+    /**
+     * Handles RPC data {@code invocationJson} using {@code ui} as a context.
+     *
+     * @param ui
+     *            the UI to handle against, not {@code null}
+     * @param invocationJson
+     *            the RPC data to handle, not {@code null}
+     * @return an optional runnable
+     * @deprecated use {@link #handle(UI, JsonNode)} instead
+     */
+    @Deprecated
+    default Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+        return handle(ui, JacksonUtils.mapElemental(invocationJson));
+    }
 
 }
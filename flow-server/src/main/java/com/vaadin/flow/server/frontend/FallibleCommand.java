@@ -52,4 +52,20 @@ public interface FallibleCommand {
     default void setGeneratedFileSupport(GeneratedFilesSupport support) {
     }
 
+    /**
+     * Gets a hash of everything the outcome of this command depends on.
+     * <p>
+     * When a hash is provided, {@link NodeTasks} records it together with the
+     * files tracked through {@link GeneratedFilesSupport} and skips the command
+     * on subsequent runs as long as the hash is the same and the tracked files
+     * have not been changed. Commands that must always run, or whose inputs
+     * cannot be determined upfront, return {@code null}.
+     *
+     * @return the input hash or {@code null} if the command should always be
+     *         executed
+     */
+    default String getInputHash() {
+        return null;
+    }
+
 }
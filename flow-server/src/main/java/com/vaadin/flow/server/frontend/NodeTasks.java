@@ -97,6 +97,8 @@ public class NodeTasks implements FallibleCommand {
 
     private Path lockFile;
 
+    private final File stateFile;
+
     /**
      * Initialize tasks with the given options.
      *
@@ -111,6 +113,10 @@ public class NodeTasks implements FallibleCommand {
         // that Maven does not remove it
         lockFile = new File(options.getNpmFolder(), ".vaadin-node-tasks.lock")
                 .toPath();
+        // Build state is kept in the build directory so that a clean build
+        // always executes all tasks
+        stateFile = new File(options.getBuildDirectory(),
+                NodeTasksBuildState.STATE_FILE_NAME);
 
         ClassFinder classFinder = options.getClassFinder();
 
@@ -340,21 +346,52 @@ public class NodeTasks implements FallibleCommand {
         try {
             sortCommands(commands);
             GeneratedFilesSupport generatedFilesSupport = new GeneratedFilesSupport();
+            NodeTasksBuildState buildState = NodeTasksBuildState
+                    .load(stateFile);
             for (FallibleCommand command : commands) {
                 long startTime = System.nanoTime();
+                String task = command.getClass().getName();
+                String inputHash = getInputHash(command);
+                if (inputHash != null
+                        && buildState.isUpToDate(task, inputHash)) {
+                    buildState.getOutputs(task)
+                            .forEach(generatedFilesSupport::track);
+                    getLogger().debug("Task [ {} ] skipped, inputs unchanged",
+                            command.getClass().getSimpleName());
+                    continue;
+                }
+                Set<Path> trackedBefore = generatedFilesSupport.getFiles();
                 command.setGeneratedFileSupport(generatedFilesSupport);
+                buildState.remove(task);
                 command.execute();
+                if (inputHash != null) {
+                    Set<Path> outputs = generatedFilesSupport.getFiles();
+                    outputs.removeAll(trackedBefore);
+                    buildState.update(task, inputHash, outputs);
+                }
                 Duration durationInNs = Duration
                         .ofNanos(System.nanoTime() - startTime);
                 getLogger().debug("Task [ {} ] completed in {} ms",
                         command.getClass().getSimpleName(),
                         durationInNs.toMillis());
             }
+            buildState.write();
         } finally {
             releaseLock();
         }
     }
 
+    private String getInputHash(FallibleCommand command) {
+        try {
+            return command.getInputHash();
+        } catch (RuntimeException e) {
+            getLogger().debug(
+                    "Unable to compute input hash for task [ {} ], it will be executed",
+                    command.getClass().getSimpleName(), e);
+            return null;
+        }
+    }
+
     private void getLock() {
         boolean loggedWaiting = false;
 
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.MessageDigestUtil;
+
+/**
+ * Persistent record of the inputs and outputs of the {@link FallibleCommand}s
+ * executed by {@link NodeTasks}.
+ * <p>
+ * For every command that provides an {@link FallibleCommand#getInputHash()
+ * input hash}, the hash and a stamp (size and modification time) of each file
+ * tracked by the command are stored. On the next run the command can be skipped
+ * if its input hash is unchanged and all of its outputs are still present and
+ * untouched.
+ * <p>
+ * Only the commands that copy frontend resources from the class path provide an
+ * input hash. Installing npm packages already has its own check based on the
+ * package hashes, and the generator tasks only write files whose content has
+ * changed.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+final class NodeTasksBuildState {
+
+    static final String STATE_FILE_NAME = "vaadin-node-tasks-state.json";
+
+    private static final String INPUT_HASH = "inputHash";
+    private static final String OUTPUTS = "outputs";
+
+    private final File stateFile;
+    private final Map<String, TaskState> tasks;
+    private boolean modified;
+
+    private record TaskState(String inputHash, Map<String, String> outputs) {
+    }
+
+    private NodeTasksBuildState(File stateFile, Map<String, TaskState> tasks) {
+        this.stateFile = stateFile;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Reads the build state from the given file.
+     * <p>
+     * A missing or unreadable file results in an empty state, so that all
+     * commands are executed.
+     *
+     * @param stateFile
+     *            the file to read the state from and later write it to, not
+     *            {@code null}
+     * @return the build state, not {@code null}
+     */
+    static NodeTasksBuildState load(File stateFile) {
+        Map<String, TaskState> tasks = new HashMap<>();
+        if (stateFile.isFile()) {
+            try {
+                JsonNode json = JacksonUtils.readTree(Files.readString(
+                        stateFile.toPath(), StandardCharsets.UTF_8));
+                for (String task : JacksonUtils.getKeys(json)) {
+                    JsonNode taskJson = json.get(task);
+                    JsonNode outputsJson = taskJson.get(OUTPUTS);
+                    Map<String, String> outputs = new HashMap<>();
+                    for (String output : JacksonUtils.getKeys(outputsJson)) {
+                        outputs.put(output, outputsJson.get(output).asText());
+                    }
+                    tasks.put(task, new TaskState(
+                            taskJson.get(INPUT_HASH).asText(), outputs));
+                }
+            } catch (IOException | RuntimeException e) {
+                getLogger().debug(
+                        "Ignoring unreadable build state file {}. All tasks will be executed.",
+                        stateFile, e);
+                tasks.clear();
+            }
+        }
+        return new NodeTasksBuildState(stateFile, tasks);
+    }
+
+    /**
+     * Checks whether the given task has already been executed with the given
+     * inputs and its outputs have not been changed or removed since.
+     *
+     * @param task
+     *            the task identifier
+     * @param inputHash
+     *            the current input hash of the task
+     * @return {@code true} if the task can be skipped, {@code false} otherwise
+     */
+    boolean isUpToDate(String task, String inputHash) {
+        TaskState state = tasks.get(task);
+        if (state == null || !state.inputHash().equals(inputHash)) {
+            return false;
+        }
+        return state.outputs().entrySet().stream().allMatch(output -> output
+                .getValue().equals(stamp(Paths.get(output.getKey()))));
+    }
+
+    /**
+     * Gets the outputs recorded for the given task.
+     *
+     * @param task
+     *            the task identifier
+     * @return the recorded output files, empty if nothing is recorded
+     */
+    Set<Path> getOutputs(String task) {
+        TaskState state = tasks.get(task);
+        if (state == null) {
+            return Collections.emptySet();
+        }
+        return state.outputs().keySet().stream().map(Paths::get)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Records a successful execution of the given task.
+     *
+     * @param task
+     *            the task identifier
+     * @param inputHash
+     *            the input hash the task was executed with
+     * @param outputs
+     *            the files generated by the task
+     */
+    void update(String task, String inputHash, Collection<Path> outputs) {
+        Map<String, String> stamps = new HashMap<>();
+        for (Path output : outputs) {
+            String stamp = stamp(output);
+            if (stamp != null) {
+                stamps.put(output.toString(), stamp);
+            }
+        }
+        tasks.put(task, new TaskState(inputHash, stamps));
+        modified = true;
+    }
+
+    /**
+     * Forgets any recorded execution of the given task.
+     *
+     * @param task
+     *            the task identifier
+     */
+    void remove(String task) {
+        modified |= tasks.remove(task) != null;
+    }
+
+    /**
+     * Writes the state to the file it was loaded from, if anything has been
+     * changed.
+     */
+    void write() {
+        if (!modified) {
+            return;
+        }
+        ObjectNode json = JacksonUtils.createObjectNode();
+        new TreeMap<>(tasks).forEach((task, state) -> {
+            ObjectNode taskJson = json.putObject(task);
+            taskJson.put(INPUT_HASH, state.inputHash());
+            ObjectNode outputsJson = taskJson.putObject(OUTPUTS);
+            new TreeMap<>(state.outputs()).forEach(outputsJson::put);
+        });
+        try {
+            Files.createDirectories(stateFile.getParentFile().toPath());
+            Files.writeString(stateFile.toPath(), JacksonUtils.toFileJson(json),
+                    StandardCharsets.UTF_8);
+            modified = false;
+        } catch (IOException e) {
+            getLogger().debug("Unable to write build state file {}", stateFile,
+                    e);
+        }
+    }
+
+    /**
+     * Calculates a hash over the given values and the size and modification
+     * time of the given files. Directories are walked recursively.
+     *
+     * @param values
+     *            plain values to include in the hash, e.g. configuration
+     * @param files
+     *            files or directories to include in the hash, missing files are
+     *            included as such
+     * @return the hash as a hex string
+     */
+    static String hashInputs(Collection<String> values,
+            Collection<File> files) {
+        StringBuilder builder = new StringBuilder();
+        values.forEach(value -> builder.append(value).append('\n'));
+        files.stream().map(File::getAbsolutePath).sorted()
+                .forEach(file -> appendStamps(builder, Paths.get(file)));
+        return MessageDigestUtil
+                .sha256Hex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendStamps(StringBuilder builder, Path file) {
+        if (!Files.isDirectory(file)) {
+            builder.append(file).append('|').append(stamp(file)).append('\n');
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(file)) {
+            stream.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(Path::toString))
+                    .forEach(path -> builder.append(path).append('|')
+                            .append(stamp(path)).append('\n'));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String stamp(Path file) {
+        File asFile = file.toFile();
+        if (!asFile.isFile()) {
+            return null;
+        }
+        return asFile.length() + ":" + asFile.lastModified();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(NodeTasksBuildState.class);
+    }
+}
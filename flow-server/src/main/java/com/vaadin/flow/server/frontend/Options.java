@@ -17,6 +17,7 @@ import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.frontend.installer.NodeInstaller;
 import com.vaadin.flow.server.frontend.installer.Platform;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.frontend.scanner.ClassVisitCache;
 import com.vaadin.flow.server.frontend.scanner.FrontendDependenciesScanner;
 
 /**
@@ -88,6 +89,8 @@ public class Options implements Serializable {
 
     private FrontendDependenciesScanner frontendDependenciesScanner;
 
+    private transient ClassVisitCache classVisitCache;
+
     /**
      * The node.js version to be used when node.js is installed automatically by
      * Vaadin, for example <code>"v16.0.0"</code>. Defaults to
@@ -1067,8 +1070,23 @@ public class Options implements Serializable {
             frontendDependenciesScanner = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!isUseByteCodeScanner(), getClassFinder(),
                             isGenerateEmbeddableWebComponents(),
-                            getFeatureFlags(), reactEnabled);
+                            getFeatureFlags(), reactEnabled,
+                            getClassVisitCache());
         }
         return frontendDependenciesScanner;
     }
+
+    /**
+     * Gets the class visit results of the frontend dependency scans of this
+     * build, so that a scan only visits the class files that have changed since
+     * an earlier scan with these options.
+     *
+     * @return the class visit cache, not {@code null}
+     */
+    public ClassVisitCache getClassVisitCache() {
+        if (classVisitCache == null) {
+            classVisitCache = new ClassVisitCache();
+        }
+        return classVisitCache;
+    }
 }
@@ -19,7 +19,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -118,6 +120,24 @@ public class TaskCopyFrontendFiles
                 .resolve(relativePath).toFile()).toList());
     }
 
+    @Override
+    public String getInputHash() {
+        List<File> inputs = new ArrayList<>();
+        for (File location : resourceLocations) {
+            if (location.isDirectory()) {
+                inputs.add(new File(location, RESOURCES_FRONTEND_DEFAULT));
+                inputs.add(new File(location,
+                        COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT));
+                inputs.add(new File(location, RESOURCES_JAR_DEFAULT));
+            } else {
+                inputs.add(location);
+            }
+        }
+        return NodeTasksBuildState.hashInputs(List
+                .of(options.getJarFrontendResourcesFolder().getAbsolutePath()),
+                inputs);
+    }
+
     static Set<String> getFilesInDirectory(File targetDirectory,
             String... relativePathExclusions) throws IOException {
         try (Stream<Path> stream = Files.walk(targetDirectory.toPath())) {
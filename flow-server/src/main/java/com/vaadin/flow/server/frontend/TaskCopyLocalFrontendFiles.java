@@ -24,6 +24,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -59,6 +60,17 @@ public class TaskCopyLocalFrontendFiles
                 "vaadin.frontend.disableWritableFlagCheckOnCopy", "false"));
     }
 
+    @Override
+    public String getInputHash() {
+        File localResourcesFolder = options.getLocalResourcesFolder();
+        return NodeTasksBuildState.hashInputs(
+                List.of(options.getJarFrontendResourcesFolder()
+                        .getAbsolutePath(),
+                        String.valueOf(shouldApplyWriteableFlag())),
+                localResourcesFolder == null ? List.of()
+                        : List.of(localResourcesFolder));
+    }
+
     @Override
     public void execute() {
         File target = options.getJarFrontendResourcesFolder();
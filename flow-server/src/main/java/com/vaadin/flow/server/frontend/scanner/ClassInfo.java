@@ -21,4 +21,24 @@ public class ClassInfo {
     public ClassInfo(String className) {
         this.className = className;
     }
+
+    /**
+     * Creates a deep copy of this info, so that the copy can be modified
+     * without affecting this one.
+     *
+     * @return a copy of this info
+     */
+    ClassInfo copy() {
+        ClassInfo copy = new ClassInfo(className);
+        copy.modules.addAll(modules);
+        copy.modulesDevelopmentOnly.addAll(modulesDevelopmentOnly);
+        copy.scripts.addAll(scripts);
+        copy.scriptsDevelopmentOnly.addAll(scriptsDevelopmentOnly);
+        copy.css.addAll(css);
+        copy.route = route;
+        copy.layout = layout;
+        copy.theme = theme == null ? null : theme.copy();
+        copy.children = new HashSet<>(children);
+        return copy;
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of the class visits made by {@link FrontendDependencies}, so that
+ * following scans of the same build only visit class files that have changed.
+ * <p>
+ * A result is keyed by both the location and the SHA-256 of the class file, so
+ * it is only reused for the same class path entry. Results are copied when they
+ * are stored and when they are looked up, so scans never share state.
+ * <p>
+ * The cache is meant to live as long as the build it belongs to, e.g. in the
+ * {@link com.vaadin.flow.server.frontend.Options} of the build.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public final class ClassVisitCache {
+
+    private final Map<String, ClassInfo> results = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a copy of the stored visit result of the given class file.
+     *
+     * @param url
+     *            the location of the class file
+     * @param hash
+     *            the SHA-256 of the class file content
+     * @return a copy of the visit result, or {@code null} if the class file has
+     *         not been visited
+     */
+    ClassInfo get(URL url, String hash) {
+        ClassInfo info = results.get(getKey(url, hash));
+        return info == null ? null : info.copy();
+    }
+
+    /**
+     * Stores a copy of the visit result of the given class file.
+     *
+     * @param url
+     *            the location of the class file
+     * @param hash
+     *            the SHA-256 of the class file content
+     * @param info
+     *            the visit result
+     */
+    void put(URL url, String hash, ClassInfo info) {
+        results.put(getKey(url, hash), info.copy());
+    }
+
+    private static String getKey(URL url, String hash) {
+        return url.toExternalForm() + '#' + hash;
+    }
+}
@@ -31,7 +31,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +54,7 @@ import com.vaadin.flow.component.WebComponentExporter;
 import com.vaadin.flow.component.WebComponentExporterFactory;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.router.DefaultRoutePathProvider;
 import com.vaadin.flow.router.HasErrorParameter;
@@ -96,7 +103,10 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     private AbstractTheme themeInstance;
     private final HashMap<String, String> packages = new HashMap<>();
     private final HashMap<String, String> devPackages = new HashMap<>();
-    private final Map<String, ClassInfo> visitedClasses = new HashMap<>();
+    private final Map<String, ClassInfo> visitedClasses = new ConcurrentHashMap<>();
+
+    private final transient ClassVisitCache classVisitCache;
+    private final transient LongAdder reusedVisits = new LongAdder();
 
     private PwaConfiguration pwaConfiguration;
     private Class<? extends Annotation> routeClass;
@@ -164,7 +174,33 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents, FeatureFlags featureFlags,
             boolean reactEnabled) {
+        this(finder, generateEmbeddableWebComponents, featureFlags,
+                reactEnabled, new ClassVisitCache());
+    }
+
+    /**
+     * Creates a scanner that reuses the class visit results of earlier scans of
+     * the same build.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param featureFlags
+     *            available feature flags and their status
+     * @param reactEnabled
+     *            {@code true} if react is enabled, {@code false} otherwise
+     * @param classVisitCache
+     *            the class visit results of the build, updated with the results
+     *            of this scan, not {@code null}
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, FeatureFlags featureFlags,
+            boolean reactEnabled, ClassVisitCache classVisitCache) {
         super(finder, featureFlags);
+        this.classVisitCache = Objects.requireNonNull(classVisitCache);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
@@ -173,7 +209,9 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             computeEagerRouteConfiguration();
 
             collectEntryPoints(generateEmbeddableWebComponents);
+            long entryPointsCollected = System.nanoTime();
             visitEntryPoints();
+            long entryPointsVisited = System.nanoTime();
             computeApplicationTheme();
             if (themeDefinition != null && themeDefinition.getTheme() != null) {
                 Class<? extends AbstractTheme> themeClass = themeDefinition
@@ -186,12 +224,22 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             if (reactEnabled) {
                 computeReactClasses(finder);
             }
+            long themeComputed = System.nanoTime();
             computePackages();
             computePwaConfiguration();
             aggregateEntryPointInformation();
-            long ms = (System.nanoTime() - start) / 1000000;
-            log().info("Visited {} classes. Took {} ms.", visitedClasses.size(),
-                    ms);
+            long end = System.nanoTime();
+
+            log().info(
+                    "Visited {} classes ({} unchanged since an earlier scan of the build). Took {} ms.",
+                    visitedClasses.size(), reusedVisits.sum(),
+                    (end - start) / 1000000);
+            log().debug(
+                    "Collecting entry points took {} ms, visiting classes {} ms, computing the theme {} ms, computing packages and aggregating entry points {} ms.",
+                    (entryPointsCollected - start) / 1000000,
+                    (entryPointsVisited - entryPointsCollected) / 1000000,
+                    (themeComputed - entryPointsVisited) / 1000000,
+                    (end - themeComputed) / 1000000);
         } catch (IllegalArgumentException ex) {
             StackTraceElement[] stackTrace = ex.getStackTrace();
             if (ex.getMessage() != null
@@ -288,15 +336,22 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     }
 
     private void visitEntryPoints() throws IOException {
+        // The class graphs of all entry points are visited in one go, but the
+        // reachable classes depend on the entry points before, so they are
+        // collected in order afterwards
+        visitClasses(entryPoints.keySet());
         for (Entry<String, EntryPointData> entry : entryPoints.entrySet()) {
-            visitEntryPoint(entry.getValue());
+            computeReachableClasses(entry.getValue());
         }
 
     }
 
     private void visitEntryPoint(EntryPointData entryPoint) throws IOException {
-        visitClass(entryPoint.getName(), entryPoint);
+        visitClasses(List.of(entryPoint.getName()));
+        computeReachableClasses(entryPoint);
+    }
 
+    private void computeReachableClasses(EntryPointData entryPoint) {
         entryPoint.reachableClasses = collectReachableClasses(entryPoint);
         if (log().isDebugEnabled()) {
             log().debug("Classes reachable from {}: {}", entryPoint.getName(),
@@ -423,6 +478,16 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return visitedClasses.keySet();
     }
 
+    /**
+     * Gets the number of classes whose visit result was reused from an earlier
+     * scan of the build because their class file had not changed.
+     *
+     * @return the number of reused class visits
+     */
+    long getReusedVisitCount() {
+        return reusedVisits.sum();
+    }
+
     /**
      * Get all entryPoints in the application.
      *
@@ -872,41 +937,124 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     }
 
     /**
-     * Recursive method for visiting class names using bytecode inspection.
+     * Visits the given classes and all classes reachable from them using
+     * bytecode inspection.
+     * <p>
+     * The class graph is walked with fork-join tasks so that class files are
+     * read and visited in parallel. Each class is claimed by exactly one task
+     * through {@link #visitedClasses}, which makes the result independent of
+     * the order in which the tasks run.
      *
-     * @param className
-     * @param entryPoint
-     * @return
+     * @param classNames
+     *            the names of the classes to start from
      * @throws IOException
+     *             if a class file cannot be read
      */
-    void visitClass(String className, EntryPointData entryPoint)
+    private void visitClasses(Collection<String> classNames)
             throws IOException {
+        List<String> claimed = classNames.stream().filter(this::claimClass)
+                .toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ForkJoinPool.commonPool()
+                .invoke(new VisitClassesTask(claimed, failure));
+
+        Exception exception = failure.get();
+        if (exception instanceof IOException ioException) {
+            throw ioException;
+        } else if (exception != null) {
+            throw (RuntimeException) exception;
+        }
+    }
 
+    private boolean claimClass(String className) {
         if (visitedClasses.containsKey(className) || !shouldVisit(className)) {
-            return;
+            return false;
+        }
+        return visitedClasses.putIfAbsent(className,
+                new ClassInfo(className)) == null;
+    }
+
+    private final class VisitClassesTask extends RecursiveAction {
+
+        private final List<String> classNames;
+        private final AtomicReference<Exception> failure;
+
+        private VisitClassesTask(List<String> classNames,
+                AtomicReference<Exception> failure) {
+            this.classNames = classNames;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (classNames.size() > 1) {
+                invokeAll(classNames.stream().map(
+                        className -> new VisitClassesTask(List.of(className),
+                                failure))
+                        .toList());
+                return;
+            }
+            if (failure.get() != null) {
+                return;
+            }
+            ClassInfo info;
+            try {
+                info = visitClass(classNames.get(0));
+            } catch (IOException | RuntimeException exception) {
+                failure.compareAndSet(null, exception);
+                return;
+            }
+            List<String> children = info.children.stream()
+                    .filter(FrontendDependencies.this::claimClass).toList();
+            if (!children.isEmpty()) {
+                new VisitClassesTask(children, failure).compute();
+            }
         }
-        ClassInfo info = new ClassInfo(className);
-        visitedClasses.put(className, info);
+    }
 
+    /**
+     * Visits a claimed class, reusing the result of an earlier scan if the
+     * class file has not changed.
+     *
+     * @param className
+     *            the name of the class to visit
+     * @return the info collected for the class
+     * @throws IOException
+     *             if the class file cannot be read
+     */
+    private ClassInfo visitClass(String className) throws IOException {
+        ClassInfo info = visitedClasses.get(className);
         URL url = getUrl(className);
         if (url == null) {
-            return;
+            return info;
         }
 
-        FrontendClassVisitor visitor = new FrontendClassVisitor(info);
         try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+            byte[] classFile = is.readAllBytes();
+            String hash = MessageDigestUtil.sha256Hex(classFile);
+            ClassInfo previous = classVisitCache.get(url, hash);
+            if (previous != null) {
+                reusedVisits.increment();
+                info = previous;
+                visitedClasses.put(className, info);
+            } else {
+                // Frames and debug information are not used by the visitor,
+                // so they are neither expanded nor read
+                new ClassReader(classFile).accept(
+                        new FrontendClassVisitor(info),
+                        ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+                classVisitCache.put(url, hash, info);
+            }
         } catch (Exception e) {
             log().error(
                     "Visiting class {} failed with {}.\nThis might be a broken class in the project.",
                     className, e.getMessage());
             throw e;
         }
-
-        for (String clazz : info.children) {
-            visitClass(clazz, entryPoint);
-        }
+        return info;
     }
 
     protected boolean shouldVisit(String className) {
@@ -124,6 +124,38 @@ public interface FrontendDependenciesScanner extends Serializable {
                 boolean allDependenciesScan, ClassFinder finder,
                 boolean generateEmbeddableWebComponents,
                 FeatureFlags featureFlags, boolean reactEnabled) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, featureFlags, reactEnabled,
+                    new ClassVisitCache());
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value, reusing the class visit results of earlier scans of the same
+         * build.
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param featureFlags
+         *            available feature flags and their status
+         * @param reactEnabled
+         *            {@code true} if react is enabled, {@code true otherwise}
+         * @param classVisitCache
+         *            the class visit results of the build, only used by the
+         *            byte scanning strategy, not {@code null}
+         * @return a scanner implementation strategy
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents,
+                FeatureFlags featureFlags, boolean reactEnabled,
+                ClassVisitCache classVisitCache) {
             if (allDependenciesScan) {
                 // this dep scanner can't distinguish embeddable web component
                 // frontend related annotations
@@ -132,7 +164,7 @@ public interface FrontendDependenciesScanner extends Serializable {
             } else {
                 return new FrontendDependencies(finder,
                         generateEmbeddableWebComponents, featureFlags,
-                        reactEnabled);
+                        reactEnabled, classVisitCache);
             }
         }
 
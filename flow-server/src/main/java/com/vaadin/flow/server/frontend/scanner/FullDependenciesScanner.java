@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -249,11 +250,13 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
                     .loadClass(NpmPackage.class.getName());
             Set<Class<?>> annotatedClasses = getFinder()
                     .getAnnotatedClasses(loadedAnnotation);
+            Map<Class<?>, List<? extends Annotation>> annotations = readAnnotations(
+                    annotatedClasses, loadedAnnotation);
             Set<String> logs = new HashSet<>();
             for (Class<?> clazz : annotatedClasses) {
                 classes.add(clazz.getName());
-                List<? extends Annotation> packageAnnotations = annotationFinder
-                        .apply(clazz, loadedAnnotation);
+                List<? extends Annotation> packageAnnotations = annotations
+                        .get(clazz);
                 packageAnnotations.forEach(annotation -> {
                     String value = getAnnotationValueAsString(annotation,
                             VALUE);
@@ -288,11 +291,12 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
                     .loadClass(CssImport.class.getName());
             Set<Class<?>> annotatedClasses = getFinder()
                     .getAnnotatedClasses(loadedAnnotation);
+            Map<Class<?>, List<? extends Annotation>> annotations = readAnnotations(
+                    annotatedClasses, loadedAnnotation);
             LinkedHashSet<CssData> result = new LinkedHashSet<>();
             for (Class<?> clazz : annotatedClasses) {
                 classes.add(clazz.getName());
-                List<? extends Annotation> imports = annotationFinder
-                        .apply(clazz, loadedAnnotation);
+                List<? extends Annotation> imports = annotations.get(clazz);
                 imports.stream().forEach(imp -> result.add(createCssData(imp)));
             }
             return new ArrayList<>(result);
@@ -310,36 +314,37 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
             Set<String> logs = new HashSet<>();
             Class<? extends Annotation> loadedAnnotation = getFinder()
                     .loadClass(annotationType.getName());
-            Set<Class<?>> annotatedClasses = getFinder()
-                    .getAnnotatedClasses(loadedAnnotation);
-
-            annotatedClasses.stream()
+            List<Class<?>> annotatedClasses = getFinder()
+                    .getAnnotatedClasses(loadedAnnotation).stream()
                     .filter(c -> !isDisabledExperimentalClass(c.getName()))
-                    .forEach(clazz -> annotationFinder
-                            .apply(clazz, loadedAnnotation).forEach(ann -> {
-                                String value = getAnnotationValueAsString(ann,
-                                        VALUE);
-                                Boolean developmentOnly = getAnnotationValueAsBoolean(
-                                        ann, DEVELOPMENT_ONLY);
-
-                                classes.add(clazz.getName());
-
-                                if (isNotActiveThemeClass(clazz)) {
-                                    // The scanner will discover all theme
-                                    // classes (Lumo and Material)
-                                    // but should include imports only from the
-                                    // active one
-                                    return;
-                                }
-
-                                if (developmentOnly) {
-                                    targetDevOnly.add(value);
-                                } else {
-                                    target.add(value);
-                                }
-
-                                logs.add(value + " " + clazz);
-                            }));
+                    .toList();
+            Map<Class<?>, List<? extends Annotation>> annotations = readAnnotations(
+                    annotatedClasses, loadedAnnotation);
+
+            annotatedClasses
+                    .forEach(clazz -> annotations.get(clazz).forEach(ann -> {
+                        String value = getAnnotationValueAsString(ann, VALUE);
+                        Boolean developmentOnly = getAnnotationValueAsBoolean(
+                                ann, DEVELOPMENT_ONLY);
+
+                        classes.add(clazz.getName());
+
+                        if (isNotActiveThemeClass(clazz)) {
+                            // The scanner will discover all theme
+                            // classes (Lumo and Material)
+                            // but should include imports only from the
+                            // active one
+                            return;
+                        }
+
+                        if (developmentOnly) {
+                            targetDevOnly.add(value);
+                        } else {
+                            target.add(value);
+                        }
+
+                        logs.add(value + " " + clazz);
+                    }));
 
             debug("@" + annotationType.getSimpleName(), logs);
         } catch (ClassNotFoundException exception) {
@@ -349,6 +354,29 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
         }
     }
 
+    /**
+     * Reads the annotations of the given type from the annotated classes.
+     * <p>
+     * Reflection over each class is independent, so the classes are read in
+     * parallel, while the returned map keeps the iteration order of the given
+     * classes.
+     */
+    private Map<Class<?>, List<? extends Annotation>> readAnnotations(
+            Collection<Class<?>> annotatedClasses,
+            Class<? extends Annotation> loadedAnnotation) {
+        List<Class<?>> classList = new ArrayList<>(annotatedClasses);
+        List<List<? extends Annotation>> annotations = classList
+                .parallelStream()
+                .<List<? extends Annotation>> map(clazz -> annotationFinder
+                        .apply(clazz, loadedAnnotation))
+                .toList();
+        Map<Class<?>, List<? extends Annotation>> result = new LinkedHashMap<>();
+        for (int i = 0; i < classList.size(); i++) {
+            result.put(classList.get(i), annotations.get(i));
+        }
+        return result;
+    }
+
     private void debug(String label, Set<String> log) {
         if (getLogger().isDebugEnabled()) {
             log.add("\n List of " + label + " found in the project:");
@@ -63,6 +63,15 @@ final class ThemeData implements Serializable {
         return notheme;
     }
 
+    ThemeData copy() {
+        ThemeData copy = new ThemeData();
+        copy.themeClass = themeClass;
+        copy.variant = variant;
+        copy.themeName = themeName;
+        copy.notheme = notheme;
+        return copy;
+    }
+
     static ThemeData createNoTheme() {
         ThemeData data = new ThemeData();
         data.notheme = true;
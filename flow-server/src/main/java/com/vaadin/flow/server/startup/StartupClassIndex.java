@@ -0,0 +1,295 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import jakarta.servlet.annotation.HandlesTypes;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+/**
+ * Build-time index of the classes handled by the Flow startup initializers.
+ * <p>
+ * The production build writes the classes that are annotated with, or extend,
+ * the {@link HandlesTypes} values of {@link #getIndexedInitializers()} into
+ * {@value #INDEX_FILE} in the servlet resources, so that integrations that scan
+ * the class path themselves (e.g. Vaadin Spring) can look the classes up
+ * instead of scanning at startup. The index is not written for development
+ * builds, so an empty index is returned when it is not available.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public final class StartupClassIndex implements Serializable {
+
+    /**
+     * Location of the index file relative to the servlet resources folder.
+     */
+    public static final String INDEX_FILE = Constants.VAADIN_CONFIGURATION
+            + "startup-class-index.properties";
+
+    private static final String INDEX_RESOURCE = Constants.VAADIN_SERVLET_RESOURCES
+            + INDEX_FILE;
+
+    private static final List<Class<?>> INDEXED_INITIALIZERS = List.of(
+            LookupServletContainerInitializer.class,
+            RouteRegistryInitializer.class,
+            ErrorNavigationTargetInitializer.class,
+            VaadinAppShellInitializer.class,
+            WebComponentConfigurationRegistryInitializer.class,
+            AnnotationValidator.class,
+            WebComponentExporterAwareValidator.class);
+
+    private final Map<String, Set<String>> classNames;
+
+    private StartupClassIndex(Map<String, Set<String>> classNames) {
+        this.classNames = classNames;
+    }
+
+    /**
+     * Gets the initializers whose handled types are indexed.
+     *
+     * @return the indexed initializer classes, not {@code null}
+     */
+    public static List<Class<?>> getIndexedInitializers() {
+        return INDEXED_INITIALIZERS;
+    }
+
+    /**
+     * Gets the annotations and super types that are indexed, i.e. the
+     * {@link HandlesTypes} values of {@link #getIndexedInitializers()}.
+     *
+     * @return the indexed types, not {@code null}
+     */
+    public static Set<Class<?>> getIndexedTypes() {
+        return INDEXED_INITIALIZERS.stream().map(
+                initializer -> initializer.getAnnotation(HandlesTypes.class))
+                .flatMap(handlesTypes -> Stream.of(handlesTypes.value()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Creates an index of the {@link #getIndexedTypes() indexed types} using
+     * the given class finder.
+     *
+     * @param finder
+     *            the class finder for the application class path, not
+     *            {@code null}
+     * @return the index, not {@code null}
+     * @throws ClassNotFoundException
+     *             if an indexed type is not available through the finder
+     */
+    @SuppressWarnings("unchecked")
+    public static StartupClassIndex create(ClassFinder finder)
+            throws ClassNotFoundException {
+        Map<String, Set<String>> classNames = new TreeMap<>();
+        for (Class<?> type : getIndexedTypes()) {
+            // the types have to come from the application class loader so
+            // that the finder can match them
+            Class<?> applicationType = finder.loadClass(type.getName());
+            Set<? extends Class<?>> classes = applicationType.isAnnotation()
+                    ? finder.getAnnotatedClasses(
+                            (Class<? extends Annotation>) applicationType)
+                    : finder.getSubTypesOf(applicationType);
+            classNames.put(type.getName(),
+                    classes.stream().filter(clazz -> clazz != applicationType)
+                            .map(Class::getName)
+                            .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return new StartupClassIndex(classNames);
+    }
+
+    /**
+     * Loads the index from the given class loader.
+     * <p>
+     * The index describes a single application. If more than one index is
+     * found, e.g. because a dependency has been built as a Vaadin application
+     * too, it cannot be told which one belongs to the application, so none of
+     * them is used and an empty index is returned.
+     *
+     * @param classLoader
+     *            the class loader to load the index with, or {@code null} to
+     *            use the class loader of this class
+     * @return the index, which is empty if no single index is available
+     */
+    public static StartupClassIndex load(ClassLoader classLoader) {
+        ClassLoader loader = classLoader == null
+                ? StartupClassIndex.class.getClassLoader()
+                : classLoader;
+        Map<String, Set<String>> classNames = new HashMap<>();
+        try {
+            List<URL> resources = Collections
+                    .list(loader.getResources(INDEX_RESOURCE));
+            if (resources.size() > 1) {
+                getLogger().warn(
+                        "Ignoring the startup class index since more than one was found: {}",
+                        resources);
+            } else if (resources.size() == 1) {
+                read(resources.get(0), classNames);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(
+                    "Unable to read the startup class index", exception);
+        }
+        return new StartupClassIndex(classNames);
+    }
+
+    private static void read(URL resource, Map<String, Set<String>> target)
+            throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = resource.openStream()) {
+            properties.load(stream);
+        }
+        for (String type : properties.stringPropertyNames()) {
+            Set<String> names = target.computeIfAbsent(type,
+                    key -> new LinkedHashSet<>());
+            String value = properties.getProperty(type).trim();
+            if (!value.isEmpty()) {
+                Stream.of(value.split(",")).map(String::trim)
+                        .forEach(names::add);
+            }
+        }
+    }
+
+    /**
+     * Writes the index into the given file, one line per indexed type.
+     *
+     * @param file
+     *            the file to write, not {@code null}
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(),
+                StandardCharsets.UTF_8)) {
+            // written by hand rather than with Properties.store to keep the
+            // file free of timestamps and the build reproducible
+            writer.write("# Generated by the Vaadin build, do not edit");
+            writer.newLine();
+            for (Map.Entry<String, Set<String>> entry : new TreeMap<>(
+                    classNames).entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('=');
+                writer.write(String.join(",", entry.getValue()));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the index is empty, i.e. no index was available.
+     *
+     * @return {@code true} if nothing is indexed, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return classNames.isEmpty();
+    }
+
+    /**
+     * Checks whether all the given types are indexed.
+     *
+     * @param types
+     *            the annotations or super types to check, not {@code null}
+     * @return {@code true} if the classes for all the types can be looked up
+     *         from this index, {@code false} otherwise
+     */
+    public boolean contains(Collection<? extends Class<?>> types) {
+        return !classNames.isEmpty() && types.stream()
+                .allMatch(type -> classNames.containsKey(type.getName()));
+    }
+
+    /**
+     * Gets the names of the indexed classes for the given type.
+     *
+     * @param type
+     *            the annotation or super type, not {@code null}
+     * @return the class names, empty if none are indexed
+     */
+    public Set<String> getClassNames(Class<?> type) {
+        return Collections.unmodifiableSet(classNames
+                .getOrDefault(type.getName(), Collections.emptySet()));
+    }
+
+    /**
+     * Loads the indexed classes for the given types whose names pass the given
+     * filter.
+     * <p>
+     * Classes that cannot be loaded, e.g. because an optional dependency is not
+     * available at runtime, are skipped.
+     *
+     * @param types
+     *            the annotations or super types, not {@code null}
+     * @param classNameFilter
+     *            the filter for the fully qualified class names, not
+     *            {@code null}
+     * @param classLoader
+     *            the class loader to load the classes with, or {@code null} to
+     *            use the class loader of this class
+     * @return the classes, not {@code null}
+     */
+    public Set<Class<?>> getClasses(Collection<? extends Class<?>> types,
+            Predicate<String> classNameFilter, ClassLoader classLoader) {
+        ClassLoader loader = classLoader == null
+                ? StartupClassIndex.class.getClassLoader()
+                : classLoader;
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        types.stream().map(this::getClassNames).flatMap(Set::stream).distinct()
+                .filter(classNameFilter).forEach(name -> {
+                    try {
+                        classes.add(Class.forName(name, false, loader));
+                    } catch (ClassNotFoundException | LinkageError error) {
+                        getLogger().debug(
+                                "Skipping indexed class {} which cannot be loaded",
+                                name, error);
+                    }
+                });
+        return classes;
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StartupClassIndex.class);
+    }
+}
@@ -162,6 +162,12 @@ public class ApplicationConstants implements Serializable {
      */
     public static final String REQUEST_QUERY_PARAMETER = "query";
 
+    /**
+     * Parameter of the init request by which the client declares that it can
+     * decode state tree changes in the compact array format.
+     */
+    public static final String REQUEST_COMPACT_CHANGES_PARAMETER = "compactChanges";
+
     /**
      * Get parameter used in framework requests to identify the request type.
      */
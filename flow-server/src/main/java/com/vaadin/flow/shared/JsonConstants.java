@@ -124,6 +124,76 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Compact change type code of a node attach change, encoded as
+     * <code>[type, node]</code>.
+     * <p>
+     * Compact changes are JSON arrays starting with the type code and the node
+     * id, followed by the feature id for feature changes and then the values
+     * described for each type.
+     */
+    public static final int COMPACT_CHANGE_ATTACH = 0;
+
+    /**
+     * Compact change type code of a node detach change, encoded as
+     * <code>[type, node]</code>.
+     */
+    public static final int COMPACT_CHANGE_DETACH = 1;
+
+    /**
+     * Compact change type code of an empty change for a map feature, encoded as
+     * <code>[type, node, feat]</code>.
+     */
+    public static final int COMPACT_CHANGE_EMPTY_MAP = 2;
+
+    /**
+     * Compact change type code of an empty change for a list feature, encoded
+     * as <code>[type, node, feat]</code>.
+     */
+    public static final int COMPACT_CHANGE_EMPTY_LIST = 3;
+
+    /**
+     * Compact change type code of a map put change with a value, encoded as
+     * <code>[type, node, feat, key, value]</code>.
+     */
+    public static final int COMPACT_CHANGE_PUT = 4;
+
+    /**
+     * Compact change type code of a map put change with a node value, encoded
+     * as <code>[type, node, feat, key, nodeValue]</code>.
+     */
+    public static final int COMPACT_CHANGE_PUT_NODE = 5;
+
+    /**
+     * Compact change type code of a map remove change, encoded as
+     * <code>[type, node, feat, key]</code>.
+     */
+    public static final int COMPACT_CHANGE_REMOVE = 6;
+
+    /**
+     * Compact change type code of a list splice change that only removes items,
+     * encoded as <code>[type, node, feat, index, remove]</code>.
+     */
+    public static final int COMPACT_CHANGE_SPLICE = 7;
+
+    /**
+     * Compact change type code of a list splice change that adds values,
+     * encoded as <code>[type, node, feat, index, remove, [values]]</code>.
+     */
+    public static final int COMPACT_CHANGE_SPLICE_ADD = 8;
+
+    /**
+     * Compact change type code of a list splice change that adds nodes, encoded
+     * as <code>[type, node, feat, index, remove, [nodeIds]]</code>.
+     */
+    public static final int COMPACT_CHANGE_SPLICE_ADD_NODES = 9;
+
+    /**
+     * Compact change type code of a list clear change, encoded as
+     * <code>[type, node, feat]</code>.
+     */
+    public static final int COMPACT_CHANGE_CLEAR = 10;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
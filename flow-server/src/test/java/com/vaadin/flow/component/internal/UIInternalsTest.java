@@ -1,5 +1,6 @@
 package com.vaadin.flow.component.internal;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -8,6 +9,7 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -558,4 +560,20 @@ public class UIInternalsTest {
         return pushConfig;
     }
 
+    @Test
+    public void serialize_lastRequestResponseBytes_onlyUsedPartSerialized() {
+        UI realUI = new UI();
+        byte[] buffer = new byte[100000];
+        byte[] response = "for(;;);[{}]".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(response, 0, buffer, 0, response.length);
+        realUI.getInternals().setLastRequestResponse(buffer, response.length);
+
+        byte[] serialized = SerializationUtils.serialize(realUI);
+        UI deserialized = SerializationUtils.deserialize(serialized);
+
+        Assert.assertTrue(serialized.length < buffer.length);
+        Assert.assertEquals("for(;;);[{}]",
+                deserialized.getInternals().getLastRequestResponse());
+    }
+
 }
@@ -2196,7 +2196,7 @@ public class ElementJacksonTest extends AbstractNodeTest {
         div.setAttribute("pin", "");
 
         Assert.assertEquals(
-                "<div pin foo=\"bar\" style=\"width:20px\" class=\"cls\"></div>",
+                "<div foo=\"bar\" pin style=\"width:20px\" class=\"cls\"></div>",
                 div.getOuterHTML());
     }
 
@@ -69,6 +69,24 @@ public class JacksonCodecTest {
                 objectMapper.createArrayNode());
     }
 
+    @Test
+    public void decodeWithoutTypeInfo_supportedTypes() {
+        Assert.assertEquals(Boolean.TRUE, JacksonCodec
+                .decodeWithoutTypeInfo(objectMapper.valueToTree(true)));
+        Assert.assertEquals("string", JacksonCodec
+                .decodeWithoutTypeInfo(objectMapper.valueToTree("string")));
+        Assert.assertEquals(3.14, JacksonCodec
+                .decodeWithoutTypeInfo(objectMapper.valueToTree(3.14)));
+        Assert.assertNull(
+                JacksonCodec.decodeWithoutTypeInfo(objectMapper.nullNode()));
+
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("foo", "bar");
+        Assert.assertSame(json, JacksonCodec.decodeWithoutTypeInfo(json));
+        JsonNode array = objectMapper.createArrayNode().add(1);
+        Assert.assertSame(array, JacksonCodec.decodeWithoutTypeInfo(array));
+    }
+
     @Test
     public void encodeWithoutTypeInfo_unsupportedTypes() {
         List<Object> unsupported = new ArrayList<>(
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StateNodeTableTest {
+
+    private final StateNodeTable table = new StateNodeTable();
+
+    @Test
+    public void addAndRemove_manyNodes_matchesMap() {
+        Map<Integer, StateNode> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                StateNode node = new StateNode();
+                int id = table.add(node, -1);
+                Assert.assertNull(expected.put(id, node));
+            } else {
+                int id = expected.keySet().iterator().next();
+                Assert.assertSame(expected.remove(id), table.remove(id));
+            }
+            if (i % 100 == 0) {
+                // Frees the removed ids for reuse
+                table.releasedIdsCollected();
+                table.releasedIdsSent(i);
+                table.releasedIdsConfirmed(i + 1);
+            }
+        }
+
+        Assert.assertEquals(expected.size(), table.size());
+        expected.forEach((id, node) -> Assert.assertSame(node, table.get(id)));
+        int maxId = expected.keySet().stream().mapToInt(Integer::intValue).max()
+                .getAsInt();
+        for (int id = 1; id <= maxId; id++) {
+            Assert.assertEquals(expected.containsKey(id), table.contains(id));
+        }
+    }
+
+    @Test
+    public void remove_idNotReusedBeforeConfirmation() {
+        int id = table.add(new StateNode(), -1);
+        table.remove(id);
+        Assert.assertNull(table.get(id));
+
+        Assert.assertNotEquals(id, table.add(new StateNode(), -1));
+        table.releasedIdsCollected();
+        Assert.assertNotEquals(id, table.add(new StateNode(), -1));
+        table.releasedIdsSent(3);
+        table.releasedIdsConfirmed(3);
+        Assert.assertNotEquals(id, table.add(new StateNode(), -1));
+
+        table.releasedIdsConfirmed(4);
+        Assert.assertEquals(id, table.add(new StateNode(), -1));
+    }
+
+    @Test
+    public void remove_removedAfterCollecting_notReusedWithCollectedIds() {
+        int collectedId = table.add(new StateNode(), -1);
+        int laterId = table.add(new StateNode(), -1);
+        table.remove(collectedId);
+        table.releasedIdsCollected();
+        table.remove(laterId);
+        table.releasedIdsSent(1);
+        table.releasedIdsConfirmed(2);
+
+        Assert.assertEquals(collectedId, table.add(new StateNode(), -1));
+        Assert.assertNotEquals(laterId, table.add(new StateNode(), -1));
+    }
+
+    @Test
+    public void add_previousIdReleased_idTakenBackAndNotHandedOut() {
+        StateNode node = new StateNode();
+        int id = table.add(node, -1);
+        table.remove(id);
+        table.releasedIdsCollected();
+        table.releasedIdsSent(1);
+        table.releasedIdsConfirmed(2);
+
+        Assert.assertEquals(id, table.add(node, id));
+        Assert.assertSame(node, table.get(id));
+        Assert.assertNotEquals(id, table.add(new StateNode(), -1));
+    }
+
+    @Test
+    public void add_previousIdInUse_newIdHandedOut() {
+        StateNode node = new StateNode();
+        int id = table.add(node, -1);
+        table.remove(id);
+        table.releasedIdsCollected();
+        table.releasedIdsSent(1);
+        table.releasedIdsConfirmed(2);
+        StateNode other = new StateNode();
+        Assert.assertEquals(id, table.add(other, -1));
+
+        int newId = table.add(node, id);
+        Assert.assertNotEquals(id, newId);
+        Assert.assertSame(other, table.get(id));
+        Assert.assertSame(node, table.get(newId));
+    }
+
+    @Test
+    public void add_idNotHandedOut_newIdHandedOut() {
+        StateNode node = new StateNode();
+
+        int id = table.add(node, 1000);
+
+        Assert.assertEquals(1, id);
+        Assert.assertSame(node, table.get(id));
+    }
+
+    @Test
+    public void add_sameNodeAddedAgain_idKept() {
+        StateNode node = new StateNode();
+        int id = table.add(node, -1);
+
+        Assert.assertEquals(id, table.add(node, id));
+        Assert.assertEquals(1, table.size());
+    }
+}
@@ -45,6 +45,7 @@ import com.vaadin.flow.internal.change.MapPutChange;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.change.NodeDetachChange;
+import com.vaadin.flow.internal.change.NodeFeatureChange;
 import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
 import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
 import com.vaadin.flow.internal.nodefeature.ElementClassList;
@@ -133,6 +134,36 @@ public class StateNodeTest {
         node.getFeature(ElementPropertyMap.class);
     }
 
+    @Test
+    public void collectChanges_onlyChangedFeaturesReported() {
+        StateNode node = new StateNode(ElementData.class,
+                ElementAttributeMap.class, ElementPropertyMap.class,
+                ElementClassList.class);
+        setParent(node, createStateTree().getRootNode());
+
+        List<NodeChange> changes = new ArrayList<>();
+        node.collectChanges(changes::add);
+        changes.clear();
+
+        node.getFeature(ElementClassList.class).getClassList().add("foo");
+        node.getFeature(ElementData.class).setTag("div");
+
+        node.collectChanges(changes::add);
+
+        Set<Class<? extends NodeFeature>> changedFeatures = changes.stream()
+                .map(change -> ((NodeFeatureChange) change).getFeature())
+                .collect(Collectors.toSet());
+        Assert.assertEquals(2, changes.size());
+        Assert.assertTrue(changedFeatures.contains(ElementData.class));
+        Assert.assertTrue(changedFeatures.contains(ElementClassList.class));
+        Assert.assertFalse(changedFeatures.contains(ElementAttributeMap.class));
+        Assert.assertFalse(changedFeatures.contains(ElementPropertyMap.class));
+
+        changes.clear();
+        node.collectChanges(changes::add);
+        Assert.assertTrue("Node should have no changes", changes.isEmpty());
+    }
+
     @Test
     public void attachDetachChangeCollection() {
         StateNode node = createEmptyNode();
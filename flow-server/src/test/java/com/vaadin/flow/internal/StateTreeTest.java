@@ -416,6 +416,61 @@ public class StateTreeTest {
         Assert.assertSame(grandChild, tree.getNodeById(grandChildId));
     }
 
+    @Test
+    public void detachedNodeId_reusedAfterClientHasProcessedDetach() {
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        StateNode detached = StateNodeTest.createEmptyNode();
+        children.add(0, detached);
+        int detachedId = detached.getId();
+        tree.collectChanges(change -> {
+        });
+        tree.markChangesSent(1);
+
+        children.remove(0);
+        tree.collectChanges(change -> {
+        });
+        tree.markChangesSent(2);
+
+        // Client may still be processing the message with the detach
+        tree.markChangesConfirmed(2);
+        StateNode node = StateNodeTest.createEmptyNode();
+        children.add(0, node);
+        Assert.assertNotEquals(detachedId, node.getId());
+
+        tree.markChangesConfirmed(3);
+        StateNode reusing = StateNodeTest.createEmptyNode();
+        children.add(0, reusing);
+        Assert.assertEquals(detachedId, reusing.getId());
+        Assert.assertSame(reusing, tree.getNodeById(detachedId));
+
+        // Gets a new id since the old one has been taken
+        children.add(0, detached);
+        Assert.assertNotEquals(detachedId, detached.getId());
+        Assert.assertSame(detached, tree.getNodeById(detached.getId()));
+    }
+
+    @Test
+    public void detachedNodeId_syncIdsNotInUse_notReused() {
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        StateNode detached = StateNodeTest.createEmptyNode();
+        children.add(0, detached);
+        int detachedId = detached.getId();
+        children.remove(0);
+        tree.collectChanges(change -> {
+        });
+        tree.markChangesSent(-1);
+        tree.markChangesConfirmed(-1);
+
+        StateNode node = StateNodeTest.createEmptyNode();
+        children.add(0, node);
+        Assert.assertNotEquals(detachedId, node.getId());
+
+        children.add(1, detached);
+        Assert.assertEquals(detachedId, detached.getId());
+    }
+
     @Test
     public void detachedNodeGarbageCollected() throws InterruptedException {
         StateNode child = new StateNode(ElementChildrenList.class);
@@ -841,4 +896,29 @@ public class StateTreeTest {
         Assert.assertEquals(1,
                 ui.getInternals().dumpPendingJavaScriptInvocations().size());
     }
+
+    @Test
+    public void moveNodeToAnotherUI_nodeGetsIdFromNewTree() {
+        UI otherUI = new UI();
+        StateTree otherTree = otherUI.getInternals().getStateTree();
+
+        Element moved = ElementFactory.createDiv();
+        for (int i = 0; i < 20; i++) {
+            moved.appendChild(ElementFactory.createSpan());
+        }
+        tree.getUI().getElement().appendChild(moved);
+        StateNode movedNode = moved.getNode();
+        Assert.assertTrue(movedNode.getId() > 20);
+
+        Element existing = ElementFactory.createDiv();
+        otherUI.getElement().appendChild(existing);
+
+        movedNode.removeFromTree(true);
+        otherUI.getElement().appendChild(moved);
+
+        Assert.assertNotEquals(existing.getNode().getId(), movedNode.getId());
+        Assert.assertSame(movedNode, otherTree.getNodeById(movedNode.getId()));
+        moved.getChildren().forEach(child -> Assert.assertSame(child.getNode(),
+                otherTree.getNodeById(child.getNode().getId())));
+    }
 }
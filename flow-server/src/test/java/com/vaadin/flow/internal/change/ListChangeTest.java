@@ -61,6 +61,44 @@ public class ListChangeTest {
         Assert.assertEquals(child2.getId(), addNodes.get(1).intValue());
     }
 
+    @Test
+    public void testBasicCompactJson() {
+        StateNode child1 = StateNodeTest.createEmptyNode("child1");
+        StateNode child2 = StateNodeTest.createEmptyNode("child2");
+        ListAddChange<StateNode> change = new ListAddChange<>(feature, true, 0,
+                Arrays.asList(child1, child2));
+
+        ArrayNode json = change.toCompactJson(null);
+
+        Assert.assertEquals(6, json.size());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_SPLICE_ADD_NODES,
+                json.get(0).intValue());
+        Assert.assertEquals(change.getNode().getId(), json.get(1).intValue());
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                json.get(2).intValue());
+        Assert.assertEquals(0, json.get(3).intValue());
+        Assert.assertEquals(0, json.get(4).intValue());
+
+        ArrayNode addNodes = (ArrayNode) json.get(5);
+        Assert.assertEquals(2, addNodes.size());
+        Assert.assertEquals(child1.getId(), addNodes.get(0).intValue());
+        Assert.assertEquals(child2.getId(), addNodes.get(1).intValue());
+    }
+
+    @Test
+    public void testRemoveCompactJson() {
+        ListRemoveChange<StateNode> change = new ListRemoveChange<>(feature, 3,
+                StateNodeTest.createEmptyNode("child"));
+
+        ArrayNode json = change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.size());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_SPLICE,
+                json.get(0).intValue());
+        Assert.assertEquals(3, json.get(3).intValue());
+        Assert.assertEquals(1, json.get(4).intValue());
+    }
+
     @Test
     public void testZeroRemoveNotInJson() {
         ListAddChange<StateNode> change = new ListAddChange<>(feature, false, 1,
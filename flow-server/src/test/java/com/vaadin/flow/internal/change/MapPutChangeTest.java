@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal.change;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Assert;
@@ -87,6 +88,46 @@ public class MapPutChangeTest {
         Assert.assertEquals(value.getId(), nodeValue.intValue());
     }
 
+    @Test
+    public void testCompactJson() {
+        MapPutChange change = new MapPutChange(feature, "some", "string");
+
+        ArrayNode json = change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.size());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_PUT,
+                json.get(0).intValue());
+        Assert.assertEquals(change.getNode().getId(), json.get(1).intValue());
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                json.get(2).intValue());
+        Assert.assertEquals("some", json.get(3).textValue());
+        Assert.assertEquals("string", json.get(4).textValue());
+    }
+
+    @Test
+    public void testCompactJsonValueTypes() {
+        for (Object input : new Object[] { "string", Integer.valueOf(1),
+                Boolean.TRUE, JacksonUtils.createObjectNode(), null }) {
+            JsonNode expected = getValue(input);
+            JsonNode actual = new MapPutChange(feature, "myKey", input)
+                    .toCompactJson(null).get(4);
+            Assert.assertEquals(expected.getNodeType(), actual.getNodeType());
+            Assert.assertEquals(expected.asText(), actual.asText());
+        }
+    }
+
+    @Test
+    public void testCompactNodeValueType() {
+        StateNode value = StateNodeTest.createEmptyNode("value");
+        MapPutChange change = new MapPutChange(feature, "myKey", value);
+
+        ArrayNode json = change.toCompactJson(null);
+
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_PUT_NODE,
+                json.get(0).intValue());
+        Assert.assertEquals(value.getId(), json.get(4).intValue());
+    }
+
     private JsonNode getValue(Object input) {
         MapPutChange change = new MapPutChange(feature, "myKey", input);
         ObjectNode json = change.toJson(null);
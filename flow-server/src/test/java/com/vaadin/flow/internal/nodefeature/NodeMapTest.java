@@ -18,7 +18,9 @@ package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -392,6 +394,110 @@ public class NodeMapTest
         Assert.assertTrue(nodeMap.usesSingleMap());
     }
 
+    @Test
+    public void putAndRemove_manyKeys_valuesAndChangesPreserved() {
+        collectChanges(nodeMap);
+
+        // Grow past the array representation into a hash map
+        for (int i = 0; i < 20; i++) {
+            nodeMap.put("key" + i, "value" + i);
+        }
+        for (int i = 0; i < 20; i += 2) {
+            nodeMap.remove("key" + i);
+        }
+
+        Assert.assertEquals(10, nodeMap.keySet().size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i % 2 == 1, nodeMap.contains("key" + i));
+            Assert.assertEquals(i % 2 == 1 ? "value" + i : null,
+                    nodeMap.get("key" + i));
+        }
+
+        List<NodeChange> changes = collectChanges(nodeMap);
+        // Keys added and removed within the same round produce no changes
+        Assert.assertEquals(10, changes.size());
+        Assert.assertTrue(changes.stream()
+                .allMatch(change -> change instanceof MapPutChange));
+    }
+
+    @Test
+    public void keySetIterator_removeDuringIteration_keysRemoved() {
+        nodeMap.put("a", "1");
+        nodeMap.put("b", "2");
+        nodeMap.put("c", "3");
+
+        Iterator<String> iterator = nodeMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!"b".equals(iterator.next())) {
+                iterator.remove();
+            }
+        }
+
+        Assert.assertEquals(Set.of("b"), nodeMap.keySet());
+        Assert.assertEquals("2", nodeMap.get("b"));
+        Assert.assertFalse(nodeMap.contains("a"));
+        Assert.assertFalse(nodeMap.contains("c"));
+
+        Iterator<String> emptying = nodeMap.keySet().iterator();
+        emptying.next();
+        emptying.remove();
+        Assert.assertThrows(IllegalStateException.class, emptying::remove);
+        Assert.assertFalse(emptying.hasNext());
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+    }
+
+    @Test
+    public void keySetIterator_mapModifiedDuringIteration_throws() {
+        nodeMap.put("a", "1");
+        nodeMap.put("b", "2");
+        nodeMap.put("c", "3");
+
+        Iterator<String> iterator = nodeMap.keySet().iterator();
+        iterator.next();
+        nodeMap.remove("b");
+        Assert.assertThrows(ConcurrentModificationException.class,
+                iterator::next);
+
+        iterator = nodeMap.keySet().iterator();
+        iterator.next();
+        nodeMap.put("d", "4");
+        Assert.assertThrows(ConcurrentModificationException.class,
+                iterator::next);
+    }
+
+    @Test
+    public void keySetIterator_mapGrowsToHashMap_throws() {
+        for (int i = 0; i < 8; i++) {
+            nodeMap.put("key" + i, "value" + i);
+        }
+
+        Iterator<String> iterator = nodeMap.keySet().iterator();
+        iterator.next();
+        nodeMap.put("key8", "value8");
+
+        Assert.assertThrows(ConcurrentModificationException.class,
+                iterator::next);
+    }
+
+    @Test
+    public void removeAll_fewKeys_emptyAndRemoveChangesCollected() {
+        nodeMap.put("a", "1");
+        nodeMap.put("b", "2");
+        nodeMap.put("c", "3");
+        collectChanges(nodeMap);
+
+        nodeMap.remove("b");
+        Assert.assertEquals(Set.of("a", "c"), nodeMap.keySet());
+        nodeMap.remove("a");
+        nodeMap.remove("c");
+
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+        List<NodeChange> changes = collectChanges(nodeMap);
+        Assert.assertEquals(3, changes.size());
+        Assert.assertTrue(changes.stream()
+                .allMatch(change -> change instanceof MapRemoveChange));
+    }
+
     @Test
     public void streamSingleNullValue() {
         nodeMap.put("foo", null);
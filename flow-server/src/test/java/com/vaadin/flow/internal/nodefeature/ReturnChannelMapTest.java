@@ -20,8 +20,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
@@ -48,6 +50,40 @@ public class ReturnChannelMapTest {
                 registration.getDisabledUpdateMode());
     }
 
+    @Test
+    public void nodeMovedToAnotherTree_channelIdsReassigned() {
+        ReturnChannelRegistration registration = returnChannelMap
+                .registerChannel((arguments, channel) -> {
+                });
+        int detachedChannelId = registration.getChannelId();
+
+        StateTree tree = new StateTree(new UI().getInternals(),
+                ElementChildrenList.class);
+        // Channels of the tree start from 0 as well
+        tree.allocateReturnChannelId();
+        tree.getRootNode().getFeature(ElementChildrenList.class).add(0, node);
+
+        Assert.assertNull("Id assigned by the previous owner should be stale",
+                returnChannelMap.get(detachedChannelId));
+        Assert.assertNotEquals(detachedChannelId, registration.getChannelId());
+        Assert.assertSame(registration,
+                returnChannelMap.get(registration.getChannelId()));
+        Assert.assertTrue(returnChannelMap.hasChannels());
+    }
+
+    @Test
+    public void removedChannel_notFound() {
+        ReturnChannelRegistration registration = returnChannelMap
+                .registerChannel((arguments, channel) -> {
+                });
+        int channelId = registration.getChannelId();
+
+        registration.remove();
+
+        Assert.assertNull(returnChannelMap.get(channelId));
+        Assert.assertFalse(returnChannelMap.hasChannels());
+    }
+
     @Test
     public void twoArgsHandler_invoked() {
         AtomicReference<JsonArray> observedArguments = new AtomicReference<>();
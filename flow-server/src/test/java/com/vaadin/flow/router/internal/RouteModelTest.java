@@ -57,9 +57,44 @@ public class RouteModelTest {
 
     @Test
     public void route_model_provides_navigation_route_target() {
+        assertNavigationRouteTargets(getRouteModel());
+    }
 
-        RouteModel root = getRouteModel();
+    @Test
+    public void immutable_route_model_provides_navigation_route_target() {
+        assertNavigationRouteTargets(RouteModel.copy(getRouteModel(), false));
+    }
+
+    @Test
+    public void immutable_route_model_caches_navigation_route_target() {
+        RouteModel model = RouteModel.copy(getRouteModel(), false);
+
+        NavigationRouteTarget result = model
+                .getNavigationRouteTarget("trunk/branch/12");
+        Assert.assertSame(result,
+                model.getNavigationRouteTarget("trunk/branch/12"));
+        Assert.assertNotSame(result,
+                model.getNavigationRouteTarget("trunk/branch/13"));
+
+        for (int i = 0; i < RouteMatcher.CACHE_SIZE; i++) {
+            model.getNavigationRouteTarget("trunk/twig/" + i);
+        }
+        NavigationRouteTarget evicted = model
+                .getNavigationRouteTarget("trunk/branch/12");
+        Assert.assertNotSame(result, evicted);
+        assertNavigation(model, "trunk/branch/12", Branch.class,
+                parameters("id", "12"));
+    }
+
+    @Test
+    public void immutable_route_model_null_url_no_target() {
+        NavigationRouteTarget result = RouteModel.copy(getRouteModel(), false)
+                .getNavigationRouteTarget(null);
+        Assert.assertFalse(result.hasTarget());
+        Assert.assertNull(result.getPath());
+    }
 
+    private void assertNavigationRouteTargets(RouteModel root) {
         assertNavigation(root, "trunk/twig", Twig.class, parameters());
 
         assertNavigation(root, "trunk/twig/a/b/c", Twig.class,
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.startup.ApplicationConfiguration;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer();
+
+    private MockVaadinServletService service;
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void writeAndRead_sessionWithUI_stateTreeRestored()
+            throws Exception {
+        MockVaadinSession session = createSession(null);
+        UI ui = addUI(session, 100);
+
+        VaadinSession read = serializer
+                .read(new ByteArrayInputStream(write(session)));
+
+        Assert.assertNotSame(session, read);
+        refreshTransients(read);
+        read.lock();
+        try {
+            UI readUI = read.getUIById(ui.getUIId());
+            Assert.assertNotNull(readUI);
+            Assert.assertSame(read, readUI.getSession());
+            Assert.assertEquals(100, readUI.getElement().getChildCount());
+            Element child = readUI.getElement().getChild(42);
+            Assert.assertEquals("Element 42", child.getText());
+            Assert.assertEquals("item", child.getAttribute("class"));
+            Assert.assertEquals(
+                    readUI.getInternals().getStateTree().getRootNode(),
+                    readUI.getElement().getNode());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Test
+    public void write_sessionWithUI_smallerThanDefaultSerialization()
+            throws Exception {
+        MockVaadinSession session = createSession(null);
+        addUI(session, 1000);
+
+        int compactSize = write(session).length;
+        int defaultSize = writeObject(session).length;
+
+        Assert.assertTrue("Compact size " + compactSize
+                + " should be less than half of default size " + defaultSize,
+                compactSize * 2 < defaultSize);
+    }
+
+    @Test
+    public void writeObject_serializerConfigured_sessionWrittenUsingSerializer()
+            throws Exception {
+        MockVaadinSession session = createSession(
+                CompactSessionSerializer.class.getName());
+        UI ui = addUI(session, 1000);
+        Assert.assertTrue(service.getSessionSerializer()
+                .orElseThrow() instanceof CompactSessionSerializer);
+
+        byte[] serialized = writeObject(session);
+        Assert.assertTrue(new String(serialized, StandardCharsets.ISO_8859_1)
+                .contains(SerializedVaadinSession.class.getName()));
+
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(serialized));
+        VaadinSession read = (VaadinSession) in.readObject();
+
+        refreshTransients(read);
+        read.lock();
+        try {
+            Assert.assertEquals(1000,
+                    read.getUIById(ui.getUIId()).getElement().getChildCount());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void read_unknownFormatVersion_throws() throws Exception {
+        serializer.read(new ByteArrayInputStream(new byte[] { 42 }));
+    }
+
+    @Test
+    public void init_invalidSerializerClass_throws() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_SERIALIZER,
+                String.class.getName());
+
+        RuntimeException exception = Assert.assertThrows(RuntimeException.class,
+                () -> new MockVaadinServletService(configuration));
+        Assert.assertTrue(exception.getCause() instanceof ServiceException);
+    }
+
+    private MockVaadinSession createSession(String serializerClass) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setProductionMode(true);
+        if (serializerClass != null) {
+            configuration.setApplicationOrSystemProperty(
+                    InitParameters.SERVLET_PARAMETER_SESSION_SERIALIZER,
+                    serializerClass);
+        }
+        service = new MockVaadinServletService(configuration);
+        ApplicationConfiguration applicationConfiguration = Mockito
+                .mock(ApplicationConfiguration.class);
+        Mockito.when(applicationConfiguration.isProductionMode())
+                .thenReturn(true);
+        service.getContext().setAttribute(ApplicationConfiguration.class,
+                applicationConfiguration);
+        MockVaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        try {
+            session.setConfiguration(configuration);
+        } finally {
+            session.unlock();
+        }
+        return session;
+    }
+
+    private void refreshTransients(VaadinSession session) {
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(
+                wrappedSession.getAttribute(service.getServiceName() + ".lock"))
+                .thenReturn(session.getLockInstance());
+        session.getLockInstance().lock();
+        try {
+            session.refreshTransients(wrappedSession, service);
+        } finally {
+            session.getLockInstance().unlock();
+        }
+    }
+
+    private UI addUI(VaadinSession session, int childCount) {
+        UI ui = new UI();
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            ui.doInit(Mockito.mock(VaadinRequest.class), session.getNextUIid(),
+                    "app");
+            session.addUI(ui);
+            for (int i = 0; i < childCount; i++) {
+                Element child = new Element("div");
+                child.setAttribute("class", "item");
+                child.setText("Element " + i);
+                ui.getElement().appendChild(child);
+            }
+        } finally {
+            session.unlock();
+            CurrentInstance.clearAll();
+        }
+        return ui;
+    }
+
+    private byte[] write(VaadinSession session) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        session.lock();
+        try {
+            serializer.write(session, out);
+        } finally {
+            session.unlock();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writeObject(VaadinSession session)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        session.lock();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(session);
+        } finally {
+            session.unlock();
+        }
+        return bytes.toByteArray();
+    }
+}
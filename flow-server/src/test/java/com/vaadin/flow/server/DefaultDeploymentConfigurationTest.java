@@ -119,6 +119,22 @@ public class DefaultDeploymentConfigurationTest {
                 config.isSendUrlsAsParameters());
     }
 
+    @Test
+    public void integerValue_notNumeric_defaultUsed() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_FLUSH_WINDOW, "foo");
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_SWEEP_BATCH_SIZE,
+                " 20 ");
+
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+
+        assertEquals(0, config.getPushFlushWindow());
+        assertEquals(20, config.getSessionSweepBatchSize());
+    }
+
     @Test
     public void booleanValueRead_emptyIsTrue() {
         Properties initParameters = new Properties();
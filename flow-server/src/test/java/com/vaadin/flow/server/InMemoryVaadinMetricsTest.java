@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.communication.HeartbeatHandler;
+import com.vaadin.flow.server.communication.UidlRequestHandler;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+
+public class InMemoryVaadinMetricsTest {
+
+    private final InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+
+    @Test
+    public void noMeasurements_emptySummaries() {
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(0, 0, 0),
+                metrics.getRequestTime(UidlRequestHandler.class));
+        Assert.assertEquals(0, metrics.getSessionLockWaitTime().count());
+        Assert.assertEquals(0, metrics.getUidlEncodeTime().mean(), 0);
+        Assert.assertEquals(0, metrics.getRpcInvocationCount("event"));
+        Assert.assertNull(metrics.getLastResourceUsage());
+    }
+
+    @Test
+    public void requestHandled_aggregatedByHandlerType() {
+        metrics.requestHandled(new UidlRequestHandler(), 10);
+        metrics.requestHandled(new UidlRequestHandler(), 30);
+        metrics.requestHandled(new HeartbeatHandler(), 5);
+
+        InMemoryVaadinMetrics.Summary uidl = metrics
+                .getRequestTime(UidlRequestHandler.class);
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(2, 40, 30), uidl);
+        Assert.assertEquals(20, uidl.mean(), 0);
+        Assert.assertEquals(1,
+                metrics.getRequestTime(HeartbeatHandler.class).count());
+    }
+
+    @Test
+    public void measurements_recordedSeparately() {
+        UI ui = Mockito.mock(UI.class);
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        RpcInvocationHandler handler = Mockito.mock(RpcInvocationHandler.class);
+        Mockito.when(handler.getRpcType()).thenReturn("event");
+
+        metrics.sessionLockAcquired(session, 3);
+        metrics.sessionLockReleased(session, 7);
+        metrics.uidlEncoded(ui, 11, 100);
+        metrics.uidlEncoded(ui, 13, 50);
+        metrics.rpcInvoked(ui, handler);
+        metrics.pushMessageSent(ui, 42);
+
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(1, 3, 3),
+                metrics.getSessionLockWaitTime());
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(1, 7, 7),
+                metrics.getSessionLockHoldTime());
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(2, 24, 13),
+                metrics.getUidlEncodeTime());
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(2, 150, 100),
+                metrics.getUidlLength());
+        Assert.assertEquals(1, metrics.getRpcInvocationCount("event"));
+        Assert.assertEquals(new InMemoryVaadinMetrics.Summary(1, 42, 42),
+                metrics.getPushMessageLength());
+    }
+}
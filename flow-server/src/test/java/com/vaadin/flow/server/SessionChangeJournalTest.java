@@ -0,0 +1,357 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.StateTreeJournal;
+import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
+import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
+import com.vaadin.flow.server.startup.ApplicationConfiguration;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class SessionChangeJournalTest {
+
+    /**
+     * Reference replication store that keeps the attributes and UIs of a
+     * session as separately serialized parts and only replaces the parts
+     * reported as changed by the journal.
+     */
+    private static class InMemorySessionStore {
+
+        private final Map<String, byte[]> attributes = new HashMap<>();
+        private final Map<Integer, byte[]> uis = new HashMap<>();
+
+        private int writtenBytes;
+
+        private void writeFull(VaadinSession session,
+                Set<String> attributeNames) {
+            attributes.clear();
+            uis.clear();
+            writtenBytes = 0;
+            attributeNames.forEach(name -> writeAttribute(session, name));
+            session.getUIs().forEach(ui -> writeUI(session, ui));
+            session.getChangeJournal().orElseThrow().drain();
+        }
+
+        private void writeDelta(VaadinSession session) {
+            writtenBytes = 0;
+            SessionChangeJournal.Changes changes = session.getChangeJournal()
+                    .orElseThrow().drain();
+            changes.attributes().forEach(name -> {
+                if (session.getAttribute(name) == null) {
+                    attributes.remove(name);
+                } else {
+                    writeAttribute(session, name);
+                }
+            });
+            changes.removedUIs().forEach(uis::remove);
+            changes.addedUIs()
+                    .forEach(id -> writeUI(session, session.getUIById(id)));
+            changes.uiChanges().keySet()
+                    .forEach(id -> writeUI(session, session.getUIById(id)));
+        }
+
+        private VaadinSession restore(VaadinService service) {
+            MockVaadinSession session = new MockVaadinSession(service);
+            session.lock();
+            try {
+                attributes.forEach((name, bytes) -> session.setAttribute(name,
+                        read(session, bytes)));
+                uis.values().forEach(bytes -> {
+                    UI ui = (UI) read(session, bytes);
+                    session.addUI(ui);
+                });
+            } finally {
+                session.unlock();
+            }
+            return session;
+        }
+
+        private void writeAttribute(VaadinSession session, String name) {
+            attributes.put(name, write(session, session.getAttribute(name)));
+        }
+
+        private void writeUI(VaadinSession session, UI ui) {
+            uis.put(ui.getUIId(), write(session, ui));
+        }
+
+        private byte[] write(VaadinSession session, Object value) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new SessionReplacingOutputStream(
+                    bytes, session)) {
+                out.writeObject(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writtenBytes += bytes.size();
+            return bytes.toByteArray();
+        }
+
+        private Object read(VaadinSession session, byte[] bytes) {
+            try (ObjectInputStream in = new SessionResolvingInputStream(
+                    new ByteArrayInputStream(bytes), session)) {
+                return in.readObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private enum SessionPlaceholder {
+        INSTANCE
+    }
+
+    private static class SessionReplacingOutputStream
+            extends ObjectOutputStream {
+        private final VaadinSession session;
+
+        private SessionReplacingOutputStream(OutputStream out,
+                VaadinSession session) throws IOException {
+            super(out);
+            this.session = session;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            return obj == session ? SessionPlaceholder.INSTANCE : obj;
+        }
+    }
+
+    private static class SessionResolvingInputStream extends ObjectInputStream {
+        private final VaadinSession session;
+
+        private SessionResolvingInputStream(InputStream in,
+                VaadinSession session) throws IOException {
+            super(in);
+            this.session = session;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            return obj == SessionPlaceholder.INSTANCE ? session : obj;
+        }
+    }
+
+    private MockVaadinServletService service;
+    private MockVaadinSession session;
+
+    @Before
+    public void setup() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setProductionMode(true);
+        service = new MockVaadinServletService(configuration);
+        ApplicationConfiguration applicationConfiguration = Mockito
+                .mock(ApplicationConfiguration.class);
+        Mockito.when(applicationConfiguration.isProductionMode())
+                .thenReturn(true);
+        service.getContext().setAttribute(ApplicationConfiguration.class,
+                applicationConfiguration);
+        session = new MockVaadinSession(service);
+        session.lock();
+        session.setConfiguration(configuration);
+    }
+
+    @After
+    public void tearDown() {
+        session.unlock();
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void getChangeJournal_notEnabled_empty() {
+        Assert.assertTrue(session.getChangeJournal().isEmpty());
+        Assert.assertSame(session.enableChangeJournal(),
+                session.getChangeJournal().orElseThrow());
+    }
+
+    @Test
+    public void drain_attributesAndUIsChanged_changesRecorded() {
+        UI existing = addUI(2);
+        SessionChangeJournal journal = session.enableChangeJournal();
+
+        session.setAttribute("foo", "bar");
+        session.setAttribute(Integer.class, 42);
+        UI added = addUI(2);
+        existing.getElement().getChild(0).setAttribute("title", "changed");
+
+        SessionChangeJournal.Changes changes = journal.drain();
+        Assert.assertEquals(Set.of("foo", Integer.class.getName()),
+                changes.attributes());
+        Assert.assertEquals(Set.of(added.getUIId()), changes.addedUIs());
+        Assert.assertEquals(Set.of(existing.getUIId()),
+                changes.uiChanges().keySet());
+
+        StateTreeJournal.Changes treeChanges = changes.uiChanges()
+                .get(existing.getUIId());
+        int childId = existing.getElement().getChild(0).getNode().getId();
+        Assert.assertEquals(Set.of(ElementAttributeMap.class),
+                treeChanges.changedFeatures().get(childId));
+
+        Assert.assertTrue(journal.drain().isEmpty());
+    }
+
+    @Test
+    public void drain_nodesAttachedAndDetached_netChangesRecorded() {
+        UI ui = addUI(2);
+        SessionChangeJournal journal = session.enableChangeJournal();
+
+        Element removed = ui.getElement().getChild(0);
+        // The element and its text node
+        Set<Integer> removedIds = Set.of(removed.getNode().getId(),
+                removed.getChild(0).getNode().getId());
+        removed.removeFromParent();
+        Element added = new Element("span");
+        ui.getElement().appendChild(added);
+        Element transientElement = new Element("span");
+        ui.getElement().appendChild(transientElement);
+        transientElement.removeFromParent();
+
+        StateTreeJournal.Changes changes = journal.drain().uiChanges()
+                .get(ui.getUIId());
+        Assert.assertEquals(Set.of(added.getNode().getId()),
+                changes.createdNodes());
+        Assert.assertEquals(removedIds, changes.removedNodes());
+        Assert.assertEquals(Set.of(ElementChildrenList.class), changes
+                .changedFeatures().get(ui.getElement().getNode().getId()));
+    }
+
+    @Test
+    public void drain_uiRemoved_removalRecorded() {
+        UI ui = addUI(2);
+        UI transientUI = addUI(2);
+        SessionChangeJournal journal = session.enableChangeJournal();
+
+        removeUI(ui);
+        UI.setCurrent(transientUI);
+        session.removeUI(transientUI);
+
+        SessionChangeJournal.Changes changes = journal.drain();
+        Assert.assertEquals(Set.of(ui.getUIId(), transientUI.getUIId()),
+                changes.removedUIs());
+        Assert.assertTrue(changes.uiChanges().isEmpty());
+    }
+
+    @Test
+    public void replicateDeltas_restoredSessionMatches_lessBytesWritten() {
+        for (int i = 0; i < 4; i++) {
+            addUI(200);
+        }
+        session.setAttribute("user", "admin");
+        session.enableChangeJournal();
+        InMemorySessionStore store = new InMemorySessionStore();
+
+        store.writeFull(session, Set.of("user"));
+        int fullBytes = store.writtenBytes;
+        assertRestored(store);
+
+        // Request changing a single UI and an attribute
+        UI changed = session.getUIs().iterator().next();
+        changed.getElement().getChild(10).setText("Changed");
+        session.setAttribute("user", "guest");
+        store.writeDelta(session);
+        Assert.assertTrue(
+                "Delta of " + store.writtenBytes
+                        + " bytes should be less than half of " + fullBytes,
+                store.writtenBytes * 2 < fullBytes);
+        assertRestored(store);
+
+        // Request adding and removing UIs and removing an attribute
+        removeUI(changed);
+        addUI(10);
+        session.setAttribute("user", null);
+        store.writeDelta(session);
+        assertRestored(store);
+
+        // Request not changing anything
+        store.writeDelta(session);
+        Assert.assertEquals(0, store.writtenBytes);
+    }
+
+    private void assertRestored(InMemorySessionStore store) {
+        VaadinSession restored = store.restore(service);
+        restored.lock();
+        try {
+            Assert.assertEquals(session.getAttribute("user"),
+                    restored.getAttribute("user"));
+            Assert.assertEquals(describeUIs(session), describeUIs(restored));
+        } finally {
+            restored.unlock();
+        }
+    }
+
+    private static Map<Integer, String> describeUIs(VaadinSession session) {
+        return session.getUIs().stream()
+                .collect(Collectors.toMap(UI::getUIId,
+                        ui -> ui.getSession() == session
+                                ? describe(ui.getElement())
+                                : "wrong session"));
+    }
+
+    private static String describe(Element element) {
+        if (element.isTextNode()) {
+            return element.getText();
+        }
+        return element.getTag()
+                + element.getChildren().map(SessionChangeJournalTest::describe)
+                        .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private UI addUI(int childCount) {
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        ui.doInit(Mockito.mock(VaadinRequest.class), session.getNextUIid(),
+                "app");
+        session.addUI(ui);
+        for (int i = 0; i < childCount; i++) {
+            Element child = new Element("div");
+            child.setText("Element " + i);
+            ui.getElement().appendChild(child);
+        }
+        return ui;
+    }
+
+    private void removeUI(UI ui) {
+        UI.setCurrent(ui);
+        session.removeUI(ui);
+        UI.setCurrent(null);
+    }
+}
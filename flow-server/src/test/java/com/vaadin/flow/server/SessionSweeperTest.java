@@ -0,0 +1,273 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.TestUtil;
+
+public class SessionSweeperTest {
+
+    private MockVaadinServletService service;
+    private MockVaadinSession session;
+    private SessionSweeper sweeper;
+
+    @Before
+    public void setup() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL,
+                "3600");
+        service = new MockVaadinServletService(configuration);
+        sweeper = service.getSessionSweeper().orElseThrow();
+
+        session = createSession();
+    }
+
+    @After
+    public void tearDown() {
+        service.destroy();
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void sweep_inactiveUI_uiClosedAndRemoved() {
+        UI activeUI = addUI(System.currentTimeMillis());
+        UI inactiveUI = addUI(0);
+        sweeper.register(session);
+
+        sweeper.sweep();
+
+        session.lock();
+        try {
+            Assert.assertTrue(inactiveUI.isClosing());
+            Assert.assertFalse(activeUI.isClosing());
+            Assert.assertEquals(1, session.getUIs().size());
+            Assert.assertSame(activeUI, session.getUIs().iterator().next());
+        } finally {
+            session.unlock();
+        }
+        Assert.assertEquals(1, sweeper.getReclaimedUICount());
+        Assert.assertEquals(1, sweeper.getSessionCount());
+    }
+
+    @Test
+    public void sweep_closedSession_sessionDestroyedAndUnregistered() {
+        addUI(System.currentTimeMillis());
+        sweeper.register(session);
+        session.lock();
+        try {
+            session.close();
+        } finally {
+            session.unlock();
+        }
+
+        sweeper.sweep();
+
+        Assert.assertEquals(VaadinSessionState.CLOSED, session.peekState());
+        Assert.assertEquals(1, sweeper.getClosedSessionCount());
+        Assert.assertEquals(1, sweeper.getReclaimedUICount());
+        Assert.assertEquals(0, sweeper.getSessionCount());
+    }
+
+    @Test
+    public void sweep_sessionLockedByOtherThread_skippedWithoutBlocking()
+            throws Exception {
+        UI inactiveUI = addUI(0);
+        sweeper.register(session);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            session.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.unlock();
+            }
+        });
+        Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        sweeper.sweep();
+        Assert.assertEquals(1, sweeper.getSkippedSessionCount());
+        Assert.assertEquals(0, sweeper.getReclaimedUICount());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+
+        // Swept during the next run
+        sweeper.sweep();
+        Assert.assertTrue(inactiveUI.isClosing());
+        Assert.assertEquals(1, sweeper.getReclaimedUICount());
+    }
+
+    @Test
+    public void start_serviceSchedulerBusy_sweeperStillRuns() throws Exception {
+        SessionSweeper sweeper = new SessionSweeper(service, 10);
+        UI inactiveUI = addUI(0);
+        sweeper.register(session);
+
+        CountDownLatch release = new CountDownLatch(1);
+        service.getScheduledExecutor().execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            sweeper.start(1);
+            long timeout = System.currentTimeMillis() + 5000;
+            while (sweeper.getReclaimedUICount() == 0
+                    && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50);
+            }
+            Assert.assertTrue(inactiveUI.isClosing());
+        } finally {
+            sweeper.stop();
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void sweep_batchSize_sessionsSweptInTurns() {
+        SessionSweeper sweeper = new SessionSweeper(service, 1);
+        MockVaadinSession otherSession = createSession();
+        sweeper.register(session);
+        sweeper.register(otherSession);
+        sweeper.register(session);
+        Assert.assertEquals(2, sweeper.getSessionCount());
+
+        for (VaadinSession s : new VaadinSession[] { session, otherSession }) {
+            s.lock();
+            try {
+                s.close();
+            } finally {
+                s.unlock();
+            }
+        }
+
+        sweeper.sweep();
+        Assert.assertEquals(1, sweeper.getClosedSessionCount());
+        Assert.assertEquals(1, sweeper.getSessionCount());
+
+        sweeper.sweep();
+        Assert.assertEquals(2, sweeper.getClosedSessionCount());
+        Assert.assertEquals(0, sweeper.getSessionCount());
+    }
+
+    @Test
+    public void register_sessionNoLongerReferenced_sessionNotRetained()
+            throws InterruptedException {
+        WeakReference<VaadinSession> reference = new WeakReference<>(
+                createSession());
+        sweeper.register(reference.get());
+        Assert.assertEquals(1, sweeper.getSessionCount());
+
+        Assert.assertTrue(TestUtil.isGarbageCollected(reference));
+        sweeper.sweep();
+        Assert.assertEquals(0, sweeper.getSessionCount());
+    }
+
+    @Test
+    public void unregister_registeredAgain_sweptOncePerRun() {
+        SessionSweeper sweeper = new SessionSweeper(service, 10);
+        addUI(0);
+        addUI(0);
+        sweeper.register(session);
+        sweeper.unregister(session);
+        sweeper.register(session);
+        Assert.assertEquals(1, sweeper.getSessionCount());
+
+        sweeper.sweep();
+
+        Assert.assertEquals(2, sweeper.getReclaimedUICount());
+        Assert.assertEquals(1, sweeper.getSessionCount());
+    }
+
+    @Test
+    public void requestEnd_sweeperEnabled_sessionRegisteredWithoutLocking() {
+        UI inactiveUI = addUI(0);
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+        service.requestStart(request, response);
+        Mockito.when(request.getAttribute(Mockito.anyString()))
+                .thenReturn(System.nanoTime());
+        VaadinSession.setCurrent(session);
+
+        service.requestEnd(request, response, session);
+
+        Assert.assertEquals(1, sweeper.getSessionCount());
+        Assert.assertFalse(inactiveUI.isClosing());
+        session.lock();
+        try {
+            Assert.assertNotEquals(-1, session.getLastRequestDuration());
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private MockVaadinSession createSession() {
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getId()).thenReturn("session");
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public WrappedSession getSession() {
+                return wrappedSession;
+            }
+        };
+        Mockito.when(
+                wrappedSession.getAttribute(service.getServiceName() + ".lock"))
+                .thenReturn(session.getLockInstance());
+        session.lock();
+        try {
+            session.setConfiguration(service.getDeploymentConfiguration());
+        } finally {
+            session.unlock();
+        }
+        return session;
+    }
+
+    private UI addUI(long lastHeartbeat) {
+        UI ui = new UI();
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            ui.doInit(Mockito.mock(VaadinRequest.class), session.getNextUIid(),
+                    "app");
+            ui.getInternals().setLastHeartbeatTimestamp(lastHeartbeat);
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        return ui;
+    }
+}
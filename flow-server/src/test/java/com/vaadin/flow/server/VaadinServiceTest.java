@@ -28,6 +28,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -58,12 +64,15 @@ import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
 import com.vaadin.flow.server.menu.AvailableViewInfo;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -801,6 +810,372 @@ public class VaadinServiceTest {
         Mockito.verify(vaadinSession, Mockito.times(2)).unlock();
     }
 
+    @Test
+    public void handleRequest_heartbeatWhileSessionLocked_handledWithoutWaitingForLock()
+            throws Exception {
+        MockVaadinServletService service = createHeartbeatService();
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+
+        int heartbeats = 200;
+        ExecutorService requestThreads = Executors.newFixedThreadPool(4);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = session.holdLock(release);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < heartbeats; i++) {
+                requests.add(requestThreads.submit(() -> {
+                    service.handleRequest(session.createHeartbeatRequest(ui),
+                            Mockito.mock(VaadinResponse.class));
+                    return null;
+                }));
+            }
+            // All heartbeats are handled by a few request threads even though
+            // the session stays locked by another thread
+            for (Future<?> request : requests) {
+                request.get(5, TimeUnit.SECONDS);
+            }
+            Assert.assertFalse(holder.isDone());
+            Assert.assertNotEquals(0,
+                    ui.getInternals().getLastHeartbeatTimestamp());
+        } finally {
+            release.countDown();
+            requestThreads.shutdownNow();
+            service.destroy();
+        }
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void handleRequest_heartbeatWithoutSweeper_heartbeatWaitsForLock()
+            throws Exception {
+        MockVaadinServletService service = createHeartbeatService(false);
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = session.holdLock(release);
+        try {
+            CompletableFuture<Void> request = CompletableFuture.runAsync(() -> {
+                try {
+                    service.handleRequest(session.createHeartbeatRequest(ui),
+                            Mockito.mock(VaadinResponse.class));
+                } catch (ServiceException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+            Assert.assertFalse(request.isDone());
+
+            release.countDown();
+            request.get(5, TimeUnit.SECONDS);
+            Assert.assertNotEquals(0,
+                    ui.getInternals().getLastHeartbeatTimestamp());
+        } finally {
+            release.countDown();
+            service.destroy();
+            CurrentInstance.clearAll();
+        }
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void handleRequest_heartbeatWithoutLock_requestEndReceivesSession()
+            throws Exception {
+        AtomicReference<VaadinSession> endedSession = new AtomicReference<>();
+        MockVaadinServletService service = new MockVaadinServletService(
+                createHeartbeatConfiguration(true)) {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return new ArrayList<>(List.of(new HeartbeatHandler()));
+            }
+
+            @Override
+            public void requestEnd(VaadinRequest request,
+                    VaadinResponse response, VaadinSession session) {
+                endedSession.set(session);
+                super.requestEnd(request, response, session);
+            }
+        };
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+        try {
+            service.handleRequest(session.createHeartbeatRequest(ui),
+                    Mockito.mock(VaadinResponse.class));
+
+            Assert.assertSame(session, endedSession.get());
+            Assert.assertEquals(1, service.getSessionSweeper().orElseThrow()
+                    .getSessionCount());
+        } finally {
+            service.destroy();
+            CurrentInstance.clearAll();
+        }
+    }
+
+    @Test
+    public void handleRequest_heartbeatListener_heartbeatWaitsForLock()
+            throws Exception {
+        MockVaadinServletService service = createHeartbeatService();
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+        AtomicInteger heartbeats = new AtomicInteger();
+        session.lock();
+        try {
+            ui.addHeartbeatListener(event -> heartbeats.incrementAndGet());
+        } finally {
+            session.unlock();
+        }
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = session.holdLock(release);
+        try {
+            CompletableFuture<Void> request = CompletableFuture.runAsync(() -> {
+                try {
+                    service.handleRequest(session.createHeartbeatRequest(ui),
+                            Mockito.mock(VaadinResponse.class));
+                } catch (ServiceException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+            Assert.assertFalse(request.isDone());
+            Assert.assertEquals(0, heartbeats.get());
+
+            release.countDown();
+            request.get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(1, heartbeats.get());
+        } finally {
+            release.countDown();
+            service.destroy();
+            CurrentInstance.clearAll();
+        }
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void getMetrics_notConfigured_noOp() {
+        Assert.assertSame(VaadinMetrics.NO_OP,
+                new MockVaadinServletService().getMetrics());
+    }
+
+    @Test
+    public void requestEnd_metricsConfigured_resourceUsageSampledOncePerInterval() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_METRICS,
+                RecordingMetrics.class.getName());
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_RESOURCE_USAGE_SAMPLE_INTERVAL,
+                "3600");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration) {
+            @Override
+            void cleanupSession(VaadinSession session) {
+                // NO-OP
+            }
+        };
+        RecordingMetrics metrics = (RecordingMetrics) service.getMetrics();
+
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(System.nanoTime());
+        try {
+            for (int i = 0; i < 2; i++) {
+                VaadinSession.setCurrent(session);
+                service.requestEnd(request, Mockito.mock(VaadinResponse.class),
+                        session);
+            }
+        } finally {
+            CurrentInstance.clearAll();
+        }
+
+        Assert.assertEquals(1, metrics.usages.size());
+        SessionResourceUsage usage = metrics.usages.get(0);
+        Assert.assertEquals(1, usage.uis().size());
+        Assert.assertEquals(ui.getUIId(), usage.uis().get(0).uiId());
+        Assert.assertTrue(usage.nodeCount() > 0);
+        Assert.assertFalse(session.hasLock());
+    }
+
+    @Test
+    public void handleRequest_metricsConfigured_handlerTimeRecorded()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_METRICS,
+                InMemoryVaadinMetrics.class.getName());
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration) {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return new ArrayList<>(List.of(new HeartbeatHandler()));
+            }
+        };
+        InMemoryVaadinMetrics metrics = (InMemoryVaadinMetrics) service
+                .getMetrics();
+        HeartbeatSession session = new HeartbeatSession(service);
+        UI ui = session.addUI();
+
+        try {
+            service.handleRequest(session.createHeartbeatRequest(ui),
+                    Mockito.mock(VaadinResponse.class));
+        } finally {
+            CurrentInstance.clearAll();
+        }
+
+        Assert.assertEquals(1,
+                metrics.getRequestTime(HeartbeatHandler.class).count());
+        Assert.assertEquals(0,
+                metrics.getRequestTime(PwaHandler.class).count());
+    }
+
+    @Test
+    public void lock_metricsConfigured_waitAndHoldTimeRecordedOncePerLock() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_METRICS,
+                InMemoryVaadinMetrics.class.getName());
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        InMemoryVaadinMetrics metrics = (InMemoryVaadinMetrics) service
+                .getMetrics();
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        session.lock();
+        session.lock();
+        Assert.assertEquals(1, metrics.getSessionLockWaitTime().count());
+        Assert.assertEquals(0, metrics.getSessionLockHoldTime().count());
+        session.unlock();
+        Assert.assertEquals(0, metrics.getSessionLockHoldTime().count());
+        session.unlock();
+        Assert.assertEquals(1, metrics.getSessionLockHoldTime().count());
+
+        Assert.assertTrue(session.tryLock());
+        session.unlock();
+        Assert.assertEquals(2, metrics.getSessionLockWaitTime().count());
+        Assert.assertEquals(2, metrics.getSessionLockHoldTime().count());
+    }
+
+    public static class RecordingMetrics implements VaadinMetrics {
+
+        private final List<SessionResourceUsage> usages = new ArrayList<>();
+
+        @Override
+        public void resourceUsageSampled(VaadinSession session,
+                SessionResourceUsage usage) {
+            usages.add(usage);
+        }
+    }
+
+    private static MockVaadinServletService createHeartbeatService() {
+        return createHeartbeatService(true);
+    }
+
+    private static MockVaadinServletService createHeartbeatService(
+            boolean sweeper) {
+        return new MockVaadinServletService(
+                createHeartbeatConfiguration(sweeper)) {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return new ArrayList<>(List.of(new HeartbeatHandler()));
+            }
+        };
+    }
+
+    private static MockDeploymentConfiguration createHeartbeatConfiguration(
+            boolean sweeper) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        if (sweeper) {
+            configuration.setApplicationOrSystemProperty(
+                    InitParameters.SERVLET_PARAMETER_SESSION_SWEEP_INTERVAL,
+                    "3600");
+        }
+        return configuration;
+    }
+
+    private static class HeartbeatSession extends MockVaadinSession {
+
+        private final WrappedSession wrappedSession = Mockito
+                .mock(WrappedSession.class);
+
+        private HeartbeatSession(VaadinService service) {
+            super(service);
+            Mockito.when(wrappedSession.getId()).thenReturn("session");
+            Mockito.when(wrappedSession
+                    .getAttribute(service.getServiceName() + ".lock"))
+                    .thenReturn(getLockInstance());
+            Mockito.when(wrappedSession
+                    .getAttribute(service.getSessionAttributeName()))
+                    .thenReturn(this);
+            lock();
+            try {
+                setConfiguration(service.getDeploymentConfiguration());
+            } finally {
+                unlock();
+            }
+        }
+
+        @Override
+        public WrappedSession getSession() {
+            return wrappedSession;
+        }
+
+        private UI addUI() {
+            UI ui = new UI();
+            lock();
+            try {
+                ui.getInternals().setSession(this);
+                ui.doInit(Mockito.mock(VaadinRequest.class), getNextUIid(),
+                        "app");
+                ui.getInternals().setLastHeartbeatTimestamp(0);
+                addUI(ui);
+            } finally {
+                unlock();
+                CurrentInstance.clearAll();
+            }
+            return ui;
+        }
+
+        private VaadinRequest createHeartbeatRequest(UI ui) {
+            VaadinRequest request = Mockito.mock(VaadinRequest.class);
+            Mockito.when(request.getService()).thenReturn(getService());
+            Mockito.when(request
+                    .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                    .thenReturn(RequestType.HEARTBEAT.getIdentifier());
+            Mockito.when(
+                    request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                    .thenReturn(String.valueOf(ui.getUIId()));
+            Mockito.when(request.getWrappedSession())
+                    .thenReturn(wrappedSession);
+            Mockito.when(request.getWrappedSession(Mockito.anyBoolean()))
+                    .thenReturn(wrappedSession);
+            Mockito.when(request.getAttribute("requestStartTime"))
+                    .thenReturn(System.nanoTime());
+            return request;
+        }
+
+        private CompletableFuture<Void> holdLock(CountDownLatch release)
+                throws InterruptedException {
+            CountDownLatch locked = new CountDownLatch(1);
+            CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+                lock();
+                try {
+                    locked.countDown();
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    unlock();
+                }
+            });
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+            return holder;
+        }
+    }
+
     private WrappedSession mockSession(VaadinRequest request,
             VaadinSession vaadinSession, String attributeName) {
         WrappedSession session = Mockito.mock(WrappedSession.class);
@@ -51,7 +51,9 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.ComponentTest.TestComponent;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.nodefeature.ElementData;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -688,4 +690,73 @@ public class VaadinSessionTest {
                                 + "java.lang.IllegalStateException: Cannot access state in VaadinSession or UI without locking the session.\n"
                                 + "\tat com.vaadin.flow.server.SessionLockCheckStrategy$2.checkHasLock(SessionLockCheckStrategy.java:"));
     }
+
+    @Test
+    public void getResourceUsage_uiWithElements_countsResources() {
+        session.lock();
+        UI.setCurrent(ui);
+        try {
+            ui.getElement().appendChild(new Element("div"),
+                    new Element("span"));
+            ui.getPage().executeJs("void 0");
+            session.getResourceRegistry()
+                    .registerResource(new StreamResource("foo", () -> null));
+            // Enqueued since the session is locked
+            session.access(() -> {
+            });
+
+            SessionResourceUsage usage = session.getResourceUsage();
+
+            Assert.assertEquals(1, usage.uis().size());
+            UIResourceUsage uiUsage = usage.uis().get(0);
+            Assert.assertEquals(ui.getUIId(), uiUsage.uiId());
+            Assert.assertEquals(ui.getInternals().getStateTree().getNodeCount(),
+                    uiUsage.nodeCount());
+            Assert.assertEquals(uiUsage.nodeCount(), usage.nodeCount());
+            Assert.assertTrue(uiUsage.nodeCount() >= 3);
+            Assert.assertTrue(
+                    uiUsage.featureCounts().get(ElementData.class) >= 3);
+            Assert.assertEquals(1, uiUsage.pendingJavaScriptInvocations());
+            Assert.assertEquals(1, usage.streamResourceCount());
+            Assert.assertEquals(1, usage.pendingAccessTasks());
+            Assert.assertTrue(
+                    usage.approximateBytes() > uiUsage.approximateBytes());
+        } finally {
+            UI.setCurrent(null);
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void lockAndUnlock_customLockWithMetrics_lockTimesRecorded() {
+        InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+        VaadinService service = new MockVaadinServletService() {
+            @Override
+            public VaadinMetrics getMetrics() {
+                return metrics;
+            }
+        };
+        Lock customLock = Mockito.mock(Lock.class);
+        Mockito.when(customLock.tryLock()).thenReturn(true);
+        VaadinSession customLockSession = new VaadinSession(service) {
+            @Override
+            public Lock getLockInstance() {
+                return customLock;
+            }
+
+            @Override
+            public boolean hasLock() {
+                return true;
+            }
+        };
+
+        customLockSession.lock();
+        customLockSession.unlock();
+        Assert.assertTrue(customLockSession.tryLock());
+        customLockSession.unlock();
+
+        Mockito.verify(customLock, Mockito.times(2)).unlock();
+        Assert.assertEquals(2, metrics.getSessionLockWaitTime().count());
+        Assert.assertEquals(2, metrics.getSessionLockHoldTime().count());
+    }
 }
@@ -36,8 +36,13 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.nodefeature.PushConfigurationMap;
+import com.vaadin.flow.server.InMemoryVaadinMetrics;
 import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
+import com.vaadin.flow.shared.communication.PushMode;
 
 /**
  * @author Vaadin Ltd
@@ -45,6 +50,7 @@ import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
  */
 public class AtmospherePushConnectionTest {
 
+    private UI ui;
     private MockVaadinSession vaadinSession;
     private Broadcaster broadcaster;
     private AtmosphereResource resource;
@@ -52,7 +58,7 @@ public class AtmospherePushConnectionTest {
 
     @Before
     public void setup() throws Exception {
-        UI ui = Mockito.spy(new UI());
+        ui = Mockito.spy(new UI());
         vaadinSession = new MockVaadinSession();
         Mockito.when(ui.getSession()).thenReturn(vaadinSession);
         broadcaster = Mockito.mock(Broadcaster.class);
@@ -290,4 +296,141 @@ public class AtmospherePushConnectionTest {
         Mockito.verify(resource, Mockito.times(1)).close();
     }
 
+    @Test
+    public void pushFlushWindow_asyncPushes_coalescedIntoOneMessage()
+            throws Exception {
+        ui.getPushConfiguration().setPushFlushWindow(50);
+
+        vaadinSession.runWithLock(() -> {
+            for (int i = 0; i < 5; i++) {
+                connection.push();
+            }
+            return null;
+        });
+        Mockito.verifyNoInteractions(broadcaster);
+
+        long timeout = System.currentTimeMillis() + 2000;
+        while (connection.getSentMessageCount() == 0
+                && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Mockito.verify(broadcaster).broadcast(ArgumentMatchers.any(),
+                ArgumentMatchers.eq(resource));
+        Assert.assertEquals(1, connection.getSentMessageCount());
+        Assert.assertEquals(4, connection.getCoalescedPushCount());
+    }
+
+    @Test
+    public void pushFlushWindow_maxPendingReached_messageSentImmediately()
+            throws Exception {
+        ui.getPushConfiguration().setPushFlushWindow(60000);
+        ui.getPushConfiguration().setPushFlushMaxPending(3);
+
+        vaadinSession.runWithLock(() -> {
+            connection.push();
+            connection.push();
+            Mockito.verifyNoInteractions(broadcaster);
+            connection.push();
+            return null;
+        });
+
+        Mockito.verify(broadcaster).broadcast(ArgumentMatchers.any(),
+                ArgumentMatchers.eq(resource));
+        Assert.assertEquals(1, connection.getSentMessageCount());
+        Assert.assertEquals(2, connection.getCoalescedPushCount());
+    }
+
+    @Test
+    public void pushFlushWindow_responsePush_includesPendingPushes()
+            throws Exception {
+        ui.getPushConfiguration().setPushFlushWindow(200);
+
+        vaadinSession.runWithLock(() -> {
+            connection.push();
+            connection.push();
+            connection.push(false);
+            return null;
+        });
+        // Wait for the end of the window, nothing more should be sent
+        Thread.sleep(400);
+
+        Mockito.verify(broadcaster, Mockito.times(1)).broadcast(
+                ArgumentMatchers.any(), ArgumentMatchers.eq(resource));
+        Assert.assertEquals(1, connection.getSentMessageCount());
+        Assert.assertEquals(2, connection.getCoalescedPushCount());
+    }
+
+    @Test
+    public void pushFlushWindow_changesWrittenToResponse_nothingSentAfterWindow()
+            throws Exception {
+        ui.getInternals().getStateTree().getRootNode()
+                .getFeature(PushConfigurationMap.class)
+                .setPushMode(PushMode.AUTOMATIC);
+        ui.getInternals().setPushConnection(connection);
+        ui.getPushConfiguration().setPushFlushWindow(200);
+
+        vaadinSession.runWithLock(() -> {
+            connection.push();
+            connection.push();
+            // E.g. a response to an XHR request carries the changes
+            new UidlWriter().createUidl(ui, false);
+            // A change that no push has been requested for
+            ui.getElement().setProperty("foo", "bar");
+            return null;
+        });
+        // Wait for the end of the window, nothing should be sent
+        Thread.sleep(400);
+
+        Mockito.verifyNoInteractions(broadcaster);
+        Assert.assertEquals(0, connection.getSentMessageCount());
+        Assert.assertEquals(0, connection.getCoalescedPushCount());
+    }
+
+    @Test
+    public void pushFlushWindow_noChangesAtEndOfWindow_nothingSent()
+            throws Exception {
+        ui.getPushConfiguration().setPushFlushWindow(200);
+
+        vaadinSession.runWithLock(() -> {
+            connection.push();
+            connection.push();
+            ui.getInternals().getStateTree().collectChanges(change -> {
+            });
+            return null;
+        });
+        Thread.sleep(400);
+
+        Mockito.verifyNoInteractions(broadcaster);
+        Assert.assertEquals(0, connection.getSentMessageCount());
+        Assert.assertEquals(0, connection.getCoalescedPushCount());
+    }
+
+    @Test
+    public void pushMessageSent_lengthReportedInUtf8Bytes() {
+        InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getMetrics()).thenReturn(metrics);
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.getService()).thenReturn(service);
+        Mockito.when(ui.getSession()).thenReturn(session);
+
+        // 'ä' is 2 bytes and '€' is 3 bytes in UTF-8
+        connection.sendMessage("aä€");
+
+        Assert.assertEquals(6, metrics.getPushMessageLength().total());
+    }
+
+    @Test
+    public void noPushFlushWindow_everyPushSent() throws Exception {
+        vaadinSession.runWithLock(() -> {
+            connection.push();
+            connection.push();
+            return null;
+        });
+
+        Mockito.verify(broadcaster, Mockito.times(2)).broadcast(
+                ArgumentMatchers.any(), ArgumentMatchers.eq(resource));
+        Assert.assertEquals(2, connection.getSentMessageCount());
+        Assert.assertEquals(0, connection.getCoalescedPushCount());
+    }
 }
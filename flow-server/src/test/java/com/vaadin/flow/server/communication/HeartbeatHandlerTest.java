@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -54,4 +55,48 @@ public class HeartbeatHandlerTest {
         Mockito.verify(ui.getInternals(), times(1))
                 .setLastHeartbeatTimestamp(anyLong());
     }
+
+    @Test
+    public void handleRequestWithoutLock_noHeartbeatListeners_timestampUpdatedAndHandled() {
+        VaadinResponse response = mock(VaadinResponse.class);
+        UI ui = mock(UI.class);
+        UIInternals uiInternals = mock(UIInternals.class);
+        when(ui.getInternals()).thenReturn(uiInternals);
+        when(uiInternals.trySetLastHeartbeatTimestamp(anyLong()))
+                .thenReturn(true);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        Assert.assertTrue(handler.handleRequestWithoutLock(ui, response));
+
+        Mockito.verify(response).setHeader("Cache-Control", "no-cache");
+        Mockito.verify(uiInternals, Mockito.never())
+                .setLastHeartbeatTimestamp(anyLong());
+    }
+
+    @Test
+    public void handleRequestWithoutLock_heartbeatListeners_notHandled() {
+        VaadinResponse response = mock(VaadinResponse.class);
+        UI ui = mock(UI.class);
+        UIInternals uiInternals = mock(UIInternals.class);
+        when(ui.getInternals()).thenReturn(uiInternals);
+        when(uiInternals.trySetLastHeartbeatTimestamp(anyLong()))
+                .thenReturn(false);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        Assert.assertFalse(handler.handleRequestWithoutLock(ui, response));
+
+        Mockito.verifyNoInteractions(response);
+    }
+
+    @Test
+    public void handleRequestWithoutLock_uiClosing_notHandled() {
+        VaadinResponse response = mock(VaadinResponse.class);
+        UI ui = mock(UI.class);
+        when(ui.isClosing()).thenReturn(true);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        Assert.assertFalse(handler.handleRequestWithoutLock(ui, response));
+
+        Mockito.verifyNoInteractions(response);
+    }
 }
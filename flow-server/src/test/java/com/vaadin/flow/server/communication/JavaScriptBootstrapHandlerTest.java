@@ -25,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.experimental.FeatureFlags;
 import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.UI.BrowserNavigateEvent;
@@ -42,7 +43,9 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.communication.PushMode;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 
 @NotThreadSafe
 public class JavaScriptBootstrapHandlerTest {
@@ -123,6 +126,55 @@ public class JavaScriptBootstrapHandlerTest {
         Assert.assertFalse(json.hasKey("pushScript"));
     }
 
+    @Test
+    public void should_sendCompactChanges_when_requestedByClientAndFeatureEnabled()
+            throws Exception {
+        String property = FeatureFlags.SYSTEM_PROPERTY_PREFIX_EXPERIMENTAL
+                + FeatureFlags.COMPACT_TREE_CHANGES.getId();
+        System.setProperty(property, "true");
+        try {
+            VaadinRequest request = mocks.createRequest(mocks, "/",
+                    "v-r=init&foo&location=&compactChanges=true");
+            jsInitHandler.handleRequest(session, request, response);
+        } finally {
+            System.clearProperty(property);
+        }
+
+        Assert.assertTrue(UI.getCurrent().getInternals().isCompactChanges());
+        JsonObject json = Json.parse(response.getPayload());
+        JsonArray changes = json.getObject("appConfig").getObject("uidl")
+                .getArray("changes");
+        Assert.assertEquals(JsonType.ARRAY, changes.get(0).getType());
+    }
+
+    @Test
+    public void should_sendObjectChanges_when_requestedByClientAndFeatureDisabled()
+            throws Exception {
+        VaadinRequest request = mocks.createRequest(mocks, "/",
+                "v-r=init&foo&location=&compactChanges=true");
+        jsInitHandler.handleRequest(session, request, response);
+
+        Assert.assertFalse(UI.getCurrent().getInternals().isCompactChanges());
+        JsonObject json = Json.parse(response.getPayload());
+        JsonArray changes = json.getObject("appConfig").getObject("uidl")
+                .getArray("changes");
+        Assert.assertEquals(JsonType.OBJECT, changes.get(0).getType());
+    }
+
+    @Test
+    public void should_sendObjectChanges_when_compactNotRequested()
+            throws Exception {
+        VaadinRequest request = mocks.createRequest(mocks, "/",
+                "v-r=init&foo&location=");
+        jsInitHandler.handleRequest(session, request, response);
+
+        Assert.assertFalse(UI.getCurrent().getInternals().isCompactChanges());
+        JsonObject json = Json.parse(response.getPayload());
+        JsonArray changes = json.getObject("appConfig").getObject("uidl")
+                .getArray("changes");
+        Assert.assertEquals(JsonType.OBJECT, changes.get(0).getType());
+    }
+
     @Test
     public void should_initialize_UI() throws Exception {
         VaadinRequest request = mocks.createRequest(mocks, "/",
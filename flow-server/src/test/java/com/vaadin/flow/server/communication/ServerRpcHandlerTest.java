@@ -18,6 +18,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.InMemoryVaadinMetrics;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -26,8 +27,11 @@ import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurity
 import com.vaadin.flow.server.dau.DAUUtils;
 import com.vaadin.flow.server.dau.DauEnforcementException;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.pro.licensechecker.dau.EnforcementException;
 
+import elemental.json.JsonArray;
+
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
     private VaadinService service;
@@ -161,6 +165,25 @@ public class ServerRpcHandlerTest {
         }
     }
 
+    @Test
+    public void handleRpc_metricsConfigured_invocationsCountedByType()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+        Mockito.when(service.getMetrics()).thenReturn(metrics);
+        StringReader reader = new StringReader("{\"csrfToken\": \"" + csrfToken
+                + "\", \"rpc\":[{\"type\": \"event\", \"node\" : 1, \"event\": \"ui-poll\" },"
+                + "{\"type\": \"event\", \"node\" : 1, \"event\": \"ui-poll\" }], \"syncId\": 0, \"clientId\":0}");
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        new ServerRpcHandler().handleRpc(ui, reader, request);
+
+        Assert.assertEquals(2,
+                metrics.getRpcInvocationCount(JsonConstants.RPC_TYPE_EVENT));
+        Assert.assertEquals(0,
+                metrics.getRpcInvocationCount(JsonConstants.RPC_TYPE_MAP_SYNC));
+    }
+
     @Test(expected = DauEnforcementException.class)
     public void handleRpc_dauEnforcement_pollEventMixedWithOtherEvents_throw()
             throws InvalidUIDLSecurityKeyException, IOException {
@@ -253,6 +276,59 @@ public class ServerRpcHandlerTest {
         handler.handleRpc(ui, reader, request);
     }
 
+    @Test
+    public void rpcRequest_parsesEnvelopeAndInvocations() {
+        String msg = "{\"" + ApplicationConstants.CSRF_TOKEN
+                + "\":\"token\",\"unknown\":{\"nested\":[1,2]},\""
+                + ApplicationConstants.SERVER_SYNC_ID + "\":5,\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":3,\""
+                + ApplicationConstants.RPC_INVOCATIONS
+                + "\":[{\"type\":\"event\",\"node\":1,\"event\":\"click\"}]}";
+
+        ServerRpcHandler.RpcRequest rpcRequest = new ServerRpcHandler.RpcRequest(
+                msg, true);
+
+        Assert.assertEquals("token", rpcRequest.getCsrfToken());
+        Assert.assertEquals(5, rpcRequest.getSyncId());
+        Assert.assertEquals(3, rpcRequest.getClientToServerId());
+        Assert.assertFalse(rpcRequest.isResynchronize());
+        Assert.assertEquals(1, rpcRequest.getRpcInvocationsDataNode().size());
+        Assert.assertEquals("click", rpcRequest.getRpcInvocationsDataNode()
+                .get(0).get("event").asText());
+        Assert.assertEquals(2, rpcRequest.getRawJsonNode().get("unknown")
+                .get("nested").size());
+    }
+
+    @Test
+    public void rpcRequest_noTokenAndNoInvocations_defaultsUsed() {
+        ServerRpcHandler.RpcRequest rpcRequest = new ServerRpcHandler.RpcRequest(
+                "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":1}",
+                false);
+
+        Assert.assertEquals(ApplicationConstants.CSRF_TOKEN_DEFAULT_VALUE,
+                rpcRequest.getCsrfToken());
+        Assert.assertEquals(-1, rpcRequest.getSyncId());
+        Assert.assertNull(rpcRequest.getRpcInvocationsDataNode());
+    }
+
+    @Test
+    public void rpcRequest_deprecatedElementalGetters_returnCopies() {
+        String msg = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":1,\"" + ApplicationConstants.RPC_INVOCATIONS
+                + "\":[{\"type\":\"event\",\"node\":1}]}";
+        ServerRpcHandler.RpcRequest rpcRequest = new ServerRpcHandler.RpcRequest(
+                msg, false);
+
+        JsonArray invocations = rpcRequest.getRpcInvocationsData();
+        Assert.assertEquals(1, invocations.length());
+        Assert.assertEquals("event",
+                invocations.getObject(0).getString("type"));
+        Assert.assertEquals(1,
+                (int) rpcRequest.getRawJson()
+                        .getArray(ApplicationConstants.RPC_INVOCATIONS)
+                        .getObject(0).getNumber("node"));
+    }
+
     private void enableDau() {
         Mockito.when(deploymentConfiguration.isProductionMode())
                 .thenReturn(true);
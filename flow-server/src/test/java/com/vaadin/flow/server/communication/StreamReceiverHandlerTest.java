@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,7 +22,9 @@ import java.util.Optional;
 import org.apache.commons.fileupload2.jakarta.JakartaServletFileUpload;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -31,6 +35,7 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.ErrorHandler;
+import com.vaadin.flow.server.FileStreamVariable;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.StreamReceiver;
@@ -49,6 +54,9 @@ import static org.mockito.Mockito.when;
 
 public class StreamReceiverHandlerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private StreamReceiverHandler handler;
     @Mock
     private VaadinResponse response;
@@ -287,6 +295,46 @@ public class StreamReceiverHandlerTest {
         Mockito.verify(response, Mockito.times(0)).setStatus(Mockito.anyInt());
     }
 
+    @Test
+    public void doHandleXhrFilePost_fileStreamVariable_contentWrittenToFile()
+            throws IOException {
+        Path file = temporaryFolder.newFile("upload.txt").toPath();
+        Files.writeString(file, "previous content");
+        FileStreamVariable fileVariable = mock(FileStreamVariable.class);
+        when(fileVariable.getFile()).thenReturn(file);
+        when(streamReceiver.getStreamVariable()).thenReturn(fileVariable);
+
+        handler.doHandleXhrFilePost(session, request, response, streamReceiver,
+                stateNode, 6);
+
+        Assert.assertEquals("foobar", Files.readString(file));
+        ArgumentCaptor<StreamVariable.StreamingEndEvent> endEventArgumentCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingEndEvent.class);
+        Mockito.verify(fileVariable)
+                .streamingFinished(endEventArgumentCaptor.capture());
+        Assert.assertEquals(6,
+                endEventArgumentCaptor.getValue().getBytesReceived());
+        Mockito.verify(fileVariable, Mockito.never()).getOutputStream();
+        Mockito.verify(response, Mockito.times(0)).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void doHandleXhrFilePost_fileStreamVariableInterrupted_uploadFailed()
+            throws IOException {
+        Path file = temporaryFolder.newFile("upload.txt").toPath();
+        FileStreamVariable fileVariable = mock(FileStreamVariable.class);
+        when(fileVariable.getFile()).thenReturn(file);
+        when(fileVariable.isInterrupted()).thenReturn(true);
+        when(streamReceiver.getStreamVariable()).thenReturn(fileVariable);
+
+        handler.doHandleXhrFilePost(session, request, response, streamReceiver,
+                stateNode, 6);
+
+        Mockito.verify(fileVariable).streamingFailed(Mockito.any());
+        Mockito.verify(fileVariable, Mockito.never())
+                .streamingFinished(Mockito.any());
+    }
+
     @Test
     public void doHandleMultipartFileUpload_noPart_uploadFailed_responseStatusIs500_getContentLengthLongCalled()
             throws IOException {
@@ -18,19 +18,29 @@ package com.vaadin.flow.server.communication;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.server.FileStreamResource;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.InputStreamFactory;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.RangeStreamResource;
 import com.vaadin.flow.server.ServiceException;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
@@ -39,8 +49,13 @@ import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public class StreamResourceHandlerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private StreamResourceHandler handler = new StreamResourceHandler();
     private MockVaadinSession session;
     private VaadinServletRequest request;
@@ -145,4 +160,236 @@ public class StreamResourceHandlerTest {
 
         Mockito.verify(response).setHeader("foo", "bar");
     }
+
+    @Test
+    public void rangeResource_noRangeHeader_fullContentWithValidators()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        RangeStreamResource res = createRangeResource("0123456789");
+        res.setETag("v1").setLastModified(10_500);
+        Mockito.when(request.getMethod()).thenReturn("GET");
+
+        handler.handleRequest(session, request, response, res);
+
+        Assert.assertEquals("0123456789", output.toString(UTF_8));
+        Mockito.verify(response).setContentLengthLong(10);
+        Mockito.verify(response).setHeader("Accept-Ranges", "bytes");
+        Mockito.verify(response).setHeader("ETag", "\"v1\"");
+        Mockito.verify(response).setDateHeader("Last-Modified", 10_000);
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void rangeResource_singleRange_partialContent() throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        handler.handleRequest(session, request, response,
+                createRangeResource("0123456789"));
+
+        Assert.assertEquals("2345", output.toString(UTF_8));
+        Mockito.verify(response)
+                .setStatus(HttpStatusCode.PARTIAL_CONTENT.getCode());
+        Mockito.verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        Mockito.verify(response).setContentLengthLong(4);
+    }
+
+    @Test
+    public void rangeResource_suffixAndOpenRanges_clampedToLength()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-3");
+
+        handler.handleRequest(session, request, response,
+                createRangeResource("0123456789"));
+
+        Assert.assertEquals("789", output.toString(UTF_8));
+        Mockito.verify(response).setHeader("Content-Range", "bytes 7-9/10");
+    }
+
+    @Test
+    public void rangeResource_multipleRanges_multipartBody()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1, 8-");
+
+        RangeStreamResource res = createRangeResource("0123456789");
+        res.setContentType("text/plain");
+        handler.handleRequest(session, request, response, res);
+
+        ArgumentCaptor<String> contentType = ArgumentCaptor
+                .forClass(String.class);
+        Mockito.verify(response, Mockito.times(2))
+                .setContentType(contentType.capture());
+        String boundary = contentType.getValue()
+                .substring("multipart/byteranges; boundary=".length());
+
+        String expected = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-1/10\r\n\r\n01" + "\r\n--" + boundary
+                + "\r\n" + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 8-9/10\r\n\r\n89" + "\r\n--" + boundary
+                + "--\r\n";
+        Assert.assertEquals(expected, output.toString(UTF_8));
+        Mockito.verify(response).setContentLengthLong(expected.length());
+        Mockito.verify(response)
+                .setStatus(HttpStatusCode.PARTIAL_CONTENT.getCode());
+    }
+
+    @Test
+    public void rangeResource_unsatisfiableRange_status416()
+            throws IOException {
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=20-30");
+
+        handler.handleRequest(session, request, response,
+                createRangeResource("0123456789"));
+
+        Mockito.verify(response).setStatus(
+                HttpStatusCode.REQUESTED_RANGE_NOT_SATISFIABLE.getCode());
+        Mockito.verify(response).setHeader("Content-Range", "bytes */10");
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+    }
+
+    @Test
+    public void rangeResource_malformedRange_fullContent() throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=5-2");
+
+        handler.handleRequest(session, request, response,
+                createRangeResource("0123456789"));
+
+        Assert.assertEquals("0123456789", output.toString(UTF_8));
+    }
+
+    @Test
+    public void rangeResource_ifNoneMatchMatches_notModified()
+            throws IOException {
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"v0\", W/\"v1\"");
+
+        RangeStreamResource res = createRangeResource("0123456789");
+        res.setETag("v1");
+        handler.handleRequest(session, request, response, res);
+
+        Mockito.verify(response)
+                .setStatus(HttpStatusCode.NOT_MODIFIED.getCode());
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+    }
+
+    @Test
+    public void rangeResource_ifModifiedSinceNotOlder_notModified()
+            throws IOException {
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getDateHeader("If-Modified-Since"))
+                .thenReturn(20_000L);
+
+        RangeStreamResource res = createRangeResource("0123456789");
+        res.setLastModified(20_000);
+        handler.handleRequest(session, request, response, res);
+
+        Mockito.verify(response)
+                .setStatus(HttpStatusCode.NOT_MODIFIED.getCode());
+    }
+
+    @Test
+    public void rangeResource_ifRangeDoesNotMatch_fullContent()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"v0\"");
+
+        RangeStreamResource res = createRangeResource("0123456789");
+        res.setETag("v1");
+        handler.handleRequest(session, request, response, res);
+
+        Assert.assertEquals("0123456789", output.toString(UTF_8));
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void fileResource_noRangeHeader_fullContentWithValidators()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Path file = temporaryFolder.newFile("data.txt").toPath();
+        Files.writeString(file, "0123456789");
+        Mockito.when(request.getMethod()).thenReturn("GET");
+
+        FileStreamResource res = new FileStreamResource(file);
+        handler.handleRequest(session, request, response, res);
+
+        Assert.assertEquals("data.txt", res.getName());
+        Assert.assertEquals("0123456789", output.toString(UTF_8));
+        Mockito.verify(response).setContentLengthLong(10);
+        Mockito.verify(response).setHeader("ETag", res.getETag());
+        Mockito.verify(response).setDateHeader("Last-Modified",
+                res.getLastModified());
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void fileResource_multipleRanges_rangesTransferred()
+            throws IOException {
+        ByteArrayOutputStream output = captureOutput();
+        Path file = temporaryFolder.newFile("data.txt").toPath();
+        Files.writeString(file, "0123456789");
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=1-2,-3");
+
+        handler.handleRequest(session, request, response,
+                new FileStreamResource(file));
+
+        String body = output.toString(UTF_8);
+        Assert.assertTrue(body.contains("bytes 1-2/10\r\n\r\n12\r\n"));
+        Assert.assertTrue(body.contains("bytes 7-9/10\r\n\r\n789\r\n"));
+    }
+
+    @Test
+    public void fileResource_fileTruncated_responseStatusIs500()
+            throws IOException {
+        captureOutput();
+        Path file = temporaryFolder.newFile("data.txt").toPath();
+        Files.writeString(file, "0123456789");
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        FileStreamResource res = new FileStreamResource(file);
+        Files.writeString(file, "01234");
+
+        Assert.assertThrows(EOFException.class,
+                () -> handler.handleRequest(session, request, response, res));
+        Mockito.verify(response)
+                .setStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
+    }
+
+    private RangeStreamResource createRangeResource(String content) {
+        byte[] bytes = content.getBytes(UTF_8);
+        return new RangeStreamResource("data.txt", bytes.length,
+                () -> new ByteArrayInputStream(bytes));
+    }
+
+    private ByteArrayOutputStream captureOutput() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                    }
+
+                    @Override
+                    public void write(int b) {
+                        output.write(b);
+                    }
+                });
+        return output;
+    }
 }
@@ -21,6 +21,7 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Properties;
@@ -37,6 +38,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.InMemoryVaadinMetrics;
 import com.vaadin.flow.server.MockVaadinContext;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinContext;
@@ -215,6 +217,25 @@ public class UidlRequestHandlerTest {
         assertFalse(v7Uidl.contains("window.location.hash = '!away';"));
     }
 
+    @Test
+    public void writeUidl_metricsConfigured_encodingRecorded()
+            throws Exception {
+        UI ui = getUi();
+        InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+        when(ui.getSession().getService().getMetrics()).thenReturn(metrics);
+
+        handler = spy(new UidlRequestHandler());
+        StringWriter writer = new StringWriter();
+        doReturn(generateUidl(true, true)).when(handler).createUidl(ui, false);
+
+        handler.writeUidl(ui, writer, false);
+
+        assertEquals(1, metrics.getUidlEncodeTime().count());
+        assertEquals(1, metrics.getUidlLength().count());
+        assertEquals(writer.toString().getBytes(StandardCharsets.UTF_8).length,
+                metrics.getUidlLength().total());
+    }
+
     @Test
     public void should_changeURL_when_v7LocationProvided() throws Exception {
         UI ui = getUi();
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.communication;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -53,13 +54,16 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RoutePathProvider;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.InMemoryVaadinMetrics;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.MockVaadinContext.RoutePathProviderImpl;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.frontend.BundleUtils;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
@@ -396,6 +400,108 @@ public class UidlWriterTest {
                 ui.getInternals().isDirty());
     }
 
+    @Test
+    public void createUidlMessage_sameContentAsCreateUidl() throws Exception {
+        ObjectNode expected = new UidlWriter()
+                .createUidl(initializeUIForStreamingTest(), false);
+
+        String message = new UidlWriter()
+                .createUidlMessage(initializeUIForStreamingTest(), false, false,
+                        null)
+                .toString(StandardCharsets.UTF_8);
+
+        assertStreamedMessage(expected, message);
+    }
+
+    @Test
+    public void createUidlMessageString_sameContentAsCreateUidl()
+            throws Exception {
+        ObjectNode expected = new UidlWriter()
+                .createUidl(initializeUIForStreamingTest(), true);
+
+        String message = new UidlWriter()
+                .createUidlMessageString(initializeUIForStreamingTest(), true);
+
+        assertStreamedMessage(expected, message);
+    }
+
+    @Test
+    public void createUidlMessage_executeFilterApplied() throws Exception {
+        List<ArrayNode> filtered = new ArrayList<>();
+        new UidlWriter().createUidlMessage(initializeUIForStreamingTest(),
+                false, false, filtered::add);
+
+        assertEquals(1, filtered.size());
+        assertTrue(filtered.get(0).toString().contains("return 1;"));
+    }
+
+    @Test
+    public void uidlEncoded_messageString_lengthReportedInUtf8Bytes() {
+        InMemoryVaadinMetrics metrics = new InMemoryVaadinMetrics();
+        VaadinService service = mock(VaadinService.class);
+        when(service.getMetrics()).thenReturn(metrics);
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        UI ui = mock(UI.class);
+        when(ui.getSession()).thenReturn(session);
+
+        String message = "a\u00e4\u20ac\ud83d\ude00";
+        UidlWriter.uidlEncoded(ui, System.nanoTime(), message);
+
+        assertEquals(message.getBytes(StandardCharsets.UTF_8).length,
+                metrics.getUidlLength().total());
+    }
+
+    @Test
+    public void createUidl_compactChanges_changesEncodedAsArrays()
+            throws Exception {
+        UI verboseUI = initializeUIForStreamingTest();
+        UI compactUI = initializeUIForStreamingTest();
+        compactUI.getInternals().setCompactChanges(true);
+
+        ArrayNode verbose = (ArrayNode) new UidlWriter()
+                .createUidl(verboseUI, false).get("changes");
+        String compactMessage = new UidlWriter()
+                .createUidlMessageString(compactUI, false);
+        ArrayNode compact = (ArrayNode) JacksonUtils
+                .readTree(compactMessage.substring(
+                        UidlWriter.MESSAGE_PREFIX.length(),
+                        compactMessage.length()
+                                - UidlWriter.MESSAGE_SUFFIX.length()))
+                .get("changes");
+
+        assertEquals(verbose.size(), compact.size());
+        for (int i = 0; i < compact.size(); i++) {
+            assertTrue(verbose.get(i).isObject());
+            assertTrue(compact.get(i).isArray());
+            assertEquals(
+                    verbose.get(i).get(JsonConstants.CHANGE_NODE).intValue(),
+                    compact.get(i).get(1).intValue());
+        }
+        assertTrue("Compact changes should be smaller",
+                compact.toString().length() < verbose.toString().length());
+    }
+
+    private UI initializeUIForStreamingTest() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        ComponentsContainer container = new ComponentsContainer();
+        container.add(new ChildComponent(), new ActualComponent());
+        ui.add(container);
+        ui.getElement().setProperty("foo", "bar");
+        ui.getPage().executeJs("return 1;");
+        return ui;
+    }
+
+    private void assertStreamedMessage(ObjectNode expected, String message) {
+        assertTrue(message.startsWith(UidlWriter.MESSAGE_PREFIX));
+        assertTrue(message.endsWith(UidlWriter.MESSAGE_SUFFIX));
+        ObjectNode actual = JacksonUtils
+                .readTree(message.substring(UidlWriter.MESSAGE_PREFIX.length(),
+                        message.length() - UidlWriter.MESSAGE_SUFFIX.length()));
+        assertTrue(actual.has("changes"));
+        assertTrue(JacksonUtils.jsonEquals(expected, actual));
+    }
+
     private void assertInlineDependencies(List<ObjectNode> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
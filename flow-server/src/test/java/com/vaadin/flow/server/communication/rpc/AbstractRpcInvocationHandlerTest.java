@@ -23,17 +23,21 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.ElementFactory;
 import com.vaadin.flow.dom.ElementUtil;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
-import elemental.json.Json;
-import elemental.json.JsonObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.MockedStatic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mockStatic;
@@ -55,7 +59,7 @@ public class AbstractRpcInvocationHandlerTest {
 
         @Override
         protected Optional<Runnable> handleNode(StateNode node,
-                JsonObject invocationJson) {
+                JsonNode invocationJson) {
             this.node = node;
             return Optional.of(() -> {
             });
@@ -73,6 +77,19 @@ public class AbstractRpcInvocationHandlerTest {
         Assert.assertSame(element.getNode(), handler.node);
     }
 
+    @Test
+    public void handleElementalJson_deprecatedOverload_nodeIsHandled() {
+        UI ui = new UI();
+        Element element = ElementFactory.createAnchor();
+        ui.getElement().appendChild(element);
+
+        JsonObject object = Json.createObject();
+        object.put(JsonConstants.RPC_NODE, element.getNode().getId());
+        handler.handle(ui, object);
+
+        Assert.assertSame(element.getNode(), handler.node);
+    }
+
     @Test
     public void handleInactiveNode_nodeIsNotHandled() {
         UI ui = new UI();
@@ -104,7 +121,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUI_passingNoPollingPayload_ignoresPollingInvocation() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createNonPollingRpcInvocationPayload(ui);
+        ObjectNode invocationJson = createNonPollingRpcInvocationPayload(ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
 
         Assert.assertEquals(Optional.empty(), runnable);
@@ -115,7 +132,7 @@ public class AbstractRpcInvocationHandlerTest {
 
         UI ui = createInertUI();
 
-        JsonObject invocationJson = createLegitimatePollingRpcInvocationPayload(
+        ObjectNode invocationJson = createLegitimatePollingRpcInvocationPayload(
                 ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
         Assert.assertEquals(Optional.empty(), runnable);
@@ -133,7 +150,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUIWithPollingInterval_passingIllegitimateKeysForPollingPayload_ignoresInvocation() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createIllegitimatePayloadKeysPollingRpcInvocationPayload(
+        ObjectNode invocationJson = createIllegitimatePayloadKeysPollingRpcInvocationPayload(
                 ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
 
@@ -144,7 +161,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUIWithPollingInterval_passingIllegitimateGreaterNumberOfKeysForPollingPayload_ignoresInvocation() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createIllegitimatePayloadWithGreaterSizePollingRpcInvocationPayload(
+        ObjectNode invocationJson = createIllegitimatePayloadWithGreaterSizePollingRpcInvocationPayload(
                 ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
 
@@ -155,7 +172,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUIWithPollingInterval_passingIllegitimateSmallerNumberOfKeysForPollingPayload_ignoresInvocation() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createIllegitimatePayloadWithSmallerSizePollingRpcInvocationPayload(
+        ObjectNode invocationJson = createIllegitimatePayloadWithSmallerSizePollingRpcInvocationPayload(
                 ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
 
@@ -166,7 +183,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUIWithPollingInterval_passingIllegitimateNoNodeKeyForPollingPayload_throwsAssertionError() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createIllegitimatePayloadNoNodeKeyForPollingRpcInvocationPayload();
+        ObjectNode invocationJson = createIllegitimatePayloadNoNodeKeyForPollingRpcInvocationPayload();
         Assert.assertThrows(AssertionError.class,
                 () -> handler.handle(ui, invocationJson));
     }
@@ -175,7 +192,7 @@ public class AbstractRpcInvocationHandlerTest {
     public void inertUIWithPollingInterval_passingIllegitimateNonRootNodeIdForPollingPayload_ignoresInvocation() {
 
         UI ui = createInertUIWithPollInterval();
-        JsonObject invocationJson = createIllegitimatePayloadWithNonRootNodePollingRpcInvocationPayload(
+        ObjectNode invocationJson = createIllegitimatePayloadWithNonRootNodePollingRpcInvocationPayload(
                 ui);
         Optional<Runnable> runnable = handler.handle(ui, invocationJson);
 
@@ -194,7 +211,7 @@ public class AbstractRpcInvocationHandlerTest {
                     .thenReturn(logger);
 
             UI ui = createInertUI();
-            JsonObject invocationJson = createLegitimatePollingRpcInvocationPayload(
+            ObjectNode invocationJson = createLegitimatePollingRpcInvocationPayload(
                     ui);
             handler.handle(ui, invocationJson);
 
@@ -215,7 +232,7 @@ public class AbstractRpcInvocationHandlerTest {
                     .thenReturn(logger);
 
             UI ui = createInertUIWithPollInterval();
-            JsonObject invocationJson = createIllegitimatePayloadKeysPollingRpcInvocationPayload(
+            ObjectNode invocationJson = createIllegitimatePayloadKeysPollingRpcInvocationPayload(
                     ui);
             handler.handle(ui, invocationJson);
 
@@ -233,7 +250,7 @@ public class AbstractRpcInvocationHandlerTest {
             additionalConfig.accept(element);
         }
 
-        JsonObject object = Json.createObject();
+        ObjectNode object = JacksonUtils.createObjectNode();
         object.put(JsonConstants.RPC_NODE, element.getNode().getId());
         handler.handle(ui, object);
         return element;
@@ -254,26 +271,26 @@ public class AbstractRpcInvocationHandlerTest {
         return ui;
     }
 
-    private JsonObject createLegitimatePollingRpcInvocationPayload(UI ui) {
-        JsonObject payload = Json.createObject();
+    private ObjectNode createLegitimatePollingRpcInvocationPayload(UI ui) {
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
         payload.put(JsonConstants.RPC_NODE, ui.getElement().getNode().getId());
         payload.put(JsonConstants.RPC_EVENT_TYPE, PollEvent.DOM_EVENT_NAME);
         return payload;
     }
 
-    private JsonObject createIllegitimatePayloadKeysPollingRpcInvocationPayload(
+    private ObjectNode createIllegitimatePayloadKeysPollingRpcInvocationPayload(
             UI ui) {
-        JsonObject payload = Json.createObject();
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_EVENT_DATA, "DATA");
         payload.put(JsonConstants.RPC_NODE, ui.getElement().getNode().getId());
         payload.put(JsonConstants.RPC_EVENT_TYPE, PollEvent.DOM_EVENT_NAME);
         return payload;
     }
 
-    private JsonObject createIllegitimatePayloadWithGreaterSizePollingRpcInvocationPayload(
+    private ObjectNode createIllegitimatePayloadWithGreaterSizePollingRpcInvocationPayload(
             UI ui) {
-        JsonObject payload = Json.createObject();
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_EVENT_DATA, "DATA");
         payload.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
         payload.put(JsonConstants.RPC_NODE, ui.getElement().getNode().getId());
@@ -281,24 +298,24 @@ public class AbstractRpcInvocationHandlerTest {
         return payload;
     }
 
-    private JsonObject createIllegitimatePayloadWithSmallerSizePollingRpcInvocationPayload(
+    private ObjectNode createIllegitimatePayloadWithSmallerSizePollingRpcInvocationPayload(
             UI ui) {
-        JsonObject payload = Json.createObject();
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_NODE, ui.getElement().getNode().getId());
         payload.put(JsonConstants.RPC_EVENT_TYPE, PollEvent.DOM_EVENT_NAME);
         return payload;
     }
 
-    private JsonObject createIllegitimatePayloadNoNodeKeyForPollingRpcInvocationPayload() {
-        JsonObject payload = Json.createObject();
+    private ObjectNode createIllegitimatePayloadNoNodeKeyForPollingRpcInvocationPayload() {
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
         payload.put(JsonConstants.CHANGE_TYPE, "change");
         payload.put(JsonConstants.RPC_EVENT_TYPE, PollEvent.DOM_EVENT_NAME);
         return payload;
     }
 
-    private JsonObject createNonPollingRpcInvocationPayload(UI ui) {
-        JsonObject payload = Json.createObject();
+    private ObjectNode createNonPollingRpcInvocationPayload(UI ui) {
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
         payload.put(JsonConstants.RPC_NODE,
                 ui.getInternals().getStateTree().getRootNode().getId());
@@ -307,12 +324,12 @@ public class AbstractRpcInvocationHandlerTest {
         return payload;
     }
 
-    private JsonObject createIllegitimatePayloadWithNonRootNodePollingRpcInvocationPayload(
+    private ObjectNode createIllegitimatePayloadWithNonRootNodePollingRpcInvocationPayload(
             UI ui) {
         Element element = ElementFactory.createAnchor();
         ui.getElement().appendChild(element);
 
-        JsonObject payload = Json.createObject();
+        ObjectNode payload = JacksonUtils.createObjectNode();
         payload.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
         payload.put(JsonConstants.RPC_NODE, element.getNode().getId());
         payload.put(JsonConstants.RPC_EVENT_TYPE, PollEvent.DOM_EVENT_NAME);
@@ -15,63 +15,64 @@
  */
 package com.vaadin.flow.server.communication.rpc;
 
-import java.util.HashMap;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.ElementData;
 import com.vaadin.flow.shared.JsonConstants;
 
-import elemental.json.Json;
-import elemental.json.JsonObject;
-import elemental.json.JsonValue;
-
 public class AttachTemplateChildRpcHandlerTest {
 
     @Test(expected = IllegalStateException.class)
     public void handleNode_attachById_elementNotFound() {
-        doHandleNode_attach_elementNotFound(Json.create("id"));
+        doHandleNode_attach_elementNotFound(new TextNode("id"));
     }
 
     @Test(expected = IllegalStateException.class)
     public void handleNode_attachCustomElement_elementNotFound() {
-        doHandleNode_attach_elementNotFound(Json.createNull());
+        doHandleNode_attach_elementNotFound(JacksonUtils.nullNode());
     }
 
     @Test(expected = IllegalStateException.class)
     public void handleNode_attachByIdExistingRequest_throwReservedId() {
-        doHandleNode_attach_throwReservedId(Json.create(2));
+        doHandleNode_attach_throwReservedId(new IntNode(2));
     }
 
     @Test(expected = IllegalStateException.class)
     public void handleNode_attachCustonElementCustomId_throwReservedId() {
-        doHandleNode_attach_throwReservedId(Json.createNull());
+        doHandleNode_attach_throwReservedId(JacksonUtils.nullNode());
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void handleNode_success_throwIllegalInvocation() {
-        assertHandleNode(1, Json.create("id"));
+        assertHandleNode(1, new TextNode("id"));
     }
 
-    private void doHandleNode_attach_elementNotFound(JsonValue id) {
+    private void doHandleNode_attach_elementNotFound(JsonNode id) {
         assertHandleNode(-1, id);
     }
 
-    private void doHandleNode_attach_throwReservedId(JsonValue id) {
+    private void doHandleNode_attach_throwReservedId(JsonNode id) {
         assertHandleNode(2, id);
     }
 
-    private void assertHandleNode(int assignedId, JsonValue id) {
+    private void assertHandleNode(int assignedId, JsonNode id) {
         AttachTemplateChildRpcHandler handler = new AttachTemplateChildRpcHandler();
 
         int requestedId = 1;
-        JsonObject object = Json.createObject();
+        ObjectNode object = JacksonUtils.createObjectNode();
         object.put(JsonConstants.RPC_ATTACH_REQUESTED_ID, requestedId);
         object.put(JsonConstants.RPC_ATTACH_ASSIGNED_ID, assignedId);
-        object.put(JsonConstants.RPC_ATTACH_ID, id);
+        object.set(JsonConstants.RPC_ATTACH_ID, id);
 
         StateNode node = Mockito.mock(StateNode.class);
         StateNode parentNode = Mockito.mock(StateNode.class);
@@ -80,7 +81,8 @@ public class AttachTemplateChildRpcHandlerTest {
         Mockito.when(node.getParent()).thenReturn(parentNode);
         Mockito.when(tree.getNodeById(requestedId)).thenReturn(node);
         Mockito.when(node.getChangeTracker(Mockito.any(), Mockito.any()))
-                .thenReturn(new HashMap<>());
+                .thenAnswer(invocation -> invocation
+                        .<Supplier<?>> getArgument(1).get());
 
         ElementData data = new ElementData(node);
         data.setTag("foo");
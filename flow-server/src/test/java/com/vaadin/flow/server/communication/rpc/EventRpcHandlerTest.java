@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication.rpc;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -24,6 +25,7 @@ import com.vaadin.flow.component.ComponentTest.TestComponent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.InertData;
 import com.vaadin.flow.shared.JsonConstants;
@@ -77,7 +79,7 @@ public class EventRpcHandlerTest {
 
     }
 
-    private static JsonObject createElementEventInvocation(Element element,
+    private static ObjectNode createElementEventInvocation(Element element,
             String eventType, JsonObject eventData) {
         StateNode node = element.getNode();
         // Copied from ServerConnector
@@ -89,7 +91,7 @@ public class EventRpcHandlerTest {
             message.put(JsonConstants.RPC_EVENT_DATA, eventData);
         }
 
-        return message;
+        return JacksonUtils.mapElemental(message);
     }
 
     private static void sendElementEvent(Element element, UI ui,
@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -32,6 +33,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.ElementFactory;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
@@ -433,12 +435,12 @@ public class MapSyncRpcHandlerTest {
                 createSyncPropertyInvocation(element, eventType, value));
     }
 
-    private static JsonObject createSyncPropertyInvocation(Element element,
+    private static ObjectNode createSyncPropertyInvocation(Element element,
             String property, Serializable value) {
         return createSyncPropertyInvocation(element.getNode(), property, value);
     }
 
-    private static JsonObject createSyncPropertyInvocation(StateNode node,
+    private static ObjectNode createSyncPropertyInvocation(StateNode node,
             String property, Serializable value) {
         // Copied from ServerConnector
         JsonObject message = Json.createObject();
@@ -449,6 +451,6 @@ public class MapSyncRpcHandlerTest {
         message.put(JsonConstants.RPC_PROPERTY_VALUE,
                 JsonCodec.encodeWithoutTypeInfo(value));
 
-        return message;
+        return JacksonUtils.mapElemental(message);
     }
 }
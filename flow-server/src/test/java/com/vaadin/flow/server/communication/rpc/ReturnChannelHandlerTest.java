@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication.rpc;
 
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -24,7 +25,10 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
@@ -54,9 +58,9 @@ public class ReturnChannelHandlerTest {
 
         handleMessage(registration);
 
-        Assert.assertSame(
+        Assert.assertTrue(
                 "Handler should have been invoked with the given arguments.",
-                args, observedArguments.get());
+                JsonUtils.jsonEquals(args, observedArguments.get()));
     }
 
     @Test
@@ -144,6 +148,49 @@ public class ReturnChannelHandlerTest {
                 observedArguments.get());
     }
 
+    @Test
+    public void nodeIdReused_staleChannelInvocationIgnored() {
+        StateTree tree = ui.getInternals().getStateTree();
+        StateNode detachedNode = new StateNode(ReturnChannelMap.class);
+        ElementChildrenList children = ui.getElement().getNode()
+                .getFeature(ElementChildrenList.class);
+        children.add(0, detachedNode);
+
+        ReturnChannelRegistration staleRegistration = detachedNode
+                .getFeature(ReturnChannelMap.class)
+                .registerChannel(observingConsumer);
+        int nodeId = staleRegistration.getStateNodeId();
+        int staleChannelId = staleRegistration.getChannelId();
+
+        children.remove(0);
+        tree.collectChanges(change -> {
+        });
+        tree.markChangesSent(1);
+        // The client has processed the detach
+        tree.markChangesConfirmed(2);
+
+        StateNode reusingNode = new StateNode(ReturnChannelMap.class);
+        children.add(0, reusingNode);
+        Assert.assertEquals("Node id should have been reused", nodeId,
+                reusingNode.getId());
+
+        ReturnChannelRegistration registration = reusingNode
+                .getFeature(ReturnChannelMap.class)
+                .registerChannel(observingConsumer);
+        Assert.assertNotEquals("Channel id should not be reused",
+                staleChannelId, registration.getChannelId());
+
+        handleMessage(nodeId, staleChannelId);
+
+        Assert.assertNull("Channel handler should not be called",
+                observedArguments.get());
+
+        handleMessage(registration);
+
+        Assert.assertNotNull("Channel handler should be called",
+                observedArguments.get());
+    }
+
     private void handleMessage(ReturnChannelRegistration registration) {
         handleMessage(registration.getStateNodeId(),
                 registration.getChannelId());
@@ -157,19 +204,19 @@ public class ReturnChannelHandlerTest {
     }
 
     private void handleMessage(int nodeId, int channelId) {
-        JsonObject invocationJson = createInvocationJson(nodeId, channelId);
+        ObjectNode invocationJson = createInvocationJson(nodeId, channelId);
 
         new ReturnChannelHandler().handle(ui, invocationJson);
     }
 
-    private JsonObject createInvocationJson(int stateNodeId, int channelId) {
+    private ObjectNode createInvocationJson(int stateNodeId, int channelId) {
         JsonObject invocationJson = Json.createObject();
 
         invocationJson.put(JsonConstants.RPC_NODE, stateNodeId);
         invocationJson.put(JsonConstants.RPC_CHANNEL, channelId);
         invocationJson.put(JsonConstants.RPC_CHANNEL_ARGUMENTS, args);
 
-        return invocationJson;
+        return JacksonUtils.mapElemental(invocationJson);
     }
 
     @Tag("div")
@@ -226,6 +226,52 @@ public class NodeTasksExecutionTest {
 
     }
 
+    @Test
+    public void nodeTasks_inputsUnchanged_commandSkippedAndOutputsKept()
+            throws Exception {
+        options = new MockOptions(options.getClassFinder(),
+                temporaryFolder.newFolder("project")).withBuildDirectory(TARGET)
+                .withFrontendDirectory(temporaryFolder.getRoot())
+                .withCleanOldGeneratedFiles(true);
+        File generated = options.getFrontendGeneratedFolder().toPath()
+                .resolve("cached.js").toFile();
+        CachedFileGeneratorTask task = new CachedFileGeneratorTask(generated);
+
+        executeWithCleanup(task);
+        Assert.assertEquals(1, task.executions);
+
+        executeWithCleanup(task);
+        Assert.assertEquals("Task with unchanged inputs should be skipped", 1,
+                task.executions);
+        Assert.assertTrue(
+                "Output of skipped task should not be removed as old file",
+                generated.exists());
+
+        task.inputHash = "changed";
+        executeWithCleanup(task);
+        Assert.assertEquals("Task with changed inputs should be executed", 2,
+                task.executions);
+
+        Assert.assertTrue(generated.delete());
+        executeWithCleanup(task);
+        Assert.assertEquals(
+                "Task with missing outputs should be executed again", 3,
+                task.executions);
+        Assert.assertTrue(generated.exists());
+    }
+
+    private void executeWithCleanup(FallibleCommand task) throws Exception {
+        NodeTasks spiedNodeTasks = Mockito.spy(new NodeTasks(options));
+        Mockito.doAnswer(i -> i.getArgument(
+                0) instanceof TaskRemoveOldFrontendGeneratedFiles ? 1 : 0)
+                .when(spiedNodeTasks).getIndex(ArgumentMatchers.any());
+        List<FallibleCommand> commandList = getCommands(spiedNodeTasks);
+        commandList.clear();
+        commandList.add(task);
+        commandList.add(new TaskRemoveOldFrontendGeneratedFiles(options));
+        spiedNodeTasks.execute();
+    }
+
     private void enqueueCreateGeneratedFilesTasks(NodeTasks nodeTasks,
             List<Path> generatedFiles)
             throws NoSuchFieldException, IllegalAccessException {
@@ -280,6 +326,28 @@ public class NodeTasksExecutionTest {
         }
     }
 
+    private static class CachedFileGeneratorTask extends FileGeneratorTask {
+
+        private String inputHash = "initial";
+
+        private int executions;
+
+        CachedFileGeneratorTask(File file) {
+            super(file);
+        }
+
+        @Override
+        public String getInputHash() {
+            return inputHash;
+        }
+
+        @Override
+        public void execute() throws ExecutionFailedException {
+            executions++;
+            super.execute();
+        }
+    }
+
     private class NewTask implements FallibleCommand {
         @Override
         public void execute() throws ExecutionFailedException {
@@ -2,6 +2,7 @@ package com.vaadin.flow.server.frontend;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Set;
 
 import org.junit.Assert;
@@ -70,6 +71,27 @@ public class TaskCopyLocalFrontendFilesTest {
                 generatedFileSupport.getFiles());
     }
 
+    @Test
+    public void getInputHash_changesWhenSourceFilesChange() throws IOException {
+        final File sourceFolder = createReadOnlySource();
+
+        Options options = new MockOptions(temporaryFolder.getRoot())
+                .withJarFrontendResourcesFolder(
+                        temporaryFolder.newFolder("out"))
+                .copyLocalResources(sourceFolder);
+        TaskCopyLocalFrontendFiles task = new TaskCopyLocalFrontendFiles(
+                options);
+
+        String initialHash = task.getInputHash();
+        Assert.assertEquals("Hash should be stable for unchanged sources",
+                initialHash, task.getInputHash());
+
+        Files.writeString(new File(sourceFolder, "added.js").toPath(),
+                "export {};");
+        Assert.assertNotEquals("Hash should change when a file is added",
+                initialHash, task.getInputHash());
+    }
+
     private File createReadOnlySource() throws IOException {
         final File sourceFolder = temporaryFolder.newFolder("source");
         File readOnly = new File(sourceFolder, "readOnly.txt");
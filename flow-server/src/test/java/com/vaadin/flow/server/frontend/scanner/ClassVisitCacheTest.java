@@ -0,0 +1,72 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.net.URL;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassVisitCacheTest {
+
+    private final ClassVisitCache cache = new ClassVisitCache();
+
+    @Test
+    public void put_storedInfoIsCopied() throws Exception {
+        URL url = new URL("file:/classes/Foo.class");
+        ClassInfo info = new ClassInfo("Foo");
+        info.modules.add("foo.js");
+
+        cache.put(url, "hash", info);
+        info.modules.add("bar.js");
+        info.theme.themeName = "changed";
+
+        ClassInfo cached = cache.get(url, "hash");
+        Assert.assertNotSame(info, cached);
+        Assert.assertEquals("Foo", cached.className);
+        Assert.assertEquals(1, cached.modules.size());
+        Assert.assertTrue(cached.modules.contains("foo.js"));
+        Assert.assertEquals("", cached.theme.getThemeName());
+    }
+
+    @Test
+    public void get_returnedInfoIsCopied() throws Exception {
+        URL url = new URL("file:/classes/Foo.class");
+        ClassInfo info = new ClassInfo("Foo");
+        info.children.add("Bar");
+        cache.put(url, "hash", info);
+
+        ClassInfo first = cache.get(url, "hash");
+        first.children.add("Baz");
+        first.modules.add("foo.js");
+
+        ClassInfo second = cache.get(url, "hash");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(1, second.children.size());
+        Assert.assertTrue(second.modules.isEmpty());
+    }
+
+    @Test
+    public void get_sameContentFromOtherLocation_notFound() throws Exception {
+        cache.put(new URL("file:/classes/Foo.class"), "hash",
+                new ClassInfo("Foo"));
+
+        Assert.assertNull(
+                cache.get(new URL("jar:file:/lib/foo.jar!/Foo.class"), "hash"));
+        Assert.assertNull(
+                cache.get(new URL("file:/classes/Foo.class"), "other"));
+    }
+}
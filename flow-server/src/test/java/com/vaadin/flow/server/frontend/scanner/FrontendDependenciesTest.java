@@ -18,6 +18,7 @@ package com.vaadin.flow.server.frontend.scanner;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -257,6 +258,21 @@ public class FrontendDependenciesTest {
         Assert.assertNotNull(dependencies.getThemeDefinition());
     }
 
+    @Test
+    public void secondScan_noSharedCache_classesVisitedAgain() {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(Set.of(RouteComponent.class, TestRoute.class));
+
+        FrontendDependencies first = new FrontendDependencies(classFinder,
+                false, null, true);
+        FrontendDependencies second = new FrontendDependencies(classFinder,
+                false, null, true);
+
+        Assert.assertEquals(0, first.getReusedVisitCount());
+        Assert.assertEquals(0, second.getReusedVisitCount());
+        Assert.assertEquals(first.getModules(), second.getModules());
+    }
+
     @Test // #9861
     public void collectEntryPoints_uiIsAlwaysCollected() {
         FrontendDependencies dependencies = new FrontendDependencies(
@@ -322,6 +338,24 @@ public class FrontendDependenciesTest {
                 "@vaadin/common-frontend/ConnectionIndicator.js");
     }
 
+    @Test
+    public void secondScan_sharedCache_unchangedClassesReused_sameResult() {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class))
+                .thenReturn(Set.of(RouteComponent.class, TestRoute.class));
+        ClassVisitCache cache = new ClassVisitCache();
+
+        FrontendDependencies first = new FrontendDependencies(classFinder,
+                false, null, true, cache);
+        FrontendDependencies second = new FrontendDependencies(classFinder,
+                false, null, true, cache);
+
+        Assert.assertTrue("Unchanged classes should not be visited again",
+                second.getReusedVisitCount() > 0);
+        Assert.assertEquals(first.getClasses(), second.getClasses());
+        Assert.assertEquals(first.getModules(), second.getModules());
+        Assert.assertEquals(first.getScripts(), second.getScripts());
+    }
+
     @Test // #9861
     public void shouldVisit_shouldNotMatchOnPartOfPackage() {
 
@@ -166,8 +166,8 @@ public class ScannerDependenciesTest {
         assertEquals(0, deps.getPackages().size());
         DepsTests.assertImportCount(0, deps.getScripts());
         DepsTests.assertImportsExcludingUI(deps.getModules(),
-                "./my-component.js", "./my-static-factory.js",
-                "./my-another-component.js");
+                "./my-component.js", "./my-another-component.js",
+                "./my-static-factory.js");
     }
 
     @Test
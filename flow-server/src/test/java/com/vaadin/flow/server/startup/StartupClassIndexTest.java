@@ -0,0 +1,184 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Meta;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.ErrorParameter;
+import com.vaadin.flow.router.HasErrorParameter;
+import com.vaadin.flow.router.Layout;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouteAlias;
+import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+public class StartupClassIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Tag(Tag.DIV)
+    @Route("foo")
+    @RouteAlias("bar")
+    public static class RouteTarget extends Component {
+    }
+
+    @Tag(Tag.DIV)
+    @Layout
+    public static class MainLayout extends Component implements RouterLayout {
+    }
+
+    @Tag(Tag.DIV)
+    public static class ErrorView extends Component
+            implements HasErrorParameter<IllegalStateException> {
+
+        @Override
+        public int setErrorParameter(BeforeEnterEvent event,
+                ErrorParameter<IllegalStateException> parameter) {
+            return 500;
+        }
+    }
+
+    @Meta(name = "foo", content = "bar")
+    @Meta(name = "baz", content = "qux")
+    public static class AppShell implements AppShellConfigurator {
+    }
+
+    @Test
+    public void create_indexedTypesContainMatchingClasses() throws Exception {
+        StartupClassIndex index = createIndex();
+
+        Assert.assertTrue(index.contains(StartupClassIndex.getIndexedTypes()));
+        Assert.assertEquals(Set.of(RouteTarget.class.getName()),
+                index.getClassNames(Route.class));
+        Assert.assertEquals(Set.of(RouteTarget.class.getName()),
+                index.getClassNames(RouteAlias.class));
+        Assert.assertEquals(Set.of(MainLayout.class.getName()),
+                index.getClassNames(Layout.class));
+        Assert.assertEquals(Set.of(ErrorView.class.getName()),
+                index.getClassNames(HasErrorParameter.class));
+        Assert.assertEquals(Set.of(AppShell.class.getName()),
+                index.getClassNames(AppShellConfigurator.class));
+        Assert.assertEquals(Set.of(AppShell.class.getName()),
+                index.getClassNames(Meta.class));
+        Assert.assertTrue(index.getClassNames(Meta.Container.class)
+                .contains(AppShell.class.getName()));
+        Assert.assertFalse(index.contains(List.of(Tag.class)));
+    }
+
+    @Test
+    public void writeAndLoad_indexIsRestored() throws Exception {
+        File resources = temporaryFolder.newFolder();
+        createIndex()
+                .write(new File(resources, Constants.VAADIN_SERVLET_RESOURCES
+                        + StartupClassIndex.INDEX_FILE));
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() },
+                getClass().getClassLoader())) {
+            StartupClassIndex index = StartupClassIndex.load(loader);
+
+            Assert.assertFalse(index.isEmpty());
+            Assert.assertEquals(Set.of(RouteTarget.class, MainLayout.class),
+                    index.getClasses(List.of(Route.class, RouteAlias.class,
+                            Layout.class), name -> true, loader));
+            Assert.assertEquals(Set.of(RouteTarget.class),
+                    index.getClasses(List.of(Route.class, Layout.class),
+                            name -> name.endsWith("RouteTarget"), loader));
+        }
+    }
+
+    @Test
+    public void load_unloadableClassesAreSkipped() throws Exception {
+        File resources = temporaryFolder.newFolder();
+        File file = new File(resources, Constants.VAADIN_SERVLET_RESOURCES
+                + StartupClassIndex.INDEX_FILE);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), Route.class.getName() + "="
+                + RouteTarget.class.getName() + ",com.example.Missing\n",
+                StandardCharsets.UTF_8);
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() },
+                getClass().getClassLoader())) {
+            StartupClassIndex index = StartupClassIndex.load(loader);
+
+            Assert.assertEquals(Set.of(RouteTarget.class), index
+                    .getClasses(List.of(Route.class), name -> true, loader));
+            Assert.assertFalse(index.contains(List.of(Layout.class)));
+        }
+    }
+
+    @Test
+    public void load_noIndexAvailable_emptyIndex() throws IOException {
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], null)) {
+            StartupClassIndex index = StartupClassIndex.load(loader);
+
+            Assert.assertTrue(index.isEmpty());
+            Assert.assertFalse(index.contains(List.of(Route.class)));
+        }
+    }
+
+    @Test
+    public void load_moreThanOneIndexAvailable_emptyIndex() throws Exception {
+        File application = temporaryFolder.newFolder();
+        createIndex()
+                .write(new File(application, Constants.VAADIN_SERVLET_RESOURCES
+                        + StartupClassIndex.INDEX_FILE));
+        File dependency = temporaryFolder.newFolder();
+        File dependencyIndex = new File(dependency,
+                Constants.VAADIN_SERVLET_RESOURCES
+                        + StartupClassIndex.INDEX_FILE);
+        Files.createDirectories(dependencyIndex.getParentFile().toPath());
+        Files.writeString(dependencyIndex.toPath(),
+                Route.class.getName() + "=com.example.OtherRoute\n",
+                StandardCharsets.UTF_8);
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { application.toURI().toURL(),
+                        dependency.toURI().toURL() },
+                getClass().getClassLoader())) {
+            StartupClassIndex index = StartupClassIndex.load(loader);
+
+            Assert.assertTrue(index.isEmpty());
+            Assert.assertFalse(index.contains(List.of(Route.class)));
+        }
+    }
+
+    private StartupClassIndex createIndex() throws ClassNotFoundException {
+        return StartupClassIndex.create(
+                new ClassFinder.DefaultClassFinder(Set.of(RouteTarget.class,
+                        MainLayout.class, ErrorView.class, AppShell.class)));
+    }
+}
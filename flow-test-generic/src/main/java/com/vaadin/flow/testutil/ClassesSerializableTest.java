@@ -98,6 +98,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.base\\.devserver\\.util\\.net\\.EphemeralPortRangeDetector",
                 "com\\.vaadin\\.base\\.devserver\\.util\\.net\\.LinuxEphemeralPortRangeDetector",
                 "com\\.vaadin\\.flow\\.data\\.provider\\.InMemoryDataProviderHelpers",
+                "com\\.vaadin\\.flow\\.data\\.provider\\.ListDataProvider\\$CachedView",
                 "com\\.vaadin\\.flow\\.di\\.InstantiatorFactory",
                 "com\\.vaadin\\.flow\\.di\\.Lookup(\\$.*)?",
                 "com\\.vaadin\\.flow\\.di\\.ResourceProvider",
@@ -128,7 +129,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.internal\\.JacksonCodec",
                 "com\\.vaadin\\.flow\\.internal\\.ReflectionCacheHotswapper",
                 "com\\.vaadin\\.flow\\.internal\\.UsageStatistics(\\$.*)?",
-                "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeFeatureRegistry",
+                "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeFeatureRegistry(\\$FeatureDataCache)?",
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeFeatures",
                 "com\\.vaadin\\.flow\\.internal\\.CustomElementNameValidator",
                 "com\\.vaadin\\.flow\\.router\\.HighlightActions",
@@ -145,6 +146,8 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.dau\\.FlowDauIntegration",
                 "com\\.vaadin\\.flow\\.server\\.dau\\.FlowDauIntegration\\$TrackingDetails",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.ServerRpcHandler\\$LazyInvocationHandlers",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.StreamResourceHandler\\$.*",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.UidlWriter\\$(UidlOutput|TreeOutput|StreamingOutput|MessageBuffer)",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletRequest",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletResponse",
                 "com\\.vaadin\\.flow\\.server\\.auth\\.NavigationContext",
@@ -181,6 +184,8 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.component\\.Key",
                 "com\\.vaadin\\.flow\\.server\\.VaadinRequest",
                 "com\\.vaadin\\.flow\\.server\\.DevServerWatchDog(\\$.*)?",
+                "com\\.vaadin\\.flow\\.server\\.SessionSweeper(\\$.*)?",
+                "com\\.vaadin\\.flow\\.server\\.CompactSessionSerializer\\$Compact.*",
                 "com\\.vaadin\\.flow\\.router\\.DefaultRoutePathProvider",
                 "com\\.vaadin\\.flow\\.router\\.RoutePathProvider",
                 "com\\.vaadin\\.flow\\.router\\.RouteNotFoundError\\$LazyInit",
@@ -234,6 +239,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.AbstractFileGeneratorFallibleCommand",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.GeneratedFilesSupport",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeTasks",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeTasksBuildState(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeUpdater",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.Task.*",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.AbstractTaskClientGenerator",
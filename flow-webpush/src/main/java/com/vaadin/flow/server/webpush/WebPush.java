@@ -23,6 +23,8 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.Security;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import nl.martijndwars.webpush.Notification;
 import nl.martijndwars.webpush.PushService;
@@ -107,16 +109,8 @@ public class WebPush {
         int statusCode = -1;
         HttpResponse<String> response = null;
         try {
-            Subscription.Keys keys = null;
-            if (subscription.keys() != null) {
-                keys = new Subscription.Keys(subscription.keys().p256dh(),
-                        subscription.keys().auth());
-            }
-            Subscription nativeSubscription = new Subscription(
-                    subscription.endpoint(), keys);
-            Notification notification = Notification.builder()
-                    .subscription(nativeSubscription).payload(message.toJson())
-                    .build();
+            Notification notification = createNotification(subscription,
+                    message.toJson());
             response = pushService.send(notification,
                     PushService.DEFAULT_ENCODING,
                     HttpResponse.BodyHandlers.ofString());
@@ -137,6 +131,50 @@ public class WebPush {
         }
     }
 
+    /**
+     * Sends the given notification to all of the given subscriptions
+     * asynchronously, using the default settings of {@link WebPushBulkSender}.
+     * <p>
+     * Use {@link #bulkSender()} to configure concurrency, rate limiting,
+     * retries and handling of expired subscriptions.
+     *
+     * @param subscriptions
+     *            web push subscriptions of the clients
+     * @param message
+     *            notification message containing data to be shown, e.g.
+     *            <code>title</code> and <code>body</code>
+     * @return a future completed with the outcome once every notification has
+     *         been either delivered or given up on
+     */
+    public CompletableFuture<WebPushBulkResult> sendNotifications(
+            Collection<WebPushSubscription> subscriptions,
+            WebPushMessage message) {
+        return bulkSender().send(subscriptions, message);
+    }
+
+    /**
+     * Creates a new sender for delivering a notification to many subscriptions.
+     * The sender shares the HTTP client and VAPID keys of this instance.
+     *
+     * @return a new bulk sender, not {@code null}
+     */
+    public WebPushBulkSender bulkSender() {
+        return new WebPushBulkSender(pushService);
+    }
+
+    static Notification createNotification(WebPushSubscription subscription,
+            String payload) throws GeneralSecurityException {
+        Subscription.Keys keys = null;
+        if (subscription.keys() != null) {
+            keys = new Subscription.Keys(subscription.keys().p256dh(),
+                    subscription.keys().auth());
+        }
+        Subscription nativeSubscription = new Subscription(
+                subscription.endpoint(), keys);
+        return Notification.builder().subscription(nativeSubscription)
+                .payload(payload).build();
+    }
+
     /**
      * Check if there is a web push subscription registered to the serviceWorker
      * on the client.
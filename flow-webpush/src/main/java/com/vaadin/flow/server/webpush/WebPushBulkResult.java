@@ -0,0 +1,53 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.webpush;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of sending a notification to many subscriptions with
+ * {@link WebPushBulkSender}.
+ *
+ * @param sent
+ *            the number of notifications accepted by the push services
+ * @param expired
+ *            subscriptions rejected by the push service as no longer valid
+ *            (HTTP status 404 or 410); these should be removed from storage
+ * @param failed
+ *            subscriptions for which delivery failed for another reason or
+ *            after all retries were used up
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public record WebPushBulkResult(int sent, List<WebPushSubscription> expired,
+        List<WebPushSubscription> failed) implements Serializable {
+
+    /**
+     * Creates a new result.
+     *
+     * @param sent
+     *            the number of notifications accepted by the push services
+     * @param expired
+     *            subscriptions that are no longer valid
+     * @param failed
+     *            subscriptions for which delivery failed
+     */
+    public WebPushBulkResult {
+        expired = List.copyOf(expired);
+        failed = List.copyOf(failed);
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.webpush;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.martijndwars.webpush.PushService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.SerializableConsumer;
+
+/**
+ * Sends a Web Push notification to many subscriptions asynchronously.
+ * <p>
+ * Payloads are encrypted in parallel on the configured executor and sent
+ * through the HTTP client of the {@link WebPush} instance that created the
+ * sender, so connections to the push services are reused. The number of
+ * notifications being encrypted, sent or waiting for a retry is bounded by
+ * {@link #withMaxConcurrentRequests(int)}, and requests to the same push
+ * service are spread out according to
+ * {@link #withMaxRequestsPerSecondPerEndpoint(int)}.
+ * <p>
+ * Responses with status 429 or 5xx and I/O errors are retried with exponential
+ * backoff, honoring a {@code Retry-After} header given in seconds.
+ * Subscriptions answered with 404 or 410 are reported as expired.
+ * <p>
+ * The sender should be configured before calling
+ * {@link #send(Collection, WebPushMessage)}; changing the configuration does
+ * not affect sends that are already in progress.
+ *
+ * @author Vaadin Ltd
+ * @since 24.8
+ */
+public class WebPushBulkSender {
+
+    /**
+     * Default maximum number of notifications in progress at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+
+    /**
+     * Default maximum number of requests per second sent to a single push
+     * service.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_SECOND_PER_ENDPOINT = 500;
+
+    /**
+     * Default maximum number of retries for a single notification.
+     */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final PushService pushService;
+
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private int maxRequestsPerSecondPerEndpoint = DEFAULT_MAX_REQUESTS_PER_SECOND_PER_ENDPOINT;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    private Executor executor = ForkJoinPool.commonPool();
+    private SerializableConsumer<WebPushSubscription> expiredSubscriptionHandler;
+
+    WebPushBulkSender(PushService pushService) {
+        this.pushService = pushService;
+    }
+
+    /**
+     * Sets the maximum number of notifications that are being encrypted, sent
+     * or waiting for a retry at the same time. Further subscriptions are only
+     * processed once earlier ones have completed.
+     *
+     * @param maxConcurrentRequests
+     *            the maximum number of concurrent notifications, at least 1
+     * @return this sender
+     */
+    public WebPushBulkSender withMaxConcurrentRequests(
+            int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException(
+                    "Max concurrent requests must be at least 1");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests per second sent to a single push
+     * service, identified by the scheme, host and port of the subscription
+     * endpoint.
+     *
+     * @param maxRequestsPerSecond
+     *            the maximum request rate per push service, or {@code 0} for no
+     *            limit
+     * @return this sender
+     */
+    public WebPushBulkSender withMaxRequestsPerSecondPerEndpoint(
+            int maxRequestsPerSecond) {
+        if (maxRequestsPerSecond < 0) {
+            throw new IllegalArgumentException(
+                    "Max requests per second must not be negative");
+        }
+        this.maxRequestsPerSecondPerEndpoint = maxRequestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets how many times a notification is retried after a 429 or 5xx response
+     * or an I/O error.
+     *
+     * @param maxRetries
+     *            the maximum number of retries, {@code 0} to disable retries
+     * @return this sender
+     */
+    public WebPushBulkSender withMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException(
+                    "Max retries must not be negative");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Sets the delay before the first retry. The delay is doubled for every
+     * following retry, up to the given maximum.
+     *
+     * @param initialBackoff
+     *            the delay before the first retry, not {@code null}
+     * @param maxBackoff
+     *            the maximum delay between retries, not {@code null}
+     * @return this sender
+     */
+    public WebPushBulkSender withBackoff(Duration initialBackoff,
+            Duration maxBackoff) {
+        this.initialBackoff = Objects.requireNonNull(initialBackoff);
+        this.maxBackoff = Objects.requireNonNull(maxBackoff);
+        return this;
+    }
+
+    /**
+     * Sets the executor used for encrypting payloads and processing responses.
+     * Defaults to the common fork-join pool.
+     *
+     * @param executor
+     *            the executor to use, not {@code null}
+     * @return this sender
+     */
+    public WebPushBulkSender withExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Sets a handler that is notified for every subscription the push service
+     * reports as expired or unsubscribed (HTTP status 404 or 410), e.g. to
+     * remove it from storage.
+     * <p>
+     * The handler is invoked from a background thread while the send is in
+     * progress.
+     *
+     * @param handler
+     *            the handler to notify, or {@code null} to only report expired
+     *            subscriptions in the result
+     * @return this sender
+     */
+    public WebPushBulkSender withExpiredSubscriptionHandler(
+            SerializableConsumer<WebPushSubscription> handler) {
+        this.expiredSubscriptionHandler = handler;
+        return this;
+    }
+
+    /**
+     * Sends the given notification to all of the given subscriptions.
+     * <p>
+     * The returned future never completes exceptionally because of a failing
+     * subscription; such subscriptions are listed in the result instead.
+     *
+     * @param subscriptions
+     *            web push subscriptions of the clients, not {@code null}
+     * @param message
+     *            notification message containing data to be shown, e.g.
+     *            <code>title</code> and <code>body</code>, not {@code null}
+     * @return a future completed with the outcome once every notification has
+     *         been either delivered or given up on
+     */
+    public CompletableFuture<WebPushBulkResult> send(
+            Collection<WebPushSubscription> subscriptions,
+            WebPushMessage message) {
+        Objects.requireNonNull(subscriptions, "Subscriptions cannot be null");
+        Objects.requireNonNull(message, "Message cannot be null");
+        return new BulkSend(subscriptions, message.toJson()).start();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(WebPushBulkSender.class);
+    }
+
+    /**
+     * State of a single bulk send. Each worker takes the next subscription from
+     * the queue once the previous one has been completed, so at most
+     * {@code workers} notifications are in progress at any time.
+     */
+    private final class BulkSend {
+
+        private final Queue<WebPushSubscription> pending;
+        private final String payload;
+        private final int workers;
+        private final int retries;
+        private final long rateIntervalNanos;
+        private final Duration firstBackoff;
+        private final Duration lastBackoff;
+        private final Executor sendExecutor;
+        private final SerializableConsumer<WebPushSubscription> expiredHandler;
+
+        private final Map<String, EndpointRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final Queue<WebPushSubscription> expired = new ConcurrentLinkedQueue<>();
+        private final Queue<WebPushSubscription> failed = new ConcurrentLinkedQueue<>();
+        private final CompletableFuture<WebPushBulkResult> result = new CompletableFuture<>();
+
+        private BulkSend(Collection<WebPushSubscription> subscriptions,
+                String payload) {
+            this.pending = new ConcurrentLinkedQueue<>(subscriptions);
+            this.payload = payload;
+            this.workers = Math.min(maxConcurrentRequests, pending.size());
+            this.retries = maxRetries;
+            this.rateIntervalNanos = maxRequestsPerSecondPerEndpoint == 0 ? 0
+                    : TimeUnit.SECONDS.toNanos(1)
+                            / maxRequestsPerSecondPerEndpoint;
+            this.firstBackoff = initialBackoff;
+            this.lastBackoff = maxBackoff;
+            this.sendExecutor = executor;
+            this.expiredHandler = expiredSubscriptionHandler;
+        }
+
+        private CompletableFuture<WebPushBulkResult> start() {
+            if (workers == 0) {
+                complete();
+                return result;
+            }
+            activeWorkers.set(workers);
+            for (int i = 0; i < workers; i++) {
+                sendExecutor.execute(this::next);
+            }
+            return result;
+        }
+
+        private void next() {
+            WebPushSubscription subscription = pending.poll();
+            if (subscription == null) {
+                if (activeWorkers.decrementAndGet() == 0) {
+                    complete();
+                }
+                return;
+            }
+            attempt(subscription, 0);
+        }
+
+        private void attempt(WebPushSubscription subscription, int attempt) {
+            long delay = rateLimiter(subscription).reserve();
+            runAfter(delay, () -> deliver(subscription, attempt));
+        }
+
+        private void deliver(WebPushSubscription subscription, int attempt) {
+            CompletableFuture<HttpResponse<Void>> response;
+            try {
+                response = pushService.sendAsync(
+                        WebPush.createNotification(subscription, payload),
+                        PushService.DEFAULT_ENCODING,
+                        HttpResponse.BodyHandlers.discarding());
+            } catch (Exception e) {
+                // Invalid keys or endpoint, retrying does not help
+                fail(subscription, e);
+                return;
+            }
+            response.whenCompleteAsync((httpResponse, error) -> {
+                try {
+                    if (error != null) {
+                        handleError(subscription, attempt, error);
+                    } else {
+                        handleResponse(subscription, attempt, httpResponse);
+                    }
+                } catch (RuntimeException e) {
+                    fail(subscription, e);
+                }
+            }, sendExecutor);
+        }
+
+        private void handleResponse(WebPushSubscription subscription,
+                int attempt, HttpResponse<Void> response) {
+            int statusCode = response.statusCode();
+            if (statusCode >= 200 && statusCode < 300) {
+                sent.incrementAndGet();
+                next();
+            } else if (statusCode == 404 || statusCode == 410) {
+                expire(subscription);
+            } else if (statusCode == 429 || statusCode >= 500) {
+                Duration retryAfter = getRetryAfter(response);
+                if (statusCode == 429 && retryAfter != null) {
+                    rateLimiter(subscription).pause(retryAfter.toNanos());
+                }
+                retry(subscription, attempt, retryAfter,
+                        "status code " + statusCode);
+            } else {
+                fail(subscription, new WebPushException(
+                        "Sending of web push notification failed with status code "
+                                + statusCode));
+            }
+        }
+
+        private void handleError(WebPushSubscription subscription, int attempt,
+                Throwable error) {
+            Throwable cause = error instanceof CompletionException
+                    && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof IOException) {
+                retry(subscription, attempt, null, cause.toString());
+            } else {
+                fail(subscription, cause);
+            }
+        }
+
+        private void retry(WebPushSubscription subscription, int attempt,
+                Duration retryAfter, String reason) {
+            if (attempt >= retries) {
+                fail(subscription, new WebPushException(
+                        "Sending of web push notification failed after "
+                                + (attempt + 1) + " attempts, last failure: "
+                                + reason));
+                return;
+            }
+            Duration delay = retryAfter != null ? retryAfter
+                    : getBackoff(attempt);
+            getLogger().debug("Retrying web push notification in {} ms: {}",
+                    delay.toMillis(), reason);
+            runAfter(delay.toNanos(), () -> attempt(subscription, attempt + 1));
+        }
+
+        private Duration getBackoff(int attempt) {
+            Duration backoff = firstBackoff;
+            for (int i = 0; i < attempt
+                    && backoff.compareTo(lastBackoff) < 0; i++) {
+                backoff = backoff.multipliedBy(2);
+            }
+            return backoff.compareTo(lastBackoff) > 0 ? lastBackoff : backoff;
+        }
+
+        private void expire(WebPushSubscription subscription) {
+            expired.add(subscription);
+            if (expiredHandler != null) {
+                try {
+                    expiredHandler.accept(subscription);
+                } catch (RuntimeException e) {
+                    getLogger().error(
+                            "Expired web push subscription handler failed", e);
+                }
+            }
+            next();
+        }
+
+        private void fail(WebPushSubscription subscription, Throwable cause) {
+            getLogger().debug("Failed to send web push notification to {}",
+                    subscription.endpoint(), cause);
+            failed.add(subscription);
+            next();
+        }
+
+        private void complete() {
+            if (!failed.isEmpty()) {
+                getLogger().warn(
+                        "Failed to send web push notification to {} subscription(s)",
+                        failed.size());
+            }
+            result.complete(new WebPushBulkResult(sent.get(),
+                    List.copyOf(expired), List.copyOf(failed)));
+        }
+
+        private void runAfter(long delayNanos, Runnable task) {
+            Executor target = delayNanos > 0
+                    ? CompletableFuture.delayedExecutor(delayNanos,
+                            TimeUnit.NANOSECONDS, sendExecutor)
+                    : sendExecutor;
+            target.execute(task);
+        }
+
+        private EndpointRateLimiter rateLimiter(
+                WebPushSubscription subscription) {
+            return rateLimiters.computeIfAbsent(
+                    getOrigin(subscription.endpoint()),
+                    origin -> new EndpointRateLimiter(rateIntervalNanos));
+        }
+    }
+
+    private static Duration getRetryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After").map(value -> {
+            try {
+                return Duration.ofSeconds(Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                // HTTP-date values fall back to the regular backoff
+                return null;
+            }
+        }).orElse(null);
+    }
+
+    private static String getOrigin(String endpoint) {
+        try {
+            URI uri = URI.create(endpoint);
+            return uri.getScheme() + "://" + uri.getHost() + ":"
+                    + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return String.valueOf(endpoint);
+        }
+    }
+
+    /**
+     * Spreads requests to one push service evenly over time by handing out
+     * consecutive send slots.
+     */
+    private static final class EndpointRateLimiter {
+
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        private EndpointRateLimiter(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        /**
+         * Reserves the next send slot.
+         *
+         * @return the delay in nanoseconds until the reserved slot
+         */
+        private synchronized long reserve() {
+            long now = System.nanoTime();
+            long slot = nextSlot - now > 0 ? nextSlot : now;
+            nextSlot = slot + intervalNanos;
+            return slot - now;
+        }
+
+        /**
+         * Postpones all further slots, e.g. when the push service asks clients
+         * to slow down.
+         */
+        private synchronized void pause(long nanos) {
+            long until = System.nanoTime() + nanos;
+            if (until - nextSlot > 0) {
+                nextSlot = until;
+            }
+        }
+    }
+}
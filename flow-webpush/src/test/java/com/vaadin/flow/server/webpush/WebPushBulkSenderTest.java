@@ -0,0 +1,204 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.webpush;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import nl.martijndwars.webpush.Utils;
+import org.bouncycastle.jce.interfaces.ECPrivateKey;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.jce.spec.ECNamedCurveGenParameterSpec;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebPushBulkSenderTest {
+
+    private HttpServer server;
+    private WebPush webPush;
+    private WebPushKeys subscriptionKeys;
+
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        Security.addProvider(new BouncyCastleProvider());
+        KeyPair vapidKeys = generateKeyPair();
+        webPush = new WebPush(encode(vapidKeys.getPublic()),
+                encode(vapidKeys.getPrivate()), "mailto:test@example.com");
+
+        byte[] auth = new byte[16];
+        new SecureRandom().nextBytes(auth);
+        subscriptionKeys = new WebPushKeys(
+                encode(generateKeyPair().getPublic()),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(auth));
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void send_deliveredAndExpiredSubscriptionsReported()
+            throws Exception {
+        List<WebPushSubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            subscriptions.add(subscription("/ok/" + i));
+        }
+        WebPushSubscription gone = subscription("/gone/1");
+        WebPushSubscription notFound = subscription("/not-found/1");
+        subscriptions.add(gone);
+        subscriptions.add(notFound);
+        List<WebPushSubscription> expiredNotified = new CopyOnWriteArrayList<>();
+
+        WebPushBulkResult result = webPush.bulkSender()
+                .withMaxConcurrentRequests(4)
+                .withExpiredSubscriptionHandler(expiredNotified::add)
+                .send(subscriptions, new WebPushMessage("Title", "Body"))
+                .get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(20, result.sent());
+        Assert.assertEquals(List.of(), result.failed());
+        Assert.assertEquals(2, result.expired().size());
+        Assert.assertTrue(
+                result.expired().containsAll(List.of(gone, notFound)));
+        Assert.assertTrue(expiredNotified.containsAll(List.of(gone, notFound)));
+        Assert.assertTrue("Expected at most 4 concurrent requests but got "
+                + maxInFlight.get(), maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void send_retryableStatus_retriedUntilDelivered() throws Exception {
+        WebPushBulkResult result = webPush.bulkSender()
+                .withBackoff(Duration.ofMillis(10), Duration.ofMillis(50))
+                .send(List.of(subscription("/flaky/1")),
+                        new WebPushMessage("Title"))
+                .get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, result.sent());
+        Assert.assertEquals(3, requestCounts.get("/flaky/1").get());
+    }
+
+    @Test
+    public void send_retriesExhausted_reportedAsFailed() throws Exception {
+        WebPushBulkResult result = webPush.bulkSender().withMaxRetries(1)
+                .withBackoff(Duration.ofMillis(10), Duration.ofMillis(50))
+                .send(List.of(subscription("/flaky/1"),
+                        subscription("/bad-request/1")),
+                        new WebPushMessage("Title"))
+                .get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(0, result.sent());
+        Assert.assertEquals(2, result.failed().size());
+        Assert.assertEquals(2, requestCounts.get("/flaky/1").get());
+        Assert.assertEquals("Non-retryable status should not be retried", 1,
+                requestCounts.get("/bad-request/1").get());
+    }
+
+    @Test
+    public void send_noSubscriptions_completesImmediately() throws Exception {
+        WebPushBulkResult result = webPush
+                .sendNotifications(List.of(), new WebPushMessage("Title"))
+                .get(1, TimeUnit.SECONDS);
+
+        Assert.assertEquals(0, result.sent());
+        Assert.assertTrue(result.expired().isEmpty());
+        Assert.assertTrue(result.failed().isEmpty());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            String path = exchange.getRequestURI().getPath();
+            int count = requestCounts
+                    .computeIfAbsent(path, p -> new AtomicInteger())
+                    .incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(10);
+            int status;
+            if (path.startsWith("/gone/")) {
+                status = 410;
+            } else if (path.startsWith("/not-found/")) {
+                status = 404;
+            } else if (path.startsWith("/bad-request/")) {
+                status = 400;
+            } else if (path.startsWith("/flaky/") && count < 3) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                status = count == 1 ? 503 : 429;
+            } else {
+                status = 201;
+            }
+            exchange.sendResponseHeaders(status, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private WebPushSubscription subscription(String path) {
+        return new WebPushSubscription(
+                "http://localhost:" + server.getAddress().getPort() + path,
+                subscriptionKeys);
+    }
+
+    private static KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("ECDH",
+                BouncyCastleProvider.PROVIDER_NAME);
+        generator.initialize(new ECNamedCurveGenParameterSpec(Utils.CURVE));
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(java.security.PublicKey key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Utils.encode((ECPublicKey) key));
+    }
+
+    private static String encode(java.security.PrivateKey key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Utils.encode((ECPrivateKey) key));
+    }
+}
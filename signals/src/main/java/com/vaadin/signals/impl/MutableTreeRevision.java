@@ -770,14 +770,17 @@ public class MutableTreeRevision extends TreeRevision {
 
     /**
      * Creates a new mutable tree revision as a copy of the provided base
-     * revision.
+     * revision. Unchanged parts of the tree are shared with the base revision
+     * so that only the nodes that are modified through this revision are
+     * copied.
      *
      * @param base
      *            the base revision to copy, not <code>null</code>
      */
     public MutableTreeRevision(TreeRevision base) {
-        super(base.ownerId(), new HashMap<>(base.nodes()),
-                new HashMap<>(base.originalInserts()));
+        super(base.ownerId(),
+                PersistentHashMap.copyOf(base.nodes()).toMutable(),
+                PersistentHashMap.copyOf(base.originalInserts()).toMutable());
     }
 
     /**
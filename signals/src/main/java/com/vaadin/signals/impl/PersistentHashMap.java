@@ -0,0 +1,708 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.signals.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map backed by a hash array mapped trie. Creating a modified copy
+ * of the map through {@link #with(Object, Object)} or {@link #without(Object)}
+ * only copies the path from the root to the modified entry while the rest of
+ * the trie is shared with the original map. This makes it cheap to create a new
+ * tree revision from an existing one even when the tree contains a large number
+ * of nodes.
+ * <p>
+ * A mutable view based on the same trie can be created using
+ * {@link #toMutable()}. Changes to the mutable view never affect the map that
+ * it was created from.
+ *
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final BitmapNode EMPTY_ROOT = new BitmapNode(0,
+            new Object[0]);
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(
+            EMPTY_ROOT, 0);
+
+    private final BitmapNode root;
+    private final int size;
+
+    private transient Set<Entry<K, V>> entrySet;
+
+    /**
+     * A single key-value mapping in the trie.
+     */
+    private static final class Leaf<K, V> implements Entry<K, V> {
+        private final int hash;
+        private final K key;
+        private final V value;
+
+        private Leaf(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean matches(int hash, Object key) {
+            return this.hash == hash && Objects.equals(this.key, key);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Entry<?, ?> entry
+                    && Objects.equals(key, entry.getKey())
+                    && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * An inner trie node. Each slot is either a {@link Leaf}, a
+     * {@link CollisionNode} or another bitmap node. The bitmap tells which of
+     * the 32 possible hash fragments on this level have a slot.
+     */
+    private static final class BitmapNode {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode withSlot(int bit, Object slot) {
+            int index = index(bit);
+            Object[] newSlots = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            newSlots[index] = slot;
+            System.arraycopy(slots, index, newSlots, index + 1,
+                    slots.length - index);
+            return new BitmapNode(bitmap | bit, newSlots);
+        }
+
+        private BitmapNode replaceSlot(int index, Object slot) {
+            Object[] newSlots = slots.clone();
+            newSlots[index] = slot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        private BitmapNode withoutSlot(int bit) {
+            int index = index(bit);
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 1, newSlots, index,
+                    slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+    }
+
+    /**
+     * A node holding leaves whose keys have identical hash codes.
+     */
+    private static final class CollisionNode {
+        private final int hash;
+        private final Leaf<?, ?>[] leaves;
+
+        private CollisionNode(int hash, Leaf<?, ?>[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Tracks the size change caused by a single put or remove operation.
+     */
+    private static final class SizeChange {
+        private int delta;
+    }
+
+    private PersistentHashMap(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets an empty persistent map.
+     *
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the value type
+     * @return an empty map, not <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets a persistent map with the same mappings as the given map. If the
+     * given map is already a persistent map or a mutable view of one, then the
+     * underlying trie is shared without copying.
+     *
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the value type
+     * @param map
+     *            the map to copy, not <code>null</code>
+     * @return a persistent map with the same mappings, not <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(
+            Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap<?, ?> persistent) {
+            return (PersistentHashMap<K, V>) persistent;
+        } else if (map instanceof Mutable<?, ?> mutable) {
+            return (PersistentHashMap<K, V>) mutable.toPersistent();
+        }
+        Mutable<K, V> mutable = new Mutable<>(EMPTY_ROOT, 0);
+        mutable.putAll(map);
+        return mutable.toPersistent();
+    }
+
+    /**
+     * Creates a new map with the given mapping added or replaced. This map is
+     * not modified.
+     *
+     * @param key
+     *            the key to map
+     * @param value
+     *            the value to map the key to
+     * @return a map with the new mapping, or this map if the key was already
+     *         mapped to the same value
+     */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        SizeChange change = new SizeChange();
+        BitmapNode newRoot = (BitmapNode) put(root, 0,
+                new Leaf<>(hash(key), key, value), change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size + change.delta);
+    }
+
+    /**
+     * Creates a new map without a mapping for the given key. This map is not
+     * modified.
+     *
+     * @param key
+     *            the key to remove
+     * @return a map without the key, or this map if there was no mapping for
+     *         the key
+     */
+    public PersistentHashMap<K, V> without(Object key) {
+        SizeChange change = new SizeChange();
+        Object newRoot = remove(root, 0, hash(key), key, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(asRoot(newRoot), size + change.delta);
+    }
+
+    /**
+     * Creates a mutable map that initially shares all its mappings with this
+     * map. Modifying the mutable map does not affect this map.
+     *
+     * @return a new mutable map, not <code>null</code>
+     */
+    public Mutable<K, V> toMutable() {
+        return new Mutable<>(root, size);
+    }
+
+    @Override
+    public V get(Object key) {
+        return value(find(root, hash(key), key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(root, hash(key), key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet<>(root, size);
+        }
+        return entrySet;
+    }
+
+    /**
+     * A mutable map backed by a hash array mapped trie. Each modification
+     * replaces the path from the root to the modified entry so that any
+     * persistent map sharing parts of the trie is not affected. Creating a
+     * persistent map from the current state through {@link #toPersistent()}
+     * does not copy any data.
+     *
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the value type
+     */
+    public static final class Mutable<K, V> extends AbstractMap<K, V> {
+        private BitmapNode root;
+        private int size;
+
+        private Mutable(BitmapNode root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Creates a persistent map with the current mappings of this map.
+         * Subsequent changes to this map are not reflected in the returned map.
+         *
+         * @return a persistent map, not <code>null</code>
+         */
+        public PersistentHashMap<K, V> toPersistent() {
+            if (size == 0) {
+                return empty();
+            }
+            return new PersistentHashMap<>(root, size);
+        }
+
+        @Override
+        public V get(Object key) {
+            return value(find(root, hash(key), key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(root, hash(key), key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            int hash = hash(key);
+            V oldValue = value(find(root, hash, key));
+            SizeChange change = new SizeChange();
+            root = (BitmapNode) PersistentHashMap.put(root, 0,
+                    new Leaf<>(hash, key, value), change);
+            size += change.delta;
+            return oldValue;
+        }
+
+        @Override
+        public V remove(Object key) {
+            int hash = hash(key);
+            Leaf<?, ?> leaf = find(root, hash, key);
+            if (leaf == null) {
+                return null;
+            }
+            SizeChange change = new SizeChange();
+            root = asRoot(PersistentHashMap.remove(root, 0, hash, key, change));
+            size += change.delta;
+            return value(leaf);
+        }
+
+        @Override
+        public void clear() {
+            root = EMPTY_ROOT;
+            size = 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    // Iterate over the current trie which is never modified
+                    Iterator<Entry<K, V>> iterator = new TrieIterator<>(root);
+                    return new Iterator<>() {
+                        private Entry<K, V> last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            last = iterator.next();
+                            return last;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) {
+                                throw new IllegalStateException();
+                            }
+                            Mutable.this.remove(last.getKey());
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return o instanceof Entry<?, ?> entry
+                            && containsKey(entry.getKey()) && Objects.equals(
+                                    get(entry.getKey()), entry.getValue());
+                }
+            };
+        }
+    }
+
+    private static final class EntrySet<K, V> extends AbstractSet<Entry<K, V>> {
+        private final BitmapNode root;
+        private final int size;
+
+        private EntrySet(BitmapNode root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new TrieIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Entry<?, ?> entry) {
+                Leaf<?, ?> leaf = find(root, hash(entry.getKey()),
+                        entry.getKey());
+                return leaf != null
+                        && Objects.equals(leaf.value, entry.getValue());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Depth-first iterator over the leaves of an immutable trie.
+     */
+    private static final class TrieIterator<K, V>
+            implements Iterator<Entry<K, V>> {
+        private final Deque<Object[]> slotStack = new ArrayDeque<>();
+        private final Deque<Integer> indexStack = new ArrayDeque<>();
+        private Leaf<K, V> next;
+
+        private TrieIterator(BitmapNode root) {
+            push(root.slots);
+            advance();
+        }
+
+        private void push(Object[] slots) {
+            slotStack.push(slots);
+            indexStack.push(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (next == null && !slotStack.isEmpty()) {
+                Object[] slots = slotStack.peek();
+                int index = indexStack.pop();
+                if (index >= slots.length) {
+                    slotStack.pop();
+                    continue;
+                }
+                indexStack.push(index + 1);
+
+                Object slot = slots[index];
+                if (slot instanceof Leaf<?, ?> leaf) {
+                    next = (Leaf<K, V>) leaf;
+                } else if (slot instanceof BitmapNode node) {
+                    push(node.slots);
+                } else {
+                    push(((CollisionNode) slot).leaves);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(key);
+        // Spread higher bits to the lower levels of the trie
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Leaf<?, ?> leaf) {
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    private static BitmapNode asRoot(Object node) {
+        if (node == null) {
+            return EMPTY_ROOT;
+        } else if (node instanceof BitmapNode bitmapNode) {
+            return bitmapNode;
+        }
+        // The root is never collapsed into a leaf or a collision node
+        throw new IllegalStateException("Unexpected root node " + node);
+    }
+
+    private static Leaf<?, ?> find(BitmapNode root, int hash, Object key) {
+        Object node = root;
+        int shift = 0;
+        while (true) {
+            if (node instanceof BitmapNode bitmapNode) {
+                int bit = bit(hash, shift);
+                if ((bitmapNode.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = bitmapNode.slots[bitmapNode.index(bit)];
+                shift += BITS;
+            } else if (node instanceof Leaf<?, ?> leaf) {
+                return leaf.matches(hash, key) ? leaf : null;
+            } else {
+                CollisionNode collisionNode = (CollisionNode) node;
+                if (collisionNode.hash != hash) {
+                    return null;
+                }
+                int index = collisionNode.indexOf(key);
+                return index == -1 ? null : collisionNode.leaves[index];
+            }
+        }
+    }
+
+    private static Object put(Object node, int shift, Leaf<?, ?> leaf,
+            SizeChange change) {
+        if (node instanceof CollisionNode collisionNode) {
+            if (collisionNode.hash != leaf.hash) {
+                change.delta = 1;
+                return merge(collisionNode, collisionNode.hash, leaf, shift);
+            }
+            int index = collisionNode.indexOf(leaf.key);
+            Leaf<?, ?>[] leaves;
+            if (index == -1) {
+                change.delta = 1;
+                leaves = new Leaf<?, ?>[collisionNode.leaves.length + 1];
+                System.arraycopy(collisionNode.leaves, 0, leaves, 0,
+                        collisionNode.leaves.length);
+                leaves[collisionNode.leaves.length] = leaf;
+            } else if (collisionNode.leaves[index].value == leaf.value) {
+                return collisionNode;
+            } else {
+                leaves = collisionNode.leaves.clone();
+                leaves[index] = leaf;
+            }
+            return new CollisionNode(leaf.hash, leaves);
+        }
+
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bit(leaf.hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+            change.delta = 1;
+            return bitmapNode.withSlot(bit, leaf);
+        }
+
+        int index = bitmapNode.index(bit);
+        Object slot = bitmapNode.slots[index];
+        Object newSlot;
+        if (slot instanceof Leaf<?, ?> existing) {
+            if (existing.matches(leaf.hash, leaf.key)) {
+                if (existing.value == leaf.value) {
+                    return bitmapNode;
+                }
+                newSlot = leaf;
+            } else {
+                change.delta = 1;
+                newSlot = merge(existing, existing.hash, leaf, shift + BITS);
+            }
+        } else {
+            newSlot = put(slot, shift + BITS, leaf, change);
+            if (newSlot == slot) {
+                return bitmapNode;
+            }
+        }
+        return bitmapNode.replaceSlot(index, newSlot);
+    }
+
+    /**
+     * Creates a node that holds both an existing leaf or collision node and a
+     * new leaf with a different key.
+     */
+    private static Object merge(Object existing, int existingHash,
+            Leaf<?, ?> leaf, int shift) {
+        if (existingHash == leaf.hash) {
+            // Only possible when existing is a leaf
+            return new CollisionNode(leaf.hash,
+                    new Leaf<?, ?>[] { (Leaf<?, ?>) existing, leaf });
+        }
+        int existingBit = bit(existingHash, shift);
+        int bit = bit(leaf.hash, shift);
+        if (existingBit == bit) {
+            return new BitmapNode(bit, new Object[] {
+                    merge(existing, existingHash, leaf, shift + BITS) });
+        } else if (Integer.compareUnsigned(existingBit, bit) < 0) {
+            return new BitmapNode(existingBit | bit,
+                    new Object[] { existing, leaf });
+        } else {
+            return new BitmapNode(existingBit | bit,
+                    new Object[] { leaf, existing });
+        }
+    }
+
+    /**
+     * Removes the key from the given node. Returns the same node instance if
+     * the key is not present, <code>null</code> if the node became empty, or
+     * the single remaining leaf or collision node if a non-root node would
+     * otherwise only contain that single entry.
+     */
+    private static Object remove(Object node, int shift, int hash, Object key,
+            SizeChange change) {
+        if (node instanceof CollisionNode collisionNode) {
+            int index = collisionNode.hash == hash ? collisionNode.indexOf(key)
+                    : -1;
+            if (index == -1) {
+                return collisionNode;
+            }
+            change.delta = -1;
+            Leaf<?, ?>[] oldLeaves = collisionNode.leaves;
+            if (oldLeaves.length == 2) {
+                return oldLeaves[1 - index];
+            }
+            Leaf<?, ?>[] leaves = new Leaf<?, ?>[oldLeaves.length - 1];
+            System.arraycopy(oldLeaves, 0, leaves, 0, index);
+            System.arraycopy(oldLeaves, index + 1, leaves, index,
+                    oldLeaves.length - index - 1);
+            return new CollisionNode(hash, leaves);
+        }
+
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bit(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+            return bitmapNode;
+        }
+
+        int index = bitmapNode.index(bit);
+        Object slot = bitmapNode.slots[index];
+        Object newSlot;
+        if (slot instanceof Leaf<?, ?> leaf) {
+            if (!leaf.matches(hash, key)) {
+                return bitmapNode;
+            }
+            change.delta = -1;
+            newSlot = null;
+        } else {
+            newSlot = remove(slot, shift + BITS, hash, key, change);
+            if (newSlot == slot) {
+                return bitmapNode;
+            }
+        }
+
+        BitmapNode result;
+        if (newSlot == null) {
+            if (bitmapNode.slots.length == 1) {
+                return null;
+            }
+            result = bitmapNode.withoutSlot(bit);
+        } else {
+            result = bitmapNode.replaceSlot(index, newSlot);
+        }
+
+        if (shift > 0 && result.slots.length == 1
+                && !(result.slots[0] instanceof BitmapNode)) {
+            // Collapse into the parent to keep the trie shallow
+            return result.slots[0];
+        }
+        return result;
+    }
+}
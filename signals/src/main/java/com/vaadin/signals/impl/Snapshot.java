@@ -25,14 +25,16 @@ import com.vaadin.signals.Node;
  */
 public class Snapshot extends TreeRevision {
     /**
-     * Creates a new snapshot from a mutable tree revision.
+     * Creates a new snapshot from a mutable tree revision. The snapshot shares
+     * its data structures with the base revision so that the cost of creating a
+     * snapshot does not depend on the size of the tree.
      *
      * @param base
      *            the mutable base revision to copy, not <code>null</code>
      */
     public Snapshot(MutableTreeRevision base) {
-        super(base.ownerId(), Map.copyOf(base.nodes()),
-                Map.copyOf(base.originalInserts()));
+        super(base.ownerId(), PersistentHashMap.copyOf(base.nodes()),
+                PersistentHashMap.copyOf(base.originalInserts()));
     }
 
     /**
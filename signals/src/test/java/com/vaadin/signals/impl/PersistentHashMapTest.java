@@ -0,0 +1,197 @@
+/*
+ * Copyright 2000-2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.signals.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentHashMapTest {
+
+    private record CollidingKey(String name) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void with_newKey_originalUnchanged() {
+        PersistentHashMap<String, String> empty = PersistentHashMap.empty();
+
+        PersistentHashMap<String, String> map = empty.with("a", "1");
+
+        assertEquals(Map.of("a", "1"), map);
+        assertEquals(Map.of(), empty);
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void with_sameValue_sameInstance() {
+        String value = "1";
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with("a", value);
+
+        assertSame(map, map.with("a", value));
+    }
+
+    @Test
+    void without_missingKey_sameInstance() {
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with("a", "1");
+
+        assertSame(map, map.without("b"));
+    }
+
+    @Test
+    void without_existingKey_originalUnchanged() {
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with("a", "1").with("b", "2");
+
+        PersistentHashMap<String, String> removed = map.without("a");
+
+        assertEquals(Map.of("b", "2"), removed);
+        assertEquals(Map.of("a", "1", "b", "2"), map);
+    }
+
+    @Test
+    void collidingKeys_allOperationsWork() {
+        CollidingKey a = new CollidingKey("a");
+        CollidingKey b = new CollidingKey("b");
+        CollidingKey c = new CollidingKey("c");
+
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap
+                .<CollidingKey, Integer> empty().with(a, 1).with(b, 2)
+                .with(c, 3).with(b, 4);
+
+        assertEquals(Map.of(a, 1, b, 4, c, 3), map);
+
+        map = map.without(a);
+        assertEquals(Map.of(b, 4, c, 3), map);
+
+        map = map.without(c);
+        assertEquals(Map.of(b, 4), map);
+        assertNull(map.get(a));
+    }
+
+    @Test
+    void nullKeyAndValue_supported() {
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with(null, "1").with("a", null);
+
+        assertEquals("1", map.get(null));
+        assertTrue(map.containsKey("a"));
+        assertNull(map.get("a"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void copyOf_persistentMap_sameInstance() {
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with("a", "1");
+
+        assertSame(map, PersistentHashMap.copyOf(map));
+    }
+
+    @Test
+    void copyOf_regularMap_equalMap() {
+        Map<String, String> source = Map.of("a", "1", "b", "2");
+
+        assertEquals(source, PersistentHashMap.copyOf(source));
+    }
+
+    @Test
+    void mutable_modified_sourceUnchanged() {
+        PersistentHashMap<String, String> map = PersistentHashMap
+                .<String, String> empty().with("a", "1");
+
+        PersistentHashMap.Mutable<String, String> mutable = map.toMutable();
+        assertEquals("1", mutable.put("a", "2"));
+        assertNull(mutable.put("b", "3"));
+        assertNull(mutable.remove("c"));
+
+        assertEquals(Map.of("a", "2", "b", "3"), mutable);
+        assertEquals(Map.of("a", "1"), map);
+    }
+
+    @Test
+    void mutable_toPersistent_laterChangesNotVisible() {
+        PersistentHashMap.Mutable<String, String> mutable = PersistentHashMap
+                .<String, String> empty().toMutable();
+        mutable.put("a", "1");
+
+        PersistentHashMap<String, String> map = mutable.toPersistent();
+        mutable.put("b", "2");
+        mutable.remove("a");
+
+        assertEquals(Map.of("a", "1"), map);
+        assertEquals(Map.of("b", "2"), mutable);
+    }
+
+    @Test
+    void mutable_removeThroughIterator_entryRemoved() {
+        PersistentHashMap.Mutable<String, String> mutable = PersistentHashMap
+                .copyOf(Map.of("a", "1", "b", "2", "c", "3")).toMutable();
+
+        Iterator<Entry<String, String>> iterator = mutable.entrySet()
+                .iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().getKey().equals("b")) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Map.of("b", "2"), mutable);
+    }
+
+    @Test
+    void randomOperations_sameResultAsHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        PersistentHashMap.Mutable<Integer, Integer> mutable = map.toMutable();
+
+        for (int i = 0; i < 20000; i++) {
+            // Keys with a narrow range to get plenty of overwrites and removes
+            Integer key = random.nextInt(2000) * 65537;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+                mutable.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+                mutable.put(key, i);
+            }
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected, mutable);
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertFalse(map.containsKey(-1));
+    }
+}
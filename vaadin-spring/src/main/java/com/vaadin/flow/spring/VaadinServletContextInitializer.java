@@ -83,6 +83,7 @@ import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 import com.vaadin.flow.server.startup.ClassLoaderAwareServletContainerInitializer;
 import com.vaadin.flow.server.startup.LookupServletContainerInitializer;
 import com.vaadin.flow.server.startup.RouteRegistryInitializer;
+import com.vaadin.flow.server.startup.StartupClassIndex;
 import com.vaadin.flow.server.startup.VaadinAppShellInitializer;
 import com.vaadin.flow.server.startup.VaadinInitializerException;
 import com.vaadin.flow.server.startup.WebComponentConfigurationRegistryInitializer;
@@ -157,6 +158,18 @@ public class VaadinServletContextInitializer
      */
     private final List<String> customScanOnly;
 
+    /**
+     * Whether the startup class index may be used, i.e. no scan filters have
+     * been set.
+     */
+    private final boolean startupClassIndexAllowed;
+
+    /**
+     * Build-time index of the handled types, or {@code null} if the class path
+     * has to be scanned.
+     */
+    private StartupClassIndex startupClassIndex;
+
     /**
      * Class path scanner that reuses infrastructure from Spring while also
      * considering abstract types.
@@ -663,6 +676,23 @@ public class VaadinServletContextInitializer
         }
     }
 
+    /*
+     * The production mode is only known once the lookup has been initialized,
+     * so the lookup types are always scanned for and the index is loaded for
+     * the listeners that run after it.
+     */
+    private class StartupClassIndexListener
+            implements FailFastServletContextListener {
+
+        @Override
+        public void failFastContextInitialized(ServletContextEvent event) {
+            ApplicationConfiguration config = ApplicationConfiguration
+                    .get(new VaadinServletContext(event.getServletContext()));
+
+            initStartupClassIndex(config != null && config.isProductionMode());
+        }
+    }
+
     private class VaadinAppShellContextListener
             implements FailFastServletContextListener {
 
@@ -749,6 +779,34 @@ public class VaadinServletContextInitializer
             getLogger().warn(
                     "vaadin.blocked-packages is ignored because both vaadin.allowed-packages and vaadin.blocked-packages have been set.");
         }
+
+        // The scan filters only restrict class path scanning, so the index is
+        // not used when they are set to avoid silently ignoring them
+        startupClassIndexAllowed = customScanOnly.isEmpty()
+                && neverScan.isEmpty();
+    }
+
+    /**
+     * Loads the startup class index if it may be used.
+     * <p>
+     * The index is only used in production mode. An index left in the build
+     * output by an earlier production build would otherwise hide classes that
+     * have been changed since when the application is run in development mode.
+     *
+     * @param productionMode
+     *            whether the application runs in production mode
+     */
+    void initStartupClassIndex(boolean productionMode) {
+        startupClassIndex = null;
+        if (productionMode && startupClassIndexAllowed) {
+            StartupClassIndex index = StartupClassIndex
+                    .load(appContext.getClassLoader());
+            if (!index.isEmpty()) {
+                getLogger().debug(
+                        "Using the startup class index instead of scanning the class path for Vaadin types");
+                startupClassIndex = index;
+            }
+        }
     }
 
     @Override
@@ -802,6 +860,8 @@ public class VaadinServletContextInitializer
 
         compositeListener.addListener(new LookupInitializerListener());
 
+        compositeListener.addListener(new StartupClassIndexListener());
+
         compositeListener.addListener(new VaadinAppShellContextListener());
 
         ApplicationRouteRegistry registry = ApplicationRouteRegistry
@@ -867,12 +927,27 @@ public class VaadinServletContextInitializer
             ResourceLoader loader,
             Collection<Class<? extends Annotation>> annotations,
             Collection<Class<?>> types) {
+        List<Class<?>> handledTypes = Stream
+                .concat(annotations.stream(), types.stream())
+                .collect(Collectors.toList());
+        if (startupClassIndex != null
+                && startupClassIndex.contains(handledTypes)) {
+            return startupClassIndex.getClasses(handledTypes,
+                    className -> isInPackages(className, packages),
+                    appContext.getClassLoader()).stream();
+        }
         ClassPathScanner scanner = new ClassPathScanner(
                 appContext.getEnvironment(), loader, annotations, types);
         return packages.stream().map(scanner::findCandidateComponents)
                 .flatMap(Collection::stream).map(this::getBeanClass);
     }
 
+    private static boolean isInPackages(String className,
+            Collection<String> packages) {
+        return packages.stream()
+                .anyMatch(pkg -> className.startsWith(pkg + "."));
+    }
+
     private Class<?> getBeanClass(BeanDefinition beanDefinition) {
         AbstractBeanDefinition definition = (AbstractBeanDefinition) beanDefinition;
         Class<?> beanClass;
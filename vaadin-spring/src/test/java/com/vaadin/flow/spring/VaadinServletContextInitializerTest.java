@@ -4,17 +4,27 @@ import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -22,8 +32,11 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
 
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.DevModeHandler;
@@ -32,15 +45,26 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.ErrorParameter;
 import com.vaadin.flow.router.HasErrorParameter;
 import com.vaadin.flow.router.NotFoundException;
+import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteNotFoundError;
+import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 import com.vaadin.flow.server.startup.ServletDeployer;
+import com.vaadin.flow.server.startup.StartupClassIndex;
 
 public class VaadinServletContextInitializerTest {
 
+    @Tag(Tag.DIV)
+    @Route("indexed")
+    public static class IndexedRoute extends Component {
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private ApplicationContext applicationContext;
 
@@ -205,6 +229,107 @@ public class VaadinServletContextInitializerTest {
         Assert.assertEquals(TestErrorView.class, navigationTarget);
     }
 
+    @Test
+    public void findByAnnotationOrSuperType_startupClassIndexAvailable_indexedClassesInPackagesReturned()
+            throws Exception {
+        initDefaultMocks();
+        File resources = temporaryFolder.newFolder();
+        File index = new File(resources, Constants.VAADIN_SERVLET_RESOURCES
+                + StartupClassIndex.INDEX_FILE);
+        Files.createDirectories(index.getParentFile().toPath());
+        Files.writeString(index.toPath(),
+                Route.class.getName() + "=" + IndexedRoute.class.getName() + ","
+                        + RouteNotFoundError.class.getName() + "\n",
+                StandardCharsets.UTF_8);
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() },
+                getClass().getClassLoader())) {
+            Mockito.when(applicationContext.getClassLoader())
+                    .thenReturn(loader);
+            VaadinServletContextInitializer initializer = new VaadinServletContextInitializer(
+                    applicationContext);
+            initializer.initStartupClassIndex(true);
+
+            // The resource loader is never used for scanning with an index
+            Set<Class<?>> classes = initializer
+                    .findByAnnotationOrSuperType(
+                            List.of(getClass().getPackageName()),
+                            Mockito.mock(ResourceLoader.class),
+                            List.of(Route.class), List.of())
+                    .collect(Collectors.toSet());
+
+            Assert.assertEquals(Set.of(IndexedRoute.class), classes);
+        }
+    }
+
+    @Test
+    public void findByAnnotationOrSuperType_startupClassIndexInDevelopmentMode_classPathScanned()
+            throws Exception {
+        initDefaultMocks();
+        Mockito.when(
+                environment.resolveRequiredPlaceholders(Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        File resources = temporaryFolder.newFolder();
+        File index = new File(resources, Constants.VAADIN_SERVLET_RESOURCES
+                + StartupClassIndex.INDEX_FILE);
+        Files.createDirectories(index.getParentFile().toPath());
+        // A stale index from an earlier production build
+        Files.writeString(
+                index.toPath(), Route.class.getName() + "="
+                        + RouteNotFoundError.class.getName() + "\n",
+                StandardCharsets.UTF_8);
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() },
+                getClass().getClassLoader())) {
+            Mockito.when(applicationContext.getClassLoader())
+                    .thenReturn(loader);
+            VaadinServletContextInitializer initializer = new VaadinServletContextInitializer(
+                    applicationContext);
+            initializer.initStartupClassIndex(false);
+
+            Set<Class<?>> classes = initializer
+                    .findByAnnotationOrSuperType(
+                            List.of(getClass().getPackageName()),
+                            new DefaultResourceLoader(
+                                    getClass().getClassLoader()),
+                            List.of(Route.class), List.of())
+                    .collect(Collectors.toSet());
+
+            Assert.assertTrue(classes.contains(IndexedRoute.class));
+            Assert.assertFalse(classes.contains(RouteNotFoundError.class));
+        }
+    }
+
+    @Test
+    public void findByAnnotationOrSuperType_noStartupClassIndex_classPathScanned()
+            throws Exception {
+        initDefaultMocks();
+        Mockito.when(
+                environment.resolveRequiredPlaceholders(Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[0],
+                getClass().getClassLoader())) {
+            Mockito.when(applicationContext.getClassLoader())
+                    .thenReturn(loader);
+            VaadinServletContextInitializer initializer = new VaadinServletContextInitializer(
+                    applicationContext);
+
+            Set<Class<?>> classes = initializer
+                    .findByAnnotationOrSuperType(
+                            List.of(getClass().getPackageName()),
+                            new DefaultResourceLoader(
+                                    getClass().getClassLoader()),
+                            List.of(Route.class), List.of())
+                    .collect(Collectors.toSet());
+
+            Assert.assertTrue(classes.contains(IndexedRoute.class));
+            Assert.assertFalse(classes.contains(RouteNotFoundError.class));
+        }
+    }
+
     private Runnable initRouteNotFoundMocksAndGetContextInitializedMockCall(
             VaadinServletContextInitializer vaadinServletContextInitializer)
             throws Exception {